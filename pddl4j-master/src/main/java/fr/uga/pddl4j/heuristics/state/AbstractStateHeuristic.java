@@ -31,6 +31,11 @@ import java.util.List;
  */
 public abstract class AbstractStateHeuristic extends AbstractHeuristic implements StateHeuristic {
 
+    /**
+     * The problem to solve.
+     */
+    private Problem problem;
+
     /**
      * The goal to reached.
      */
@@ -58,6 +63,7 @@ public abstract class AbstractStateHeuristic extends AbstractHeuristic implement
      * @param problem the problem to solve.
      */
     protected AbstractStateHeuristic(final Problem problem) {
+        this.problem = problem;
         this.facts = problem.getFluents();
         this.goal = problem.getGoal();
         this.actions = problem.getActions();
@@ -83,6 +89,15 @@ public abstract class AbstractStateHeuristic extends AbstractHeuristic implement
         this.isAdmissible = isAdmissible;
     }
 
+    /**
+     * Returns the problem to solve.
+     *
+     * @return the problem to solve.
+     */
+    protected final Problem getProblem() {
+        return this.problem;
+    }
+
     /**
      * Returns the goal of the problem to solve in order to compute the heuristic.
      *
@@ -104,6 +104,24 @@ public final class AdjustedSum extends RelaxedGraphHeuristic {
         super.setAdmissible(false);
     }
 
+    /**
+     * Creates a new <code>ADJUSTED SUM</code> heuristic that shares the tables of the relaxed planning graph of an
+     * other one.
+     *
+     * @param other the other heuristic.
+     */
+    private AdjustedSum(final AdjustedSum other) {
+        super(other);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StateHeuristic copy() {
+        return new AdjustedSum(this);
+    }
+
     /**
      * Return the estimated distance to the goal to reach the specified state. If the return value is
      * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
@@ -115,9 +133,9 @@ public final class AdjustedSum extends RelaxedGraphHeuristic {
      */
     @Override
     public int estimate(final State state, final Condition goal) {
-        super.setGoal(goal);
-        final int level = super.expandRelaxedPlanningGraph(state);
-        return super.isGoalReachable() ? super.getSumValue() + (level - super.getMaxValue()) : Integer.MAX_VALUE;
+        final int level = super.expandRelaxedPlanningGraph(state, goal);
+        return super.isGoalReachable() ? super.getSumValue(goal) + (level - super.getMaxValue(goal))
+            : Integer.MAX_VALUE;
     }
 
     /**
@@ -58,6 +58,24 @@ public final class AdjustedSum2 extends RelaxedGraphHeuristic {
         super.setAdmissible(false);
     }
 
+    /**
+     * Creates a new <code>ADJUSTED SUM 2</code> heuristic that shares the tables of the relaxed planning graph of an
+     * other one.
+     *
+     * @param other the other heuristic.
+     */
+    private AdjustedSum2(final AdjustedSum2 other) {
+        super(other);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StateHeuristic copy() {
+        return new AdjustedSum2(this);
+    }
+
     /**
      * Return the estimated distance to the goal to reach the specified state. If the return value is
      * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
@@ -69,9 +87,8 @@ public final class AdjustedSum2 extends RelaxedGraphHeuristic {
      */
     @Override
     public int estimate(final State state, final Condition goal) {
-        super.setGoal(goal);
-        final int level = super.expandRelaxedPlanningGraph(state);
-        return super.isGoalReachable() ? super.getRelaxedPlanValue() + (level - super.getMaxValue())
+        final int level = super.expandRelaxedPlanningGraph(state, goal);
+        return super.isGoalReachable() ? super.getRelaxedPlanValue(goal) + (level - super.getMaxValue(goal))
             : Integer.MAX_VALUE;
     }
 
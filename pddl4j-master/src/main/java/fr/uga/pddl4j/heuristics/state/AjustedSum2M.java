@@ -69,6 +69,25 @@ public final class AjustedSum2M extends RelaxedGraphHeuristic {
         this.delta = new SetLevel(problem);
     }
 
+    /**
+     * Creates a new <code>ADJUSTED SUM 2M</code> heuristic that shares the tables of the relaxed planning graph of an
+     * other one.
+     *
+     * @param other the other heuristic.
+     */
+    private AjustedSum2M(final AjustedSum2M other) {
+        super(other);
+        this.delta = (SetLevel) other.delta.copy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StateHeuristic copy() {
+        return new AjustedSum2M(this);
+    }
+
     /**
      * Return the estimated distance to the goal to reach the specified state. If the return value is
      * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
@@ -80,14 +99,13 @@ public final class AjustedSum2M extends RelaxedGraphHeuristic {
      */
     @Override
     public int estimate(final State state, final Condition goal) {
-        super.setGoal(goal);
         // First, we expand the relaxed planing graph to compute the relaxed plan value heuristic
-        super.expandRelaxedPlanningGraph(state);
+        super.expandRelaxedPlanningGraph(state, goal);
         // Second, we expand the relaxed planning graph with mutex to compute the set level heuristic
         this.delta.expandPlanningGraph(state);
         // If the goal was not reached, it means that the goal is unreachable
-        return super.isGoalReachable() ? super.getRelaxedPlanValue()
-            + (this.delta.estimate(state, goal) - super.getMaxValue()) : Integer.MAX_VALUE;
+        return super.isGoalReachable() ? super.getRelaxedPlanValue(goal)
+            + (this.delta.estimate(state, goal) - super.getMaxValue(goal)) : Integer.MAX_VALUE;
     }
 
     /**
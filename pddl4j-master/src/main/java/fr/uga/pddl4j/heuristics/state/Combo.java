@@ -64,6 +64,25 @@ public final class Combo extends RelaxedGraphHeuristic {
         super.setAdmissible(false);
     }
 
+    /**
+     * Creates a new <code>COMBO</code> heuristic that shares the tables of the relaxed planning graph of an
+     * other one.
+     *
+     * @param other the other heuristic.
+     */
+    private Combo(final Combo other) {
+        super(other);
+        this.delta = (SetLevel) other.delta.copy();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StateHeuristic copy() {
+        return new Combo(this);
+    }
+
     /**
      * Return the estimated distance to the goal to reach the specified state. If the return value is
      * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
@@ -75,12 +94,11 @@ public final class Combo extends RelaxedGraphHeuristic {
      */
     @Override
     public int estimate(final State state, final Condition goal) {
-        super.setGoal(goal);
         // First, we expand the relaxed planing graph to compute the sum heuristic
-        super.expandRelaxedPlanningGraph(state);
+        super.expandRelaxedPlanningGraph(state, goal);
         // Second, we expand the relaxed planning graph with mutex to compute the set level heuristic
         this.delta.expandPlanningGraph(state);
-        return super.isGoalReachable() ? this.getSumValue() + this.delta.estimate(state, goal) : Integer.MAX_VALUE;
+        return super.isGoalReachable() ? this.getSumValue(goal) + this.delta.estimate(state, goal) : Integer.MAX_VALUE;
     }
 
     /**
@@ -93,6 +93,24 @@ public final class CriticalPath extends RelaxedGraphHeuristic {
         super.setAdmissible(true);
     }
 
+    /**
+     * Creates a new <code>CRITICAL PATH</code> heuristic that shares the tables of the relaxed planning graph of an
+     * other one.
+     *
+     * @param other the other heuristic.
+     */
+    private CriticalPath(final CriticalPath other) {
+        super(other);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StateHeuristic copy() {
+        return new CriticalPath(this);
+    }
+
     /**
      * Returns a estimation of the distance from a state to a goal.
      *
@@ -103,7 +121,6 @@ public final class CriticalPath extends RelaxedGraphHeuristic {
     @Override
     public int estimate(State state, Condition goal) {
         super.setGoal(goal);
-        //this.goalCard = super.getGoal().cardinality(); // Useless cause by next line affectation
         goalCard = goal.cardinality();
         final List<Action> actions = this.getActions();
         int startPoint = 0;
@@ -116,8 +133,8 @@ public final class CriticalPath extends RelaxedGraphHeuristic {
         this.precond = new Condition[startPoint];
         this.effect = new Condition[startPoint];
         this.neffect = new Condition[startPoint];
-        BitVector pGoalBitVector = super.getGoal().getPositiveFluents();
-        BitVector nGoalBitVector = super.getGoal().getNegativeFluents();
+        BitVector pGoalBitVector = goal.getPositiveFluents();
+        BitVector nGoalBitVector = goal.getNegativeFluents();
 
 
         if (this.goalCard <= COEF) {
@@ -189,7 +206,7 @@ public final class CriticalPath extends RelaxedGraphHeuristic {
                 if (sub.size() == COEF) {
                     //System.out.println(sub);
                     //Maximum distance to the goal
-                    critical = this.getMaxValue();
+                    critical = this.getMaxValue(goal);
                 }
             }
         }
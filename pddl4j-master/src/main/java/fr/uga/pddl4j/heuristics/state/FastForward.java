@@ -66,6 +66,24 @@ public final class FastForward extends RelaxedGraphHeuristic {
         super.setAdmissible(false);
     }
 
+    /**
+     * Creates a new <code>FF</code> heuristic that shares the tables of the relaxed planning graph of an
+     * other one.
+     *
+     * @param other the other heuristic.
+     */
+    private FastForward(final FastForward other) {
+        super(other);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StateHeuristic copy() {
+        return new FastForward(this);
+    }
+
     /**
      * Return the estimated distance to the goal to reach the specified state. If the return value is
      * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
@@ -78,9 +96,8 @@ public final class FastForward extends RelaxedGraphHeuristic {
      */
     @Override
     public int estimate(final State state, final Condition goal) {
-        super.setGoal(goal);
-        super.expandRelaxedPlanningGraph(state);
-        return super.isGoalReachable() ? super.getRelaxedPlanValue() : Integer.MAX_VALUE;
+        super.expandRelaxedPlanningGraph(state, goal);
+        return super.isGoalReachable() ? super.getRelaxedPlanValue(goal) : Integer.MAX_VALUE;
     }
 
     /**
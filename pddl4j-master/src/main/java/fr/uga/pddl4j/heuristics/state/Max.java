@@ -69,6 +69,24 @@ public final class Max extends RelaxedGraphHeuristic {
         super.setAdmissible(true);
     }
 
+    /**
+     * Creates a new <code>MAX</code> heuristic that shares the tables of the relaxed planning graph of an
+     * other one.
+     *
+     * @param other the other heuristic.
+     */
+    private Max(final Max other) {
+        super(other);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StateHeuristic copy() {
+        return new Max(this);
+    }
+
     /**
      * Return the estimated distance to the goal to reach the specified state. If the return value is
      * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
@@ -81,9 +99,8 @@ public final class Max extends RelaxedGraphHeuristic {
      */
     @Override
     public int estimate(final State state, final Condition goal) {
-        super.setGoal(goal);
-        super.expandRelaxedPlanningGraph(state);
-        return super.isGoalReachable() ? super.getMaxValue() : Integer.MAX_VALUE;
+        super.expandRelaxedPlanningGraph(state, goal);
+        return super.isGoalReachable() ? super.getMaxValue(goal) : Integer.MAX_VALUE;
     }
 
     /**
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.heuristics.state;
+
+import fr.uga.pddl4j.problem.DerivedProblem;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.problem.operator.Effect;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * This class contains the tables of a relaxed planning graph that depend only on the problem: the unconditional
+ * operators, their preconditions and effects and the edges between the fluents and the operators. The tables are
+ * computed once and are never modified afterwards, so they can be shared by several instances of a
+ * {@link RelaxedGraphHeuristic} used by different threads.
+ *
+ * <p>The tables do not depend on the initial state and on the goal of the problem: the tables of an instantiated
+ * problem are cached and shared by all the problems derived from it (see {@link DerivedProblem}), so the heuristics
+ * created to replan do not compute them again.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+final class RelaxedGraph {
+
+    /**
+     * The tables computed for each instantiated problem. The problems are weakly referenced so that the tables of a
+     * problem no longer used can be garbage collected. The cache is shared by the heuristics of all the threads: every
+     * access is synchronized and the compound operations must hold the lock of the cache.
+     */
+    private static final Map<Problem, RelaxedGraph> CACHE = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The number of relevant fluents of the problem.
+     */
+    private final int fluents;
+
+    /**
+     * The array of unconditional operators of the problem.
+     */
+    private final int[][] unconditionalOperators;
+
+    /**
+     * The array used to store for each operator its number of preconditions.
+     */
+    private final int[] precondCardinality;
+
+    /**
+     * The array used to store the preconditions' edges for each operator.
+     */
+    private final Condition[] precondEdges;
+
+    /**
+     * The array used to store the effects' edges for each operator.
+     */
+    private final Condition[] effectsEdges;
+
+    /**
+     * The array used to store the preconditions of the operators.
+     */
+    private final Condition[] preconditions;
+
+    /**
+     * The array used to store the effects of the operators.
+     */
+    private final Effect[] effects;
+
+    /**
+     * The array used to store the unconditional effect of the operators.
+     */
+    private final Effect[] unconditionalEffects;
+
+    /**
+     * Returns the tables of the relaxed planning graph of a specified problem. The tables are computed the first time
+     * they are requested for an instantiated problem and are shared by all the problems derived from it. This method
+     * is thread safe: the tables of a problem are computed only once even if they are requested concurrently.
+     *
+     * @param problem the problem.
+     * @return the tables of the relaxed planning graph of the problem.
+     */
+    static RelaxedGraph getInstance(final Problem problem) {
+        final Problem base = problem instanceof DerivedProblem ? ((DerivedProblem) problem).getProblem() : problem;
+        // The lookup and the insertion must be atomic
+        synchronized (RelaxedGraph.CACHE) {
+            RelaxedGraph graph = RelaxedGraph.CACHE.get(base);
+            if (graph == null) {
+                graph = new RelaxedGraph(base);
+                RelaxedGraph.CACHE.put(base, graph);
+            }
+            return graph;
+        }
+    }
+
+    /**
+     * Creates the tables of the relaxed planning graph of a specified problem.
+     *
+     * @param problem the problem.
+     */
+    private RelaxedGraph(final Problem problem) {
+        // Get the number of relevant facts of the problem
+        final int nbRelevantFacts = problem.getFluents().size();
+        this.fluents = nbRelevantFacts;
+        // Get the number of operators of the problem
+        final List<Action> operators = problem.getActions();
+        final int nbOperators = operators.size();
+        // Compute the number of unconditional operators
+        int nbUncondOperators = 0;
+        for (Action op : operators) {
+            nbUncondOperators += op.getConditionalEffects().size();
+        }
+        // Initialize the array that must contain for each operator its preconditions
+        this.preconditions = new Condition[nbUncondOperators];
+        // Initialize the array that must contain for each operator its effects
+        this.effects = new Effect[nbUncondOperators];
+        // Initialize the array that must contain for each operator its unconditional effects
+        this.unconditionalEffects = new Effect[nbOperators];
+        for (int i = 0; i < this.unconditionalEffects.length; i++) {
+            this.unconditionalEffects[i] = new Effect();
+        }
+        // The array that contains for each proposition the list of its unconditional operators
+        this.unconditionalOperators = new int[nbUncondOperators][];
+        // Initialize the array that must contain for each operator its preconditions' edges
+        this.precondEdges = new Condition[nbRelevantFacts];
+        for (int i = 0; i < this.precondEdges.length; i++) {
+            this.precondEdges[i] = new Condition();
+        }
+        // Initialize the array that must contain for each operator its effects' edges
+        this.effectsEdges = new Condition[nbRelevantFacts];
+        for (int i = 0; i < this.effectsEdges.length; i++) {
+            this.effectsEdges[i] = new Condition();
+        }
+        // The array that contains for each operator the number of propositions of its preconditions
+        this.precondCardinality = new int[nbUncondOperators];
+
+        // The index of the unconditional operators
+        int uncondOpIndex = 0;
+
+        // Start enumerating the unconditional operators
+        for (int opIndex = 0; opIndex < operators.size(); opIndex++) {
+            final Action op = operators.get(opIndex);
+            final List<ConditionalEffect> condEffects = op.getConditionalEffects();
+
+            // For each conditional effect we create a new operator
+            for (int ceIndex = 0; ceIndex < condEffects.size(); ceIndex++) {
+                final ConditionalEffect cEffect = condEffects.get(ceIndex);
+                final int[] eff = {opIndex, ceIndex};
+                this.unconditionalOperators[uncondOpIndex] = eff;
+
+                // We pre-compute the preconditions' edges
+                final Condition pre = new Condition(op.getPrecondition());
+                final BitVector pPre = pre.getPositiveFluents();
+                final BitVector nPre = pre.getNegativeFluents();
+                pPre.or(cEffect.getCondition().getPositiveFluents());
+                nPre.or(cEffect.getCondition().getNegativeFluents());
+                for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
+                    this.precondEdges[p].getPositiveFluents().set(uncondOpIndex);
+                }
+                for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
+                    this.precondEdges[p].getNegativeFluents().set(uncondOpIndex);
+                }
+
+                // We set the preconditions of the unconditional operator
+                this.preconditions[uncondOpIndex] = pre;
+
+                // We pre-compute the effects' edges
+                final Effect effect = cEffect.getEffect();
+                final BitVector pEff = effect.getPositiveFluents();
+                final BitVector nEff = effect.getNegativeFluents();
+                for (int p = pEff.nextSetBit(0); p >= 0; p = pEff.nextSetBit(p + 1)) {
+                    this.effectsEdges[p].getPositiveFluents().set(uncondOpIndex);
+                }
+                for (int p = nEff.nextSetBit(0); p >= 0; p = nEff.nextSetBit(p + 1)) {
+                    this.effectsEdges[p].getNegativeFluents().set(uncondOpIndex);
+                }
+
+                // We set the effects of the unconditional operator
+                this.effects[uncondOpIndex] = effect;
+
+                // We initialize the number of precondition of the unconditional operator
+                this.precondCardinality[uncondOpIndex] = pre.cardinality();
+
+                // We initialize the unconditional effects of the operator
+                if (cEffect.getCondition().isEmpty()) {
+                    final Effect uncondEff = this.unconditionalEffects[opIndex];
+                    final Effect condEff = cEffect.getEffect();
+                    uncondEff.getPositiveFluents().or(condEff.getPositiveFluents());
+                    uncondEff.getNegativeFluents().or(condEff.getNegativeFluents());
+                }
+
+                // We increment the counter of unconditional operator
+                uncondOpIndex++;
+            }
+        }
+
+        // A hack for the operator without precondition
+        for (int i = 0; i < nbUncondOperators; i++) {
+            if (this.preconditions[i].isEmpty()) {
+                for (Condition pEdge : this.precondEdges) {
+                    pEdge.getPositiveFluents().set(i);
+                    pEdge.getNegativeFluents().set(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of relevant fluents of the problem.
+     *
+     * @return the number of relevant fluents of the problem.
+     */
+    int getFluents() {
+        return this.fluents;
+    }
+
+    /**
+     * Returns the number of unconditional operators of the problem.
+     *
+     * @return the number of unconditional operators of the problem.
+     */
+    int getUnconditionalOperators() {
+        return this.unconditionalOperators.length;
+    }
+
+    /**
+     * Returns the index of the action of the problem from which an unconditional operator was created.
+     *
+     * @param operator the index of the unconditional operator.
+     * @return the index of the action of the unconditional operator.
+     */
+    int getAction(final int operator) {
+        return this.unconditionalOperators[operator][0];
+    }
+
+    /**
+     * Returns the number of preconditions of each unconditional operator.
+     *
+     * @return the number of preconditions of each unconditional operator.
+     */
+    int[] getPrecondCardinality() {
+        return this.precondCardinality;
+    }
+
+    /**
+     * Returns the preconditions' edges of each fluent, i.e., the unconditional operators that need the fluent.
+     *
+     * @return the preconditions' edges of each fluent.
+     */
+    Condition[] getPrecondEdges() {
+        return this.precondEdges;
+    }
+
+    /**
+     * Returns the effects' edges of each fluent, i.e., the unconditional operators that produce the fluent.
+     *
+     * @return the effects' edges of each fluent.
+     */
+    Condition[] getEffectsEdges() {
+        return this.effectsEdges;
+    }
+
+    /**
+     * Returns the preconditions of the unconditional operators.
+     *
+     * @return the preconditions of the unconditional operators.
+     */
+    Condition[] getPreconditions() {
+        return this.preconditions;
+    }
+
+    /**
+     * Returns the effects of the unconditional operators.
+     *
+     * @return the effects of the unconditional operators.
+     */
+    Effect[] getEffects() {
+        return this.effects;
+    }
+
+    /**
+     * Returns the unconditional effects of the operators.
+     *
+     * @return the unconditional effects of the operators.
+     */
+    Effect[] getUnconditionalEffects() {
+        return this.unconditionalEffects;
+    }
+}
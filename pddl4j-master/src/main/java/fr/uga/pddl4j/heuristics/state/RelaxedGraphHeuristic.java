@@ -21,15 +21,11 @@ package fr.uga.pddl4j.heuristics.state;
 
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
-import fr.uga.pddl4j.problem.operator.Action;
 import fr.uga.pddl4j.problem.operator.Condition;
-import fr.uga.pddl4j.problem.operator.ConditionalEffect;
 import fr.uga.pddl4j.problem.operator.Effect;
 import fr.uga.pddl4j.util.BitVector;
 
 import java.util.Arrays;
-import java.util.List;
-
 /**
  * This abstract class implements the basic methods used by all heuristics based on the computation
  * of a relaxed planning graph ignoring negative effects. This implementation is based on the
@@ -38,70 +34,74 @@ import java.util.List;
  * Hoffmann, J. and Nebel, B. (2001). The FF Planning System: Fast Plan Generation Through Heuristic
  * Search. Journal of Artificial Intelligence Research, 14(1):253-302.
  *
+ * <p>The tables of the graph that depend only on the problem are computed once and shared by the copies of the
+ * heuristic (see {@link #copy()}) and by the heuristics of the problems derived from the same instantiated problem.
+ * Each heuristic has its own arrays to expand the graph.</p>
+ *
  * @author Damien Pellier
  * @version 1.0 20.08.2010
  */
 public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic implements PlanningGraphHeuristic {
 
     /**
-     * The array of unconditional operators of the problem.
+     * The tables of the relaxed planning graph shared by the copies of the heuristic.
      */
-    private int[][] unconditionalOperators;
+    private final RelaxedGraph graph;
 
     /**
      * The array used to store for each operator its number of preconditions.
      */
-    private int[] precondCardinality;
+    private final int[] precondCardinality;
 
     /**
      * The array used to store the first level of apparition of an operator.
      */
-    private int[] operatorsLevel;
+    private final int[] operatorsLevel;
 
     /**
      * The array used to store the number of precondition encountered for each operator.
      */
-    private int[] precondCounters;
+    private final int[] precondCounters;
 
     /**
      * The array used to store the difficulty of the operators.
      */
-    private int[] operatorsDifficulty;
+    private final int[] operatorsDifficulty;
 
     /**
      * The array used to store the apparition level of the positive propositions.
      */
-    private int[] pPropLevel;
+    private final int[] pPropLevel;
 
     /**
      * The array used to store the apparition level of the negative propositions.
      */
-    private int[] nPropLevel;
+    private final int[] nPropLevel;
 
     /**
      * The array used to store the preconditions' edges for each operator.
      */
-    private Condition[] precondEdges;
+    private final Condition[] precondEdges;
 
     /**
      * The array used to store the effects' edges for each operator.
      */
-    private Condition[] effectsEdges;
+    private final Condition[] effectsEdges;
 
     /**
      * The array used to store the preconditions of the operators.
      */
-    private Condition[] preconditions;
+    private final Condition[] preconditions;
 
     /**
      * The array used to store the effects of the operators.
      */
-    private Effect[] effects;
+    private final Effect[] effects;
 
     /**
-     * The array used to store the unconditional effect of the operators.
+     * The actions of the last relaxed plan extracted that are applicable in the state from which the graph was built.
      */
-    private Effect[] unconditionalEffects;
+    private final BitVector helpfulActions;
 
     /**
      * The counter used to count the number of goal propositions reached.
@@ -124,145 +124,52 @@ public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic imple
      * @param problem the problem to be solved.
      */
     protected RelaxedGraphHeuristic(final Problem problem) {
-        super(problem);
-        // Get the number of relevant facts of the problem
-        final int nbRelevantFacts = super.getRevelantFacts().size();
-        // Get the number of operators of the problem
-        final int nbOperators = super.getActions().size();
-        // Compute the number of unconditional operators
-        int nbUncondOperators = 0;
-        final List<Action> operators = problem.getActions();
-        for (Action op : operators) {
-            nbUncondOperators += op.getConditionalEffects().size();
-        }
-        // Initialize the array that must contain the level of the positive propositions
-        this.pPropLevel = new int[nbRelevantFacts];
-        // Initialize the array that must contain the level of the negative propositions
-        this.nPropLevel = new int[nbRelevantFacts];
-        // Initialize the array that must contain the level of the operators
-        this.operatorsLevel = new int[nbUncondOperators];
-        // Initialize the array that must contain the difficulty of the operators
-        this.operatorsDifficulty = new int[nbUncondOperators];
-        // Initialize the array that must contain for each operator the number of its precondition
-        // reached
-        this.precondCounters = new int[nbUncondOperators];
-        // Initialize the array that must contain for each operator its preconditions
-        this.preconditions = new Condition[nbUncondOperators];
-        // Initialize the array that must contain for each operator its effects
-        this.effects = new Effect[nbUncondOperators];
-        // Initialize the array that must contain for each operator its unconditional effects
-        this.unconditionalEffects = new Effect[nbOperators];
-        for (int i = 0; i < this.unconditionalEffects.length; i++) {
-            this.unconditionalEffects[i] = new Effect();
-        }
-        // The array that contains for each proposition the list of its unconditional operators
-        this.unconditionalOperators = new int[nbUncondOperators][];
-        // Initialize the array that must contain for each operator its preconditions' edges
-        this.precondEdges = new Condition[nbRelevantFacts];
-        for (int i = 0; i < this.precondEdges.length; i++) {
-            this.precondEdges[i] = new Condition();
-        }
-        // Initialize the array that must contain for each operator its effects' edges
-        this.effectsEdges = new Condition[nbRelevantFacts];
-        for (int i = 0; i < this.effectsEdges.length; i++) {
-            this.effectsEdges[i] = new Condition();
-        }
-        // Initialize the number of proposition of the goal
-        this.goalCardinality = super.getGoal().cardinality();
-        // The array that contains for each operator the number of propositions of its preconditions
-        this.precondCardinality = new int[nbUncondOperators];
-
-        // The index of the unconditional operators
-        int uncondOpIndex = 0;
-
-        // Start enumerating the unconditional operators
-        for (int opIndex = 0; opIndex < operators.size(); opIndex++) {
-            final Action op = operators.get(opIndex);
-            final List<ConditionalEffect> condEffects = op.getConditionalEffects();
-
-            // For each conditional effect we create a new operator
-            for (int ceIndex = 0; ceIndex < condEffects.size(); ceIndex++) {
-                final ConditionalEffect cEffect = condEffects.get(ceIndex);
-                final int[] eff = {opIndex, ceIndex};
-                this.unconditionalOperators[uncondOpIndex] = eff;
-
-                // We pre-compute the preconditions' edges
-                final Condition pre = new Condition(op.getPrecondition());
-                final BitVector pPre = pre.getPositiveFluents();
-                final BitVector nPre = pre.getNegativeFluents();
-                pPre.or(cEffect.getCondition().getPositiveFluents());
-                nPre.or(cEffect.getCondition().getNegativeFluents());
-                for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
-                    this.precondEdges[p].getPositiveFluents().set(uncondOpIndex);
-                }
-                for (int p = nPre.nextSetBit(0); p >= 0; p = nPre.nextSetBit(p + 1)) {
-                    this.precondEdges[p].getNegativeFluents().set(uncondOpIndex);
-                }
-
-                // We set the preconditions of the unconditional operator
-                this.preconditions[uncondOpIndex] = pre;
-
-                // We pre-compute the effects' edges
-                final Effect effect = cEffect.getEffect();
-                final BitVector pEff = effect.getPositiveFluents();
-                final BitVector nEff = effect.getNegativeFluents();
-                for (int p = pEff.nextSetBit(0); p >= 0; p = pEff.nextSetBit(p + 1)) {
-                    this.effectsEdges[p].getPositiveFluents().set(uncondOpIndex);
-                }
-                for (int p = nEff.nextSetBit(0); p >= 0; p = nEff.nextSetBit(p + 1)) {
-                    this.effectsEdges[p].getNegativeFluents().set(uncondOpIndex);
-                }
-
-                // We set the effects of the unconditional operator
-                this.effects[uncondOpIndex] = effect;
-
-                // We initialize the number of precondition of the unconditional operator
-                this.precondCardinality[uncondOpIndex] = pre.cardinality();
-
-                // We initialize the unconditional effects of the operator
-                if (cEffect.getCondition().isEmpty()) {
-                    final Effect uncondEff = this.unconditionalEffects[opIndex];
-                    final Effect condEff = cEffect.getEffect();
-                    uncondEff.getPositiveFluents().or(condEff.getPositiveFluents());
-                    uncondEff.getNegativeFluents().or(condEff.getNegativeFluents());
-                }
-
-                // We increment the counter of unconditional operator
-                uncondOpIndex++;
-            }
-        }
-
-        // A hack for the operator without precondition
-        for (int i = 0; i < nbUncondOperators; i++) {
-            if (this.preconditions[i].isEmpty()) {
-                for (Condition pEdge : precondEdges) {
-                    pEdge.getPositiveFluents().set(i);
-                    pEdge.getNegativeFluents().set(i);
-                }
-            }
-        }
+        this(problem, RelaxedGraph.getInstance(problem));
+    }
 
+    /**
+     * Creates a new RelaxedGraphHeuristic heuristic that shares the tables of the relaxed planning graph of an other
+     * one. The arrays used to expand the graph are not shared, so the two heuristics can be used by different threads.
+     *
+     * @param other the other heuristic.
+     */
+    protected RelaxedGraphHeuristic(final RelaxedGraphHeuristic other) {
+        this(other.getProblem(), other.graph);
+        this.setAdmissible(other.isAdmissible());
     }
 
     /**
-     * Set the goal of the relaxed problem to solve in order to compute the heuristic.
+     * Creates a new RelaxedGraphHeuristic heuristic from the tables of a relaxed planning graph.
      *
-     * @param goal the goal.
-     * @throws NullPointerException if <code>goal == null</code>.
+     * @param problem the problem to be solved.
+     * @param graph   the tables of the relaxed planning graph of the problem.
      */
-    @Override
-    protected final void setGoal(final Condition goal) {
-        super.setGoal(goal);
-        this.goalCardinality = goal.cardinality();
+    private RelaxedGraphHeuristic(final Problem problem, final RelaxedGraph graph) {
+        super(problem);
+        this.graph = graph;
+        this.precondCardinality = graph.getPrecondCardinality();
+        this.precondEdges = graph.getPrecondEdges();
+        this.effectsEdges = graph.getEffectsEdges();
+        this.preconditions = graph.getPreconditions();
+        this.effects = graph.getEffects();
+        // Initialize the arrays used to expand the graph
+        this.pPropLevel = new int[graph.getFluents()];
+        this.nPropLevel = new int[graph.getFluents()];
+        this.operatorsLevel = new int[graph.getUnconditionalOperators()];
+        this.operatorsDifficulty = new int[graph.getUnconditionalOperators()];
+        this.precondCounters = new int[graph.getUnconditionalOperators()];
+        this.helpfulActions = new BitVector();
     }
 
     /**
-     * This method creates the relaxed planning graph from a specified initial state.
+     * This method creates the relaxed planning graph from a specified initial state. The graph is expanded until the
+     * goal is reached or the fixed point of the graph is reached.
      *
      * @param state the initial state of the relaxed planning graph.
+     * @param goal  the goal to reach.
      * @return the level of the graph built.
      */
-    protected final int expandRelaxedPlanningGraph(final State state) {
+    protected final int expandRelaxedPlanningGraph(final State state, final Condition goal) {
 
         Arrays.fill(this.operatorsLevel, Integer.MAX_VALUE);
         // The array that contains the level of the positive proposition apparition
@@ -273,11 +180,15 @@ public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic imple
         Arrays.fill(this.precondCounters, 0);
         // The array that contains the difficulty value for each operator
         Arrays.fill(this.operatorsDifficulty, Integer.MAX_VALUE);
+        // The helpful actions are computed only if a relaxed plan is extracted from the graph
+        this.helpfulActions.clear();
 
         // The positive goal to reach
-        final BitVector pGoal = super.getGoal().getPositiveFluents();
+        final BitVector pGoal = goal.getPositiveFluents();
         // The negative goal to reach
-        final BitVector nGoal = super.getGoal().getNegativeFluents();
+        final BitVector nGoal = goal.getNegativeFluents();
+        // The number of propositions of the goal
+        this.goalCardinality = goal.cardinality();
         // The counter used to store the number of goal reach.
         this.goalCounter = 0;
 
@@ -421,13 +332,14 @@ public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic imple
     /**
      * Compute the sum heuristic.
      *
+     * @param goal the goal of the last expansion of the relaxed planning graph.
      * @return the sum heuristic value.
      * @see Sum
      */
-    protected final int getSumValue() {
+    protected final int getSumValue(final Condition goal) {
         int value = 0;
-        final BitVector pGoal = super.getGoal().getPositiveFluents();
-        final BitVector nGoal = super.getGoal().getNegativeFluents();
+        final BitVector pGoal = goal.getPositiveFluents();
+        final BitVector nGoal = goal.getNegativeFluents();
         for (int g = pGoal.nextSetBit(0); g >= 0; g = pGoal.nextSetBit(g + 1)) {
             value += this.pPropLevel[g];
         }
@@ -440,13 +352,14 @@ public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic imple
     /**
      * Compute the max heuristic.
      *
+     * @param goal the goal of the last expansion of the relaxed planning graph.
      * @return max heuristic value.
      * @see Max
      */
-    protected final int getMaxValue() {
+    protected final int getMaxValue(final Condition goal) {
         int max = Integer.MIN_VALUE;
-        final BitVector pGoal = super.getGoal().getPositiveFluents();
-        final BitVector nGoal = super.getGoal().getNegativeFluents();
+        final BitVector pGoal = goal.getPositiveFluents();
+        final BitVector nGoal = goal.getNegativeFluents();
         for (int g = pGoal.nextSetBit(0); g >= 0; g = pGoal.nextSetBit(g + 1)) {
             final int gl = this.pPropLevel[g];
             if (gl > max) {
@@ -465,10 +378,11 @@ public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic imple
     /**
      * Compute the relaxed plan heuristic value.
      *
+     * @param goal the goal of the last expansion of the relaxed planning graph.
      * @return the relaxed plan heuristic value.
      * @see FastForward
      */
-    protected final int getRelaxedPlanValue() {
+    protected final int getRelaxedPlanValue(final Condition goal) {
         // The integer used to counter the number of actions of the relaxed plan
         int value = 0;
 
@@ -477,8 +391,8 @@ public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic imple
         for (int k = 0; k <= this.level; k++) {
             goals[k] = new Condition();
         }
-        final BitVector pGoal = super.getGoal().getPositiveFluents();
-        final BitVector nGoal = super.getGoal().getNegativeFluents();
+        final BitVector pGoal = goal.getPositiveFluents();
+        final BitVector nGoal = goal.getNegativeFluents();
         for (int g = pGoal.nextSetBit(0); g >= 0; g = pGoal.nextSetBit(g + 1)) {
             goals[this.pPropLevel[g]].getPositiveFluents().set(g);
         }
@@ -501,6 +415,7 @@ public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic imple
                 // Select the best resolver according to the difficulty heuristic
                 final int resolverIndex = this.select(this.effectsEdges[pg].getPositiveFluents(), k);
                 if (resolverIndex != -1) {
+                    this.addHelpfulAction(resolverIndex);
                     final Condition pre = this.preconditions[resolverIndex];
                     final BitVector pPre = pre.getPositiveFluents();
                     for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
@@ -536,6 +451,7 @@ public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic imple
             for (int ng = nGk.nextSetBit(0); ng >= 0; ng = nGk.nextSetBit(ng + 1)) {
                 final int resolverIndex = this.select(this.effectsEdges[ng].getNegativeFluents(), k);
                 if (resolverIndex != -1) {
+                    this.addHelpfulAction(resolverIndex);
                     final Condition pre = this.preconditions[resolverIndex];
                     final BitVector pPre = pre.getPositiveFluents();
                     for (int p = pPre.nextSetBit(0); p >= 0; p = pPre.nextSetBit(p + 1)) {
@@ -570,6 +486,29 @@ public abstract class RelaxedGraphHeuristic extends AbstractStateHeuristic imple
         return value;
     }
 
+    /**
+     * Returns the helpful actions of the state from which the last relaxed plan was extracted, i.e., the actions of
+     * the relaxed plan applicable in this state. The helpful actions are empty if the heuristic does not extract a
+     * relaxed plan. The bit vector returned is overwritten by the next estimation.
+     *
+     * @return the helpful actions of the state from which the last relaxed plan was extracted.
+     */
+    public final BitVector getHelpfulActions() {
+        return this.helpfulActions;
+    }
+
+    /**
+     * Adds the action of an unconditional operator of the relaxed plan to the helpful actions if the operator is
+     * applicable in the state from which the graph was built.
+     *
+     * @param operator the index of the unconditional operator.
+     */
+    private void addHelpfulAction(final int operator) {
+        if (this.operatorsLevel[operator] == 0) {
+            this.helpfulActions.set(this.graph.getAction(operator));
+        }
+    }
+
     /**
      * Select an effect according to the unconditional operators difficulty heuristic. The question
      * is, which achiever should be choose when no NOOP is available ? It is certainly a good idea
@@ -21,6 +21,9 @@ import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Condition;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This interface defines the methods accessible from all goal cost heuristics. An goal cost heuristic is a function
  * that estimates the remaining distance to the goal. In order to find this estimation an heuristic
@@ -106,6 +109,17 @@ public interface StateHeuristic extends Heuristic {
      */
     boolean isAdmissible();
 
+    /**
+     * Returns a copy of this heuristic that can be used by an other thread. The heuristics are not thread safe: each
+     * thread of a search must use its own copy. The copy shares with this heuristic the data that depend only on the
+     * problem whenever possible. By default, the heuristic cannot be copied and its evaluation is not parallelized.
+     *
+     * @return a copy of this heuristic or <code>null</code> if this heuristic cannot be copied.
+     */
+    default StateHeuristic copy() {
+        return null;
+    }
+
     /**
      * Create an instance of a goal cost heuristic for a specified problem.
      *
@@ -138,4 +152,26 @@ public interface StateHeuristic extends Heuristic {
         }
     }
 
+    /**
+     * Converts string in a list of heuristics.
+     *
+     * @param str the input string in the form [h1,..., hn]. The delimiter can be any space and h must be valid name
+     *            of heuristic.
+     * @return a list of heuristics.
+     * @throws java.lang.IllegalArgumentException if the string str as input is not valide
+     */
+    public static List<Name> toHeuristics(String str) throws IllegalArgumentException {
+        final List<StateHeuristic.Name> list = new ArrayList<>();
+        if (str.startsWith("[") && str.endsWith("]")) {
+            final String content = str.substring(1, str.length() - 1).replaceAll("\\s", "");
+            if (!content.isEmpty()) {
+                for (String e : content.split(",")) {
+                    list.add(StateHeuristic.Name.valueOf(e));
+                }
+            }
+            return list;
+        }
+        throw new IllegalArgumentException("Invalid heuristic");
+    }
+
 }
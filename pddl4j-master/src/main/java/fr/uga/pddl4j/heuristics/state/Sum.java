@@ -68,6 +68,24 @@ public final class Sum extends RelaxedGraphHeuristic {
         super.setAdmissible(false);
     }
 
+    /**
+     * Creates a new <code>SUM</code> heuristic that shares the tables of the relaxed planning graph of an
+     * other one.
+     *
+     * @param other the other heuristic.
+     */
+    private Sum(final Sum other) {
+        super(other);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StateHeuristic copy() {
+        return new Sum(this);
+    }
+
     /**
      * Return the distance to the goal state from the specified state. If the return value is
      * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
@@ -83,9 +101,8 @@ public final class Sum extends RelaxedGraphHeuristic {
      */
     @Override
     public int estimate(final State state, final Condition goal) {
-        super.setGoal(goal);
-        this.expandRelaxedPlanningGraph(state);
-        return super.isGoalReachable() ? super.getSumValue() : Integer.MAX_VALUE;
+        this.expandRelaxedPlanningGraph(state, goal);
+        return super.isGoalReachable() ? super.getSumValue(goal) : Integer.MAX_VALUE;
     }
 
     /**
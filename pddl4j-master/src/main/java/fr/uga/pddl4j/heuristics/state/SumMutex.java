@@ -48,6 +48,14 @@ public final class SumMutex extends GraphHeuristic {
         super.setAdmissible(false);
     }
 
+    /**
+     * {@inheritDoc} The planning graph of the heuristic is not shared and is computed again.
+     */
+    @Override
+    public StateHeuristic copy() {
+        return new SumMutex(this.getProblem());
+    }
+
     /**
      * Return the distance to the goal state from the specified state. If the return value is
      * <code>Integer.MAX_VALUE</code>, it means that the goal is unreachable from the specified
@@ -21,12 +21,12 @@ import fr.uga.pddl4j.parser.Message;
 import fr.uga.pddl4j.parser.Parser;
 import fr.uga.pddl4j.plan.Plan;
 import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.util.MemoryEstimator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 
-import org.openjdk.jol.info.GraphLayout;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
 
@@ -65,6 +65,11 @@ public abstract class AbstractPlanner implements Planner {
      */
     private int timeout;
 
+    /**
+     * The flag used to indicate if the memory used by the planner is measured exactly.
+     */
+    private boolean exactMemory;
+
     /**
      * The parser of the planner.
      */
@@ -218,6 +223,27 @@ public abstract class AbstractPlanner implements Planner {
         return this.timeout;
     }
 
+    /**
+     * Sets if the memory used by the planner is measured exactly. By default, the memory used is estimated from the
+     * size of the data structures. An exact measure walks the graph of objects in the heap and is much more expensive.
+     *
+     * @param exact <code>true</code> to measure exactly the memory used; <code>false</code> to estimate it.
+     */
+    @Option(names = { "--exact-memory" }, defaultValue = "false", description = "Measure exactly the memory "
+        + "used by the planner instead of estimating it (preset false).")
+    public final void setExactMemory(final boolean exact) {
+        this.exactMemory = exact;
+    }
+
+    /**
+     * Returns if the memory used by the planner is measured exactly.
+     *
+     * @return <code>true</code> if the memory used is measured exactly; <code>false</code> if it is estimated.
+     */
+    public final boolean isExactMemory() {
+        return this.exactMemory;
+    }
+
     /**
      * Parses the domain and the problem description from the specified parameters.
      *
@@ -296,6 +322,7 @@ public abstract class AbstractPlanner implements Planner {
         config.setProperty(Planner.PROBLEM_SETTING, this.getProblem());
         config.setProperty(Planner.TIME_OUT_SETTING, Integer.toString(this.getTimeout()));
         config.setProperty(Planner.LOG_LEVEL_SETTING, this.getLogLevel().toString());
+        config.setProperty(Planner.EXACT_MEMORY_SETTING, Boolean.toString(this.isExactMemory()));
         return config;
     }
 
@@ -326,6 +353,11 @@ public abstract class AbstractPlanner implements Planner {
         } else {
             this.setLogLevel(new LogLevel(configuration.getProperty(Planner.LOG_LEVEL_SETTING)));
         }
+        if (configuration.getProperty(Planner.EXACT_MEMORY_SETTING) == null) {
+            this.setExactMemory(Planner.DEFAULT_EXACT_MEMORY);
+        } else {
+            this.setExactMemory(Boolean.parseBoolean(configuration.getProperty(Planner.EXACT_MEMORY_SETTING)));
+        }
     }
 
     /**
@@ -405,9 +437,10 @@ public abstract class AbstractPlanner implements Planner {
 
         Problem pb = this.instantiate(parsedProblem);
         this.getStatistics().setTimeToEncode(System.currentTimeMillis() - begin);
-        this.getStatistics().setMemoryUsedForProblemRepresentation(GraphLayout.parseInstance(pb).totalSize());
 
         if (pb != null) {
+            this.getStatistics().setMemoryUsedForProblemRepresentation(this.isExactMemory()
+                ? MemoryEstimator.exactSizeOf(pb) : pb.getMemoryUsed());
 
             this.getStatistics().setNumberOfActions(pb.getActions().size());
             this.getStatistics().setNumberOfRelevantFluents(pb.getFluents().size());
@@ -442,6 +475,8 @@ public abstract class AbstractPlanner implements Planner {
                 if (plan != null) {
                     strb.append(String.format("%nfound plan as follows:%n%n"));
                     strb.append(pb.toString(plan));
+                } else if (this.getStatistics().isMemoryLimitReached()) {
+                    strb.append(String.format("%nno plan found (memory limit reached)%n%n"));
                 } else {
                     strb.append(String.format("%nno plan found%n%n"));
                 }
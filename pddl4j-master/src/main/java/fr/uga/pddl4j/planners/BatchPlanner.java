@@ -0,0 +1,955 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners;
+
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.ErrorManager;
+import fr.uga.pddl4j.parser.Message;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.problem.Problem;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import picocli.CommandLine;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a batch planner. The batch planner solves the planning problems of a manifest concurrently in
+ * a single Java virtual machine and writes the statistics of each problem on a line in CSV or JSON format. Each
+ * problem is parsed, instantiated and solved by a new planner on a bounded pool of threads.
+ *
+ * <p>The manifest is a text file with one job per line: the path to the domain file, the path to the problem file
+ * and, optionally, the timeout of the job in seconds, separated by spaces. The relative paths are relative to the
+ * directory of the manifest. The empty lines and the lines starting with <code>#</code> are ignored. A job is stopped
+ * when its timeout is reached, parsing and instantiation included.</p>
+ *
+ * <p>The command line syntax to launch the batch planner is as follow:</p>
+ *
+ * <pre>
+ * {@code
+ * BatchPlanner [-hV] [-p=<planner>] [-t=<timeout>] [-j=<jobs>] [-f=<format>]
+ *              [-o=<file>] [-l=<logLevel>] <manifest>
+ *
+ * Description:
+ *
+ * Solves the planning problems of a manifest concurrently and writes the
+ * statistics of each problem on a line.
+ *
+ * Parameters:
+ *       <manifest>            The manifest file.
+ *
+ * Options:
+ *   -p, --planner=<planner>   Set the planner used to solve the problems: FF,
+ *                               GSP, HSP, TFD, PFD (preset: FF).
+ *   -t, --timeout=<timeout>   Set the default time out of a job in seconds
+ *                               (preset: 600).
+ *   -j, --jobs=<jobs>         Set the number of jobs run concurrently (preset:
+ *                               the number of processors).
+ *   -f, --format=<format>     Set the format of the lines of statistics: CSV,
+ *                               JSON (preset: CSV).
+ *   -o, --output=<file>       Set the file of the lines of statistics (preset:
+ *                               the standard output).
+ *   -l, --log=<logLevel>      Set the level of trace of the planners: ALL,
+ *                               DEBUG, INFO, ERROR, FATAL, OFF, TRACE (preset:
+ *                               FATAL).
+ *   -h, --help                Show this help message and exit.
+ *   -V, --version             Print version information and exit.
+ * }
+ * </pre>
+ *
+ * <p>Command line example:</p>
+ * <pre>
+ * {@code
+ *    java -cp build/libs/pddl4j-4.0.0-all.jar fr.uga.pddl4j.planners.BatchPlanner manifest.txt -j 4 -t 60 -f JSON
+ * }
+ * </pre>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+@CommandLine.Command(name = "BatchPlanner",
+    version = "BatchPlanner 1.0",
+    description = "Solves the planning problems of a manifest concurrently and writes the statistics of each problem "
+        + "on a line.",
+    sortOptions = false,
+    mixinStandardHelpOptions = true,
+    headerHeading = "Usage:%n",
+    synopsisHeading = "%n",
+    descriptionHeading = "%nDescription:%n%n",
+    parameterListHeading = "%nParameters:%n",
+    optionListHeading = "%nOptions:%n")
+public final class BatchPlanner implements Callable<Integer> {
+
+    /**
+     * The logger of the class.
+     */
+    private static final Logger LOGGER = LogManager.getLogger(BatchPlanner.class.getName());
+
+    /**
+     * The default planner used to solve the problems (FF).
+     */
+    public static final Planner.Name DEFAULT_PLANNER = Planner.Name.FF;
+
+    /**
+     * The default timeout of a job in seconds.
+     */
+    public static final int DEFAULT_TIME_OUT = Planner.DEFAULT_TIME_OUT;
+
+    /**
+     * The default number of jobs run concurrently (the number of available processors).
+     */
+    public static final int DEFAULT_JOBS = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The default log level of the planners (FATAL).
+     */
+    public static final LogLevel DEFAULT_LOG_LEVEL = LogLevel.FATAL;
+
+    /**
+     * The header of the CSV lines of statistics written by the batch planner. The columns of a job are followed by the
+     * columns of the statistics of its planner (see {@link Statistics#CSV_HEADER}) and by the message of the job. The
+     * wall time of a job is in milliseconds.
+     */
+    public static final String CSV_HEADER = "job,domain,problem,status,plan_length,plan_cost,wall_time,"
+        + Statistics.CSV_HEADER + ",message";
+
+    /**
+     * The formats of the lines of statistics.
+     */
+    public enum Format {
+        /**
+         * The lines are comma separated values preceded by a header (see {@link #CSV_HEADER}).
+         */
+        CSV,
+        /**
+         * The lines are JSON objects, one per line.
+         */
+        JSON,
+    }
+
+    /**
+     * The status of a job once done.
+     */
+    public enum Status {
+        /**
+         * A plan was found.
+         */
+        SOLVED,
+        /**
+         * The search ended without finding a plan.
+         */
+        UNSOLVED,
+        /**
+         * The job was stopped because its timeout was reached.
+         */
+        TIMEOUT,
+        /**
+         * The search was stopped because its memory limit was reached.
+         */
+        MEMORY_LIMIT,
+        /**
+         * The problem could not be parsed, instantiated or solved because of an error.
+         */
+        ERROR,
+    }
+
+    /**
+     * The path to the manifest file.
+     */
+    private String manifest;
+
+    /**
+     * The planner used to solve the problems.
+     */
+    private Planner.Name planner;
+
+    /**
+     * The default timeout of a job in seconds.
+     */
+    private int timeout;
+
+    /**
+     * The number of jobs run concurrently.
+     */
+    private int jobs;
+
+    /**
+     * The format of the lines of statistics.
+     */
+    private Format format;
+
+    /**
+     * The path to the file of the lines of statistics or <code>null</code> for the standard output.
+     */
+    private String output;
+
+    /**
+     * The log level of the planners.
+     */
+    private LogLevel logLevel;
+
+    /**
+     * Creates a new batch planner with the default settings.
+     */
+    public BatchPlanner() {
+        super();
+        this.manifest = null;
+        this.planner = BatchPlanner.DEFAULT_PLANNER;
+        this.timeout = BatchPlanner.DEFAULT_TIME_OUT;
+        this.jobs = BatchPlanner.DEFAULT_JOBS;
+        this.format = Format.CSV;
+        this.output = null;
+        this.logLevel = BatchPlanner.DEFAULT_LOG_LEVEL;
+    }
+
+    /**
+     * Sets the path to the manifest file.
+     *
+     * @param manifest the path to the manifest file.
+     */
+    @CommandLine.Parameters(index = "0", paramLabel = "<manifest>", description = "The manifest file.")
+    public void setManifest(final String manifest) {
+        this.manifest = manifest;
+    }
+
+    /**
+     * Returns the path to the manifest file.
+     *
+     * @return the path to the manifest file or null if the manifest is not set.
+     */
+    public String getManifest() {
+        return this.manifest;
+    }
+
+    /**
+     * Sets the planner used to solve the problems. A new planner with its default configuration is created for each
+     * job.
+     *
+     * @param planner the name of the planner. The planner cannot be null.
+     */
+    @CommandLine.Option(names = { "-p", "--planner" }, paramLabel = "<planner>", defaultValue = "FF",
+        description = "Set the planner used to solve the problems: FF, GSP, HSP, TFD, PFD (preset: FF).")
+    public void setPlanner(final Planner.Name planner) {
+        Objects.requireNonNull(planner);
+        this.planner = planner;
+    }
+
+    /**
+     * Returns the planner used to solve the problems.
+     *
+     * @return the name of the planner used to solve the problems.
+     */
+    public Planner.Name getPlanner() {
+        return this.planner;
+    }
+
+    /**
+     * Sets the default timeout of a job. The timeout of a job can be set in the manifest.
+     *
+     * @param timeout the default timeout of a job in seconds. The timeout must be greater than 0.
+     * @throws IllegalArgumentException if the timeout is less than 1.
+     */
+    @CommandLine.Option(names = { "-t", "--timeout" }, paramLabel = "<timeout>", defaultValue = "600",
+        description = "Set the default time out of a job in seconds (preset: 600).")
+    public void setTimeout(final int timeout) {
+        if (timeout < 1) {
+            throw new IllegalArgumentException("timeout must be greater than 0");
+        }
+        this.timeout = timeout;
+    }
+
+    /**
+     * Returns the default timeout of a job in seconds.
+     *
+     * @return the default timeout of a job in seconds.
+     */
+    public int getTimeout() {
+        return this.timeout;
+    }
+
+    /**
+     * Sets the number of jobs run concurrently, i.e., the number of threads of the batch planner.
+     *
+     * @param jobs the number of jobs run concurrently. The number must be greater than 0.
+     * @throws IllegalArgumentException if the number of jobs is less than 1.
+     */
+    @CommandLine.Option(names = { "-j", "--jobs" }, paramLabel = "<jobs>",
+        description = "Set the number of jobs run concurrently (preset: the number of processors).")
+    public void setJobs(final int jobs) {
+        if (jobs < 1) {
+            throw new IllegalArgumentException("jobs must be greater than 0");
+        }
+        this.jobs = jobs;
+    }
+
+    /**
+     * Returns the number of jobs run concurrently.
+     *
+     * @return the number of jobs run concurrently.
+     */
+    public int getJobs() {
+        return this.jobs;
+    }
+
+    /**
+     * Sets the format of the lines of statistics.
+     *
+     * @param format the format of the lines of statistics. The format cannot be null.
+     */
+    @CommandLine.Option(names = { "-f", "--format" }, paramLabel = "<format>", defaultValue = "CSV",
+        description = "Set the format of the lines of statistics: CSV, JSON (preset: CSV).")
+    public void setFormat(final Format format) {
+        Objects.requireNonNull(format);
+        this.format = format;
+    }
+
+    /**
+     * Returns the format of the lines of statistics.
+     *
+     * @return the format of the lines of statistics.
+     */
+    public Format getFormat() {
+        return this.format;
+    }
+
+    /**
+     * Sets the file of the lines of statistics.
+     *
+     * @param output the path to the file of the lines of statistics or null for the standard output.
+     */
+    @CommandLine.Option(names = { "-o", "--output" }, paramLabel = "<file>",
+        description = "Set the file of the lines of statistics (preset: the standard output).")
+    public void setOutput(final String output) {
+        this.output = output;
+    }
+
+    /**
+     * Returns the file of the lines of statistics.
+     *
+     * @return the path to the file of the lines of statistics or null for the standard output.
+     */
+    public String getOutput() {
+        return this.output;
+    }
+
+    /**
+     * Sets the log level of the planners. The log level is shared by the planners run concurrently: the trace of the
+     * planners is mixed and should be kept low.
+     *
+     * @param level the log level of the planners. The level cannot be null.
+     */
+    @CommandLine.Option(names = { "-l", "--log" }, paramLabel = "<logLevel>", defaultValue = "FATAL",
+        converter = LogLevel.class, description = "Set the level of trace of the planners: ALL, DEBUG, INFO, ERROR, "
+        + "FATAL, OFF, TRACE (preset: FATAL).")
+    public void setLogLevel(final LogLevel level) {
+        Objects.requireNonNull(level);
+        this.logLevel = level;
+    }
+
+    /**
+     * Returns the log level of the planners.
+     *
+     * @return the log level of the planners.
+     */
+    public LogLevel getLogLevel() {
+        return this.logLevel;
+    }
+
+    /**
+     * Reads the jobs of a manifest file.
+     *
+     * @param manifest the path to the manifest file.
+     * @param timeout  the timeout in seconds of the jobs with no timeout in the manifest.
+     * @return the jobs of the manifest in the order of the manifest.
+     * @throws IOException if the manifest cannot be read or if a line of the manifest is not a valid job.
+     */
+    public static List<Job> readManifest(final String manifest, final int timeout) throws IOException {
+        final File file = new File(manifest);
+        final File directory = file.getAbsoluteFile().getParentFile();
+        final List<Job> list = new ArrayList<>();
+        int number = 0;
+        for (String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+            number++;
+            final String job = line.trim();
+            if (job.isEmpty() || job.startsWith("#")) {
+                continue;
+            }
+            final String[] columns = job.split("\\s+");
+            int t = timeout;
+            if (columns.length == 3) {
+                try {
+                    t = Integer.parseInt(columns[2]);
+                } catch (NumberFormatException e) {
+                    t = 0;
+                }
+            }
+            if (columns.length < 2 || columns.length > 3 || t < 1) {
+                throw new IOException(manifest + ":" + number + ": invalid job \"" + job + "\"");
+            }
+            list.add(new Job(list.size(), BatchPlanner.resolve(directory, columns[0]),
+                BatchPlanner.resolve(directory, columns[1]), t));
+        }
+        return list;
+    }
+
+    /**
+     * Resolves a path of the manifest against the directory of the manifest.
+     *
+     * @param directory the directory of the manifest.
+     * @param path      the path.
+     * @return the path resolved.
+     */
+    private static String resolve(final File directory, final String path) {
+        final File file = new File(path);
+        return file.isAbsolute() ? path : new File(directory, path).getPath();
+    }
+
+    /**
+     * Solves a list of jobs concurrently. The number of jobs run concurrently is bounded by the number of jobs of the
+     * batch planner (see {@link #setJobs(int)}). The interruption of the calling thread stops the jobs.
+     *
+     * @param jobs     the jobs to solve. The list cannot be null.
+     * @param consumer the consumer of the results of the jobs called by the calling thread each time a job is done or
+     *                 <code>null</code>.
+     * @return the results of the jobs in the order in which the jobs were done.
+     * @throws InterruptedException if the calling thread was interrupted while waiting for the jobs.
+     */
+    public List<Result> solve(final List<Job> jobs, final Consumer<Result> consumer) throws InterruptedException {
+        Objects.requireNonNull(jobs);
+        final List<Result> results = new ArrayList<>(jobs.size());
+        if (jobs.isEmpty()) {
+            return results;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.jobs, jobs.size()), r -> {
+            final Thread thread = new Thread(r, "batch");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // The thread that interrupts the jobs when their timeout is reached
+        final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread thread = new Thread(r, "batch-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final CompletionService<Result> completion = new ExecutorCompletionService<>(executor);
+        try {
+            for (Job job : jobs) {
+                completion.submit(() -> this.solve(job, watchdog));
+            }
+            for (int i = 0; i < jobs.size(); i++) {
+                final Result result = completion.take().get();
+                results.add(result);
+                if (consumer != null) {
+                    consumer.accept(result);
+                }
+            }
+        } catch (ExecutionException e) {
+            // A job catches all the errors of its planner
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+            watchdog.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Solves a job: the problem of the job is parsed, instantiated and solved by a new planner. The thread of the job
+     * is interrupted when the timeout of the job is reached. The errors of the planner are caught and reported in the
+     * result of the job.
+     *
+     * @param job      the job to solve.
+     * @param watchdog the executor of the interruptions of the jobs.
+     * @return the result of the job.
+     */
+    private Result solve(final Job job, final ScheduledExecutorService watchdog) {
+        final long begin = System.currentTimeMillis();
+        final Alarm alarm = new Alarm(Thread.currentThread());
+        final ScheduledFuture<?> future = watchdog.schedule(alarm, job.getTimeout(), TimeUnit.SECONDS);
+        final Planner planner = Planner.getInstance(this.planner);
+        final Statistics statistics = planner.getStatistics();
+        Plan plan = null;
+        Status status = null;
+        String message = null;
+        try {
+            planner.setLogLevel(this.logLevel);
+            planner.setDomain(job.getDomain());
+            planner.setProblem(job.getProblem());
+            planner.setTimeout(job.getTimeout());
+            statistics.setProblem(job.getProblem());
+            long time = System.currentTimeMillis();
+            final DefaultParsedProblem parsedProblem = planner.parse(job.getDomain(), job.getProblem());
+            statistics.setTimeToParse(System.currentTimeMillis() - time);
+            final ErrorManager errors = planner.getParserErrorManager();
+            for (Message m : errors.getMessages()) {
+                if (message == null && (m.getType().equals(Message.Type.LEXICAL_ERROR)
+                    || m.getType().equals(Message.Type.PARSER_ERROR))) {
+                    message = m.getContent();
+                }
+            }
+            if (message == null) {
+                time = System.currentTimeMillis();
+                final Problem problem = planner.instantiate(parsedProblem);
+                statistics.setTimeToEncode(System.currentTimeMillis() - time);
+                statistics.setMemoryUsedForProblemRepresentation(problem.getMemoryUsed());
+                statistics.setNumberOfActions(problem.getActions().size());
+                statistics.setNumberOfRelevantFluents(problem.getFluents().size());
+                plan = planner.solve(problem);
+            } else {
+                status = Status.ERROR;
+            }
+        } catch (Throwable t) {
+            // The interruption of the job can be reported by an error, e.g., while reading a file
+            status = Status.ERROR;
+            message = t.toString();
+        } finally {
+            future.cancel(false);
+            if (alarm.stop()) {
+                status = Status.TIMEOUT;
+            }
+        }
+        final long time = System.currentTimeMillis() - begin;
+        if (plan != null) {
+            status = Status.SOLVED;
+        } else if (status == null) {
+            if (time >= job.getTimeout() * 1000L) {
+                status = Status.TIMEOUT;
+            } else if (statistics.isMemoryLimitReached()) {
+                status = Status.MEMORY_LIMIT;
+            } else {
+                status = Status.UNSOLVED;
+            }
+        }
+        return new Result(job, status, plan, statistics, time, message);
+    }
+
+    /**
+     * Runs the batch planner from the command line: the jobs of the manifest are solved and a line of statistics is
+     * written for each job as soon as the job is done.
+     *
+     * @return the exit return value of the batch planner: 0 if every thing is ok; 1 if the manifest or the output file
+     *      is not valid; 2 otherwise.
+     */
+    @Override
+    public Integer call() {
+        final List<Job> list;
+        PrintStream out = System.out;
+        try {
+            list = BatchPlanner.readManifest(this.manifest, this.timeout);
+            if (this.output != null) {
+                out = new PrintStream(new FileOutputStream(this.output), true, StandardCharsets.UTF_8.name());
+            }
+        } catch (IOException e) {
+            LOGGER.fatal(e.getMessage() + "\n");
+            return 1;
+        }
+        final PrintStream stream = out;
+        try {
+            if (this.format == Format.CSV) {
+                stream.println(BatchPlanner.CSV_HEADER);
+            }
+            this.solve(list, result -> {
+                stream.println(this.format == Format.CSV ? result.toCSV() : result.toJSON());
+                stream.flush();
+            });
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 2;
+        } finally {
+            if (stream != System.out) {
+                stream.close();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a value of a CSV line quoted if needed.
+     *
+     * @param value the value.
+     * @return the value quoted if the value contains a comma, a quote or a line separator.
+     */
+    private static String toCSV(final String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1
+            && value.indexOf('\r') == -1) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Returns a JSON string of a value.
+     *
+     * @param value the value.
+     * @return the JSON string of the value or <code>null</code> if the value is null.
+     */
+    private static String toJSON(final String value) {
+        if (value == null) {
+            return "null";
+        }
+        final StringBuilder strb = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    strb.append("\\\"");
+                    break;
+                case '\\':
+                    strb.append("\\\\");
+                    break;
+                case '\n':
+                    strb.append("\\n");
+                    break;
+                case '\r':
+                    strb.append("\\r");
+                    break;
+                case '\t':
+                    strb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        strb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        strb.append(c);
+                    }
+            }
+        }
+        return strb.append('"').toString();
+    }
+
+    /**
+     * The main method of the batch planner. The batch planner exits with the code 1 if an exception is raised. The
+     * errors, e.g., an out of memory error, are not caught.
+     *
+     * @param args the arguments of the command line.
+     */
+    public static void main(String[] args) {
+        try {
+            final BatchPlanner batch = new BatchPlanner();
+            CommandLine cmd = new CommandLine(batch);
+            int exitCode = (int) cmd.execute(args);
+            if (exitCode == 1) {
+                LOGGER.fatal(cmd.getUsageMessage());
+            }
+            System.exit(exitCode);
+        } catch (Exception e) {
+            LOGGER.fatal(e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * This class implements a job of the batch planner, i.e., a problem to solve with a timeout.
+     */
+    public static final class Job {
+
+        /**
+         * The index of the job in the manifest.
+         */
+        private final int index;
+
+        /**
+         * The path to the domain file.
+         */
+        private final String domain;
+
+        /**
+         * The path to the problem file.
+         */
+        private final String problem;
+
+        /**
+         * The timeout of the job in seconds.
+         */
+        private final int timeout;
+
+        /**
+         * Creates a new job.
+         *
+         * @param index   the index of the job.
+         * @param domain  the path to the domain file. The path cannot be null.
+         * @param problem the path to the problem file. The path cannot be null.
+         * @param timeout the timeout of the job in seconds. The timeout must be greater than 0.
+         * @throws IllegalArgumentException if the timeout is less than 1.
+         */
+        public Job(final int index, final String domain, final String problem, final int timeout) {
+            Objects.requireNonNull(domain);
+            Objects.requireNonNull(problem);
+            if (timeout < 1) {
+                throw new IllegalArgumentException("timeout must be greater than 0");
+            }
+            this.index = index;
+            this.domain = domain;
+            this.problem = problem;
+            this.timeout = timeout;
+        }
+
+        /**
+         * Returns the index of the job in the manifest.
+         *
+         * @return the index of the job in the manifest.
+         */
+        public int getIndex() {
+            return this.index;
+        }
+
+        /**
+         * Returns the path to the domain file.
+         *
+         * @return the path to the domain file.
+         */
+        public String getDomain() {
+            return this.domain;
+        }
+
+        /**
+         * Returns the path to the problem file.
+         *
+         * @return the path to the problem file.
+         */
+        public String getProblem() {
+            return this.problem;
+        }
+
+        /**
+         * Returns the timeout of the job in seconds.
+         *
+         * @return the timeout of the job in seconds.
+         */
+        public int getTimeout() {
+            return this.timeout;
+        }
+    }
+
+    /**
+     * This class implements the result of a job of the batch planner.
+     */
+    public static final class Result {
+
+        /**
+         * The job.
+         */
+        private final Job job;
+
+        /**
+         * The status of the job.
+         */
+        private final Status status;
+
+        /**
+         * The plan found or <code>null</code> if no plan was found.
+         */
+        private final Plan plan;
+
+        /**
+         * The statistics of the planner of the job.
+         */
+        private final Statistics statistics;
+
+        /**
+         * The wall time of the job in milliseconds.
+         */
+        private final long time;
+
+        /**
+         * The message of the error of the job or <code>null</code> if no error occurred.
+         */
+        private final String message;
+
+        /**
+         * Creates a new result.
+         *
+         * @param job        the job.
+         * @param status     the status of the job.
+         * @param plan       the plan found or <code>null</code> if no plan was found.
+         * @param statistics the statistics of the planner of the job.
+         * @param time       the wall time of the job in milliseconds.
+         * @param message    the message of the error of the job or <code>null</code> if no error occurred.
+         */
+        private Result(final Job job, final Status status, final Plan plan, final Statistics statistics,
+                       final long time, final String message) {
+            this.job = job;
+            this.status = status;
+            this.plan = plan;
+            this.statistics = statistics;
+            this.time = time;
+            // The message is written on the line of the job
+            this.message = message == null ? null : message.replaceAll("\\s+", " ").trim();
+        }
+
+        /**
+         * Returns the job.
+         *
+         * @return the job.
+         */
+        public Job getJob() {
+            return this.job;
+        }
+
+        /**
+         * Returns the status of the job.
+         *
+         * @return the status of the job.
+         */
+        public Status getStatus() {
+            return this.status;
+        }
+
+        /**
+         * Returns the plan found.
+         *
+         * @return the plan found or <code>null</code> if no plan was found.
+         */
+        public Plan getPlan() {
+            return this.plan;
+        }
+
+        /**
+         * Returns the statistics of the planner of the job.
+         *
+         * @return the statistics of the planner of the job.
+         */
+        public Statistics getStatistics() {
+            return this.statistics;
+        }
+
+        /**
+         * Returns the wall time of the job in milliseconds, parsing and instantiation included.
+         *
+         * @return the wall time of the job in milliseconds.
+         */
+        public long getTime() {
+            return this.time;
+        }
+
+        /**
+         * Returns the message of the error of the job.
+         *
+         * @return the message of the error of the job or <code>null</code> if no error occurred.
+         */
+        public String getMessage() {
+            return this.message;
+        }
+
+        /**
+         * Returns the CSV line of the result without line separator. The columns of the line are defined by
+         * {@link BatchPlanner#CSV_HEADER}.
+         *
+         * @return the CSV line of the result.
+         */
+        public String toCSV() {
+            return this.job.getIndex() + "," + BatchPlanner.toCSV(this.job.getDomain()) + ","
+                + BatchPlanner.toCSV(this.job.getProblem()) + "," + this.status + ","
+                + (this.plan == null ? "" : this.plan.size()) + "," + (this.plan == null ? "" : this.plan.cost())
+                + "," + this.time + "," + this.statistics.toCSV() + "," + BatchPlanner.toCSV(this.message);
+        }
+
+        /**
+         * Returns the JSON line of the result without line separator. The statistics of the planner are the member
+         * <code>statistics</code> of the JSON object.
+         *
+         * @return the JSON line of the result.
+         */
+        public String toJSON() {
+            return "{\"job\":" + this.job.getIndex() + ",\"domain\":" + BatchPlanner.toJSON(this.job.getDomain())
+                + ",\"problem\":" + BatchPlanner.toJSON(this.job.getProblem()) + ",\"status\":\"" + this.status
+                + "\",\"plan_length\":" + (this.plan == null ? "null" : this.plan.size()) + ",\"plan_cost\":"
+                + (this.plan == null ? "null" : this.plan.cost()) + ",\"wall_time\":" + this.time
+                + ",\"statistics\":" + this.statistics.toJSON() + ",\"message\":" + BatchPlanner.toJSON(this.message)
+                + "}";
+        }
+    }
+
+    /**
+     * This class implements the alarm that interrupts the thread of a job when the timeout of the job is reached. The
+     * alarm and the end of the job are synchronized so that the interruption never reaches the next job of the thread.
+     */
+    private static final class Alarm implements Runnable {
+
+        /**
+         * The thread of the job.
+         */
+        private final Thread thread;
+
+        /**
+         * The flag set when the job is done.
+         */
+        private boolean done;
+
+        /**
+         * The flag set when the thread of the job was interrupted.
+         */
+        private boolean rung;
+
+        /**
+         * Creates a new alarm.
+         *
+         * @param thread the thread of the job.
+         */
+        private Alarm(final Thread thread) {
+            this.thread = thread;
+            this.done = false;
+            this.rung = false;
+        }
+
+        /**
+         * Interrupts the thread of the job if the job is not done.
+         */
+        @Override
+        public synchronized void run() {
+            if (!this.done) {
+                this.rung = true;
+                this.thread.interrupt();
+            }
+        }
+
+        /**
+         * Stops the alarm. The method is called by the thread of the job when the job is done and clears the
+         * interruption of the thread.
+         *
+         * @return <code>true</code> if the thread of the job was interrupted by the alarm.
+         */
+        private synchronized boolean stop() {
+            this.done = true;
+            if (this.rung) {
+                Thread.interrupted();
+            }
+            return this.rung;
+        }
+    }
+}
@@ -82,6 +82,16 @@ public interface Planner extends Serializable, Callable<Integer> {
      */
     static final LogLevel DEFAULT_LOG_LEVEL = new LogLevel(Level.INFO);
 
+    /**
+     * The EXACT_MEMORY setting used for planner configuration.
+     */
+    static final String EXACT_MEMORY_SETTING = "EXACT_MEMORY";
+
+    /**
+     * The default value of the EXACT_MEMORY setting used for planner configuration.
+     */
+    static final boolean DEFAULT_EXACT_MEMORY = false;
+
     /**
      * The enumeration of the planners.
      */
@@ -184,6 +194,26 @@ public interface Planner extends Serializable, Callable<Integer> {
      */
     int getTimeout();
 
+    /**
+     * Sets if the memory used by the planner is measured exactly. By default, the memory used is estimated from the
+     * size of the data structures. An exact measure walks the graph of objects in the heap and is much more expensive.
+     *
+     * By default, the setting is ignored by the planners that cannot measure exactly the memory they use.
+     *
+     * @param exact <code>true</code> to measure exactly the memory used; <code>false</code> to estimate it.
+     */
+    default void setExactMemory(final boolean exact) {
+    }
+
+    /**
+     * Returns if the memory used by the planner is measured exactly. By default, the memory used is estimated.
+     *
+     * @return <code>true</code> if the memory used is measured exactly; <code>false</code> if it is estimated.
+     */
+    default boolean isExactMemory() {
+        return Planner.DEFAULT_EXACT_MEMORY;
+    }
+
     /**
      * Returns the configuration of the planner.
      *
@@ -283,6 +313,29 @@ public interface Planner extends Serializable, Callable<Integer> {
      */
     boolean isSupported(Problem problem);
 
+    /**
+     * Create an instance of a planner with its default configuration.
+     *
+     * @param name the name of the planner to create.
+     * @return the planner created.
+     */
+    static Planner getInstance(final Planner.Name name) {
+        switch (name) {
+            case FF:
+                return new FF();
+            case HSP:
+                return new HSP();
+            case GSP:
+                return new GSP();
+            case TFD:
+                return new TFD();
+            case PFD:
+                return new PFD();
+            default:
+                return null;
+        }
+    }
+
     /**
      * Create an instance of a planner from a specified configuration.
      *
@@ -81,6 +81,7 @@ public class PlannerConfiguration extends Properties {
         this.setProperty(Planner.PROBLEM_SETTING, Planner.DEFAULT_PROBLEM);
         this.setProperty(Planner.TIME_OUT_SETTING, Integer.toString(Planner.DEFAULT_TIME_OUT));
         this.setProperty(Planner.LOG_LEVEL_SETTING, Planner.DEFAULT_LOG_LEVEL.toString());
+        this.setProperty(Planner.EXACT_MEMORY_SETTING, Boolean.toString(Planner.DEFAULT_EXACT_MEMORY));
     }
 
     /**
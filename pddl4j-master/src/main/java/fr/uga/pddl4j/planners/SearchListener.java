@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners;
+
+/**
+ * This interface defines the listener notified periodically of the progress of a search. The listener is called by
+ * the thread of the search, at most once per interval (see {@link #getInterval()}), and once at the end of the
+ * search. A listener can stop the search with the <code>cancel()</code> method of the search or by interrupting the
+ * thread of the search.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ * @see SearchProgress
+ */
+public interface SearchListener {
+
+    /**
+     * The default interval between two notifications in milliseconds.
+     */
+    static final long DEFAULT_INTERVAL = 1000;
+
+    /**
+     * Called periodically with the progress of the search. The listener is called by the thread of the search: it
+     * must return quickly and must be thread safe if it is shared by several searches. The progress is updated by
+     * the search after the call and must not be kept by the listener.
+     *
+     * @param progress the progress of the search.
+     */
+    void progress(final SearchProgress progress);
+
+    /**
+     * Returns the minimum interval between two notifications in milliseconds.
+     *
+     * @return the minimum interval between two notifications in milliseconds.
+     */
+    default long getInterval() {
+        return SearchListener.DEFAULT_INTERVAL;
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners;
+
+import java.util.Objects;
+
+/**
+ * This class implements the progress of a search reported to a {@link SearchListener}. The progress is created by a
+ * search only when a listener is registered and is updated by the search each time a node is explored. The clock is
+ * read once every {@link #CLOCK_PERIOD} updates, so an update costs a few comparisons.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class SearchProgress {
+
+    /**
+     * The number of updates between two readings of the clock. The number must be a power of 2.
+     */
+    public static final int CLOCK_PERIOD = 256;
+
+    /**
+     * The listener notified of the progress.
+     */
+    private final SearchListener listener;
+
+    /**
+     * The time when the search started in milliseconds.
+     */
+    private final long begin;
+
+    /**
+     * The time of the next notification in milliseconds.
+     */
+    private long next;
+
+    /**
+     * The number of updates since the search started.
+     */
+    private long updates;
+
+    /**
+     * The time of the last notification in milliseconds since the search started.
+     */
+    private long time;
+
+    /**
+     * The number of nodes explored.
+     */
+    private long exploredNodes;
+
+    /**
+     * The number of nodes created.
+     */
+    private long createdNodes;
+
+    /**
+     * The best heuristic value of the nodes explored.
+     */
+    private double bestHeuristic;
+
+    /**
+     * The cost of the last node explored, i.e., the f value for a best first search.
+     */
+    private double cost;
+
+    /**
+     * Creates a new progress for a search that starts now.
+     *
+     * @param listener the listener notified of the progress. The listener cannot be null.
+     */
+    public SearchProgress(final SearchListener listener) {
+        Objects.requireNonNull(listener);
+        this.listener = listener;
+        this.begin = System.currentTimeMillis();
+        this.next = this.begin + listener.getInterval();
+        this.updates = 0;
+        this.time = 0;
+        this.exploredNodes = 0;
+        this.createdNodes = 0;
+        this.bestHeuristic = Double.POSITIVE_INFINITY;
+        this.cost = 0.0;
+    }
+
+    /**
+     * Updates the progress with the last node explored and notifies the listener if the interval between two
+     * notifications is elapsed.
+     *
+     * @param explored  the number of nodes explored.
+     * @param created   the number of nodes created.
+     * @param heuristic the heuristic value of the last node explored.
+     * @param cost      the cost of the last node explored.
+     */
+    public void update(final long explored, final long created, final double heuristic, final double cost) {
+        this.exploredNodes = explored;
+        this.createdNodes = created;
+        this.cost = cost;
+        if (heuristic < this.bestHeuristic) {
+            this.bestHeuristic = heuristic;
+        }
+        if ((++this.updates & (SearchProgress.CLOCK_PERIOD - 1)) == 0) {
+            this.tick();
+        }
+    }
+
+    /**
+     * Updates the number of nodes of the progress and notifies the listener if the interval between two notifications
+     * is elapsed. The clock is read at each call: this method is used by the searches that update their progress
+     * periodically rather than for each node explored, e.g., the thread that waits for the threads of a parallel
+     * search.
+     *
+     * @param explored the number of nodes explored.
+     * @param created  the number of nodes created.
+     */
+    public void update(final long explored, final long created) {
+        this.exploredNodes = explored;
+        this.createdNodes = created;
+        this.tick();
+    }
+
+    /**
+     * Notifies the listener of the final progress of the search.
+     *
+     * @param explored the number of nodes explored.
+     * @param created  the number of nodes created.
+     */
+    public void end(final long explored, final long created) {
+        this.exploredNodes = explored;
+        this.createdNodes = created;
+        this.time = System.currentTimeMillis() - this.begin;
+        this.listener.progress(this);
+    }
+
+    /**
+     * Notifies the listener if the interval between two notifications is elapsed.
+     */
+    private void tick() {
+        final long now = System.currentTimeMillis();
+        if (now >= this.next) {
+            this.next = now + this.listener.getInterval();
+            this.time = now - this.begin;
+            this.listener.progress(this);
+        }
+    }
+
+    /**
+     * Returns the time elapsed since the search started in milliseconds.
+     *
+     * @return the time elapsed since the search started in milliseconds.
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    /**
+     * Returns the number of nodes explored.
+     *
+     * @return the number of nodes explored.
+     */
+    public long getExploredNodes() {
+        return this.exploredNodes;
+    }
+
+    /**
+     * Returns the number of nodes created.
+     *
+     * @return the number of nodes created.
+     */
+    public long getCreatedNodes() {
+        return this.createdNodes;
+    }
+
+    /**
+     * Returns the best heuristic value of the nodes explored or <code>Double.POSITIVE_INFINITY</code> if no heuristic
+     * value was computed, e.g., by a blind search.
+     *
+     * @return the best heuristic value of the nodes explored.
+     */
+    public double getBestHeuristic() {
+        return this.bestHeuristic;
+    }
+
+    /**
+     * Returns the cost of the last node explored, i.e., the f value for a best first search.
+     *
+     * @return the cost of the last node explored.
+     */
+    public double getCost() {
+        return this.cost;
+    }
+
+    /**
+     * Returns the number of nodes explored per second since the search started.
+     *
+     * @return the number of nodes explored per second.
+     */
+    public double getNodesPerSecond() {
+        return this.time == 0 ? 0.0 : this.exploredNodes * 1000.0 / this.time;
+    }
+
+    /**
+     * Returns a string representation of the progress.
+     *
+     * @return a string representation of the progress.
+     */
+    @Override
+    public String toString() {
+        return String.format("%8.2f s %10d explored %10d created %8.0f nodes/s best h %s f %s",
+            this.time / 1000.0, this.exploredNodes, this.createdNodes, this.getNodesPerSecond(),
+            this.bestHeuristic, this.cost);
+    }
+}
@@ -57,6 +57,30 @@ public interface SearchStrategy extends Serializable {
          * The hill climbing first search strategy.
          */
         HILL_CLIMBING,
+        /**
+         * The hash distributed parallel A* search strategy.
+         */
+        PARALLEL_ASTAR,
+        /**
+         * The greedy best first search strategy with lazy evaluation of the heuristic and helpful actions.
+         */
+        LAZY_GREEDY_BEST_FIRST,
+        /**
+         * The anytime restarting weighted A* search strategy.
+         */
+        ANYTIME_ASTAR,
+        /**
+         * The iterative deepening A* search strategy.
+         */
+        ITERATIVE_DEEPENING_ASTAR,
+        /**
+         * The beam search strategy.
+         */
+        BEAM,
+        /**
+         * The external-memory breadth first search strategy.
+         */
+        EXTERNAL_BREADTH_FIRST,
     }
 
     /**
@@ -26,6 +26,14 @@ import java.io.Serializable;
  */
 public class Statistics implements Serializable {
 
+    /**
+     * The header of the CSV representation of the statistics (see {@link #toCSV()}). The times are in milliseconds
+     * and the memory in bytes.
+     */
+    public static final String CSV_HEADER = "time_to_parse,time_to_encode,time_to_search,memory_for_problem,"
+        + "memory_to_search,actions,fluents,explored_nodes,created_nodes,dead_ends,dead_end_hits,omission_probability,"
+        + "memory_limit_reached";
+
     /**
      * The encoding time in ms.
      */
@@ -66,6 +74,71 @@ public class Statistics implements Serializable {
      */
     private String problem;
 
+    /**
+     * The number of nodes explored by each thread of the search.
+     */
+    private int[] exploredNodesPerThread;
+
+    /**
+     * The number of nodes created by each thread of the search.
+     */
+    private int[] createdNodesPerThread;
+
+    /**
+     * The names of the members of the portfolio, i.e., the search strategy and the heuristic of each member.
+     */
+    private String[] portfolioMembers;
+
+    /**
+     * The number of nodes explored by each member of the portfolio.
+     */
+    private int[] exploredNodesPerMember;
+
+    /**
+     * The number of nodes created by each member of the portfolio.
+     */
+    private int[] createdNodesPerMember;
+
+    /**
+     * The search time in ms of each member of the portfolio.
+     */
+    private long[] timeToSearchPerMember;
+
+    /**
+     * The index of the member of the portfolio that found the plan or -1 if no member found a plan.
+     */
+    private int portfolioWinner;
+
+    /**
+     * The number of applicable actions of the states pruned with stubborn sets.
+     */
+    private long applicableActions;
+
+    /**
+     * The number of applicable actions pruned with stubborn sets.
+     */
+    private long prunedActions;
+
+    /**
+     * The number of dead ends recorded by the searches.
+     */
+    private int deadEnds;
+
+    /**
+     * The number of states recognized as dead ends without evaluating the heuristic.
+     */
+    private long deadEndHits;
+
+    /**
+     * The estimated probability that a state was omitted by the search in bitstate hashing mode.
+     */
+    private double omissionProbability;
+
+    /**
+     * The flag set when no plan was found because the searches reached their memory limit.
+     */
+    private boolean memoryLimitReached;
+
     /**
      * Creates a new statistics object to store statistical information about  planner performances.
      * The default statistic values are set to 0.
@@ -79,6 +152,19 @@ public class Statistics implements Serializable {
         this.numberOfActions = 0;
         this.numberOfRelevantFacts = 0;
         this.problem = null;
+        this.exploredNodesPerThread = new int[0];
+        this.createdNodesPerThread = new int[0];
+        this.portfolioMembers = new String[0];
+        this.exploredNodesPerMember = new int[0];
+        this.createdNodesPerMember = new int[0];
+        this.timeToSearchPerMember = new long[0];
+        this.portfolioWinner = -1;
+        this.applicableActions = 0;
+        this.prunedActions = 0;
+        this.deadEnds = 0;
+        this.deadEndHits = 0;
+        this.omissionProbability = 0.0;
+        this.memoryLimitReached = false;
     }
 
     /**
@@ -148,6 +234,240 @@ public class Statistics implements Serializable {
         return this.numberOfActions;
     }
 
+    /**
+     * Returns the number of nodes explored by each thread of the search.
+     *
+     * @return the number of nodes explored by each thread of the search.
+     */
+    public final int[] getExploredNodesPerThread() {
+        return this.exploredNodesPerThread;
+    }
+
+    /**
+     * Sets the number of nodes explored by each thread of the search.
+     *
+     * @param nodes the number of nodes explored by each thread of the search.
+     */
+    public final void setExploredNodesPerThread(final int[] nodes) {
+        this.exploredNodesPerThread = nodes;
+    }
+
+    /**
+     * Returns the number of nodes created by each thread of the search.
+     *
+     * @return the number of nodes created by each thread of the search.
+     */
+    public final int[] getCreatedNodesPerThread() {
+        return this.createdNodesPerThread;
+    }
+
+    /**
+     * Sets the number of nodes created by each thread of the search.
+     *
+     * @param nodes the number of nodes created by each thread of the search.
+     */
+    public final void setCreatedNodesPerThread(final int[] nodes) {
+        this.createdNodesPerThread = nodes;
+    }
+
+    /**
+     * Returns the names of the members of the portfolio. The array is empty if the planner did not run a portfolio.
+     *
+     * @return the names of the members of the portfolio.
+     */
+    public final String[] getPortfolioMembers() {
+        return this.portfolioMembers;
+    }
+
+    /**
+     * Sets the names of the members of the portfolio.
+     *
+     * @param members the names of the members of the portfolio.
+     */
+    public final void setPortfolioMembers(final String[] members) {
+        this.portfolioMembers = members;
+    }
+
+    /**
+     * Returns the number of nodes explored by each member of the portfolio.
+     *
+     * @return the number of nodes explored by each member of the portfolio.
+     */
+    public final int[] getExploredNodesPerMember() {
+        return this.exploredNodesPerMember;
+    }
+
+    /**
+     * Sets the number of nodes explored by each member of the portfolio.
+     *
+     * @param nodes the number of nodes explored by each member of the portfolio.
+     */
+    public final void setExploredNodesPerMember(final int[] nodes) {
+        this.exploredNodesPerMember = nodes;
+    }
+
+    /**
+     * Returns the number of nodes created by each member of the portfolio.
+     *
+     * @return the number of nodes created by each member of the portfolio.
+     */
+    public final int[] getCreatedNodesPerMember() {
+        return this.createdNodesPerMember;
+    }
+
+    /**
+     * Sets the number of nodes created by each member of the portfolio.
+     *
+     * @param nodes the number of nodes created by each member of the portfolio.
+     */
+    public final void setCreatedNodesPerMember(final int[] nodes) {
+        this.createdNodesPerMember = nodes;
+    }
+
+    /**
+     * Returns the search time in ms of each member of the portfolio.
+     *
+     * @return the search time in ms of each member of the portfolio.
+     */
+    public final long[] getTimeToSearchPerMember() {
+        return this.timeToSearchPerMember;
+    }
+
+    /**
+     * Sets the search time in ms of each member of the portfolio.
+     *
+     * @param time the search time in ms of each member of the portfolio.
+     */
+    public final void setTimeToSearchPerMember(final long[] time) {
+        this.timeToSearchPerMember = time;
+    }
+
+    /**
+     * Returns the index of the member of the portfolio that found the plan or -1 if no member found a plan.
+     *
+     * @return the index of the member of the portfolio that found the plan.
+     */
+    public final int getPortfolioWinner() {
+        return this.portfolioWinner;
+    }
+
+    /**
+     * Sets the index of the member of the portfolio that found the plan.
+     *
+     * @param winner the index of the member of the portfolio that found the plan or -1 if no member found a plan.
+     */
+    public final void setPortfolioWinner(final int winner) {
+        this.portfolioWinner = winner;
+    }
+
+    /**
+     * Returns the number of applicable actions of the states pruned with stubborn sets.
+     *
+     * @return the number of applicable actions of the states pruned.
+     */
+    public final long getApplicableActions() {
+        return this.applicableActions;
+    }
+
+    /**
+     * Sets the number of applicable actions of the states pruned with stubborn sets.
+     *
+     * @param actions the number of applicable actions of the states pruned.
+     */
+    public final void setApplicableActions(final long actions) {
+        this.applicableActions = actions;
+    }
+
+    /**
+     * Returns the number of applicable actions pruned with stubborn sets.
+     *
+     * @return the number of applicable actions pruned.
+     */
+    public final long getPrunedActions() {
+        return this.prunedActions;
+    }
+
+    /**
+     * Sets the number of applicable actions pruned with stubborn sets.
+     *
+     * @param actions the number of applicable actions pruned.
+     */
+    public final void setPrunedActions(final long actions) {
+        this.prunedActions = actions;
+    }
+
+    /**
+     * Returns the number of dead ends recorded by the searches.
+     *
+     * @return the number of dead ends recorded.
+     */
+    public final int getDeadEnds() {
+        return this.deadEnds;
+    }
+
+    /**
+     * Sets the number of dead ends recorded by the searches.
+     *
+     * @param deadEnds the number of dead ends recorded.
+     */
+    public final void setDeadEnds(final int deadEnds) {
+        this.deadEnds = deadEnds;
+    }
+
+    /**
+     * Returns the number of states recognized as dead ends without evaluating the heuristic.
+     *
+     * @return the number of states recognized as dead ends without evaluating the heuristic.
+     */
+    public final long getDeadEndHits() {
+        return this.deadEndHits;
+    }
+
+    /**
+     * Sets the number of states recognized as dead ends without evaluating the heuristic.
+     *
+     * @param hits the number of states recognized as dead ends without evaluating the heuristic.
+     */
+    public final void setDeadEndHits(final long hits) {
+        this.deadEndHits = hits;
+    }
+
+    /**
+     * Returns the estimated probability that a state was omitted by the search in bitstate hashing mode.
+     *
+     * @return the estimated probability of omission or 0 if the bitstate hashing was disabled.
+     */
+    public final double getOmissionProbability() {
+        return this.omissionProbability;
+    }
+
+    /**
+     * Sets the estimated probability that a state was omitted by the search in bitstate hashing mode.
+     *
+     * @param probability the estimated probability of omission.
+     */
+    public final void setOmissionProbability(final double probability) {
+        this.omissionProbability = probability;
+    }
+
+    /**
+     * Returns <code>true</code> if no plan was found because the searches reached their memory limit.
+     *
+     * @return <code>true</code> if the memory limit was reached; <code>false</code> otherwise.
+     */
+    public final boolean isMemoryLimitReached() {
+        return this.memoryLimitReached;
+    }
+
+    /**
+     * Sets if no plan was found because the searches reached their memory limit.
+     *
+     * @param reached <code>true</code> if the memory limit was reached; <code>false</code> otherwise.
+     */
+    public final void setMemoryLimitReached(final boolean reached) {
+        this.memoryLimitReached = reached;
+    }
+
     /**
      * Sets the number of actions of the solved problem .
      *
@@ -229,6 +549,54 @@ public class Statistics implements Serializable {
         this.timeToParse = time;
     }
 
+    /**
+     * Returns the CSV representation of this statistics, i.e., a line of comma separated values without line
+     * separator. The columns of the line are defined by {@link #CSV_HEADER}. The numbers of nodes explored and created
+     * are the sums of the numbers of the threads of the search.
+     *
+     * @return the CSV representation of this statistics.
+     */
+    public String toCSV() {
+        return this.timeToParse + "," + this.timeToEncode + "," + this.timeToSearch + "," + this.memoryForProblem
+            + "," + this.memoryUsedToSearch + "," + this.numberOfActions + "," + this.numberOfRelevantFacts + ","
+            + Statistics.sum(this.exploredNodesPerThread) + "," + Statistics.sum(this.createdNodesPerThread) + ","
+            + this.deadEnds + "," + this.deadEndHits + "," + this.omissionProbability + ","
+            + this.memoryLimitReached;
+    }
+
+    /**
+     * Returns the JSON representation of this statistics, i.e., a JSON object on a single line. The names of the
+     * members of the object are the names of the columns of {@link #CSV_HEADER}.
+     *
+     * @return the JSON representation of this statistics.
+     */
+    public String toJSON() {
+        final String[] names = Statistics.CSV_HEADER.split(",");
+        final String[] values = this.toCSV().split(",");
+        final StringBuilder strb = new StringBuilder("{");
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                strb.append(',');
+            }
+            strb.append('"').append(names[i]).append("\":").append(values[i]);
+        }
+        return strb.append('}').toString();
+    }
+
+    /**
+     * Returns the sum of the elements of an array.
+     *
+     * @param array the array.
+     * @return the sum of the elements of the array.
+     */
+    private static long sum(final int[] array) {
+        long sum = 0;
+        for (int value : array) {
+            sum += value;
+        }
+        return sum;
+    }
+
     /**
      * Returns a string representation of this statistics.
      *
@@ -258,6 +626,43 @@ public class Statistics implements Serializable {
         strb.append(String.format("%8.2f MBytes for problem representation%n", memoryForProblemInMBytes));
         strb.append(String.format("%8.2f MBytes for searching%n", memoryUsedToSearchInMBytes));
         strb.append(String.format("%8.2f MBytes total%n%n%n", totalMemoryInMBytes));
+        if (this.exploredNodesPerThread.length > 1) {
+            strb.append(String.format("* Search threads:%n"));
+            for (int i = 0; i < this.exploredNodesPerThread.length; i++) {
+                strb.append(String.format("%8d explored nodes %8d created nodes by thread %d%n",
+                    this.exploredNodesPerThread[i], this.createdNodesPerThread[i], i));
+            }
+            strb.append(String.format("%n%n"));
+        }
+        if (this.portfolioMembers.length > 0) {
+            strb.append(String.format("* Portfolio members:%n"));
+            for (int i = 0; i < this.portfolioMembers.length; i++) {
+                strb.append(String.format("%8d explored nodes %8d created nodes %8.2f seconds %s%s%n",
+                    this.exploredNodesPerMember[i], this.createdNodesPerMember[i],
+                    Statistics.millisecondToSecond(this.timeToSearchPerMember[i]), this.portfolioMembers[i],
+                    i == this.portfolioWinner ? " (winner)" : ""));
+            }
+            strb.append(String.format("%n%n"));
+        }
+        if (this.applicableActions > 0) {
+            strb.append(String.format("* Stubborn sets:%n"));
+            strb.append(String.format("%8d applicable actions%n", this.applicableActions));
+            strb.append(String.format("%8d pruned actions (%.2f%%)%n%n%n", this.prunedActions,
+                100.0 * this.prunedActions / this.applicableActions));
+        }
+        if (this.deadEnds > 0 || this.deadEndHits > 0) {
+            strb.append(String.format("* Dead ends:%n"));
+            strb.append(String.format("%8d dead ends recorded%n", this.deadEnds));
+            strb.append(String.format("%8d dead ends not evaluated again%n%n%n", this.deadEndHits));
+        }
+        if (this.omissionProbability > 0.0) {
+            strb.append(String.format("* Bitstate hashing:%n"));
+            strb.append(String.format("%8.2e estimated probability of omission of a state%n%n%n",
+                this.omissionProbability));
+        }
+        if (this.memoryLimitReached) {
+            strb.append(String.format("* Memory limit reached: no plan found within the memory limit%n%n%n"));
+        }
 
         return strb.toString();
     }
@@ -27,9 +27,13 @@ import fr.uga.pddl4j.planners.InvalidConfigurationException;
 import fr.uga.pddl4j.planners.Planner;
 import fr.uga.pddl4j.planners.PlannerConfiguration;
 import fr.uga.pddl4j.planners.ProblemNotSupportedException;
+import fr.uga.pddl4j.planners.SearchListener;
+import fr.uga.pddl4j.planners.SearchProgress;
 import fr.uga.pddl4j.planners.htn.AbstractHTNPlanner;
 import fr.uga.pddl4j.problem.DefaultProblem;
 import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.SuccessorGenerator;
 import fr.uga.pddl4j.problem.operator.Action;
 import fr.uga.pddl4j.problem.operator.Method;
 import org.apache.logging.log4j.LogManager;
@@ -72,6 +76,32 @@ public abstract class AbstractSTNPlanner extends AbstractHTNPlanner implements S
      */
     private int[] costs;
 
+    /**
+     * The successor generators of the resolvers of the primitive tasks indexed by task.
+     */
+    private SuccessorGenerator[] generators;
+
+    /**
+     * The problem of the successor generators of the primitive tasks.
+     */
+    private Problem generatorsProblem;
+
+    /**
+     * The listener notified periodically of the progress of the search.
+     */
+    private SearchListener searchListener;
+
+    /**
+     * The progress of the running search or <code>null</code> if no listener of the progress is set.
+     */
+    private SearchProgress progress;
+
+    /**
+     * The flag set when the search is requested to stop. The flag can be set by an other thread before or during a
+     * search and is cleared at the end of the search that it stopped.
+     */
+    private volatile boolean cancelled;
+
     /**
      * Creates a new planner with a default configuration.
      */
@@ -87,6 +117,7 @@ public abstract class AbstractSTNPlanner extends AbstractHTNPlanner implements S
     public AbstractSTNPlanner(final PlannerConfiguration configuration) {
         super(configuration);
         this.interactive = false;
+        this.cancelled = false;
     }
 
     /**
@@ -108,6 +139,95 @@ public abstract class AbstractSTNPlanner extends AbstractHTNPlanner implements S
         this.interactive = interactive;
     }
 
+    /**
+     * Returns the listener notified periodically of the progress of the search.
+     *
+     * @return the listener of the progress or <code>null</code> if no listener is set.
+     */
+    public final SearchListener getSearchListener() {
+        return this.searchListener;
+    }
+
+    /**
+     * Sets the listener notified periodically of the progress of the search. When no listener is set, the progress of
+     * the search is not computed.
+     *
+     * @param listener the listener of the progress or <code>null</code> to remove the listener.
+     */
+    public final void setSearchListener(final SearchListener listener) {
+        this.searchListener = listener;
+    }
+
+    /**
+     * Requests the search to stop as soon as possible. The search checks the request between two expansions and
+     * returns <code>null</code> if no solution was found before. A request made before the search starts stops the
+     * search as soon as it starts, and the request is cleared at the end of the search, so that the planner can solve
+     * an other problem. The interruption of the thread of the search also stops the search but is not recorded as a
+     * request.
+     */
+    public final void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Returns <code>true</code> if a request to stop the search is pending, i.e., if the search was cancelled and has
+     * not ended since.
+     *
+     * @return <code>true</code> if a request to stop the search is pending; <code>false</code> otherwise.
+     */
+    public final boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * Returns <code>true</code> if the search must stop, i.e., if the search was cancelled or if the thread of the
+     * search was interrupted. The interrupt flag of the thread is left unchanged so that the caller of the search can
+     * see it. This method is called by the search between two expansions.
+     *
+     * @return <code>true</code> if the search must stop; <code>false</code> otherwise.
+     */
+    protected final boolean isStopped() {
+        return this.cancelled || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Starts the progress of a search. The progress is computed only if a listener of the progress is set.
+     */
+    protected final void startProgress() {
+        this.progress = this.searchListener == null ? null : new SearchProgress(this.searchListener);
+    }
+
+    /**
+     * Updates the progress of the search with the last node explored. The method does nothing if no listener of the
+     * progress is set, so it can be called for each node explored.
+     *
+     * @param explored  the number of nodes explored.
+     * @param created   the number of nodes created.
+     * @param heuristic the heuristic value of the last node explored, e.g., its number of tasks left.
+     * @param cost      the cost of the last node explored.
+     */
+    protected final void progress(final long explored, final long created, final double heuristic,
+                                  final double cost) {
+        if (this.progress != null) {
+            this.progress.update(explored, created, heuristic, cost);
+        }
+    }
+
+    /**
+     * Ends the progress of a search and notifies the listener of the progress, if any, of the final progress. This
+     * method must be called at the end of each search: the request to stop the search, if any, is cleared.
+     *
+     * @param explored the number of nodes explored.
+     * @param created  the number of nodes created.
+     */
+    protected final void endProgress(final long explored, final long created) {
+        if (this.progress != null) {
+            this.progress.end(explored, created);
+            this.progress = null;
+        }
+        this.cancelled = false;
+    }
+
     /**
      * This method return the default arguments of the planner.
      *
@@ -200,6 +320,32 @@ public abstract class AbstractSTNPlanner extends AbstractHTNPlanner implements S
         }
     }
 
+    /**
+     * Returns the actions that resolve a specified primitive task and that are applicable in a specified state. The
+     * actions are selected with a successor generator built over the resolvers of the task the first time the task is
+     * decomposed.
+     *
+     * @param task    the primitive task.
+     * @param state   the state.
+     * @param problem the problem to be solved.
+     * @return the indexes of the applicable actions that resolve the task sorted in increasing order.
+     */
+    protected final int[] getApplicableResolvers(final int task, final State state, final Problem problem) {
+        if (this.generatorsProblem != problem) {
+            this.generators = new SuccessorGenerator[problem.getTasks().size()];
+            this.generatorsProblem = problem;
+        }
+        SuccessorGenerator generator = this.generators[task];
+        if (generator == null) {
+            // The negative resolvers are durative actions and cannot be applied by a STN planner
+            final int[] resolvers = problem.getTaskResolvers().get(task).stream().mapToInt(Integer::intValue)
+                .filter(r -> r >= 0).toArray();
+            generator = new SuccessorGenerator(problem, resolvers);
+            this.generators[task] = generator;
+        }
+        return generator.getApplicableActions(state);
+    }
+
     /**
      * Extract a plan from a solution node for the specified planning problem.
      *
@@ -23,13 +23,13 @@ import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
 import fr.uga.pddl4j.problem.operator.Method;
+import fr.uga.pddl4j.util.BucketQueue;
+import fr.uga.pddl4j.util.IntBucketQueue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import picocli.CommandLine;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.PriorityQueue;
 
 /**
  * This class implement a simple task network planner enable to deal with partial ordered htn representation. The
@@ -121,18 +121,15 @@ public final class  PFD extends AbstractSTNPlanner {
         if (!super.isSupported(problem)) {
             throw new ProblemNotSupportedException("Problem not supported");
         }
-        // Create the list of pending nodes to explore
-        final PriorityQueue<PFDNode> open = new PriorityQueue<>(1000, new Comparator<PFDNode>() {
-            public int compare(PFDNode n1, PFDNode n2) {
-                return n1.getTaskNetwork().getTasks().size() - n2.getTaskNetwork().getTasks().size();
-            }
-        });
+        // Create the list of pending nodes to explore. The nodes are ordered by number of tasks left and, in case of
+        // equality, the last node added is explored first.
+        final BucketQueue<PFDNode> open = new BucketQueue<>(IntBucketQueue.TieBreaking.LIFO);
         // Create the root node of the search space
         final State init = new State(problem.getInitialState());
         final PFDNode root = new PFDNode(init, problem.getInitialTaskNetwork());
 
         // Add the root node to the list of the pending nodes to explore.
-        open.add(root);
+        open.add(root, root.getTaskNetwork().getTasks().size());
 
         // Declare the plan used to store the result of the exploration
         Plan plan = null;
@@ -141,11 +138,18 @@ public final class  PFD extends AbstractSTNPlanner {
         final int timeout = this.getTimeout() * 1000;
         final long start = System.currentTimeMillis();
         long elapsedTime = 0;
+        int explored = 0;
+        int created = 0;
+        this.startProgress();
 
         // Start exploring the search space
-        while (!open.isEmpty() && plan == null && elapsedTime < timeout) {
+        while (!open.isEmpty() && plan == null && elapsedTime < timeout && !this.isStopped()) {
             // Get and remove the first node of the pending list of nodes.
             final PFDNode currentNode = open.poll();
+            explored++;
+            // The number of tasks left is the key of the pending list
+            final int left = currentNode.getTaskNetwork().getTasks().size();
+            this.progress(explored, created, left, left);
 
             if (this.isInteractive()) {
                 LOGGER.info("=========> Pop a new node <=========\n");
@@ -159,7 +163,7 @@ public final class  PFD extends AbstractSTNPlanner {
             // If the task network has no more task, a solution is found
             if (currentNode.getTaskNetwork().isEmpty()) {
                 if (currentNode.getState().satisfy(problem.getGoal())) {
-                    return super.extractPlan(currentNode, problem);
+                    plan = super.extractPlan(currentNode, problem);
                 }  else {
                     if (LOGGER.isDebugEnabled()) {
                         Plan p = super.extractPlan(currentNode, problem);
@@ -179,7 +183,11 @@ public final class  PFD extends AbstractSTNPlanner {
                     final List<Integer> relevantOperators = problem.getTaskResolvers().get(taskIndex);
                     // Case of primitive tasks
                     if (problem.getTasks().get(taskIndex).isPrimtive()) {
-                        for (Integer operator : relevantOperators) {
+                        final int[] applicable = this.getApplicableResolvers(taskIndex, state, problem);
+                        if (applicable.length == 0 && this.isInteractive()) {
+                            LOGGER.info("=====> Decomposition failed");
+                        }
+                        for (int operator : applicable) {
                             final Action action = problem.getActions().get(operator);
                             if (this.isInteractive()) {
                                 LOGGER.info("\n======> Try to decompose primitive tasks "
@@ -189,28 +197,23 @@ public final class  PFD extends AbstractSTNPlanner {
                                 LOGGER.info("=> Current state:");
                                 LOGGER.info(problem.toString(currentNode.getState()));
                             }
-                            if (state.satisfy(action.getPrecondition())) {
-                                final PFDNode childNode = new PFDNode(currentNode);
-                                childNode.setParent(currentNode);
-                                childNode.setOperator(operator);
-                                childNode.getState().apply(action.getConditionalEffects());
-                                childNode.getTaskNetwork().removeTask(task);
-                                childNode.setTask(taskIndex);
-                                open.add(childNode);
-                                if (this.isInteractive()) {
-                                    LOGGER.info("=====> Decomposition succeeded push node:");
-                                    LOGGER.info(problem.toString(childNode.getState()));
-                                    LOGGER.info(problem.toString(problem.getTasks().get(childNode.getTask())));
-                                    for (int t : childNode.getTaskNetwork().getTasks()) {
-                                        LOGGER.info(problem.toString(problem.getTasks().get(t)));
-                                    }
-                                    LOGGER.info("=> New state:");
-                                    LOGGER.info(problem.toString(childNode.getState()));
-                                }
-                            } else {
-                                if (this.isInteractive()) {
-                                    LOGGER.info("=====> Decomposition failed");
+                            final PFDNode childNode = new PFDNode(currentNode);
+                            childNode.setParent(currentNode);
+                            childNode.setOperator(operator);
+                            childNode.getState().apply(action.getConditionalEffects());
+                            childNode.getTaskNetwork().removeTask(task);
+                            childNode.setTask(taskIndex);
+                            open.add(childNode, childNode.getTaskNetwork().getTasks().size());
+                            created++;
+                            if (this.isInteractive()) {
+                                LOGGER.info("=====> Decomposition succeeded push node:");
+                                LOGGER.info(problem.toString(childNode.getState()));
+                                LOGGER.info(problem.toString(problem.getTasks().get(childNode.getTask())));
+                                for (int t : childNode.getTaskNetwork().getTasks()) {
+                                    LOGGER.info(problem.toString(problem.getTasks().get(t)));
                                 }
+                                LOGGER.info("=> New state:");
+                                LOGGER.info(problem.toString(childNode.getState()));
                             }
                             if (this.isInteractive()) {
                                 AbstractSTNPlanner.waitPressAnyKey();
@@ -230,7 +233,8 @@ public final class  PFD extends AbstractSTNPlanner {
                                 childNode.setOperator(problem.getActions().size() + operator);
                                 childNode.getTaskNetwork().decompose(task, method);
                                 childNode.setTask(taskIndex);
-                                open.add(childNode);
+                                open.add(childNode, childNode.getTaskNetwork().getTasks().size());
+                                created++;
                                 if (this.isInteractive()) {
                                     LOGGER.info("=====> Decomposition succeeded push node:");
                                     LOGGER.info(problem.toString(childNode.getTaskNetwork()));
@@ -250,6 +254,7 @@ public final class  PFD extends AbstractSTNPlanner {
                 elapsedTime = System.currentTimeMillis() - start;
             }
         }
+        this.endProgress(explored, created);
         return plan;
     }
 
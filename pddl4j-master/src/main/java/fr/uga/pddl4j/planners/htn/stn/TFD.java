@@ -23,13 +23,13 @@ import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
 import fr.uga.pddl4j.problem.operator.Method;
+import fr.uga.pddl4j.util.BucketQueue;
+import fr.uga.pddl4j.util.IntBucketQueue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import picocli.CommandLine;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.PriorityQueue;
 
 /**
  * This class implements the code of a Total-order Forward Decomposition Planner. The search method is an
@@ -129,18 +129,15 @@ public final class TFD extends AbstractSTNPlanner {
             throw new ProblemNotSupportedException("Unable to solve a problem that is not totally ordered");
         }
 
-        // Create the list of pending nodes to explore
-        final PriorityQueue<TFDNode> open = new PriorityQueue<>(1000, new Comparator<TFDNode>() {
-            public int compare(TFDNode n1, TFDNode n2) {
-                return n1.getTasks().size() - n2.getTasks().size();
-            }
-        });
+        // Create the list of pending nodes to explore. The nodes are ordered by number of tasks left and, in case of
+        // equality, the last node added is explored first.
+        final BucketQueue<TFDNode> open = new BucketQueue<>(IntBucketQueue.TieBreaking.LIFO);
         // Create the root node of the search space
         final State init = new State(problem.getInitialState());
         final TFDNode root = new TFDNode(init, problem.getInitialTaskNetwork().getTasks());
 
         // Add the root node to the list of the pending nodes to explore.
-        open.add(root);
+        open.add(root, root.getTasks().size());
 
         // Declare the plan used to store the result of the exploration
         Plan plan = null;
@@ -149,11 +146,18 @@ public final class TFD extends AbstractSTNPlanner {
         final int timeout = this.getTimeout() * 1000;
         final long start = System.currentTimeMillis();
         long elapsedTime = 0;
+        int explored = 0;
+        int created = 0;
+        this.startProgress();
 
         // Start exploring the search space
-        while (!open.isEmpty() && plan == null && elapsedTime < timeout) {
+        while (!open.isEmpty() && plan == null && elapsedTime < timeout && !this.isStopped()) {
             // Get and remove the first node of the pending list of nodes.
             final TFDNode currentNode = open.poll();
+            explored++;
+            // The number of tasks left is the key of the pending list
+            final int left = currentNode.getTasks().size();
+            this.progress(explored, created, left, left);
 
             if (this.isInteractive()) {
                 LOGGER.info("=========> Pop a new node <=========\n");
@@ -168,7 +172,7 @@ public final class TFD extends AbstractSTNPlanner {
             // If the task network is empty we've got a solution
             if (currentNode.getTasks().isEmpty()) {
                 if (currentNode.getState().satisfy(problem.getGoal())) {
-                    return super.extractPlan(currentNode, problem);
+                    plan = super.extractPlan(currentNode, problem);
                 }  else {
                     if (LOGGER.isDebugEnabled()) {
                         Plan p = super.extractPlan(currentNode, problem);
@@ -184,30 +188,29 @@ public final class TFD extends AbstractSTNPlanner {
                 final List<Integer> relevantOperators = problem.getTaskResolvers().get(task);
                 // Case of primitive task
                 if (problem.getTasks().get(task).isPrimtive()) {
-                    for (Integer operator : relevantOperators) {
+                    final int[] applicable = this.getApplicableResolvers(task, state, problem);
+                    if (applicable.length == 0 && this.isInteractive()) {
+                        LOGGER.info("=====> Decomposition failed");
+                    }
+                    for (int operator : applicable) {
                         final Action action = problem.getActions().get(operator);
                         if (this.isInteractive()) {
                             LOGGER.info("\n======> Try to decompose primitive tasks "
                                 + problem.toString(problem.getTasks().get(task)) + " with \n\n"
                                 + problem.toString(action));
                         }
-                        if (state.satisfy(action.getPrecondition())) {
-                            final TFDNode childNode = new TFDNode(currentNode);
-                            childNode.setParent(currentNode);
-                            childNode.setOperator(operator);
-                            childNode.getState().apply(action.getConditionalEffects());
-                            childNode.setTask(task);
-                            open.add(childNode);
-                            if (this.isInteractive()) {
-                                LOGGER.info("=====> Decomposition succeeded push node:");
-                                LOGGER.info(problem.toString(childNode.getState()));
-                                for (int t : childNode.getTasks()) {
-                                    LOGGER.info(problem.toString(problem.getTasks().get(t)));
-                                }
-                            }
-                        } else {
-                            if (this.isInteractive()) {
-                                LOGGER.info("=====> Decomposition failed");
+                        final TFDNode childNode = new TFDNode(currentNode);
+                        childNode.setParent(currentNode);
+                        childNode.setOperator(operator);
+                        childNode.getState().apply(action.getConditionalEffects());
+                        childNode.setTask(task);
+                        open.add(childNode, childNode.getTasks().size());
+                        created++;
+                        if (this.isInteractive()) {
+                            LOGGER.info("=====> Decomposition succeeded push node:");
+                            LOGGER.info(problem.toString(childNode.getState()));
+                            for (int t : childNode.getTasks()) {
+                                LOGGER.info(problem.toString(problem.getTasks().get(t)));
                             }
                         }
                         if (this.isInteractive()) {
@@ -228,7 +231,8 @@ public final class TFD extends AbstractSTNPlanner {
                             childNode.setOperator(problem.getActions().size() + operator);
                             childNode.pushAllTasks(method.getSubTasks());
                             childNode.setTask(task);
-                            open.add(childNode);
+                            open.add(childNode, childNode.getTasks().size());
+                            created++;
                             if (this.isInteractive()) {
                                 LOGGER.info("=====> Decomposition succeeded push node:");
                                 LOGGER.info("=====>\n" + problem.toString(childNode.getState()));
@@ -250,6 +254,7 @@ public final class TFD extends AbstractSTNPlanner {
             }
             elapsedTime = System.currentTimeMillis() - start;
         }
+        this.endProgress(explored, created);
         return plan;
     }
 
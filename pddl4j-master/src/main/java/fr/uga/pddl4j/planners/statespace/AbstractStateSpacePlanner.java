@@ -24,17 +24,32 @@ import fr.uga.pddl4j.planners.InvalidConfigurationException;
 import fr.uga.pddl4j.planners.Planner;
 import fr.uga.pddl4j.planners.PlannerConfiguration;
 import fr.uga.pddl4j.planners.ProblemNotSupportedException;
+import fr.uga.pddl4j.planners.SearchListener;
 import fr.uga.pddl4j.planners.SearchStrategy;
+import fr.uga.pddl4j.planners.statespace.search.BitStateTable;
+import fr.uga.pddl4j.planners.statespace.search.DeadEnds;
 import fr.uga.pddl4j.planners.statespace.search.Node;
+import fr.uga.pddl4j.planners.statespace.search.PlanListener;
 import fr.uga.pddl4j.planners.statespace.search.StateSpaceSearch;
+import fr.uga.pddl4j.planners.statespace.search.StubbornSets;
+import fr.uga.pddl4j.planners.statespace.search.Symmetries;
 import fr.uga.pddl4j.problem.Problem;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * This abstract class defines the main methods to access a state based planner.
@@ -65,6 +80,76 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
      */
     private StateHeuristic.Name heuristic;
 
+    /**
+     * The flag used to run the search strategies concurrently.
+     */
+    private boolean portfolio;
+
+    /**
+     * The heuristics combined with the search strategies in a portfolio.
+     */
+    private List<StateHeuristic.Name> portfolioHeuristics;
+
+    /**
+     * The width of the beam of the beam search strategy.
+     */
+    private int beamWidth;
+
+    /**
+     * The directory of the files of the external search strategies.
+     */
+    private String externalDirectory;
+
+    /**
+     * The flag used to prune the applicable actions with strong stubborn sets.
+     */
+    private boolean stubbornSets;
+
+    /**
+     * The flag used to detect the dead ends.
+     */
+    private boolean deadEndDetection;
+
+    /**
+     * The flag used to merge the symmetric states.
+     */
+    private boolean symmetries;
+
+    /**
+     * The size in megabytes of the table of the states reached in bitstate hashing mode.
+     */
+    private int bitStateMemory;
+
+    /**
+     * The number of hash functions of the table of the states reached in bitstate hashing mode.
+     */
+    private int bitStateHashes;
+
+    /**
+     * The memory limit in megabytes of the search strategies.
+     */
+    private int memoryLimit;
+
+    /**
+     * The flag used to warm start the search strategies with the last plan found.
+     */
+    private boolean warmStart;
+
+    /**
+     * The plan used to warm start the search strategies or <code>null</code> if no plan was found yet.
+     */
+    private Plan warmStartPlan;
+
+    /**
+     * The listener notified each time a search finds a better plan.
+     */
+    private PlanListener planListener;
+
+    /**
+     * The listener notified periodically of the progress of the searches.
+     */
+    private SearchListener searchListener;
+
     /**
      * Creates a new planner.
      */
@@ -80,6 +165,7 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
     public AbstractStateSpacePlanner(final PlannerConfiguration configuration) {
         super();
         this.searchStrategies = new ArrayList<>();
+        this.portfolioHeuristics = new ArrayList<>();
         this.setConfiguration(configuration);
     }
 
@@ -151,6 +237,297 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
         return this.heuristicWeight;
     }
 
+    /**
+     * Sets the portfolio mode of the planner. In portfolio mode, the search strategies are not tried one after the
+     * other: each search strategy is combined with each portfolio heuristic and all the combinations are run
+     * concurrently. The first plan found is returned and the other searches are cancelled.
+     *
+     * @param portfolio <code>true</code> to run the search strategies concurrently.
+     */
+    public void setPortfolio(final boolean portfolio) {
+        this.portfolio = portfolio;
+    }
+
+    /**
+     * Returns <code>true</code> if the planner runs its search strategies concurrently.
+     *
+     * @return <code>true</code> if the planner runs its search strategies concurrently.
+     */
+    public final boolean isPortfolio() {
+        return this.portfolio;
+    }
+
+    /**
+     * Sets the heuristics combined with each search strategy in portfolio mode. If the list is empty, the search
+     * strategies use the heuristic of the planner.
+     *
+     * @param heuristics the heuristics of the portfolio. The list cannot be null.
+     */
+    public void setPortfolioHeuristics(final List<StateHeuristic.Name> heuristics) {
+        Objects.requireNonNull(heuristics);
+        this.portfolioHeuristics = heuristics;
+    }
+
+    /**
+     * Returns the heuristics combined with each search strategy in portfolio mode.
+     *
+     * @return the heuristics of the portfolio.
+     */
+    public final List<StateHeuristic.Name> getPortfolioHeuristics() {
+        return this.portfolioHeuristics;
+    }
+
+    /**
+     * Sets the width of the beam, i.e., the maximum number of nodes kept in each layer of the beam search strategy.
+     *
+     * @param width the width of the beam. The width must be greater than 0.
+     * @throws IllegalArgumentException if the width is less than 1.
+     */
+    public void setBeamWidth(final int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("width must be greater than 0");
+        }
+        this.beamWidth = width;
+    }
+
+    /**
+     * Returns the width of the beam, i.e., the maximum number of nodes kept in each layer of the beam search strategy.
+     *
+     * @return the width of the beam.
+     */
+    public final int getBeamWidth() {
+        return this.beamWidth;
+    }
+
+    /**
+     * Sets the directory where the external search strategies write their files, e.g., the layers of the external
+     * breadth first search.
+     *
+     * @param directory the directory of the files of the external search strategies. The directory cannot be null.
+     */
+    public void setExternalDirectory(final String directory) {
+        Objects.requireNonNull(directory);
+        this.externalDirectory = directory;
+    }
+
+    /**
+     * Returns the directory where the external search strategies write their files.
+     *
+     * @return the directory of the files of the external search strategies.
+     */
+    public final String getExternalDirectory() {
+        return this.externalDirectory;
+    }
+
+    /**
+     * Sets if the search strategies prune the applicable actions of the states they expand with strong stubborn sets.
+     * The pruning keeps the completeness and the optimality of the search strategies.
+     *
+     * @param stubbornSets <code>true</code> to prune the applicable actions with strong stubborn sets.
+     */
+    public void setStubbornSets(final boolean stubbornSets) {
+        this.stubbornSets = stubbornSets;
+    }
+
+    /**
+     * Returns <code>true</code> if the search strategies prune the applicable actions with strong stubborn sets.
+     *
+     * @return <code>true</code> if the search strategies prune the applicable actions with strong stubborn sets.
+     */
+    public final boolean isStubbornSets() {
+        return this.stubbornSets;
+    }
+
+    /**
+     * Sets if the planner detects the dead ends. If the detection is enabled, the planner checks that the goal is
+     * reachable from the initial state before starting the search strategies, and the search strategies share a store
+     * of the dead ends (see {@link DeadEnds}).
+     *
+     * @param detection <code>true</code> to detect the dead ends.
+     */
+    public void setDeadEndDetection(final boolean detection) {
+        this.deadEndDetection = detection;
+    }
+
+    /**
+     * Returns <code>true</code> if the planner detects the dead ends.
+     *
+     * @return <code>true</code> if the planner detects the dead ends.
+     */
+    public final boolean isDeadEndDetection() {
+        return this.deadEndDetection;
+    }
+
+    /**
+     * Sets if the search strategies replace the states they reach by a canonical symmetric state so that the symmetric
+     * states are merged. The plans found are mapped back to the initial state of the problem.
+     *
+     * @param symmetries <code>true</code> to merge the symmetric states.
+     */
+    public void setSymmetries(final boolean symmetries) {
+        this.symmetries = symmetries;
+    }
+
+    /**
+     * Returns <code>true</code> if the search strategies merge the symmetric states.
+     *
+     * @return <code>true</code> if the search strategies merge the symmetric states.
+     */
+    public final boolean isSymmetries() {
+        return this.symmetries;
+    }
+
+    /**
+     * Sets the size in megabytes of the table of the states reached by the breadth first and depth first search
+     * strategies in bitstate hashing mode. In this mode, the memory used to detect the duplicate states is bounded but
+     * some states can be omitted and the search strategies are no more complete.
+     *
+     * @param memory the size of the table in megabytes or 0 to disable the bitstate hashing.
+     * @throws IllegalArgumentException if the size is negative or greater than {@link BitStateTable#MAX_MEMORY}.
+     */
+    public void setBitStateMemory(final int memory) {
+        if (memory < 0 || memory > BitStateTable.MAX_MEMORY) {
+            throw new IllegalArgumentException("memory not in [0, " + BitStateTable.MAX_MEMORY + "]");
+        }
+        this.bitStateMemory = memory;
+    }
+
+    /**
+     * Returns the size in megabytes of the table of the states reached in bitstate hashing mode.
+     *
+     * @return the size of the table in megabytes or 0 if the bitstate hashing is disabled.
+     */
+    public final int getBitStateMemory() {
+        return this.bitStateMemory;
+    }
+
+    /**
+     * Sets the number of hash functions of the table of the states reached in bitstate hashing mode.
+     *
+     * @param hashes the number of hash functions. The number must be greater than 0.
+     * @throws IllegalArgumentException if the number of hash functions is less than 1.
+     */
+    public void setBitStateHashes(final int hashes) {
+        if (hashes < 1) {
+            throw new IllegalArgumentException("hashes must be greater than 0");
+        }
+        this.bitStateHashes = hashes;
+    }
+
+    /**
+     * Returns the number of hash functions of the table of the states reached in bitstate hashing mode.
+     *
+     * @return the number of hash functions.
+     */
+    public final int getBitStateHashes() {
+        return this.bitStateHashes;
+    }
+
+    /**
+     * Sets the memory limit in megabytes of the data structures of the search strategies. A search strategy that
+     * reaches the limit is stopped and restarted with a search strategy that needs less memory: the A* and breadth
+     * first search strategies are restarted with a greedy best first search strategy and the greedy best first search
+     * strategies with a beam search strategy. In portfolio mode, the limit is shared between the searches.
+     *
+     * @param limit the memory limit in megabytes or 0 to not limit the memory used by the search strategies.
+     * @throws IllegalArgumentException if the limit is negative.
+     */
+    public void setMemoryLimit(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("memory limit must be positive or 0");
+        }
+        this.memoryLimit = limit;
+    }
+
+    /**
+     * Returns the memory limit in megabytes of the data structures of the search strategies.
+     *
+     * @return the memory limit in megabytes or 0 if the memory used by the search strategies is not limited.
+     */
+    public final int getMemoryLimit() {
+        return this.memoryLimit;
+    }
+
+    /**
+     * Sets if the search strategies are warm started with the last plan found by the planner. Before searching, the
+     * search strategies replay the suffixes of the plan from the initial state of the problem and return the first
+     * suffix that reaches the goal, or use it as an upper bound of the cost of the plans searched if they are optimal
+     * (see {@link StateSpaceSearch#setWarmStart(Plan)}). The warm start is useful to replan a problem derived from the
+     * last problem solved (see {@link fr.uga.pddl4j.problem.DerivedProblem}).
+     *
+     * @param warmStart <code>true</code> to warm start the search strategies with the last plan found.
+     */
+    public void setWarmStart(final boolean warmStart) {
+        this.warmStart = warmStart;
+    }
+
+    /**
+     * Returns <code>true</code> if the search strategies are warm started with the last plan found by the planner.
+     *
+     * @return <code>true</code> if the search strategies are warm started with the last plan found.
+     */
+    public final boolean isWarmStart() {
+        return this.warmStart;
+    }
+
+    /**
+     * Sets the plan used to warm start the search strategies. The plan is replaced by each plan found by the planner
+     * when the warm start is enabled (see {@link #setWarmStart(boolean)}).
+     *
+     * @param plan the plan used to warm start the search strategies or <code>null</code> to forget the last plan.
+     */
+    public final void setWarmStartPlan(final Plan plan) {
+        this.warmStartPlan = plan;
+    }
+
+    /**
+     * Returns the plan used to warm start the search strategies.
+     *
+     * @return the plan used to warm start the search strategies or <code>null</code> if no plan was found yet.
+     */
+    public final Plan getWarmStartPlan() {
+        return this.warmStartPlan;
+    }
+
+    /**
+     * Sets the listener notified each time a search strategy finds a plan better than the plans found before, e.g.,
+     * an anytime search strategy. In portfolio mode, the listener is called by the threads of the searches.
+     *
+     * @param listener the listener of the plans found or <code>null</code> to remove the listener.
+     */
+    public final void setPlanListener(final PlanListener listener) {
+        this.planListener = listener;
+    }
+
+    /**
+     * Returns the listener notified each time a search strategy finds a plan better than the plans found before.
+     *
+     * @return the listener of the plans found or <code>null</code> if no listener is set.
+     */
+    public final PlanListener getPlanListener() {
+        return this.planListener;
+    }
+
+    /**
+     * Sets the listener notified periodically of the progress of the search strategies. In portfolio mode, the
+     * listener is called by the threads of the searches. A search can be stopped by interrupting the thread that
+     * calls the planner.
+     *
+     * @param listener the listener of the progress or <code>null</code> to remove the listener.
+     */
+    public final void setSearchListener(final SearchListener listener) {
+        this.searchListener = listener;
+    }
+
+    /**
+     * Returns the listener notified periodically of the progress of the search strategies.
+     *
+     * @return the listener of the progress or <code>null</code> if no listener is set.
+     */
+    public final SearchListener getSearchListener() {
+        return this.searchListener;
+    }
+
     /**
      * Checks the planner configuration and returns if the configuration is valid. A configuration is valid if (1) the
      * domain and the problem files exist and can be read, (2) the timeout is greater than 0, (3) the weight of the
@@ -194,6 +571,26 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
         config.setProperty(StateSpacePlanner.HEURISTIC_SETTING, StateSpacePlanner.DEFAULT_HEURISTIC.toString());
         config.setProperty(StateSpacePlanner.WEIGHT_HEURISTIC_SETTING,
             Double.toString(StateSpacePlanner.DEFAULT_WEIGHT_HEURISTIC));
+        config.setProperty(StateSpacePlanner.PORTFOLIO_SETTING, Boolean.toString(StateSpacePlanner.DEFAULT_PORTFOLIO));
+        config.setProperty(StateSpacePlanner.PORTFOLIO_HEURISTICS_SETTING,
+            StateSpacePlanner.DEFAULT_PORTFOLIO_HEURISTICS.toString());
+        config.setProperty(StateSpacePlanner.BEAM_WIDTH_SETTING,
+            Integer.toString(StateSpacePlanner.DEFAULT_BEAM_WIDTH));
+        config.setProperty(StateSpacePlanner.EXTERNAL_DIRECTORY_SETTING, StateSpacePlanner.DEFAULT_EXTERNAL_DIRECTORY);
+        config.setProperty(StateSpacePlanner.STUBBORN_SETS_SETTING,
+            Boolean.toString(StateSpacePlanner.DEFAULT_STUBBORN_SETS));
+        config.setProperty(StateSpacePlanner.DEAD_END_DETECTION_SETTING,
+            Boolean.toString(StateSpacePlanner.DEFAULT_DEAD_END_DETECTION));
+        config.setProperty(StateSpacePlanner.SYMMETRIES_SETTING,
+            Boolean.toString(StateSpacePlanner.DEFAULT_SYMMETRIES));
+        config.setProperty(StateSpacePlanner.BITSTATE_MEMORY_SETTING,
+            Integer.toString(StateSpacePlanner.DEFAULT_BITSTATE_MEMORY));
+        config.setProperty(StateSpacePlanner.BITSTATE_HASHES_SETTING,
+            Integer.toString(StateSpacePlanner.DEFAULT_BITSTATE_HASHES));
+        config.setProperty(StateSpacePlanner.MEMORY_LIMIT_SETTING,
+            Integer.toString(StateSpacePlanner.DEFAULT_MEMORY_LIMIT));
+        config.setProperty(StateSpacePlanner.WARM_START_SETTING,
+            Boolean.toString(StateSpacePlanner.DEFAULT_WARM_START));
         return config;
     }
 
@@ -208,6 +605,17 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
         config.setProperty(StateSpacePlanner.SEARCH_STRATEGIES_SETTING, this.getSearchStrategies().toString());
         config.setProperty(StateSpacePlanner.HEURISTIC_SETTING, this.getHeuristic().toString());
         config.setProperty(StateSpacePlanner.WEIGHT_HEURISTIC_SETTING, Double.toString(this.getHeuristicWeight()));
+        config.setProperty(StateSpacePlanner.PORTFOLIO_SETTING, Boolean.toString(this.isPortfolio()));
+        config.setProperty(StateSpacePlanner.PORTFOLIO_HEURISTICS_SETTING, this.getPortfolioHeuristics().toString());
+        config.setProperty(StateSpacePlanner.BEAM_WIDTH_SETTING, Integer.toString(this.getBeamWidth()));
+        config.setProperty(StateSpacePlanner.EXTERNAL_DIRECTORY_SETTING, this.getExternalDirectory());
+        config.setProperty(StateSpacePlanner.STUBBORN_SETS_SETTING, Boolean.toString(this.isStubbornSets()));
+        config.setProperty(StateSpacePlanner.DEAD_END_DETECTION_SETTING, Boolean.toString(this.isDeadEndDetection()));
+        config.setProperty(StateSpacePlanner.SYMMETRIES_SETTING, Boolean.toString(this.isSymmetries()));
+        config.setProperty(StateSpacePlanner.BITSTATE_MEMORY_SETTING, Integer.toString(this.getBitStateMemory()));
+        config.setProperty(StateSpacePlanner.BITSTATE_HASHES_SETTING, Integer.toString(this.getBitStateHashes()));
+        config.setProperty(StateSpacePlanner.MEMORY_LIMIT_SETTING, Integer.toString(this.getMemoryLimit()));
+        config.setProperty(StateSpacePlanner.WARM_START_SETTING, Boolean.toString(this.isWarmStart()));
         return config;
     }
 
@@ -238,11 +646,74 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
             this.setHeuristic(StateHeuristic.Name.valueOf(configuration.getProperty(
                 StateSpacePlanner.HEURISTIC_SETTING)));
         }
+        if (configuration.getProperty(StateSpacePlanner.PORTFOLIO_SETTING) == null) {
+            this.setPortfolio(StateSpacePlanner.DEFAULT_PORTFOLIO);
+        } else {
+            this.setPortfolio(Boolean.parseBoolean(configuration.getProperty(StateSpacePlanner.PORTFOLIO_SETTING)));
+        }
+        if (configuration.getProperty(StateSpacePlanner.PORTFOLIO_HEURISTICS_SETTING) == null) {
+            this.setPortfolioHeuristics(new ArrayList<>(StateSpacePlanner.DEFAULT_PORTFOLIO_HEURISTICS));
+        } else {
+            this.setPortfolioHeuristics(StateHeuristic.toHeuristics(configuration.getProperty(
+                StateSpacePlanner.PORTFOLIO_HEURISTICS_SETTING)));
+        }
+        if (configuration.getProperty(StateSpacePlanner.BEAM_WIDTH_SETTING) == null) {
+            this.setBeamWidth(StateSpacePlanner.DEFAULT_BEAM_WIDTH);
+        } else {
+            this.setBeamWidth(Integer.parseInt(configuration.getProperty(StateSpacePlanner.BEAM_WIDTH_SETTING)));
+        }
+        if (configuration.getProperty(StateSpacePlanner.EXTERNAL_DIRECTORY_SETTING) == null) {
+            this.setExternalDirectory(StateSpacePlanner.DEFAULT_EXTERNAL_DIRECTORY);
+        } else {
+            this.setExternalDirectory(configuration.getProperty(StateSpacePlanner.EXTERNAL_DIRECTORY_SETTING));
+        }
+        if (configuration.getProperty(StateSpacePlanner.STUBBORN_SETS_SETTING) == null) {
+            this.setStubbornSets(StateSpacePlanner.DEFAULT_STUBBORN_SETS);
+        } else {
+            this.setStubbornSets(Boolean.parseBoolean(configuration.getProperty(
+                StateSpacePlanner.STUBBORN_SETS_SETTING)));
+        }
+        if (configuration.getProperty(StateSpacePlanner.DEAD_END_DETECTION_SETTING) == null) {
+            this.setDeadEndDetection(StateSpacePlanner.DEFAULT_DEAD_END_DETECTION);
+        } else {
+            this.setDeadEndDetection(Boolean.parseBoolean(configuration.getProperty(
+                StateSpacePlanner.DEAD_END_DETECTION_SETTING)));
+        }
+        if (configuration.getProperty(StateSpacePlanner.SYMMETRIES_SETTING) == null) {
+            this.setSymmetries(StateSpacePlanner.DEFAULT_SYMMETRIES);
+        } else {
+            this.setSymmetries(Boolean.parseBoolean(configuration.getProperty(StateSpacePlanner.SYMMETRIES_SETTING)));
+        }
+        if (configuration.getProperty(StateSpacePlanner.BITSTATE_MEMORY_SETTING) == null) {
+            this.setBitStateMemory(StateSpacePlanner.DEFAULT_BITSTATE_MEMORY);
+        } else {
+            this.setBitStateMemory(Integer.parseInt(configuration.getProperty(
+                StateSpacePlanner.BITSTATE_MEMORY_SETTING)));
+        }
+        if (configuration.getProperty(StateSpacePlanner.BITSTATE_HASHES_SETTING) == null) {
+            this.setBitStateHashes(StateSpacePlanner.DEFAULT_BITSTATE_HASHES);
+        } else {
+            this.setBitStateHashes(Integer.parseInt(configuration.getProperty(
+                StateSpacePlanner.BITSTATE_HASHES_SETTING)));
+        }
+        if (configuration.getProperty(StateSpacePlanner.MEMORY_LIMIT_SETTING) == null) {
+            this.setMemoryLimit(StateSpacePlanner.DEFAULT_MEMORY_LIMIT);
+        } else {
+            this.setMemoryLimit(Integer.parseInt(configuration.getProperty(StateSpacePlanner.MEMORY_LIMIT_SETTING)));
+        }
+        if (configuration.getProperty(StateSpacePlanner.WARM_START_SETTING) == null) {
+            this.setWarmStart(StateSpacePlanner.DEFAULT_WARM_START);
+        } else {
+            this.setWarmStart(Boolean.parseBoolean(configuration.getProperty(StateSpacePlanner.WARM_START_SETTING)));
+        }
     }
 
     /**
      * Search a solution plan to a specified domain and problem. The method search a solution plan by trying iteratively
-     * all the search strategies defined.
+     * all the search strategies defined or, in portfolio mode, by running them concurrently. When the dead ends are
+     * detected, the dead ends found by a search strategy are shared with the others and the search is not started if
+     * the goal is not reachable from the initial state. When the warm start is enabled, the plan found is kept to warm
+     * start the next searches.
      *
      * @param problem the problem to solve.
      * @return the plan found or null if no plan was found.
@@ -252,33 +723,277 @@ public abstract class AbstractStateSpacePlanner extends AbstractPlanner implemen
         if (!this.isSupported(problem)) {
             throw new ProblemNotSupportedException(("Problem not supported"));
         }
+        // The store of the dead ends is null if the dead ends are not detected
+        final DeadEnds deadEnds = this.isDeadEndDetection() ? new DeadEnds(problem) : null;
+        if (deadEnds != null && deadEnds.isUnsolvable()) {
+            LOGGER.info("* Goal unreachable from the initial state\n");
+            return null;
+        }
+        if (this.isPortfolio()) {
+            final Plan plan = this.solvePortfolio(problem, deadEnds);
+            if (plan != null && this.isWarmStart()) {
+                this.warmStartPlan = plan;
+            }
+            return plan;
+        }
 
         Plan plan = null;
         final Iterator<SearchStrategy.Name> i = this.getSearchStrategies().iterator();
         int timeout = this.getTimeout();
-        while (plan == null && i.hasNext()) {
+        // The search strategy restarted in place of the last one when the last one reached the memory limit
+        SearchStrategy.Name fallback = null;
+        boolean memoryLimitReached = false;
+        // The interruption of the thread of the planner stops the current search and the next ones are not started
+        while (plan == null && (fallback != null || i.hasNext()) && !Thread.currentThread().isInterrupted()) {
             final long begin = System.currentTimeMillis();
-            final SearchStrategy.Name strategy = i.next();
+            final SearchStrategy.Name strategy = fallback != null ? fallback : i.next();
             LOGGER.info("* Starting " + strategy.name() + " search with "
                 + this.getConfiguration().getProperty(AbstractStateSpacePlanner.HEURISTIC_SETTING) + " heuristic \n");
             StateSpaceSearch search = StateSpaceSearch.getInstance(strategy, this.getHeuristic(),
                 this.getHeuristicWeight(), timeout);
+            search.setExactMemory(this.isExactMemory());
+            search.setPlanListener(this.getPlanListener());
+            search.setSearchListener(this.getSearchListener());
+            search.setBeamWidth(this.getBeamWidth());
+            search.setExternalDirectory(this.getExternalDirectory());
+            search.setStubbornSets(this.isStubbornSets());
+            search.setDeadEndDetection(this.isDeadEndDetection());
+            search.setSymmetries(this.isSymmetries());
+            search.setBitStateMemory(this.getBitStateMemory());
+            search.setBitStateHashes(this.getBitStateHashes());
+            search.setMemoryLimit(this.getMemoryLimit());
+            search.setWarmStart(this.isWarmStart() ? this.getWarmStartPlan() : null);
+            search.setDeadEnds(deadEnds);
             final Node solution = search.searchSolutionNode(problem);
             plan = (SequentialPlan) search.extractPlan(solution, problem);
+            memoryLimitReached = search.isMemoryLimitReached();
+            fallback = null;
             if (solution != null) {
                 LOGGER.info("* " + strategy.name() + " search succeeded\n");
                 this.getStatistics().setTimeToSearch(search.getSearchingTime());
                 this.getStatistics().setMemoryUsedToSearch(search.getMemoryUsed());
+            } else if (memoryLimitReached) {
+                fallback = AbstractStateSpacePlanner.getMemoryFallback(strategy);
+                LOGGER.info("* " + strategy.name() + " search reached the memory limit"
+                    + (fallback == null ? "" : ", restarting with " + fallback.name() + " search") + "\n");
             } else {
                 LOGGER.info("* " + strategy.name() + " search failed\n");
             }
             final long end = System.currentTimeMillis();
             this.getStatistics().setMemoryUsedToSearch(search.getMemoryUsed());
+            this.getStatistics().setExploredNodesPerThread(search.getExploredNodesPerThread());
+            this.getStatistics().setCreatedNodesPerThread(search.getCreatedNodesPerThread());
+            this.getStatistics().setApplicableActions(search.getApplicableActions());
+            this.getStatistics().setPrunedActions(search.getPrunedActions());
+            this.getStatistics().setOmissionProbability(search.getOmissionProbability());
             timeout -= ((end - begin) / 1000);
         }
+        this.getStatistics().setMemoryLimitReached(plan == null && memoryLimitReached);
+        if (deadEnds != null) {
+            this.getStatistics().setDeadEnds(deadEnds.size());
+            this.getStatistics().setDeadEndHits(deadEnds.getHits());
+        }
+        if (plan != null && this.isWarmStart()) {
+            this.warmStartPlan = plan;
+        }
         return plan;
     }
 
+    /**
+     * Search a solution plan by running concurrently each search strategy combined with each heuristic of the
+     * portfolio. The blind search strategies do not depend on the heuristic and are run once. The first plan found is
+     * returned and the other searches are cancelled. The statistics of each member of the portfolio are stored in the
+     * statistics of the planner.
+     *
+     * @param problem  the problem to solve.
+     * @param deadEnds the store of the dead ends shared by the searches or <code>null</code> if the dead ends are not
+     *                 detected.
+     * @return the plan found or null if no plan was found.
+     */
+    private Plan solvePortfolio(final Problem problem, final DeadEnds deadEnds) {
+        final List<StateHeuristic.Name> heuristics = this.getPortfolioHeuristics().isEmpty()
+            ? Collections.singletonList(this.getHeuristic()) : this.getPortfolioHeuristics();
+        final List<SearchStrategy.Name> memberStrategies = new ArrayList<>();
+        final List<StateHeuristic.Name> memberHeuristics = new ArrayList<>();
+        for (SearchStrategy.Name strategy : this.getSearchStrategies()) {
+            final boolean blind = AbstractStateSpacePlanner.isBlind(strategy);
+            for (StateHeuristic.Name h : blind ? Collections.singletonList(this.getHeuristic()) : heuristics) {
+                boolean duplicate = false;
+                for (int i = 0; i < memberStrategies.size() && !duplicate; i++) {
+                    duplicate = memberStrategies.get(i) == strategy && (blind || memberHeuristics.get(i) == h);
+                }
+                if (!duplicate) {
+                    memberStrategies.add(strategy);
+                    memberHeuristics.add(h);
+                }
+            }
+        }
+        final int size = memberStrategies.size();
+        // The structures that depend only on the problem are computed once before the start of the searches that
+        // share them: the successor generator, the symmetries and the relations of the stubborn sets. The dead ends
+        // and the reachability analysis are shared through the store of the dead ends.
+        if (deadEnds != null) {
+            deadEnds.getSuccessorGenerator();
+        } else {
+            problem.getSuccessorGenerator();
+        }
+        final Symmetries symmetries = this.isSymmetries() ? new Symmetries(problem) : null;
+        final StubbornSets stubbornSets = this.isStubbornSets() ? new StubbornSets(problem) : null;
+        final StateSpaceSearch[] searches = new StateSpaceSearch[size];
+        final String[] names = new String[size];
+        for (int i = 0; i < size; i++) {
+            searches[i] = StateSpaceSearch.getInstance(memberStrategies.get(i), memberHeuristics.get(i),
+                this.getHeuristicWeight(), this.getTimeout());
+            // The members already share the processors: the heuristic of each member is evaluated by a single thread
+            searches[i].setHeuristicThreads(1);
+            searches[i].setExactMemory(this.isExactMemory());
+            searches[i].setPlanListener(this.getPlanListener());
+            searches[i].setSearchListener(this.getSearchListener());
+            searches[i].setBeamWidth(this.getBeamWidth());
+            searches[i].setExternalDirectory(this.getExternalDirectory());
+            searches[i].setStubbornSets(this.isStubbornSets());
+            searches[i].setDeadEndDetection(this.isDeadEndDetection());
+            searches[i].setSymmetries(this.isSymmetries());
+            if (symmetries != null) {
+                searches[i].setSharedSymmetries(symmetries);
+            }
+            if (stubbornSets != null) {
+                searches[i].setSharedStubbornSets(stubbornSets);
+            }
+            searches[i].setBitStateMemory(this.getBitStateMemory());
+            searches[i].setBitStateHashes(this.getBitStateHashes());
+            // The members share the memory limit: a limit too small for the members is rounded to 1 megabyte
+            searches[i].setMemoryLimit(this.getMemoryLimit() == 0 ? 0 : Math.max(1, this.getMemoryLimit() / size));
+            searches[i].setWarmStart(this.isWarmStart() ? this.getWarmStartPlan() : null);
+            searches[i].setDeadEnds(deadEnds);
+            names[i] = memberStrategies.get(i).name() + "/" + memberHeuristics.get(i).name();
+        }
+        LOGGER.info("* Starting portfolio of " + size + " searches: " + Arrays.toString(names) + "\n");
+
+        final ExecutorService executor = Executors.newFixedThreadPool(size, r -> {
+            final Thread thread = new Thread(r, "portfolio");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final CompletionService<Integer> completion = new ExecutorCompletionService<>(executor);
+        final Node[] solutions = new Node[size];
+        for (int i = 0; i < size; i++) {
+            final int index = i;
+            completion.submit(() -> {
+                solutions[index] = searches[index].searchSolutionNode(problem);
+                return index;
+            });
+        }
+        int winner = -1;
+        final boolean[] ended = new boolean[size];
+        try {
+            // The first solution found wins and the searches still running are cancelled once: a member that has not
+            // started yet stops as soon as it starts. The planner waits for the end of all the searches to collect
+            // their statistics.
+            for (int k = 0; k < size; k++) {
+                final Future<Integer> done = completion.take();
+                try {
+                    final int index = done.get();
+                    ended[index] = true;
+                    if (solutions[index] != null && winner == -1) {
+                        winner = index;
+                        LOGGER.info("* " + names[index] + " search succeeded\n");
+                        for (int i = 0; i < size; i++) {
+                            if (!ended[i]) {
+                                searches[i].cancel();
+                            }
+                        }
+                    } else if (solutions[index] == null && winner == -1) {
+                        LOGGER.info("* " + names[index] + " search failed\n");
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.error("* portfolio search failed: {}", e.getCause().getMessage(), e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            for (StateSpaceSearch search : searches) {
+                search.cancel();
+            }
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+        }
+
+        final int[] explored = new int[size];
+        final int[] created = new int[size];
+        final long[] time = new long[size];
+        long memory = 0;
+        boolean memoryLimitReached = false;
+        for (int i = 0; i < size; i++) {
+            explored[i] = searches[i].getExploredNodes();
+            created[i] = searches[i].getCreatedNodes();
+            time[i] = searches[i].getSearchingTime();
+            memory += searches[i].getMemoryUsed();
+            memoryLimitReached |= searches[i].isMemoryLimitReached();
+        }
+        this.getStatistics().setPortfolioMembers(names);
+        this.getStatistics().setExploredNodesPerMember(explored);
+        this.getStatistics().setCreatedNodesPerMember(created);
+        this.getStatistics().setTimeToSearchPerMember(time);
+        this.getStatistics().setPortfolioWinner(winner);
+        this.getStatistics().setMemoryLimitReached(winner == -1 && memoryLimitReached);
+        this.getStatistics().setMemoryUsedToSearch(memory);
+        if (deadEnds != null) {
+            this.getStatistics().setDeadEnds(deadEnds.size());
+            this.getStatistics().setDeadEndHits(deadEnds.getHits());
+        }
+        if (winner == -1) {
+            return null;
+        }
+        this.getStatistics().setTimeToSearch(searches[winner].getSearchingTime());
+        this.getStatistics().setExploredNodesPerThread(searches[winner].getExploredNodesPerThread());
+        this.getStatistics().setCreatedNodesPerThread(searches[winner].getCreatedNodesPerThread());
+        this.getStatistics().setApplicableActions(searches[winner].getApplicableActions());
+        this.getStatistics().setPrunedActions(searches[winner].getPrunedActions());
+        this.getStatistics().setOmissionProbability(searches[winner].getOmissionProbability());
+        return searches[winner].extractPlan(solutions[winner], problem);
+    }
+
+    /**
+     * Returns if a specified search strategy is blind, i.e., if it does not use the heuristic.
+     *
+     * @param strategy the search strategy.
+     * @return <code>true</code> if the search strategy is blind; <code>false</code> otherwise.
+     */
+    private static boolean isBlind(final SearchStrategy.Name strategy) {
+        switch (strategy) {
+            case BREADTH_FIRST:
+            case DEPTH_FIRST:
+            case EXTERNAL_BREADTH_FIRST:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Returns the search strategy restarted in place of a specified search strategy that reached the memory limit.
+     * The search strategy returned needs less memory: it explores less nodes to find a plan or bounds the number of
+     * nodes kept by layer.
+     *
+     * @param strategy the search strategy that reached the memory limit.
+     * @return the search strategy to restart or <code>null</code> if no search strategy needs less memory.
+     */
+    private static SearchStrategy.Name getMemoryFallback(final SearchStrategy.Name strategy) {
+        switch (strategy) {
+            case ASTAR:
+            case PARALLEL_ASTAR:
+            case ANYTIME_ASTAR:
+            case BREADTH_FIRST:
+                return SearchStrategy.Name.GREEDY_BEST_FIRST;
+            case GREEDY_BEST_FIRST:
+            case LAZY_GREEDY_BEST_FIRST:
+                return SearchStrategy.Name.BEAM;
+            default:
+                return null;
+        }
+    }
+
     /**
      * Returns if a specified problem is supported by the planner.
      *
@@ -40,7 +40,7 @@ import java.util.Arrays;
  *
  * <pre>
  * {@code
- * FF [-hV] [-l=<logLevel>] [-t=<timeout>] [-w=<weight>] <domain>
+ * FF [-hpV] [-l=<logLevel>] [-t=<timeout>] [-w=<weight>] <domain>
  *             <problem>
  *
  * Description:
@@ -58,6 +58,8 @@ import java.util.Arrays;
  *   -t, --timeout=<timeout>   Set the time out of the planner in seconds (
  *                               preset 600s).
  *   -w, --weight=<weight>     Set the weight of the heuristic (preset 1.0).
+ *   -p, --portfolio           Run enforced hill climbing and A* concurrently
+ *                               instead of one after the other.
  *   -h, --help                Show this help message and exit.
  *   -V, --version             Print version information and exit.
  *  }
@@ -138,6 +140,18 @@ public final class FF extends AbstractStateSpacePlanner  {
         super.setHeuristicWeight(weight);
     }
 
+    /**
+     * Sets the portfolio mode of the planner. This method is overrided to add the command line option of the planner.
+     *
+     * @param portfolio <code>true</code> to run enforced hill climbing and A* concurrently.
+     */
+    @CommandLine.Option(names = { "-p", "--portfolio" }, description = "Run enforced hill climbing and A* "
+        + "concurrently instead of one after the other.")
+    @Override
+    public final void setPortfolio(final boolean portfolio) {
+        super.setPortfolio(portfolio);
+    }
+
     /**
      * Instantiates the planning problem from a parsed problem.
      *
@@ -40,9 +40,10 @@ import java.util.List;
  *
  * <pre>
  * {@code
- * GSP [-hV] [-e="<heuristic>] [-l=<logLevel>]
+ * GSP [-hpV] [-e="<heuristic>] [-l=<logLevel>]
  *                                [-t=<timeout>] [-w=<weight>] [-s
- *                                [=<strategies>...]]... <domain> <problem>
+ *                                [=<strategies>...]]... [-H
+ *                                [=<heuristics>...]]... <domain> <problem>
  *
  * Description:
  *
@@ -66,8 +67,43 @@ import java.util.List;
  *   -s, --search-strategies[=<strategies>...]
  *                             Set the search strategies: ASTAR,
  *                               ENFORCED_HILL_CLIMBING, BREADTH_FIRST,
- *                               GREEDY_BEST_FIRST, DEPTH_FIRST, HILL_CLIMBING
- *                               (preset: ASTAR)
+ *                               GREEDY_BEST_FIRST, DEPTH_FIRST, HILL_CLIMBING,
+ *                               PARALLEL_ASTAR, LAZY_GREEDY_BEST_FIRST,
+ *                               ANYTIME_ASTAR, ITERATIVE_DEEPENING_ASTAR, BEAM,
+ *                               EXTERNAL_BREADTH_FIRST (preset: ASTAR)
+ *   -p, --portfolio           Run the search strategies concurrently instead
+ *                               of one after the other.
+ *   -H, --portfolio-heuristics[=<heuristics>...]
+ *                             Set the heuristics combined with each search
+ *                               strategy in portfolio mode (preset: the
+ *                               heuristic of the planner)
+ *   -b, --beam-width=<width>  Set the maximum number of nodes kept in each
+ *                               layer of the beam search (preset: 100)
+ *   -d, --external-directory=<directory>
+ *                             Set the directory of the files of the external
+ *                               search strategies (preset: the temporary
+ *                               directory of the system)
+ *   -S, --stubborn-sets       Prune the applicable actions with strong stubborn
+ *                               sets.
+ *       --[no-]dead-end-detection
+ *                             Check that the goal is reachable and record the
+ *                               dead ends shared by the search strategies
+ *                               (preset: true).
+ *   -y, --symmetries          Merge the symmetric states in the A* and greedy
+ *                               best first search strategies.
+ *   -B, --bitstate-memory=<megabytes>
+ *                             Set the size of the table of the states reached
+ *                               by the breadth and depth first search in
+ *                               bitstate hashing mode (preset: 0, disabled)
+ *   -k, --bitstate-hashes=<k> Set the number of hash functions of the table
+ *                               of the bitstate hashing mode (preset: 3)
+ *   -M, --memory-limit=<megabytes>
+ *                             Set the memory limit of the search strategies:
+ *                               a search that reaches the limit is restarted
+ *                               with a search that needs less memory (preset:
+ *                               0, no limit)
+ *   -W, --warm-start          Warm start the search strategies with the last
+ *                               plan found by the planner.
  *   -h, --help                Show this help message and exit.
  *   -V, --version             Print version information and exit.
  * }
@@ -159,11 +195,160 @@ public final class GSP extends AbstractStateSpacePlanner {
      */
     @CommandLine.Option(names = { "-s", "--search-strategies" }, paramLabel = "<strategies>", arity = "0..*",
         defaultValue = "ASTAR", description = "Set the search strategies: ASTAR, ENFORCED_HILL_CLIMBING, "
-        + "BREADTH_FIRST, GREEDY_BEST_FIRST, DEPTH_FIRST, HILL_CLIMBING (preset: ASTAR)")
+        + "BREADTH_FIRST, GREEDY_BEST_FIRST, DEPTH_FIRST, HILL_CLIMBING, PARALLEL_ASTAR, "
+        + "LAZY_GREEDY_BEST_FIRST, ANYTIME_ASTAR, ITERATIVE_DEEPENING_ASTAR, BEAM, "
+        + "EXTERNAL_BREADTH_FIRST (preset: ASTAR)")
     public final void setSearchStrategies(List<SearchStrategy.Name> strategies)  {
         super.setSearchStrategies(strategies);
     }
 
+    /**
+     * Sets the portfolio mode of the planner. This method is overrided to add the command line option of the planner.
+     *
+     * @param portfolio <code>true</code> to run the search strategies concurrently.
+     */
+    @CommandLine.Option(names = { "-p", "--portfolio" }, description = "Run the search strategies concurrently "
+        + "instead of one after the other.")
+    @Override
+    public final void setPortfolio(final boolean portfolio) {
+        super.setPortfolio(portfolio);
+    }
+
+    /**
+     * Sets the heuristics combined with each search strategy in portfolio mode. This method is overrided to add the
+     * command line option of the planner.
+     *
+     * @param heuristics the heuristics of the portfolio.
+     */
+    @CommandLine.Option(names = { "-H", "--portfolio-heuristics" }, paramLabel = "<heuristics>", arity = "0..*",
+        description = "Set the heuristics combined with each search strategy in portfolio mode (preset: the "
+        + "heuristic of the planner)")
+    @Override
+    public final void setPortfolioHeuristics(final List<StateHeuristic.Name> heuristics) {
+        super.setPortfolioHeuristics(heuristics);
+    }
+
+    /**
+     * Sets the width of the beam of the beam search strategy. This method is overrided to add the command line option
+     * of the planner.
+     *
+     * @param width the width of the beam. The width must be greater than 0.
+     */
+    @CommandLine.Option(names = { "-b", "--beam-width" }, paramLabel = "<width>", defaultValue = "100",
+        description = "Set the maximum number of nodes kept in each layer of the beam search (preset: 100)")
+    @Override
+    public final void setBeamWidth(final int width) {
+        super.setBeamWidth(width);
+    }
+
+    /**
+     * Sets the directory where the external search strategies write their files. This method is overrided to add the
+     * command line option of the planner.
+     *
+     * @param directory the directory of the files of the external search strategies.
+     */
+    @CommandLine.Option(names = { "-d", "--external-directory" }, paramLabel = "<directory>",
+        defaultValue = "${java.io.tmpdir}", description = "Set the directory of the files of the external search "
+        + "strategies (preset: the temporary directory of the system)")
+    @Override
+    public final void setExternalDirectory(final String directory) {
+        super.setExternalDirectory(directory);
+    }
+
+    /**
+     * Sets if the search strategies prune the applicable actions with strong stubborn sets. This method is overrided
+     * to add the command line option of the planner.
+     *
+     * @param stubbornSets <code>true</code> to prune the applicable actions with strong stubborn sets.
+     */
+    @CommandLine.Option(names = { "-S", "--stubborn-sets" }, description = "Prune the applicable actions with strong "
+        + "stubborn sets.")
+    @Override
+    public final void setStubbornSets(final boolean stubbornSets) {
+        super.setStubbornSets(stubbornSets);
+    }
+
+    /**
+     * Sets if the planner detects the dead ends. This method is overrided to add the command line option of the
+     * planner.
+     *
+     * @param detection <code>true</code> to detect the dead ends.
+     */
+    @CommandLine.Option(names = { "--dead-end-detection" }, negatable = true, defaultValue = "true",
+        fallbackValue = "true", description = "Check that the goal is reachable and record the dead ends shared by the "
+        + "search strategies (preset: true).")
+    @Override
+    public final void setDeadEndDetection(final boolean detection) {
+        super.setDeadEndDetection(detection);
+    }
+
+    /**
+     * Sets if the search strategies merge the symmetric states. This method is overrided to add the command line
+     * option of the planner.
+     *
+     * @param symmetries <code>true</code> to merge the symmetric states.
+     */
+    @CommandLine.Option(names = { "-y", "--symmetries" }, description = "Merge the symmetric states in the A* and "
+        + "greedy best first search strategies.")
+    @Override
+    public final void setSymmetries(final boolean symmetries) {
+        super.setSymmetries(symmetries);
+    }
+
+    /**
+     * Sets the size in megabytes of the table of the states reached in bitstate hashing mode. This method is overrided
+     * to add the command line option of the planner.
+     *
+     * @param memory the size of the table in megabytes or 0 to disable the bitstate hashing.
+     */
+    @CommandLine.Option(names = { "-B", "--bitstate-memory" }, paramLabel = "<megabytes>", defaultValue = "0",
+        description = "Set the size of the table of the states reached by the breadth and depth first search in "
+        + "bitstate hashing mode (preset: 0, disabled)")
+    @Override
+    public final void setBitStateMemory(final int memory) {
+        super.setBitStateMemory(memory);
+    }
+
+    /**
+     * Sets the number of hash functions of the table of the states reached in bitstate hashing mode. This method is
+     * overrided to add the command line option of the planner.
+     *
+     * @param hashes the number of hash functions.
+     */
+    @CommandLine.Option(names = { "-k", "--bitstate-hashes" }, paramLabel = "<k>", defaultValue = "3",
+        description = "Set the number of hash functions of the table of the bitstate hashing mode (preset: 3)")
+    @Override
+    public final void setBitStateHashes(final int hashes) {
+        super.setBitStateHashes(hashes);
+    }
+
+    /**
+     * Sets the memory limit in megabytes of the search strategies. This method is overrided to add the command line
+     * option of the planner.
+     *
+     * @param limit the memory limit in megabytes or 0 to not limit the memory used by the search strategies.
+     */
+    @CommandLine.Option(names = { "-M", "--memory-limit" }, paramLabel = "<megabytes>", defaultValue = "0",
+        description = "Set the memory limit of the search strategies: a search that reaches the limit is restarted "
+        + "with a search that needs less memory (preset: 0, no limit)")
+    @Override
+    public final void setMemoryLimit(final int limit) {
+        super.setMemoryLimit(limit);
+    }
+
+    /**
+     * Sets if the search strategies are warm started with the last plan found by the planner. This method is
+     * overrided to add the command line option of the planner.
+     *
+     * @param warmStart <code>true</code> to warm start the search strategies with the last plan found.
+     */
+    @CommandLine.Option(names = { "-W", "--warm-start" }, description = "Warm start the search strategies with the "
+        + "last plan found by the planner.")
+    @Override
+    public final void setWarmStart(final boolean warmStart) {
+        super.setWarmStart(warmStart);
+    }
+
     /**
      * Instantiates the planning problem from a parsed problem.
      *
@@ -22,6 +22,7 @@ import fr.uga.pddl4j.planners.SearchStrategy;
 import fr.uga.pddl4j.problem.Problem;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -63,4 +64,130 @@ public interface StateSpacePlanner extends Planner {
      */
     static final double DEFAULT_WEIGHT_HEURISTIC = 1.0;
 
+    /**
+     * The PORTFOLIO property used for planner configuration. When the property is set, the search strategies are run
+     * concurrently instead of one after the other.
+     */
+    static final String PORTFOLIO_SETTING = "PORTFOLIO";
+
+    /**
+     * The default value of the PORTFOLIO property used for planner configuration.
+     */
+    static final boolean DEFAULT_PORTFOLIO = false;
+
+    /**
+     * The PORTFOLIO_HEURISTICS property used for planner configuration, i.e., the heuristics combined with each search
+     * strategy in a portfolio.
+     */
+    static final String PORTFOLIO_HEURISTICS_SETTING = "PORTFOLIO_HEURISTICS";
+
+    /**
+     * The default value of the PORTFOLIO_HEURISTICS property used for planner configuration. When the list is empty,
+     * the search strategies of the portfolio use the heuristic of the planner.
+     */
+    static final List<StateHeuristic.Name> DEFAULT_PORTFOLIO_HEURISTICS = Collections.emptyList();
+
+    /**
+     * The BEAM_WIDTH property used for planner configuration, i.e., the maximum number of nodes kept in each layer of
+     * the beam search strategy.
+     */
+    static final String BEAM_WIDTH_SETTING = "BEAM_WIDTH";
+
+    /**
+     * The default value of the BEAM_WIDTH property used for planner configuration.
+     */
+    static final int DEFAULT_BEAM_WIDTH = 100;
+
+    /**
+     * The EXTERNAL_DIRECTORY property used for planner configuration, i.e., the directory where the external search
+     * strategies write their files.
+     */
+    static final String EXTERNAL_DIRECTORY_SETTING = "EXTERNAL_DIRECTORY";
+
+    /**
+     * The default value of the EXTERNAL_DIRECTORY property used for planner configuration (the temporary directory of
+     * the system).
+     */
+    static final String DEFAULT_EXTERNAL_DIRECTORY = System.getProperty("java.io.tmpdir");
+
+    /**
+     * The STUBBORN_SETS property used for planner configuration. When the property is set, the applicable actions of
+     * the states expanded by the search strategies are pruned with strong stubborn sets.
+     */
+    static final String STUBBORN_SETS_SETTING = "STUBBORN_SETS";
+
+    /**
+     * The default value of the STUBBORN_SETS property used for planner configuration.
+     */
+    static final boolean DEFAULT_STUBBORN_SETS = false;
+
+    /**
+     * The DEAD_END_DETECTION property used for planner configuration. When the property is set, the planner checks
+     * that the goal is reachable from the initial state and the search strategies share a store of the dead ends.
+     */
+    static final String DEAD_END_DETECTION_SETTING = "DEAD_END_DETECTION";
+
+    /**
+     * The default value of the DEAD_END_DETECTION property used for planner configuration.
+     */
+    static final boolean DEFAULT_DEAD_END_DETECTION = true;
+
+    /**
+     * The SYMMETRIES property used for planner configuration. When the property is set, the search strategies merge
+     * the states that are symmetric.
+     */
+    static final String SYMMETRIES_SETTING = "SYMMETRIES";
+
+    /**
+     * The default value of the SYMMETRIES property used for planner configuration.
+     */
+    static final boolean DEFAULT_SYMMETRIES = false;
+
+    /**
+     * The BITSTATE_MEMORY property used for planner configuration, i.e., the size in megabytes of the table of the
+     * states reached by the breadth first and depth first search strategies in bitstate hashing mode.
+     */
+    static final String BITSTATE_MEMORY_SETTING = "BITSTATE_MEMORY";
+
+    /**
+     * The default value of the BITSTATE_MEMORY property used for planner configuration (0, i.e., the bitstate hashing
+     * is disabled).
+     */
+    static final int DEFAULT_BITSTATE_MEMORY = 0;
+
+    /**
+     * The BITSTATE_HASHES property used for planner configuration, i.e., the number of hash functions of the table of
+     * the states reached in bitstate hashing mode.
+     */
+    static final String BITSTATE_HASHES_SETTING = "BITSTATE_HASHES";
+
+    /**
+     * The default value of the BITSTATE_HASHES property used for planner configuration.
+     */
+    static final int DEFAULT_BITSTATE_HASHES = 3;
+
+    /**
+     * The MEMORY_LIMIT property used for planner configuration, i.e., the memory limit in megabytes of the data
+     * structures of the search strategies.
+     */
+    static final String MEMORY_LIMIT_SETTING = "MEMORY_LIMIT";
+
+    /**
+     * The default value of the MEMORY_LIMIT property used for planner configuration (0, i.e., the memory used by the
+     * search strategies is not limited).
+     */
+    static final int DEFAULT_MEMORY_LIMIT = 0;
+
+    /**
+     * The WARM_START property used for planner configuration. When the property is set, the search strategies are
+     * warm started with the last plan found by the planner, e.g., to replan after a change of the initial state or of
+     * the goal of the problem.
+     */
+    static final String WARM_START_SETTING = "WARM_START";
+
+    /**
+     * The default value of the WARM_START property used for planner configuration.
+     */
+    static final boolean DEFAULT_WARM_START = false;
+
 }
@@ -19,12 +19,10 @@ import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
-import org.openjdk.jol.info.GraphLayout;
+import fr.uga.pddl4j.util.IntPriorityQueue;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.PriorityQueue;
 
 /**
  * This class implements A* search strategy.
@@ -53,6 +51,16 @@ public final class AStar extends AbstractStateSpaceSearch {
         super(timeout, heuristic, weight);
     }
 
+    /**
+     * Returns <code>true</code>: the search looks for an optimal plan.
+     *
+     * @return <code>true</code>.
+     */
+    @Override
+    protected boolean isOptimal() {
+        return true;
+    }
+
     /**
      * Solves the planning problem and returns the first solution search found.
      *
@@ -65,92 +73,125 @@ public final class AStar extends AbstractStateSpaceSearch {
         final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), codedProblem);
         // Get the initial state from the planning problem
         final State init = new State(codedProblem.getInitialState());
-        // Initialize the closed list of nodes (store the nodes explored)
-        final Map<State, Node> closeSet = new HashMap<>();
-        final Map<State, Node> openSet = new HashMap<>();
+        // Initialize the registry of the states and the store of their search information
+        final StateRegistry registry = new StateRegistry(codedProblem);
+        final NodeStore nodes = new NodeStore();
         // Initialize the opened list (store the pending node)
         final double currWeight = getWeight();
-        // The list stores the node ordered according to the A* (getFValue = g + h) function
-        final PriorityQueue<Node> open = new PriorityQueue<>(100, new NodeComparator(currWeight));
+        // The list stores the identifiers of the states ordered according to the A* (getFValue = g + h) function
+        final IntPriorityQueue open = this.createOpenList(AbstractStateSpaceSearch.hasIntegralCosts(codedProblem)
+            && currWeight == Math.rint(currWeight));
         // Creates the root node of the tree search
-        final Node root = new Node(init, null, -1, 0, heuristic.estimate(init, codedProblem.getGoal()));
+        init.setZobristKeys(registry.getZobristKeys());
+        this.canonicalize(codedProblem, init);
+        final int root = registry.add(init);
+        final double rootHeuristic = heuristic.estimate(init, codedProblem.getGoal());
+        nodes.set(root, -1, -1, 0, 0, rootHeuristic);
         // Adds the root to the list of pending nodes
-        open.add(root);
-        openSet.put(init, root);
+        open.add(root, currWeight * rootHeuristic, rootHeuristic);
 
         this.resetNodesStatistics();
-        Node solution = null;
+        int solution = -1;
+        int explored = 0;
+        int pending = 1;
+        final State current = new State();
+        final State state = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
         final long timeout = this.getTimeout() * 1000;
         long time = 0;
-        // Start of the search
-        while (!open.isEmpty() && solution == null && time < timeout) {
-            // Pop the first node in the pending list open
-            final Node current = open.poll();
-            openSet.remove(current);
-            closeSet.put(current, current);
-            // If the goal is satisfy in the current node then extract the search and return it
-            if (current.satisfy(codedProblem.getGoal())) {
-                solution = current;
-            } else {
-                // Try to apply the operators of the problem to this node
-                int index = 0;
-                for (Action op : codedProblem.getActions()) {
-
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        //System.out.println("IS APPLICABLE");
-                        Node state = new Node(current);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-
-                        // Apply the effect of the applicable operator
-                        // Test if the condition of the effect is satisfied in the current state
-                        // Apply the effect to the successor node
-                        op.getConditionalEffects().stream().filter(ce -> current.satisfy(ce.getCondition()))
-                            .forEach(ce -> state.apply(ce.getEffect()));
-                        final double g = current.getCost() + op.getCost().getValue();
-                        Node result = openSet.get(state);
-                        if (result == null) {
-                            result = closeSet.get(state);
-                            if (result != null) {
-                                if (g < result.getCost()) {
-                                    result.setCost(g);
-                                    result.setParent(current);
-                                    result.setAction(index);
-                                    result.setDepth(current.getDepth() + 1);
-                                    open.add(result);
-                                    openSet.put(result, result);
-                                    closeSet.remove(result);
+        // The successors never reached before are evaluated together once the node is expanded
+        final HeuristicPool pool = new HeuristicPool(heuristic, this.getHeuristicThreads());
+        pool.setDeadEnds(this.getDeadEnds(codedProblem));
+        int[] batch = new int[16];
+        try {
+            // Start of the search
+            while (!open.isEmpty() && solution == -1 && time < timeout && !this.isStopped()
+                && !this.isMemoryLimitReached()) {
+                // Pop the first node in the pending list open. A closed node is an outdated entry of the list and is
+                // skipped: a node is pushed again each time its cost is improved. A node that cannot lead to a plan
+                // cheaper than the plan of the warm start is skipped too.
+                final int id = open.poll();
+                if (!nodes.isClosed(id) && !this.isPruned(heuristic, nodes.getCost(id), nodes.getHeuristic(id))) {
+                    nodes.setClosed(id, true);
+                    explored++;
+                    pending--;
+                    // The memory used is estimated periodically and checked against the memory limit
+                    if ((explored & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                        this.checkMemoryLimit(registry.getMemoryUsed() + nodes.getMemoryUsed() + open.getMemoryUsed());
+                    }
+                    registry.getState(id, current);
+                    this.progress(explored, nodes.getHeuristic(id), nodes.getCost(id) + currWeight
+                        * nodes.getHeuristic(id));
+                    // If the goal is satisfy in the current node then extract the search and return it
+                    if (current.satisfy(codedProblem.getGoal())) {
+                        solution = id;
+                    } else {
+                        // Try to apply the operators of the problem to this node
+                        final double cost = nodes.getCost(id);
+                        final int depth = nodes.getDepth(id) + 1;
+                        pool.clear();
+                        final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                        for (int a = 0; a < nbApplicable; a++) {
+                            final int index = applicable[a];
+                            final Action op = codedProblem.getActions().get(index);
+                            state.copy(current);
+                            this.setCreatedNodes(this.getCreatedNodes() + 1);
+                            // Apply the effect of the applicable operator
+                            // Test if the condition of the effect is satisfied in the current state
+                            // Apply the effect to the successor node
+                            state.apply(op.getConditionalEffects(), current);
+                            // The symmetric states are merged in the registry
+                            this.canonicalize(codedProblem, state);
+                            final double g = cost + op.getCost().getValue();
+                            final int size = registry.size();
+                            final int next = registry.add(state);
+                            if (next == size) {
+                                // The heuristic value of the new node is not known until the batch is evaluated
+                                final int slot = pool.add(state);
+                                if (slot == batch.length) {
+                                    batch = Arrays.copyOf(batch, 2 * batch.length);
+                                }
+                                batch[slot] = next;
+                                nodes.set(next, id, index, g, depth, Double.NaN);
+                                pending++;
+                            } else if (g < nodes.getCost(next)) {
+                                // The node is reopened if it was already closed
+                                if (nodes.isClosed(next)) {
+                                    explored--;
+                                    pending++;
+                                }
+                                final double h = nodes.getHeuristic(next);
+                                nodes.set(next, id, index, g, depth, h);
+                                // A node of the batch is pushed once evaluated
+                                if (!Double.isNaN(h)) {
+                                    open.add(next, g + currWeight * h, h);
                                 }
-                            } else {
-                                state.setCost(g);
-                                state.setParent(current);
-                                state.setAction(index);
-                                state.setHeuristic(heuristic.estimate(state, codedProblem.getGoal()));
-                                state.setDepth(current.getDepth() + 1);
-                                open.add(state);
-                                openSet.put(state, state);
                             }
-                        } else if (g < result.getCost()) {
-                            result.setCost(g);
-                            result.setParent(current);
-                            result.setAction(index);
-                            result.setDepth(current.getDepth() + 1);
+                        }
+                        pool.estimate(codedProblem.getGoal());
+                        for (int slot = 0; slot < pool.size(); slot++) {
+                            final int next = batch[slot];
+                            final double h = pool.getValue(slot);
+                            nodes.setHeuristic(next, h);
+                            open.add(next, nodes.getCost(next) + currWeight * h, h);
                         }
                     }
-                    index++;
                 }
+                // Compute the searching time
+                time = System.currentTimeMillis() - begin;
             }
-            // Compute the searching time
-            time = System.currentTimeMillis() - begin;
+        } finally {
+            pool.close();
         }
 
-        this.setExploredNodes(closeSet.size());
-        this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(GraphLayout.parseInstance(closeSet).totalSize()
-            + GraphLayout.parseInstance(openSet).totalSize());
+        this.setExploredNodes(explored);
+        this.setPendingNodes(pending);
+        this.setMemoryUsed(this.measureMemoryUsed(registry.getMemoryUsed() + nodes.getMemoryUsed()
+            + open.getMemoryUsed(), registry, nodes, open));
         this.setSearchingTime(time);
 
         // return the search computed or null if no search was found
-        return solution;
+        return solution == -1 ? null : this.unfoldSymmetries(codedProblem, nodes.getNode(solution, registry));
     }
 }
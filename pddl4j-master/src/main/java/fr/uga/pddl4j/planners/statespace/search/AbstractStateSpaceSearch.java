@@ -18,10 +18,24 @@ package fr.uga.pddl4j.planners.statespace.search;
 import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.plan.Plan;
 import fr.uga.pddl4j.plan.SequentialPlan;
+import fr.uga.pddl4j.planners.SearchListener;
+import fr.uga.pddl4j.planners.SearchProgress;
 import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.SuccessorGenerator;
 import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.IntBucketQueue;
+import fr.uga.pddl4j.util.IntHeap;
+import fr.uga.pddl4j.util.IntPriorityQueue;
+import fr.uga.pddl4j.util.MemoryEstimator;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * This abstract class defines the main methods for search strategies.
@@ -32,6 +46,11 @@ import java.util.Objects;
  */
 public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
 
+    /**
+     * The number of nodes explored between two checks of the memory limit. The number must be a power of 2.
+     */
+    protected static final int MEMORY_CHECK_PERIOD = 1024;
+
     /**
      * The heuristic of the planner.
      */
@@ -47,6 +66,123 @@ public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
      */
     private int timeout;
 
+    /**
+     * The implementation of the open list.
+     */
+    private OpenList openList;
+
+    /**
+     * The tie-breaking policy of the bucket open list.
+     */
+    private IntBucketQueue.TieBreaking tieBreaking;
+
+    /**
+     * The number of threads used to evaluate the heuristic.
+     */
+    private int heuristicThreads;
+
+    /**
+     * The flag used to indicate if the memory used by the search is measured exactly.
+     */
+    private boolean exactMemory;
+
+    /**
+     * The width of the beam of the beam search strategy.
+     */
+    private int beamWidth;
+
+    /**
+     * The directory of the files of the external search strategies.
+     */
+    private String externalDirectory;
+
+    /**
+     * The flag used to indicate if the applicable actions are pruned with strong stubborn sets.
+     */
+    private boolean stubbornSets;
+
+    /**
+     * The stubborn sets of the problem solved or <code>null</code> if no state was pruned.
+     */
+    private StubbornSets pruning;
+
+    /**
+     * The flag used to indicate if the symmetric states are merged.
+     */
+    private boolean symmetries;
+
+    /**
+     * The symmetries of the problem solved or <code>null</code> if no state was merged.
+     */
+    private Symmetries orbits;
+
+    /**
+     * The store of the dead ends of the problem solved.
+     */
+    private DeadEnds deadEnds;
+
+    /**
+     * The flag used to detect the dead ends.
+     */
+    private boolean deadEndDetection;
+
+    /**
+     * The size in megabytes of the table of the states reached in bitstate hashing mode.
+     */
+    private int bitStateMemory;
+
+    /**
+     * The number of hash functions of the table of the states reached in bitstate hashing mode.
+     */
+    private int bitStateHashes;
+
+    /**
+     * The estimated probability that a state was omitted by the last search in bitstate hashing mode.
+     */
+    private double omissionProbability;
+
+    /**
+     * The memory limit of the search in megabytes or 0 if the memory used by the search is not limited.
+     */
+    private int memoryLimit;
+
+    /**
+     * The flag set when the last search was stopped because its memory limit was reached.
+     */
+    private boolean memoryLimitReached;
+
+    /**
+     * The plan used to warm start the search.
+     */
+    private Plan warmStart;
+
+    /**
+     * The cost of the plan replayed by the warm start of an optimal search. The search looks only for the plans that
+     * are cheaper.
+     */
+    private double upperBound;
+
+    /**
+     * The flag set when the search is requested to stop. The flag can be set by an other thread before or during a
+     * search and is cleared at the end of the search that it stopped.
+     */
+    private volatile boolean cancelled;
+
+    /**
+     * The listener notified each time the search finds a better plan.
+     */
+    private PlanListener planListener;
+
+    /**
+     * The listener notified periodically of the progress of the search.
+     */
+    private SearchListener searchListener;
+
+    /**
+     * The progress of the running search or <code>null</code> if no listener of the progress is set.
+     */
+    private SearchProgress progress;
+
     /**
      * The time spend to find a solution.
      */
@@ -72,6 +208,16 @@ public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
      */
     private int createdNodes;
 
+    /**
+     * The number of nodes explored by each thread of the search or <code>null</code> if the search is sequential.
+     */
+    private int[] exploredNodesPerThread;
+
+    /**
+     * The number of nodes created by each thread of the search or <code>null</code> if the search is sequential.
+     */
+    private int[] createdNodesPerThread;
+
     /**
      * Returns the heuristic to use to solve the planning problem.
      *
@@ -113,6 +259,753 @@ public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
         this.weight = weight;
     }
 
+    /**
+     * Returns the implementation of the open list used by the best first search strategies.
+     *
+     * @return the implementation of the open list.
+     */
+    @Override
+    public final OpenList getOpenList() {
+        return this.openList;
+    }
+
+    /**
+     * Sets the implementation of the open list used by the best first search strategies.
+     *
+     * @param openList the implementation of the open list. The open list cannot be null.
+     */
+    @Override
+    public final void setOpenList(final OpenList openList) {
+        Objects.requireNonNull(openList);
+        this.openList = openList;
+    }
+
+    /**
+     * Returns the tie-breaking policy of the nodes with the same f and h values in a bucket open list.
+     *
+     * @return the tie-breaking policy of the bucket open list.
+     */
+    @Override
+    public final IntBucketQueue.TieBreaking getTieBreaking() {
+        return this.tieBreaking;
+    }
+
+    /**
+     * Sets the tie-breaking policy of the nodes with the same f and h values in a bucket open list.
+     *
+     * @param tieBreaking the tie-breaking policy of the bucket open list. The policy cannot be null.
+     */
+    @Override
+    public final void setTieBreaking(final IntBucketQueue.TieBreaking tieBreaking) {
+        Objects.requireNonNull(tieBreaking);
+        this.tieBreaking = tieBreaking;
+    }
+
+    /**
+     * Returns the number of threads used to evaluate the heuristic values of the successors of a node.
+     *
+     * @return the number of threads used to evaluate the heuristic.
+     */
+    @Override
+    public final int getHeuristicThreads() {
+        return this.heuristicThreads;
+    }
+
+    /**
+     * Sets the number of threads used to evaluate the heuristic values of the successors of a node.
+     *
+     * @param threads the number of threads used to evaluate the heuristic. The number of threads must be greater
+     *                than 0.
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    @Override
+    public final void setHeuristicThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads < 1");
+        }
+        this.heuristicThreads = threads;
+    }
+
+    /**
+     * Returns if the memory used by the search is measured exactly. By default, the memory used is estimated from the
+     * size of the data structures of the search.
+     *
+     * @return <code>true</code> if the memory used is measured exactly; <code>false</code> if it is estimated.
+     */
+    @Override
+    public final boolean isExactMemory() {
+        return this.exactMemory;
+    }
+
+    /**
+     * Sets if the memory used by the search is measured exactly. An exact measure walks the graph of objects of the
+     * search in the heap and is much more expensive than an estimation.
+     *
+     * @param exact <code>true</code> to measure exactly the memory used; <code>false</code> to estimate it.
+     */
+    @Override
+    public final void setExactMemory(final boolean exact) {
+        this.exactMemory = exact;
+    }
+
+    /**
+     * Returns the width of the beam, i.e., the maximum number of nodes kept in each layer of the beam search strategy.
+     *
+     * @return the width of the beam.
+     */
+    @Override
+    public final int getBeamWidth() {
+        return this.beamWidth;
+    }
+
+    /**
+     * Sets the width of the beam, i.e., the maximum number of nodes kept in each layer of the beam search strategy.
+     *
+     * @param width the width of the beam. The width must be greater than 0.
+     * @throws IllegalArgumentException if the width is less than 1.
+     */
+    @Override
+    public final void setBeamWidth(final int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException("width < 1");
+        }
+        this.beamWidth = width;
+    }
+
+    /**
+     * Returns the directory where the external search strategies write their files.
+     *
+     * @return the directory of the files of the external search strategies.
+     */
+    @Override
+    public final String getExternalDirectory() {
+        return this.externalDirectory;
+    }
+
+    /**
+     * Sets the directory where the external search strategies write their files. The directory should be on a local
+     * disk because the files are memory-mapped.
+     *
+     * @param directory the directory of the files of the external search strategies. The directory cannot be null.
+     */
+    @Override
+    public final void setExternalDirectory(final String directory) {
+        Objects.requireNonNull(directory);
+        this.externalDirectory = directory;
+    }
+
+    /**
+     * Returns if the applicable actions of the states expanded by the search are pruned with strong stubborn sets.
+     *
+     * @return <code>true</code> if the applicable actions are pruned with strong stubborn sets.
+     */
+    @Override
+    public final boolean isStubbornSets() {
+        return this.stubbornSets;
+    }
+
+    /**
+     * Sets if the applicable actions of the states expanded by the search are pruned with strong stubborn sets.
+     *
+     * @param stubbornSets <code>true</code> to prune the applicable actions with strong stubborn sets.
+     * @see StubbornSets
+     */
+    @Override
+    public final void setStubbornSets(final boolean stubbornSets) {
+        this.stubbornSets = stubbornSets;
+    }
+
+    /**
+     * Sets the stubborn sets of the problem computed once for several searches, e.g., the members of a portfolio. The
+     * search uses a copy that shares the relations of the actions but has its own statistics.
+     *
+     * @param stubbornSets the stubborn sets to share. The stubborn sets cannot be null.
+     */
+    @Override
+    public final void setSharedStubbornSets(final StubbornSets stubbornSets) {
+        Objects.requireNonNull(stubbornSets);
+        this.pruning = new StubbornSets(stubbornSets);
+    }
+
+    /**
+     * Returns the number of applicable actions of the states pruned with strong stubborn sets.
+     *
+     * @return the number of applicable actions of the states pruned.
+     */
+    @Override
+    public final long getApplicableActions() {
+        return this.pruning == null ? 0 : this.pruning.getApplicableActions();
+    }
+
+    /**
+     * Returns the number of applicable actions pruned with strong stubborn sets.
+     *
+     * @return the number of applicable actions pruned.
+     */
+    @Override
+    public final long getPrunedActions() {
+        return this.pruning == null ? 0 : this.pruning.getPrunedActions();
+    }
+
+    /**
+     * Returns the stubborn sets of a specified problem used to prune the applicable actions. The stubborn sets are
+     * computed the first time they are used and kept as long as the same problem is solved.
+     *
+     * @param problem the problem.
+     * @return the stubborn sets of the problem.
+     */
+    protected final StubbornSets getStubbornSets(final Problem problem) {
+        if (this.pruning == null || this.pruning.getProblem() != problem) {
+            this.pruning = new StubbornSets(problem);
+        }
+        return this.pruning;
+    }
+
+    /**
+     * Returns the successor generator used to compute the actions applicable in the states of a specified problem. If
+     * the dead ends are detected, the generator is the successor generator of the reachable actions of the store of
+     * the dead ends (see {@link DeadEnds#getSuccessorGenerator()}). Otherwise, it is the successor generator of the
+     * problem.
+     *
+     * @param problem the problem.
+     * @return the successor generator used to compute the applicable actions.
+     */
+    protected final SuccessorGenerator getSuccessorGenerator(final Problem problem) {
+        return this.deadEndDetection ? this.getDeadEnds(problem).getSuccessorGenerator()
+            : problem.getSuccessorGenerator();
+    }
+
+    /**
+     * Creates a buffer to store the actions applicable in the states of a specified problem. The buffer is owned by
+     * the search that creates it and given to {@link #getSuccessorActions(Problem, State, int[])} at each expansion.
+     *
+     * @param problem the problem.
+     * @return a new buffer to store the applicable actions.
+     */
+    protected final int[] newSuccessorBuffer(final Problem problem) {
+        return new int[this.getSuccessorGenerator(problem).getBufferLength()];
+    }
+
+    /**
+     * Writes the actions applicable in a specified state that the search must expand at the beginning of a buffer and
+     * returns their number. If the stubborn sets are enabled, the applicable actions that do not belong to the strong
+     * stubborn set of the state are pruned. No memory is allocated.
+     *
+     * @param problem the problem.
+     * @param state   the state.
+     * @param buffer  the buffer created by {@link #newSuccessorBuffer(Problem)}.
+     * @return the number of actions to expand. The actions are sorted in increasing order.
+     */
+    protected final int getSuccessorActions(final Problem problem, final State state, final int[] buffer) {
+        final int count = this.getSuccessorGenerator(problem).getApplicableActions(state, buffer);
+        return this.stubbornSets ? this.getStubbornSets(problem).prune(state, buffer, count) : count;
+    }
+
+    /**
+     * Returns if the states reached by the search are replaced by a canonical symmetric state.
+     *
+     * @return <code>true</code> if the symmetric states are merged.
+     */
+    @Override
+    public final boolean isSymmetries() {
+        return this.symmetries;
+    }
+
+    /**
+     * Sets if the states reached by the search are replaced by a canonical symmetric state.
+     *
+     * @param symmetries <code>true</code> to merge the symmetric states.
+     * @see Symmetries
+     */
+    @Override
+    public final void setSymmetries(final boolean symmetries) {
+        this.symmetries = symmetries;
+    }
+
+    /**
+     * Sets the symmetries of the problem computed once for several searches, e.g., the members of a portfolio.
+     *
+     * @param symmetries the symmetries to share. The symmetries cannot be null.
+     */
+    @Override
+    public final void setSharedSymmetries(final Symmetries symmetries) {
+        Objects.requireNonNull(symmetries);
+        this.orbits = symmetries;
+    }
+
+    /**
+     * Returns the symmetries of a specified problem. The symmetries are detected the first time they are used and
+     * kept as long as the same problem is solved.
+     *
+     * @param problem the problem.
+     * @return the symmetries of the problem.
+     */
+    protected final Symmetries getSymmetries(final Problem problem) {
+        if (this.orbits == null || this.orbits.getProblem() != problem) {
+            this.orbits = new Symmetries(problem);
+        }
+        return this.orbits;
+    }
+
+    /**
+     * Replaces a state by its canonical symmetric state if the symmetric states are merged.
+     *
+     * @param problem the problem.
+     * @param state   the state.
+     */
+    protected final void canonicalize(final Problem problem, final State state) {
+        if (this.symmetries) {
+            this.getSymmetries(problem).canonicalize(state);
+        }
+    }
+
+    /**
+     * Returns the solution node of the problem equivalent to a solution node found on canonical symmetric states. The
+     * node is returned unchanged if the symmetric states are not merged.
+     *
+     * @param problem  the problem.
+     * @param solution the solution node or <code>null</code>.
+     * @return the solution node of the problem or <code>null</code> if the solution node is <code>null</code>.
+     */
+    protected final Node unfoldSymmetries(final Problem problem, final Node solution) {
+        return this.symmetries && solution != null ? this.getSymmetries(problem).unfold(solution) : solution;
+    }
+
+    /**
+     * Returns if the search detects the dead ends.
+     *
+     * @return <code>true</code> if the search detects the dead ends.
+     */
+    @Override
+    public final boolean isDeadEndDetection() {
+        return this.deadEndDetection;
+    }
+
+    /**
+     * Sets if the search detects the dead ends.
+     *
+     * @param detection <code>true</code> to detect the dead ends.
+     * @see DeadEnds
+     */
+    @Override
+    public final void setDeadEndDetection(final boolean detection) {
+        this.deadEndDetection = detection;
+    }
+
+    /**
+     * Returns the store of the dead ends used by the search.
+     *
+     * @return the store of the dead ends or <code>null</code> if the search did not start and no store was set.
+     */
+    @Override
+    public final DeadEnds getDeadEnds() {
+        return this.deadEnds;
+    }
+
+    /**
+     * Sets the store of the dead ends used by the search.
+     *
+     * @param deadEnds the store of the dead ends.
+     */
+    @Override
+    public final void setDeadEnds(final DeadEnds deadEnds) {
+        this.deadEnds = deadEnds;
+    }
+
+    /**
+     * Returns the store of the dead ends of a specified problem. A new store is created if no store was set or if the
+     * store set is for an other problem.
+     *
+     * @param problem the problem.
+     * @return the store of the dead ends of the problem or <code>null</code> if the dead ends are not detected.
+     */
+    protected final DeadEnds getDeadEnds(final Problem problem) {
+        if (!this.deadEndDetection) {
+            return null;
+        }
+        if (this.deadEnds == null || this.deadEnds.getProblem() != problem) {
+            this.deadEnds = new DeadEnds(problem);
+        }
+        return this.deadEnds;
+    }
+
+    /**
+     * Returns the size in megabytes of the table of the states reached by the blind search strategies in bitstate
+     * hashing mode.
+     *
+     * @return the size of the table in megabytes or 0 if the bitstate hashing is disabled.
+     */
+    @Override
+    public final int getBitStateMemory() {
+        return this.bitStateMemory;
+    }
+
+    /**
+     * Sets the size in megabytes of the table of the states reached by the breadth first and depth first search
+     * strategies in bitstate hashing mode.
+     *
+     * @param memory the size of the table in megabytes or 0 to disable the bitstate hashing.
+     * @throws IllegalArgumentException if the size is negative or greater than {@link BitStateTable#MAX_MEMORY}.
+     */
+    @Override
+    public final void setBitStateMemory(final int memory) {
+        if (memory < 0 || memory > BitStateTable.MAX_MEMORY) {
+            throw new IllegalArgumentException("memory not in [0, " + BitStateTable.MAX_MEMORY + "]");
+        }
+        this.bitStateMemory = memory;
+    }
+
+    /**
+     * Returns the number of hash functions of the table of the states reached in bitstate hashing mode.
+     *
+     * @return the number of hash functions.
+     */
+    @Override
+    public final int getBitStateHashes() {
+        return this.bitStateHashes;
+    }
+
+    /**
+     * Sets the number of hash functions of the table of the states reached in bitstate hashing mode.
+     *
+     * @param hashes the number of hash functions. The number must be greater than 0.
+     * @throws IllegalArgumentException if the number of hash functions is less than 1.
+     */
+    @Override
+    public final void setBitStateHashes(final int hashes) {
+        if (hashes < 1) {
+            throw new IllegalArgumentException("hashes < 1");
+        }
+        this.bitStateHashes = hashes;
+    }
+
+    /**
+     * Returns the estimated probability that a state was omitted by the last search in bitstate hashing mode.
+     *
+     * @return the estimated probability of omission or 0 if the bitstate hashing is disabled.
+     */
+    @Override
+    public final double getOmissionProbability() {
+        return this.omissionProbability;
+    }
+
+    /**
+     * Creates the table of the states reached in bitstate hashing mode.
+     *
+     * @return the table or <code>null</code> if the bitstate hashing is disabled.
+     */
+    protected final BitStateTable createBitStateTable() {
+        return this.bitStateMemory == 0 ? null : new BitStateTable(this.bitStateMemory, this.bitStateHashes);
+    }
+
+    /**
+     * Sets the estimated probability that a state was omitted by the search from the table of the states reached in
+     * bitstate hashing mode.
+     *
+     * @param table the table or <code>null</code> if the bitstate hashing is disabled.
+     */
+    protected final void setOmissionProbability(final BitStateTable table) {
+        this.omissionProbability = table == null ? 0.0 : table.getOmissionProbability();
+    }
+
+    /**
+     * Returns the memory limit of the search in megabytes.
+     *
+     * @return the memory limit of the search in megabytes or 0 if the memory used by the search is not limited.
+     */
+    @Override
+    public final int getMemoryLimit() {
+        return this.memoryLimit;
+    }
+
+    /**
+     * Sets the memory limit of the search in megabytes.
+     *
+     * @param limit the memory limit of the search in megabytes or 0 to not limit the memory used by the search.
+     * @throws IllegalArgumentException if the limit is negative.
+     */
+    @Override
+    public final void setMemoryLimit(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit < 0");
+        }
+        this.memoryLimit = limit;
+    }
+
+    /**
+     * Returns <code>true</code> if the last search was stopped because its memory limit was reached.
+     *
+     * @return <code>true</code> if the memory limit was reached; <code>false</code> otherwise.
+     */
+    @Override
+    public final boolean isMemoryLimitReached() {
+        return this.memoryLimitReached;
+    }
+
+    /**
+     * Checks the memory used by the data structures of the search against the memory limit of the search and returns
+     * <code>true</code> if the limit is reached. The estimation of the memory used is not free: the search calls this
+     * method once every {@link #MEMORY_CHECK_PERIOD} nodes explored.
+     *
+     * @param estimation the estimation of the memory used by the data structures of the search in bytes.
+     * @return <code>true</code> if the memory limit is reached; <code>false</code> otherwise.
+     */
+    protected final boolean checkMemoryLimit(final long estimation) {
+        if (this.memoryLimit > 0 && estimation > ((long) this.memoryLimit << 20)) {
+            this.memoryLimitReached = true;
+        }
+        return this.memoryLimitReached;
+    }
+
+    /**
+     * Returns the plan used to warm start the search.
+     *
+     * @return the plan used to warm start the search or <code>null</code> if the search is not warm started.
+     */
+    @Override
+    public final Plan getWarmStart() {
+        return this.warmStart;
+    }
+
+    /**
+     * Sets the plan used to warm start the search.
+     *
+     * @param plan the plan used to warm start the search or <code>null</code> to not warm start the search.
+     */
+    @Override
+    public final void setWarmStart(final Plan plan) {
+        this.warmStart = plan;
+    }
+
+    /**
+     * Returns <code>true</code> if the search strategy looks for an optimal plan. The plan replayed by the warm start
+     * of an optimal search is only used as an upper bound of the cost of the plans searched (see
+     * {@link #getUpperBound()}), so the search remains optimal. By default, the search strategies are not optimal and
+     * return the plan replayed.
+     *
+     * @return <code>true</code> if the search strategy looks for an optimal plan; <code>false</code> otherwise.
+     */
+    protected boolean isOptimal() {
+        return false;
+    }
+
+    /**
+     * Returns the upper bound of the cost of the plans searched, i.e., the cost of the plan replayed by the warm start
+     * of an optimal search. The search can prune the nodes that cannot lead to a cheaper plan (see
+     * {@link #isPruned(StateHeuristic, double, double)}).
+     *
+     * @return the upper bound of the cost of the plans searched or <code>Double.POSITIVE_INFINITY</code> if there is
+     *      no upper bound.
+     */
+    protected final double getUpperBound() {
+        return this.upperBound;
+    }
+
+    /**
+     * Returns <code>true</code> if a node cannot lead to a plan cheaper than the upper bound of the cost of the plans
+     * searched. The estimation of the cost of the plans through the node uses the heuristic only if the heuristic is
+     * admissible.
+     *
+     * @param heuristic the heuristic of the search.
+     * @param cost      the cost of the node.
+     * @param h         the heuristic value of the node.
+     * @return <code>true</code> if the node cannot lead to a plan cheaper than the upper bound.
+     */
+    protected final boolean isPruned(final StateHeuristic heuristic, final double cost, final double h) {
+        return heuristic.isAdmissible() ? cost + h >= this.upperBound : cost >= this.upperBound;
+    }
+
+    /**
+     * Replays the suffixes of the plan used to warm start the search from the initial state of a specified problem,
+     * from the shortest to the longest, and returns the solution node of the first suffix that reaches the goal. The
+     * actions of the plan must be actions of the problem, i.e., the plan must be a plan of the problem or of a problem
+     * derived from the same instantiated problem. The other actions are considered as not applicable.
+     *
+     * @param problem the problem.
+     * @return the solution node of the shortest suffix of the plan that reaches the goal or <code>null</code> if no
+     *      suffix reaches the goal.
+     */
+    protected final Node replayWarmStart(final Problem problem) {
+        final List<Action> actions = this.warmStart.actions();
+        final Map<Action, Integer> index = new IdentityHashMap<>();
+        for (int i = 0; i < problem.getActions().size(); i++) {
+            index.put(problem.getActions().get(i), i);
+        }
+        final State init = new State(problem.getInitialState());
+        final State current = new State();
+        final State nextState = new State();
+        for (int start = actions.size(); start >= 0; start--) {
+            current.copy(init);
+            int i = start;
+            while (i < actions.size() && index.containsKey(actions.get(i)) && actions.get(i).isApplicable(current)) {
+                nextState.copy(current);
+                nextState.apply(actions.get(i).getConditionalEffects(), current);
+                current.copy(nextState);
+                i++;
+            }
+            this.setExploredNodes(this.getExploredNodes() + i - start);
+            if (i == actions.size() && current.satisfy(problem.getGoal())) {
+                // The nodes of the suffix are created only once the suffix is known to reach the goal
+                Node node = new Node(init, null, -1, 0, 0, 0);
+                current.copy(init);
+                for (int j = start; j < actions.size(); j++) {
+                    final Action op = actions.get(j);
+                    nextState.copy(current);
+                    nextState.apply(op.getConditionalEffects(), current);
+                    current.copy(nextState);
+                    node = new Node(current, node, index.get(op), node.getCost() + op.getCost().getValue(),
+                        node.getDepth() + 1, 0);
+                }
+                this.setCreatedNodes(actions.size() - start + 1);
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the listener notified each time the search finds a plan better than the plans found before.
+     *
+     * @return the listener of the plans found or <code>null</code> if no listener is set.
+     */
+    @Override
+    public final PlanListener getPlanListener() {
+        return this.planListener;
+    }
+
+    /**
+     * Sets the listener notified each time the search finds a plan better than the plans found before.
+     *
+     * @param listener the listener of the plans found or <code>null</code> to remove the listener.
+     */
+    @Override
+    public final void setPlanListener(final PlanListener listener) {
+        this.planListener = listener;
+    }
+
+    /**
+     * Notifies the listener of the plans found, if any, that the search found a better plan.
+     *
+     * @param solution the solution node of the plan found.
+     * @param problem  the problem solved.
+     */
+    protected final void publishPlan(final Node solution, final Problem problem) {
+        if (this.planListener != null) {
+            this.planListener.planFound(this.extractPlan(solution, problem));
+        }
+    }
+
+    /**
+     * Returns the listener notified periodically of the progress of the search.
+     *
+     * @return the listener of the progress or <code>null</code> if no listener is set.
+     */
+    @Override
+    public final SearchListener getSearchListener() {
+        return this.searchListener;
+    }
+
+    /**
+     * Sets the listener notified periodically of the progress of the search. When no listener is set, the progress of
+     * the search is not computed.
+     *
+     * @param listener the listener of the progress or <code>null</code> to remove the listener.
+     */
+    @Override
+    public final void setSearchListener(final SearchListener listener) {
+        this.searchListener = listener;
+    }
+
+    /**
+     * Updates the progress of the search with the last node explored. The method does nothing if no listener of the
+     * progress is set, so it can be called for each node explored.
+     *
+     * @param explored  the number of nodes explored.
+     * @param heuristic the heuristic value of the last node explored.
+     * @param cost      the cost of the last node explored, i.e., its f value for a best first search.
+     */
+    protected final void progress(final long explored, final double heuristic, final double cost) {
+        if (this.progress != null) {
+            this.progress.update(explored, this.createdNodes, heuristic, cost);
+        }
+    }
+
+    /**
+     * Updates the number of nodes of the progress of the search. The method does nothing if no listener of the
+     * progress is set. It is used by the searches that update their progress periodically rather than for each node
+     * explored.
+     *
+     * @param explored the number of nodes explored.
+     * @param created  the number of nodes created.
+     */
+    protected final void progress(final long explored, final long created) {
+        if (this.progress != null) {
+            this.progress.update(explored, created);
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the search must stop, i.e., if the search was cancelled or if the thread of the
+     * search was interrupted. The interrupt flag of the thread is left unchanged so that the caller of the search can
+     * see it. This method is called by the search between two expansions.
+     *
+     * @return <code>true</code> if the search must stop; <code>false</code> otherwise.
+     */
+    protected final boolean isStopped() {
+        return this.cancelled || Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Returns the memory used by the data structures of the search. The memory used is the specified estimation or,
+     * if the memory must be measured exactly, the size of the graphs of objects reachable from the data structures.
+     *
+     * @param estimation the estimation of the memory used in bytes.
+     * @param structures the data structures of the search.
+     * @return the memory used by the data structures of the search in bytes.
+     */
+    protected final long measureMemoryUsed(final long estimation, final Object... structures) {
+        return this.isExactMemory() ? MemoryEstimator.exactSizeOf(structures) : estimation;
+    }
+
+    /**
+     * Returns an estimation of the memory used by a linked list of nodes and by their ancestors. The ancestors shared
+     * by several nodes are counted once.
+     *
+     * @param nodes the linked list of nodes.
+     * @return the estimation of the memory used by the nodes in bytes.
+     */
+    protected static long sizeOfNodes(final LinkedList<Node> nodes) {
+        final Set<Node> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        long memory = MemoryEstimator.sizeOfObject(3, 8) + nodes.size() * MemoryEstimator.LINKED_ENTRY_SIZE;
+        for (Node node : nodes) {
+            for (Node n = node; n != null && visited.add(n); n = n.getParent()) {
+                memory += n.getMemoryUsed();
+            }
+        }
+        return memory;
+    }
+
+    /**
+     * Requests the search to stop as soon as possible. The search checks the request between two expansions and
+     * returns <code>null</code> if no solution was found before. A request made before the search starts stops the
+     * search as soon as it starts. The request is cleared at the end of the search.
+     */
+    @Override
+    public final void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * Returns <code>true</code> if a request to stop the search is pending, i.e., if the search was cancelled and has
+     * not ended since.
+     *
+     * @return <code>true</code> if a request to stop the search is pending; <code>false</code> otherwise.
+     */
+    @Override
+    public final boolean isCancelled() {
+        return this.cancelled;
+    }
+
     /**
      * Sets the time out of the planner in second.
      *
@@ -233,6 +1126,46 @@ public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
         this.createdNodes = createdNodes;
     }
 
+    /**
+     * Returns the number of nodes explored by each thread of the search. A sequential search has a single thread.
+     *
+     * @return the number of nodes explored by each thread of the search.
+     */
+    @Override
+    public int[] getExploredNodesPerThread() {
+        return this.exploredNodesPerThread == null ? new int[] {this.exploredNodes} : this.exploredNodesPerThread;
+    }
+
+    /**
+     * Sets the number of nodes explored by each thread of the search.
+     *
+     * @param exploredNodes the number of nodes explored by each thread of the search.
+     */
+    @Override
+    public void setExploredNodesPerThread(final int[] exploredNodes) {
+        this.exploredNodesPerThread = exploredNodes;
+    }
+
+    /**
+     * Returns the number of nodes created by each thread of the search. A sequential search has a single thread.
+     *
+     * @return the number of nodes created by each thread of the search.
+     */
+    @Override
+    public int[] getCreatedNodesPerThread() {
+        return this.createdNodesPerThread == null ? new int[] {this.createdNodes} : this.createdNodesPerThread;
+    }
+
+    /**
+     * Sets the number of nodes created by each thread of the search.
+     *
+     * @param createdNodes the number of nodes created by each thread of the search.
+     */
+    @Override
+    public void setCreatedNodesPerThread(final int[] createdNodes) {
+        this.createdNodesPerThread = createdNodes;
+    }
+
     /**
      * Create a new search strategy.
      */
@@ -264,6 +1197,20 @@ public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
         this.weight = weight;
         this.searchingTime = 0;
         this.memoryUsed = 0;
+        this.openList = StateSpaceSearch.DEFAULT_OPEN_LIST;
+        this.tieBreaking = StateSpaceSearch.DEFAULT_TIE_BREAKING;
+        this.heuristicThreads = StateSpaceSearch.DEFAULT_HEURISTIC_THREADS;
+        this.exactMemory = StateSpaceSearch.DEFAULT_EXACT_MEMORY;
+        this.beamWidth = StateSpaceSearch.DEFAULT_BEAM_WIDTH;
+        this.externalDirectory = StateSpaceSearch.DEFAULT_EXTERNAL_DIRECTORY;
+        this.stubbornSets = StateSpaceSearch.DEFAULT_STUBBORN_SETS;
+        this.deadEndDetection = StateSpaceSearch.DEFAULT_DEAD_END_DETECTION;
+        this.bitStateMemory = StateSpaceSearch.DEFAULT_BITSTATE_MEMORY;
+        this.bitStateHashes = StateSpaceSearch.DEFAULT_BITSTATE_HASHES;
+        this.memoryLimit = StateSpaceSearch.DEFAULT_MEMORY_LIMIT;
+        this.memoryLimitReached = false;
+        this.cancelled = false;
+        this.upperBound = Double.POSITIVE_INFINITY;
         resetNodesStatistics();
     }
 
@@ -276,7 +1223,45 @@ public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
     @Override
     public Node searchSolutionNode(final Problem codedProblem) {
         Objects.requireNonNull(codedProblem);
-        return search(codedProblem);
+        this.memoryLimitReached = false;
+        if (this.searchListener != null) {
+            this.progress = new SearchProgress(this.searchListener);
+        }
+        final long begin = System.currentTimeMillis();
+        try {
+            if (this.warmStart != null && codedProblem.getGoal() != null) {
+                this.resetNodesStatistics();
+                final Node solution = this.replayWarmStart(codedProblem);
+                if (solution != null && !this.isOptimal()) {
+                    this.setSearchingTime(System.currentTimeMillis() - begin);
+                    return solution;
+                } else if (solution != null) {
+                    // The plan replayed is only the best plan known: the search looks for a cheaper plan to remain
+                    // optimal and the plan replayed is returned if none is found
+                    this.upperBound = solution.getCost();
+                    final Node better = this.search(codedProblem);
+                    return better != null ? better : solution;
+                }
+            }
+            return this.search(codedProblem);
+        } catch (OutOfMemoryError e) {
+            // When a memory limit is set, the exhaustion of the memory is the limit reached before its estimation.
+            // The data structures of the search are no more reachable and the memory is released.
+            if (this.memoryLimit == 0) {
+                throw e;
+            }
+            this.memoryLimitReached = true;
+            this.setSearchingTime(System.currentTimeMillis() - begin);
+            return null;
+        } finally {
+            if (this.progress != null) {
+                this.progress.end(this.getExploredNodes(), this.getCreatedNodes());
+                this.progress = null;
+            }
+            // The request to stop is consumed by the search that it stopped
+            this.cancelled = false;
+            this.upperBound = Double.POSITIVE_INFINITY;
+        }
     }
 
     /**
@@ -288,7 +1273,7 @@ public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
     @Override
     public Plan searchPlan(final Problem codedProblem) {
         Objects.requireNonNull(codedProblem);
-        final Node solutionNode = search(codedProblem);
+        final Node solutionNode = this.searchSolutionNode(codedProblem);
         if (solutionNode != null) {
             return extractPlan(solutionNode, codedProblem);
         } else {
@@ -319,6 +1304,36 @@ public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
         }
     }
 
+    /**
+     * Creates the open list of a best first search strategy. A bucket queue is created if the open list of the search
+     * is {@link OpenList#BUCKET} and the keys of the nodes are integral; otherwise a binary heap is created.
+     *
+     * @param integral <code>true</code> if the keys of the nodes are integral.
+     * @return the open list.
+     */
+    protected IntPriorityQueue createOpenList(final boolean integral) {
+        if (this.openList == OpenList.BUCKET && integral) {
+            return new IntBucketQueue(this.tieBreaking);
+        }
+        return new IntHeap();
+    }
+
+    /**
+     * Returns <code>true</code> if the costs of all the actions of a specified problem are positive integers.
+     *
+     * @param problem the problem.
+     * @return <code>true</code> if the costs of all the actions are positive integers; <code>false</code> otherwise.
+     */
+    protected static boolean hasIntegralCosts(final Problem problem) {
+        for (Action a : problem.getActions()) {
+            final double cost = a.getCost().getValue();
+            if (cost < 0 || cost != Math.rint(cost)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Reset Nodes statistics.
      */
@@ -326,6 +1341,13 @@ public abstract class AbstractStateSpaceSearch implements StateSpaceSearch {
         this.exploredNodes = 0;
         this.pendingNodes = 0;
         this.createdNodes = 0;
+        this.exploredNodesPerThread = null;
+        this.createdNodesPerThread = null;
+        // The stubborn sets are kept for the next search of the same problem: only their statistics are reset
+        if (this.pruning != null) {
+            this.pruning.resetStatistics();
+        }
+        this.omissionProbability = 0.0;
     }
 
 }
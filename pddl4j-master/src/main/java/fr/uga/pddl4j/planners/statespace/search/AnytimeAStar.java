@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.IntPriorityQueue;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements the anytime Restarting Weighted A* search strategy. For more about this strategy see S.
+ * Richter, J. Thayer and W. Ruml, The Joy of Forgetting: Faster Anytime Search via Restarting, in: Proceedings of the
+ * 20th International Conference on Automated Planning and Scheduling, 2010.
+ *
+ * <p>The search runs a sequence of weighted A* searches with decreasing weights. The first search uses the weight of
+ * the heuristic if it is greater than 1 and {@link #DEFAULT_INITIAL_WEIGHT} otherwise, and the last one a weight of 1.
+ * Each search restarts from the initial state but reuses the states reached, their heuristic values and the best
+ * paths found by the previous searches. A search stops as soon as it finds a plan better than the previous ones and
+ * the nodes that cannot lead to a better plan are pruned. Each plan found is published to the listener of the plans
+ * (see {@link #setPlanListener(PlanListener)}) and the best plan found is returned when the search ends or when the
+ * time out is reached.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class AnytimeAStar extends AbstractStateSpaceSearch {
+
+    /**
+     * The weight of the first search when the weight of the heuristic is not greater than 1.
+     */
+    public static final double DEFAULT_INITIAL_WEIGHT = 5.0;
+
+    /**
+     * The minimum decrease of the weight between two searches. A smaller decrease sets the weight to 1.
+     */
+    private static final double MIN_WEIGHT_DECREASE = 0.1;
+
+    /**
+     * Creates a new anytime AStar search strategy with default parameters.
+     */
+    public AnytimeAStar() {
+        super();
+    }
+
+    /**
+     * Creates a new anytime AStar search strategy.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristic to use to solve the planning problem.
+     * @param weight    the weight of the first search if it is greater than 1.
+     */
+    public AnytimeAStar(int timeout, StateHeuristic.Name heuristic, double weight) {
+        super(timeout, heuristic, weight);
+    }
+
+    /**
+     * Returns <code>true</code>: the search looks for an optimal plan.
+     *
+     * @return <code>true</code>.
+     */
+    @Override
+    protected boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Solves the planning problem and returns the best solution found before the time out.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @return the best solution found or null if no solution was found.
+     */
+    public Node search(final Problem codedProblem) {
+        Objects.requireNonNull(codedProblem);
+        final long begin = System.currentTimeMillis();
+        final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), codedProblem);
+        final boolean integral = AbstractStateSpaceSearch.hasIntegralCosts(codedProblem);
+        // The registry of the states and the store of their search information are shared by all the searches
+        final StateRegistry registry = new StateRegistry(codedProblem);
+        final NodeStore nodes = new NodeStore();
+        final State init = new State(codedProblem.getInitialState());
+        init.setZobristKeys(registry.getZobristKeys());
+        final int root = registry.add(init);
+        nodes.set(root, -1, -1, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
+        // The mark of each state: 2 * i if the state is pending in the search i and 2 * i + 1 if it is explored
+        int[] marks = new int[1024];
+
+        this.resetNodesStatistics();
+        Node solution = null;
+        // The plan of the warm start, if any, is the best plan known before the first search
+        double bestCost = this.getUpperBound();
+        int explored = 0;
+        double weight = this.getWeight() > 1.0 ? this.getWeight() : AnytimeAStar.DEFAULT_INITIAL_WEIGHT;
+        int iteration = 1;
+        boolean finished = false;
+        IntPriorityQueue open = null;
+        final State current = new State();
+        final State state = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
+        final long timeout = this.getTimeout() * 1000;
+        long time = 0;
+        final HeuristicPool pool = new HeuristicPool(heuristic, this.getHeuristicThreads());
+        pool.setDeadEnds(this.getDeadEnds(codedProblem));
+        int[] batch = new int[16];
+        try {
+            while (!finished && time < timeout && !this.isStopped() && !this.isMemoryLimitReached()) {
+                // Restart the search from the initial state with the current weight
+                final double currWeight = weight;
+                final int pendingMark = 2 * iteration;
+                final int exploredMark = pendingMark + 1;
+                open = this.createOpenList(integral && currWeight == Math.rint(currWeight));
+                marks[root] = pendingMark;
+                open.add(root, currWeight * nodes.getHeuristic(root), nodes.getHeuristic(root));
+                int found = -1;
+                while (!open.isEmpty() && found == -1 && time < timeout && !this.isStopped()
+                    && !this.isMemoryLimitReached()) {
+                    // An explored node is an outdated entry of the list: a node is pushed again each time its cost
+                    // is improved
+                    final int id = open.poll();
+                    final double cost = nodes.getCost(id);
+                    if (marks[id] != exploredMark && !this.isPruned(heuristic, cost, nodes.getHeuristic(id),
+                        bestCost)) {
+                        marks[id] = exploredMark;
+                        explored++;
+                        registry.getState(id, current);
+                        this.progress(explored, nodes.getHeuristic(id), cost + currWeight * nodes.getHeuristic(id));
+                        // The memory used is estimated periodically and checked against the memory limit. The best
+                        // plan found before the limit is reached is returned.
+                        if ((explored & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                            this.checkMemoryLimit(registry.getMemoryUsed() + nodes.getMemoryUsed()
+                                + open.getMemoryUsed() + MemoryEstimator.sizeOf(marks));
+                        }
+                        if (current.satisfy(codedProblem.getGoal())) {
+                            found = id;
+                        } else {
+                            final int depth = nodes.getDepth(id) + 1;
+                            pool.clear();
+                            final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                            for (int a = 0; a < nbApplicable; a++) {
+                                final int index = applicable[a];
+                                final Action op = codedProblem.getActions().get(index);
+                                state.copy(current);
+                                this.setCreatedNodes(this.getCreatedNodes() + 1);
+                                state.apply(op.getConditionalEffects(), current);
+                                final double g = cost + op.getCost().getValue();
+                                final int size = registry.size();
+                                final int next = registry.add(state);
+                                if (next >= marks.length) {
+                                    marks = Arrays.copyOf(marks, 2 * marks.length);
+                                }
+                                if (next == size) {
+                                    // The heuristic value of the new node is not known until the batch is evaluated
+                                    final int slot = pool.add(state);
+                                    if (slot == batch.length) {
+                                        batch = Arrays.copyOf(batch, 2 * batch.length);
+                                    }
+                                    batch[slot] = next;
+                                    nodes.set(next, id, index, g, depth, Double.NaN);
+                                    marks[next] = pendingMark;
+                                } else {
+                                    final double h = nodes.getHeuristic(next);
+                                    final boolean improved = g < nodes.getCost(next);
+                                    if (improved) {
+                                        // The best path found to the node is improved: the node is reopened
+                                        nodes.set(next, id, index, g, depth, h);
+                                    }
+                                    // The best path found by the previous searches is reused when the node is reached
+                                    // for the first time by the current search
+                                    if (improved || marks[next] < pendingMark) {
+                                        marks[next] = pendingMark;
+                                        if (!Double.isNaN(h) && h != Integer.MAX_VALUE) {
+                                            open.add(next, nodes.getCost(next) + currWeight * h, h);
+                                        }
+                                    }
+                                }
+                            }
+                            pool.estimate(codedProblem.getGoal());
+                            for (int slot = 0; slot < pool.size(); slot++) {
+                                final int next = batch[slot];
+                                final double h = pool.getValue(slot);
+                                nodes.setHeuristic(next, h);
+                                // The dead ends are never pushed
+                                if (h != Integer.MAX_VALUE) {
+                                    open.add(next, nodes.getCost(next) + currWeight * h, h);
+                                }
+                            }
+                        }
+                    }
+                    // Compute the searching time
+                    time = System.currentTimeMillis() - begin;
+                }
+                if (found != -1) {
+                    // The search found a better plan: the next search uses a smaller weight
+                    bestCost = nodes.getCost(found);
+                    solution = nodes.getNode(found, registry);
+                    this.publishPlan(solution, codedProblem);
+                    weight = AnytimeAStar.nextWeight(currWeight);
+                } else if (open.isEmpty()) {
+                    // No better plan can be found with the current weight
+                    finished = currWeight == 1.0;
+                    weight = AnytimeAStar.nextWeight(currWeight);
+                }
+                iteration++;
+            }
+        } finally {
+            pool.close();
+        }
+
+        this.setExploredNodes(explored);
+        this.setPendingNodes(open == null ? 0 : open.size());
+        this.setMemoryUsed(this.measureMemoryUsed(registry.getMemoryUsed() + nodes.getMemoryUsed()
+            + (open == null ? 0 : open.getMemoryUsed()) + MemoryEstimator.sizeOf(marks), registry, nodes, open,
+            marks));
+        this.setSearchingTime(time);
+
+        // return the best solution found or null if no solution was found
+        return solution;
+    }
+
+    /**
+     * Returns the weight of the search following a search with a specified weight. The distance between the weight
+     * and 1 is halved at each search.
+     *
+     * @param weight the weight of the previous search.
+     * @return the weight of the next search.
+     */
+    private static double nextWeight(final double weight) {
+        return weight - 1.0 < 2 * AnytimeAStar.MIN_WEIGHT_DECREASE ? 1.0 : 1.0 + (weight - 1.0) / 2;
+    }
+
+    /**
+     * Returns <code>true</code> if a node cannot lead to a plan better than the best plan found. The estimation of the
+     * cost of the plans through the node uses the heuristic only if the heuristic is admissible.
+     *
+     * @param heuristic the heuristic of the search.
+     * @param cost      the cost of the node.
+     * @param h         the heuristic value of the node.
+     * @param bestCost  the cost of the best plan found.
+     * @return <code>true</code> if the node cannot lead to a plan better than the best plan found.
+     */
+    private boolean isPruned(final StateHeuristic heuristic, final double cost, final double h,
+                             final double bestCost) {
+        return heuristic.isAdmissible() ? cost + h >= bestCost : cost >= bestCost;
+    }
+}
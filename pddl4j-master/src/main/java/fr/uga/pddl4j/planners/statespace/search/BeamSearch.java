@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements the Beam Search strategy. The search explores the states layer by layer, like a breadth first
+ * search, but keeps in each layer only the states of the beam, i.e., the states with the smallest heuristic values.
+ * The number of states of a layer is bounded by the width of the beam (see {@link #setBeamWidth(int)}), so the memory
+ * used and the time spent by layer are bounded too. The search is not complete: it fails when a layer is empty.
+ *
+ * <p>The successors of the states of a layer are evaluated together and the states of the beam are selected by a
+ * partial selection instead of a sort. The buffers used to store the successors are reused from one layer to the
+ * next. The states already kept in a previous layer are not kept again. The duplicates are detected by registries of
+ * states that compare the states exactly and not only their hash codes.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class BeamSearch extends AbstractStateSpaceSearch {
+
+    /**
+     * Creates a new Beam Search search strategy with default parameters.
+     */
+    public BeamSearch() {
+        super();
+    }
+
+    /**
+     * Creates a new Beam Search search strategy.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristic to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic.
+     */
+    public BeamSearch(int timeout, StateHeuristic.Name heuristic, double weight) {
+        super(timeout, heuristic, weight);
+    }
+
+    /**
+     * The beam search algorithm. Solves the planning problem and returns the first solution found.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @return the solution node or null if no solution was found.
+     */
+    public Node search(final Problem codedProblem) {
+        Objects.requireNonNull(codedProblem);
+        final long begin = System.currentTimeMillis();
+        final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), codedProblem);
+        final int width = this.getBeamWidth();
+        // The registry of the states kept in the beam and the store of their search information
+        final StateRegistry registry = new StateRegistry(codedProblem);
+        final NodeStore nodes = new NodeStore();
+        // The registry of the successors of the current layer used to detect the duplicates of the layer. The
+        // identifier of a successor is its index in the buffers of the successors.
+        final StateRegistry successors = new StateRegistry(codedProblem, registry.getZobristKeys());
+
+        State init = new State(codedProblem.getInitialState());
+        init.setZobristKeys(registry.getZobristKeys());
+        final int root = registry.add(init);
+        nodes.set(root, -1, -1, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
+
+        // The identifiers of the states of the current layer
+        int[] layer = new int[] {root};
+        int layerSize = 1;
+        // The buffers of the successors of the current layer: their parent, action, cost and heuristic value
+        int[] parents = new int[16];
+        int[] actions = new int[16];
+        double[] costs = new double[16];
+        double[] values = new double[16];
+        // The indexes of the successors that are not dead ends
+        int[] order = new int[16];
+
+        this.resetNodesStatistics();
+        int solution = init.satisfy(codedProblem.getGoal()) ? root : -1;
+        int explored = 0;
+        int depth = 0;
+        final State current = new State();
+        final State nextState = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
+        final long timeout = this.getTimeout() * 1000;
+        long searchingTime = 0;
+        final HeuristicPool pool = new HeuristicPool(heuristic, this.getHeuristicThreads());
+        pool.setDeadEnds(this.getDeadEnds(codedProblem));
+        try {
+            while (layerSize > 0 && solution == -1 && searchingTime < timeout && !this.isStopped()
+                && !this.isMemoryLimitReached()) {
+                // Generate the successors of the states of the current layer
+                successors.clear();
+                pool.clear();
+                int count = 0;
+                depth++;
+                for (int i = 0; i < layerSize && solution == -1; i++) {
+                    final int id = layer[i];
+                    registry.getState(id, current);
+                    explored++;
+                    this.progress(explored, nodes.getHeuristic(id), nodes.getCost(id) + nodes.getHeuristic(id));
+                    final double cost = nodes.getCost(id);
+                    final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                    for (int a = 0; a < nbApplicable; a++) {
+                        final int index = applicable[a];
+                        final Action op = codedProblem.getActions().get(index);
+                        nextState.copy(current);
+                        nextState.apply(op.getConditionalEffects(), current);
+                        this.setCreatedNodes(this.getCreatedNodes() + 1);
+                        if (registry.lookup(nextState) == -1 && successors.add(nextState) == count) {
+                            if (nextState.satisfy(codedProblem.getGoal())) {
+                                solution = registry.add(nextState);
+                                nodes.set(solution, id, index, cost + op.getCost().getValue(), depth, 0);
+                                break;
+                            }
+                            if (count == parents.length) {
+                                final int capacity = 2 * parents.length;
+                                parents = Arrays.copyOf(parents, capacity);
+                                actions = Arrays.copyOf(actions, capacity);
+                                costs = Arrays.copyOf(costs, capacity);
+                                values = Arrays.copyOf(values, capacity);
+                                order = Arrays.copyOf(order, capacity);
+                            }
+                            parents[count] = id;
+                            actions[count] = index;
+                            costs[count] = cost + op.getCost().getValue();
+                            pool.add(nextState);
+                            count++;
+                        }
+                    }
+                }
+                if (solution == -1) {
+                    // Evaluate the successors together and select the best ones
+                    pool.estimate(codedProblem.getGoal());
+                    int candidates = 0;
+                    for (int i = 0; i < count; i++) {
+                        values[i] = pool.getValue(i);
+                        if (values[i] != Integer.MAX_VALUE) {
+                            order[candidates++] = i;
+                        }
+                    }
+                    final int selected = Math.min(width, candidates);
+                    BeamSearch.select(order, values, candidates, selected);
+                    if (layer.length < selected) {
+                        layer = new int[Math.min(width, Math.max(selected, 2 * layer.length))];
+                    }
+                    for (int i = 0; i < selected; i++) {
+                        final int c = order[i];
+                        successors.getState(c, current);
+                        final int id = registry.add(current);
+                        nodes.set(id, parents[c], actions[c], costs[c], depth, values[c]);
+                        layer[i] = id;
+                    }
+                    layerSize = selected;
+                    // The memory used grows with the depth of the search and is checked once per layer
+                    this.checkMemoryLimit(registry.getMemoryUsed() + nodes.getMemoryUsed()
+                        + successors.getMemoryUsed());
+                }
+                // Take time to compute the searching time
+                long end = System.currentTimeMillis();
+                searchingTime = end - begin;
+            }
+        } finally {
+            pool.close();
+        }
+
+        this.setExploredNodes(explored);
+        this.setPendingNodes(solution == -1 ? layerSize : 0);
+        final long buffers = MemoryEstimator.sizeOf(layer) + MemoryEstimator.sizeOf(parents)
+            + MemoryEstimator.sizeOf(actions) + MemoryEstimator.sizeOf(costs) + MemoryEstimator.sizeOf(values)
+            + MemoryEstimator.sizeOf(order);
+        this.setMemoryUsed(this.measureMemoryUsed(registry.getMemoryUsed() + nodes.getMemoryUsed()
+            + successors.getMemoryUsed() + buffers, registry, nodes, successors, layer, parents, actions, costs,
+            values, order));
+        this.setSearchingTime(searchingTime);
+
+        return solution == -1 ? null : nodes.getNode(solution, registry);
+    }
+
+    /**
+     * Reorders the first elements of an array of indexes so that its first <code>k</code> elements are the indexes with
+     * the smallest values. The first <code>k</code> elements are not sorted. The method uses the quickselect algorithm
+     * and runs in linear time on average.
+     *
+     * @param indexes the array of indexes.
+     * @param values  the values of the indexes.
+     * @param size    the number of elements of the array of indexes to reorder.
+     * @param k       the number of indexes to select.
+     */
+    private static void select(final int[] indexes, final double[] values, final int size, final int k) {
+        int left = 0;
+        int right = size - 1;
+        while (left < right && k > left && k <= right) {
+            // Partition the elements around the value of the middle element
+            final double pivot = values[indexes[(left + right) >>> 1]];
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (values[indexes[i]] < pivot) {
+                    i++;
+                }
+                while (values[indexes[j]] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    final int tmp = indexes[i];
+                    indexes[i] = indexes[j];
+                    indexes[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            // The elements in [left, j] are less or equal to the pivot and the elements in [i, right] are greater or
+            // equal to the pivot
+            if (k <= j + 1) {
+                right = j;
+            } else if (k >= i) {
+                left = i;
+            } else {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+/**
+ * This class implements the table of the states reached by a search in bitstate hashing mode, also known as
+ * supertrace. For more about this technique see G. J. Holzmann, An Analysis of Bitstate Hashing, Formal Methods in
+ * System Design, 13(3), 1998.
+ *
+ * <p>The table is a fixed array of bits. A state is recorded by setting <code>k</code> bits chosen from the Zobrist
+ * hash code of the state with double hashing, and a state is considered as already reached if its <code>k</code> bits
+ * are set. The memory used by the table is bounded, but a state never reached can be considered as reached by mistake
+ * and omitted: the search is no more complete. The probability of omission of a new state grows with the ratio of the
+ * bits set (see {@link #getOmissionProbability()}).</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class BitStateTable {
+
+    /**
+     * The maximum size of the table in megabytes.
+     */
+    public static final int MAX_MEMORY = 16383;
+
+    /**
+     * The bits of the table.
+     */
+    private final long[] bits;
+
+    /**
+     * The number of bits of the table.
+     */
+    private final long size;
+
+    /**
+     * The number of hash functions, i.e., the number of bits set for each state.
+     */
+    private final int hashes;
+
+    /**
+     * The number of bits set.
+     */
+    private long count;
+
+    /**
+     * The number of states recorded.
+     */
+    private long states;
+
+    /**
+     * Creates a new table.
+     *
+     * @param memory the size of the table in megabytes.
+     * @param hashes the number of hash functions.
+     * @throws IllegalArgumentException if the size of the table is not in [1, {@link #MAX_MEMORY}] or if the number
+     *                                  of hash functions is less than 1.
+     */
+    public BitStateTable(final int memory, final int hashes) {
+        if (memory < 1 || memory > BitStateTable.MAX_MEMORY) {
+            throw new IllegalArgumentException("memory not in [1, " + BitStateTable.MAX_MEMORY + "]");
+        }
+        if (hashes < 1) {
+            throw new IllegalArgumentException("hashes < 1");
+        }
+        this.bits = new long[memory << 17];
+        this.size = (long) this.bits.length << 6;
+        this.hashes = hashes;
+        this.count = 0;
+        this.states = 0;
+    }
+
+    /**
+     * Records a state from its hash code and returns <code>true</code> if the state was not already recorded. A state
+     * is considered as already recorded if all its bits are set.
+     *
+     * @param hash the Zobrist hash code of the state.
+     * @return <code>true</code> if the state was not already recorded; <code>false</code> otherwise.
+     */
+    public boolean add(final long hash) {
+        // The second hash code is odd so that the k bits are distinct when the size of the table is a power of 2
+        final long step = BitStateTable.mix(hash) | 1L;
+        long index = hash;
+        boolean added = false;
+        for (int i = 0; i < this.hashes; i++) {
+            final long bit = (index & Long.MAX_VALUE) % this.size;
+            final int word = (int) (bit >>> 6);
+            final long mask = 1L << bit;
+            if ((this.bits[word] & mask) == 0) {
+                this.bits[word] |= mask;
+                this.count++;
+                added = true;
+            }
+            index += step;
+        }
+        if (added) {
+            this.states++;
+        }
+        return added;
+    }
+
+    /**
+     * Returns the number of states recorded.
+     *
+     * @return the number of states recorded.
+     */
+    public long getStates() {
+        return this.states;
+    }
+
+    /**
+     * Returns the number of hash functions of the table.
+     *
+     * @return the number of hash functions of the table.
+     */
+    public int getHashes() {
+        return this.hashes;
+    }
+
+    /**
+     * Returns the estimated probability that a state never reached is considered as reached by mistake, i.e., the
+     * probability that its <code>k</code> bits are already set.
+     *
+     * @return the estimated probability of omission of a new state.
+     */
+    public double getOmissionProbability() {
+        return Math.pow((double) this.count / this.size, this.hashes);
+    }
+
+    /**
+     * Returns the memory used by the table in bytes.
+     *
+     * @return the memory used by the table in bytes.
+     */
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOfObject(1, 3 * 8 + 4) + MemoryEstimator.sizeOf(this.bits);
+    }
+
+    /**
+     * Mixes the bits of a hash code to compute the second hash code of a state.
+     *
+     * @param hash the hash code.
+     * @return the mixed bits of the hash code.
+     */
+    private static long mix(final long hash) {
+        long z = hash * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
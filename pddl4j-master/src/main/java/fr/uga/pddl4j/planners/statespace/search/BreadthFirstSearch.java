@@ -17,11 +17,11 @@ package fr.uga.pddl4j.planners.statespace.search;
 
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.ZobristKeys;
 import fr.uga.pddl4j.problem.operator.Action;
-import org.openjdk.jol.info.GraphLayout;
+import fr.uga.pddl4j.util.MemoryEstimator;
 
-import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.ArrayDeque;
 import java.util.Objects;
 
 /**
@@ -57,57 +57,136 @@ public final class BreadthFirstSearch extends AbstractStateSpaceSearch {
      */
     public Node search(final Problem codedProblem) {
         Objects.requireNonNull(codedProblem);
+        final BitStateTable bitstate = this.createBitStateTable();
+        if (bitstate != null) {
+            return this.search(codedProblem, bitstate);
+        }
         final long begin = System.currentTimeMillis();
 
-        final HashSet<Node> closeSet = new HashSet<>();
-        final LinkedList<Node> openSet = new LinkedList<>();
+        // The states are registered in the order of their creation. Therefore, the pending list is the range of
+        // identifiers between the next state to explore and the last registered state.
+        final StateRegistry registry = new StateRegistry(codedProblem);
+        final NodeStore nodes = new NodeStore();
         final int timeout = this.getTimeout() * 1000;
 
         State init = new State(codedProblem.getInitialState());
-        Node root = new Node(init, null, 0, 0, 0);
-        root.setDepth(0);
+        init.setZobristKeys(registry.getZobristKeys());
+        final int root = registry.add(init);
+        nodes.set(root, -1, 0, 0, 0, 0);
+
+        this.resetNodesStatistics();
+        int solution = -1;
+        int next = 0;
+        final State current = new State();
+        final State nextState = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
+        long searchingTime = 0;
+        while (next < registry.size() && solution == -1 && searchingTime < timeout && !this.isStopped()
+            && !this.isMemoryLimitReached()) {
+            // Pop the first node in the pending list open
+            final int id = next++;
+            registry.getState(id, current);
+            // The blind searches do not compute the heuristic value of the nodes
+            this.progress(id, Double.POSITIVE_INFINITY, nodes.getCost(id));
+            // The memory used is estimated periodically and checked against the memory limit
+            if ((next & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                this.checkMemoryLimit(registry.getMemoryUsed() + nodes.getMemoryUsed());
+            }
+
+            if (current.satisfy(codedProblem.getGoal())) {
+                solution = id;
+            } else {
+                final double cost = nodes.getCost(id);
+                final int depth = nodes.getDepth(id) + 1;
+                final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                for (int a = 0; a < nbApplicable; a++) {
+                    final int index = applicable[a];
+                    final Action op = codedProblem.getActions().get(index);
+                    nextState.copy(current);
+
+                    // Apply the effect of the applicable operator
+                    // Test if the condition of the effect is satisfied in the current state
+                    // Apply the effect to the successor node
+                    nextState.apply(op.getConditionalEffects(), current);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+
+                    // The successor is added to the pending list if it was never reached before
+                    final int size = registry.size();
+                    if (registry.add(nextState) == size) {
+                        nodes.set(size, id, index, cost + op.getCost().getValue(), depth, 0);
+                    }
+                }
+            }
+            // Take time to compute the searching time
+            long end = System.currentTimeMillis();
+            searchingTime = end - begin;
+        }
+
+        this.setExploredNodes(solution == -1 ? next : next - 1);
+        this.setPendingNodes(registry.size() - next);
+        this.setMemoryUsed(this.measureMemoryUsed(registry.getMemoryUsed() + nodes.getMemoryUsed(), registry, nodes));
+        this.setSearchingTime(searchingTime);
+
+        return solution == -1 ? null : nodes.getNode(solution, registry);
+    }
+
+    /**
+     * The breadth first search algorithm in bitstate hashing mode. The states reached are recorded in a table of bits
+     * of fixed size and only the pending nodes and their ancestors are kept in memory. Some states can be omitted, so
+     * the search is not complete.
+     *
+     * @param codedProblem the problem to be solved.
+     * @param bitstate     the table of the states reached.
+     * @return a solution plan or null if no solution was found.
+     */
+    private Node search(final Problem codedProblem, final BitStateTable bitstate) {
+        final long begin = System.currentTimeMillis();
+        final ArrayDeque<Node> openSet = new ArrayDeque<>();
+        final long timeout = this.getTimeout() * 1000;
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
+
+        State init = new State(codedProblem.getInitialState());
+        init.setZobristKeys(new ZobristKeys(codedProblem));
+        Node root = new Node(init, null, -1, 0, 0, 0);
         openSet.add(root);
+        bitstate.add(root.longHashCode());
+        // The estimation of the memory used by the pending nodes and their ancestors. The estimation is an upper
+        // bound: the ancestors of a node without successor are not removed from the estimation
+        long memory = root.getMemoryUsed() + MemoryEstimator.LINKED_ENTRY_SIZE;
 
         this.resetNodesStatistics();
         Node solution = null;
+        int explored = 0;
         long searchingTime = 0;
-        while (!openSet.isEmpty() && solution == null && searchingTime < timeout) {
-            // Pop the first node in the pending list open
+        while (!openSet.isEmpty() && solution == null && searchingTime < timeout && !this.isStopped()) {
             final Node current = openSet.pollFirst();
-
+            memory -= MemoryEstimator.LINKED_ENTRY_SIZE;
             if (current.satisfy(codedProblem.getGoal())) {
                 solution = current;
             } else {
-                closeSet.add(current);
-                int index = 0;
-                for (Action op : codedProblem.getActions()) {
-
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        final State nextState = new State(current);
-                        //nextState.or(op.getConditionalEffects().get(0).getEffect().getPositive());
-                        //nextState.andNot(op.getConditionalEffects().get(0).getEffect().getNegative());
-
-                        // Apply the effect of the applicable operator
-                        // Test if the condition of the effect is satisfied in the current state
-                        // Apply the effect to the successor node
-                        op.getConditionalEffects().stream().filter(ce -> current.satisfy(ce.getCondition()))
-                            .forEach(ce -> nextState.apply(ce.getEffect()));
-
-                        // Apply the effect of the applicable operator
-                        final Node successor = new Node(nextState);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        successor.setCost(current.getCost() + op.getCost().getValue());
-                        successor.setHeuristic(0);
-                        successor.setParent(current);
-                        successor.setAction(index);
-                        successor.setDepth(current.getDepth() + 1);
-
-                        if (!closeSet.contains(successor) && !openSet.contains(successor)) {
-                            openSet.addLast(successor);
-                        }
+                explored++;
+                this.progress(explored, Double.POSITIVE_INFINITY, current.getCost());
+                boolean expanded = false;
+                final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                for (int a = 0; a < nbApplicable; a++) {
+                    final int index = applicable[a];
+                    final Action op = codedProblem.getActions().get(index);
+                    final State nextState = new State(current);
+                    nextState.apply(op.getConditionalEffects(), current);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    // The successor is added to the pending list if its bits are not all set
+                    if (bitstate.add(nextState.longHashCode())) {
+                        final Node successor = new Node(nextState, current, index,
+                            current.getCost() + op.getCost().getValue(), current.getDepth() + 1, 0);
+                        openSet.addLast(successor);
+                        memory += successor.getMemoryUsed() + MemoryEstimator.LINKED_ENTRY_SIZE;
+                        expanded = true;
                     }
-                    index++;
+                }
+                if (!expanded) {
+                    memory -= current.getMemoryUsed();
                 }
             }
             // Take time to compute the searching time
@@ -115,10 +194,10 @@ public final class BreadthFirstSearch extends AbstractStateSpaceSearch {
             searchingTime = end - begin;
         }
 
-        this.setExploredNodes(closeSet.size());
+        this.setExploredNodes(explored);
         this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(GraphLayout.parseInstance(closeSet).totalSize()
-            + GraphLayout.parseInstance(openSet).totalSize());
+        this.setMemoryUsed(this.measureMemoryUsed(bitstate.getMemoryUsed() + memory, bitstate, openSet));
+        this.setOmissionProbability(bitstate);
         this.setSearchingTime(searchingTime);
 
         return solution;
@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.SuccessorGenerator;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements a store of the dead ends of a problem, i.e., the states from which the goal cannot be reached.
+ * The store is shared by the searches of a planner, so a state recognized as a dead end by a search is not evaluated
+ * again by the next searches (see {@link HeuristicPool}).
+ *
+ * <p>The dead ends found by the heuristics are recorded in a {@link StateRegistry}, so a state is recognized as a
+ * dead end only if it is equal to a recorded state and not only if their hash codes are equal. The number of dead ends
+ * recorded is bounded (see {@link #DEFAULT_CAPACITY}): the dead ends found once the store is full are not
+ * recorded.</p>
+ *
+ * <p>The store also computes once the fluents reachable from the initial state in the relaxed problem where the
+ * negative preconditions and the delete effects are ignored, i.e., the fluents of finite h^max value. The actions with
+ * an unreachable precondition are never applicable. A goal fluent whose achievers are all unreachable cannot be made
+ * true again once it is false, and a negative goal fluent whose deleters are all unreachable cannot be made false once
+ * it is true: the states that falsify these goals are dead ends recognized without evaluating the heuristic. If such a
+ * goal is not satisfied by the initial state, the problem has no solution (see {@link #isUnsolvable()}). The searches
+ * compute the applicable actions with a successor generator restricted to the reachable actions in which the
+ * unreachable fluents, always false, are not tested (see {@link #getSuccessorGenerator()}).</p>
+ *
+ * <p>The store is thread safe: it can be shared by the searches of a portfolio.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class DeadEnds {
+
+    /**
+     * The default maximum number of dead ends recorded.
+     */
+    public static final int DEFAULT_CAPACITY = 1 << 22;
+
+    /**
+     * The problem of the dead ends.
+     */
+    private final Problem problem;
+
+    /**
+     * The fluents reachable from the initial state in the relaxed problem.
+     */
+    private final BitVector reachable;
+
+    /**
+     * The positive goal fluents that cannot be made true from a reachable state.
+     */
+    private final int[] positiveGoals;
+
+    /**
+     * The negative goal fluents that cannot be made false from a reachable state.
+     */
+    private final int[] negativeGoals;
+
+    /**
+     * The number of actions with an unreachable precondition.
+     */
+    private final int unreachableActions;
+
+    /**
+     * The indexes of the actions whose precondition is reachable.
+     */
+    private final int[] reachableActions;
+
+    /**
+     * The successor generator of the reachable actions or <code>null</code> if it is not yet built.
+     */
+    private SuccessorGenerator generator;
+
+    /**
+     * The dead ends recorded.
+     */
+    private final StateRegistry recorded;
+
+    /**
+     * The maximum number of dead ends recorded.
+     */
+    private final int capacity;
+
+    /**
+     * The number of states recognized as dead ends without evaluating the heuristic.
+     */
+    private long hits;
+
+    /**
+     * Creates the store of the dead ends of a specified problem with the default capacity.
+     *
+     * @param problem the problem. The problem cannot be null.
+     */
+    public DeadEnds(final Problem problem) {
+        this(problem, DeadEnds.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates the store of the dead ends of a specified problem.
+     *
+     * @param problem  the problem. The problem cannot be null.
+     * @param capacity the maximum number of dead ends recorded.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public DeadEnds(final Problem problem, final int capacity) {
+        Objects.requireNonNull(problem);
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity < 0");
+        }
+        this.problem = problem;
+        this.capacity = capacity;
+        this.recorded = new StateRegistry(problem);
+        final List<Action> actions = problem.getActions();
+        // Computes the reachable fluents with a single pass of h^max: the actions are applied until a fix point
+        this.reachable = new BitVector(problem.getInitialState().getPositiveFluents());
+        int size = -1;
+        while (size != this.reachable.cardinality()) {
+            size = this.reachable.cardinality();
+            for (Action action : actions) {
+                if (this.reachable.include(action.getPrecondition().getPositiveFluents())) {
+                    for (ConditionalEffect effect : action.getConditionalEffects()) {
+                        if (this.reachable.include(effect.getCondition().getPositiveFluents())) {
+                            this.reachable.or(effect.getEffect().getPositiveFluents());
+                        }
+                    }
+                }
+            }
+        }
+        // The achievers and the deleters of the fluents in the reachable actions
+        final BitVector achieved = new BitVector();
+        final BitVector deleted = new BitVector();
+        final int[] reachableActions = new int[actions.size()];
+        int unreachable = 0;
+        for (int a = 0; a < actions.size(); a++) {
+            final Action action = actions.get(a);
+            if (this.reachable.include(action.getPrecondition().getPositiveFluents())) {
+                reachableActions[a - unreachable] = a;
+                for (ConditionalEffect effect : action.getConditionalEffects()) {
+                    if (this.reachable.include(effect.getCondition().getPositiveFluents())) {
+                        achieved.or(effect.getEffect().getPositiveFluents());
+                        deleted.or(effect.getEffect().getNegativeFluents());
+                    }
+                }
+            } else {
+                unreachable++;
+            }
+        }
+        this.unreachableActions = unreachable;
+        this.reachableActions = Arrays.copyOf(reachableActions, actions.size() - unreachable);
+        final BitVector positive = new BitVector(problem.getGoal().getPositiveFluents());
+        positive.andNot(achieved);
+        this.positiveGoals = positive.stream().toArray();
+        final BitVector negative = new BitVector(problem.getGoal().getNegativeFluents());
+        negative.andNot(deleted);
+        this.negativeGoals = negative.stream().toArray();
+    }
+
+    /**
+     * Returns the problem of the dead ends.
+     *
+     * @return the problem of the dead ends.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns <code>true</code> if the fluent is reachable from the initial state in the relaxed problem.
+     *
+     * @param fluent the fluent.
+     * @return <code>true</code> if the fluent is reachable from the initial state.
+     */
+    public boolean isReachable(final int fluent) {
+        return this.reachable.get(fluent);
+    }
+
+    /**
+     * Returns the number of actions that are never applicable because one of their preconditions is unreachable.
+     *
+     * @return the number of actions never applicable.
+     */
+    public int getUnreachableActions() {
+        return this.unreachableActions;
+    }
+
+    /**
+     * Returns the successor generator of the actions whose precondition is reachable. The negative preconditions on
+     * the unreachable fluents are not tested because these fluents are false in all the states reachable from the
+     * initial state. The generator is built the first time it is requested and can be shared by several threads.
+     *
+     * @return the successor generator of the reachable actions.
+     */
+    public synchronized SuccessorGenerator getSuccessorGenerator() {
+        if (this.generator == null) {
+            final BitVector unreachable = new BitVector();
+            unreachable.set(0, this.problem.getFluents().size());
+            unreachable.andNot(this.reachable);
+            this.generator = new SuccessorGenerator(this.problem, this.reachableActions, unreachable);
+        }
+        return this.generator;
+    }
+
+    /**
+     * Returns <code>true</code> if the initial state is recognized as a dead end, i.e., if the problem has no solution.
+     *
+     * @return <code>true</code> if the problem has no solution.
+     */
+    public boolean isUnsolvable() {
+        return this.violatesGoals(new State(this.problem.getInitialState()));
+    }
+
+    /**
+     * Returns <code>true</code> if a state is a known dead end. A state is a known dead end if it was recorded or if
+     * it falsifies a goal that cannot be satisfied again.
+     *
+     * @param state the state.
+     * @return <code>true</code> if the state is a known dead end.
+     */
+    public boolean isDeadEnd(final State state) {
+        final boolean deadEnd;
+        if (this.violatesGoals(state)) {
+            deadEnd = true;
+        } else {
+            synchronized (this) {
+                deadEnd = this.recorded.lookup(state) != -1;
+            }
+        }
+        if (deadEnd) {
+            synchronized (this) {
+                this.hits++;
+            }
+        }
+        return deadEnd;
+    }
+
+    /**
+     * Records a state as a dead end. The state is not recorded if the store is full.
+     *
+     * @param state the state.
+     */
+    public synchronized void add(final State state) {
+        if (this.recorded.size() < this.capacity) {
+            this.recorded.add(state);
+        }
+    }
+
+    /**
+     * Returns the number of dead ends recorded.
+     *
+     * @return the number of dead ends recorded.
+     */
+    public synchronized int size() {
+        return this.recorded.size();
+    }
+
+    /**
+     * Returns the number of states recognized as dead ends without evaluating the heuristic.
+     *
+     * @return the number of states recognized as dead ends.
+     */
+    public synchronized long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns an estimation of the memory used by the store in bytes.
+     *
+     * @return an estimation of the memory used by the store in bytes.
+     */
+    public synchronized long getMemoryUsed() {
+        return MemoryEstimator.sizeOfObject(8, 4 + 4 + 8) + this.recorded.getMemoryUsed() + this.reachable.size() / 8
+            + MemoryEstimator.sizeOf(this.positiveGoals) + MemoryEstimator.sizeOf(this.negativeGoals)
+            + MemoryEstimator.sizeOf(this.reachableActions)
+            + (this.generator == null ? 0 : this.generator.getMemoryUsed());
+    }
+
+    /**
+     * Returns <code>true</code> if a state falsifies a goal that cannot be satisfied again.
+     *
+     * @param state the state.
+     * @return <code>true</code> if the state falsifies a goal that cannot be satisfied again.
+     */
+    private boolean violatesGoals(final State state) {
+        for (int f : this.positiveGoals) {
+            if (!state.get(f)) {
+                return true;
+            }
+        }
+        for (int f : this.negativeGoals) {
+            if (state.get(f)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -17,15 +17,23 @@ package fr.uga.pddl4j.planners.statespace.search;
 
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.ZobristKeys;
 import fr.uga.pddl4j.problem.operator.Action;
-import org.openjdk.jol.info.GraphLayout;
+import fr.uga.pddl4j.util.MemoryEstimator;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.Objects;
 
 /**
  * This class implements Depth First Search strategy.
  *
+ * <p>
+ * The states reached are stored in a registry that compares the states themselves and not only their hash codes, so a
+ * collision of the hash codes never prunes a state. In bitstate hashing mode, the search is probabilistic: only the
+ * hash codes of the states are recorded and a state can be omitted (see {@link #setBitStateMemory(int)}).
+ * </p>
+ *
  * @author E. Hermellin
  * @version 1.0 - 22.06.2018
  */
@@ -56,54 +64,149 @@ public final class DepthFirstSearch extends AbstractStateSpaceSearch {
      */
     public Node search(final Problem codedProblem) {
         Objects.requireNonNull(codedProblem);
+        final BitStateTable bitstate = this.createBitStateTable();
+        if (bitstate != null) {
+            return this.search(codedProblem, bitstate);
+        }
         final long begin = System.currentTimeMillis();
 
-        final LinkedList<Node> closeSet = new LinkedList<>();
+        // The registry of the states already reached, i.e., explored or pending, and the store of their search
+        // information. The pending list is a stack of state identifiers.
+        final StateRegistry registry = new StateRegistry(codedProblem);
+        final NodeStore nodes = new NodeStore();
+        int[] openSet = new int[16];
+        int pending = 0;
+        final long timeout = this.getTimeout() * 1000;
+
+        State init = new State(codedProblem.getInitialState());
+        init.setZobristKeys(registry.getZobristKeys());
+        final int root = registry.add(init);
+        nodes.set(root, -1, 0, 0, 0, 0);
+        openSet[pending++] = root;
+
+        this.resetNodesStatistics();
+        int solution = -1;
+        int explored = 0;
+        final State current = new State();
+        final State nextState = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
+        long searchingTime = 0;
+        while (pending > 0 && solution == -1 && searchingTime < timeout && !this.isStopped()
+            && !this.isMemoryLimitReached()) {
+            // Pop the last node pushed in the pending list
+            final int id = openSet[--pending];
+            registry.getState(id, current);
+
+            if (current.satisfy(codedProblem.getGoal())) {
+                solution = id;
+            } else {
+                explored++;
+                if ((explored & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                    this.checkMemoryLimit(registry.getMemoryUsed() + nodes.getMemoryUsed()
+                        + MemoryEstimator.sizeOf(openSet));
+                }
+                // The blind searches do not compute the heuristic value of the nodes
+                this.progress(explored, Double.POSITIVE_INFINITY, nodes.getCost(id));
+                final double cost = nodes.getCost(id);
+                final int depth = nodes.getDepth(id) + 1;
+                final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                for (int a = 0; a < nbApplicable; a++) {
+                    final int index = applicable[a];
+                    final Action op = codedProblem.getActions().get(index);
+                    nextState.copy(current);
+                    // Apply the effect of the applicable operator
+                    nextState.apply(op.getConditionalEffects(), current);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+
+                    // The successor is pushed in the pending list if it was never reached before
+                    final int size = registry.size();
+                    if (registry.add(nextState) == size) {
+                        nodes.set(size, id, index, cost + op.getCost().getValue(), depth, 0);
+                        if (pending == openSet.length) {
+                            openSet = Arrays.copyOf(openSet, 2 * openSet.length);
+                        }
+                        openSet[pending++] = size;
+                    }
+                }
+            }
+            // Take time to compute the searching time
+            long end = System.currentTimeMillis();
+            searchingTime = end - begin;
+        }
+
+        this.setExploredNodes(explored);
+        this.setPendingNodes(pending);
+        this.setMemoryUsed(this.measureMemoryUsed(registry.getMemoryUsed() + nodes.getMemoryUsed()
+            + MemoryEstimator.sizeOf(openSet), registry, nodes, openSet));
+        this.setSearchingTime(searchingTime);
+
+        return solution == -1 ? null : nodes.getNode(solution, registry);
+    }
+
+    /**
+     * The depth first search algorithm in bitstate hashing mode. The states reached are recorded in a table of bits
+     * of fixed size and only the pending nodes and their ancestors are kept in memory. Some states can be omitted, so
+     * the search is not complete.
+     *
+     * @param codedProblem the problem to be solved.
+     * @param bitstate     the table of the states reached.
+     * @return a solution plan or null if no solution was found.
+     */
+    private Node search(final Problem codedProblem, final BitStateTable bitstate) {
+        final long begin = System.currentTimeMillis();
         final LinkedList<Node> openSet = new LinkedList<>();
         final long timeout = this.getTimeout() * 1000;
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
 
         State init = new State(codedProblem.getInitialState());
+        init.setZobristKeys(new ZobristKeys(codedProblem));
         Node root = new Node(init, null, 0, 0, 0);
         root.setDepth(0);
         openSet.add(root);
+        bitstate.add(root.longHashCode());
+        int explored = 0;
+        // The estimation of the memory used by the nodes of the open set and their ancestors. The estimation is an
+        // upper bound: the ancestors of a node without successor are not removed from the estimation
+        long memory = root.getMemoryUsed() + MemoryEstimator.LINKED_ENTRY_SIZE;
 
         this.resetNodesStatistics();
         Node solution = null;
         long searchingTime = 0;
-        while (!openSet.isEmpty() && solution == null && searchingTime < timeout) {
+        while (!openSet.isEmpty() && solution == null && searchingTime < timeout && !this.isStopped()
+            && !this.isMemoryLimitReached()) {
             // Pop the first node in the pending list open
             final Node current = openSet.pollFirst();
+            memory -= MemoryEstimator.LINKED_ENTRY_SIZE;
 
             if (current.satisfy(codedProblem.getGoal())) {
                 solution = current;
             } else {
-                closeSet.add(current);
-                int index = 0;
-                for (Action op : codedProblem.getActions()) {
-
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        final State nextState = new State(current);
-                        //nextState.or(op.getConditionalEffects().get(0).getEffect().getPositive());
-                        //nextState.andNot(op.getConditionalEffects().get(0).getEffect().getNegative());
-
-                        op.getConditionalEffects().stream().filter(ce -> current.satisfy(ce.getCondition()))
-                            .forEach(ce -> nextState.apply(ce.getEffect()));
-
-                        // Apply the effect of the applicable operator
-                        final Node successor = new Node(nextState);
-                        this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        successor.setCost(current.getCost() + op.getCost().getValue());
-                        successor.setHeuristic(0);
-                        successor.setParent(current);
-                        successor.setAction(index);
-                        successor.setDepth(current.getDepth() + 1);
-
-                        if (!closeSet.contains(successor) && !openSet.contains(successor)) {
-                            openSet.addFirst(successor);
-                        }
+                explored++;
+                if ((explored & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                    this.checkMemoryLimit(bitstate.getMemoryUsed() + MemoryEstimator.sizeOfObject(3, 8) + memory);
+                }
+                this.progress(explored, Double.POSITIVE_INFINITY, current.getCost());
+                boolean expanded = false;
+                final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                for (int a = 0; a < nbApplicable; a++) {
+                    final int index = applicable[a];
+                    final Action op = codedProblem.getActions().get(index);
+                    final State nextState = new State(current);
+                    nextState.apply(op.getConditionalEffects(), current);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    // The successor is added to the pending list if its bits are not all set
+                    if (bitstate.add(nextState.longHashCode())) {
+                        final Node successor = new Node(nextState, current, index,
+                            current.getCost() + op.getCost().getValue(), current.getDepth() + 1, 0);
+                        openSet.addFirst(successor);
+                        memory += successor.getMemoryUsed() + MemoryEstimator.LINKED_ENTRY_SIZE;
+                        expanded = true;
                     }
-                    index++;
+                }
+                if (!expanded) {
+                    memory -= current.getMemoryUsed();
                 }
             }
             // Take time to compute the searching time
@@ -111,10 +214,11 @@ public final class DepthFirstSearch extends AbstractStateSpaceSearch {
             searchingTime = end - begin;
         }
 
-        this.setExploredNodes(closeSet.size());
+        this.setExploredNodes(explored);
         this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(GraphLayout.parseInstance(closeSet).totalSize()
-            + GraphLayout.parseInstance(openSet).totalSize());
+        this.setMemoryUsed(this.measureMemoryUsed(bitstate.getMemoryUsed() + MemoryEstimator.sizeOfObject(3, 8)
+            + memory, bitstate, openSet));
+        this.setOmissionProbability(bitstate);
         this.setSearchingTime(searchingTime);
 
         return solution;
@@ -19,18 +19,25 @@
 
 package fr.uga.pddl4j.planners.statespace.search;
 
+import fr.uga.pddl4j.heuristics.state.RelaxedGraphHeuristic;
 import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
-import org.openjdk.jol.info.GraphLayout;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryEstimator;
 
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
  * This class implements Enforced Hill Climbing search strategy.
  *
+ * <p>When the heuristic extracts a relaxed plan, the successors of a node are restricted to its helpful actions, i.e.,
+ * the actions of the relaxed plan applicable in the node. If a plateau cannot be escaped with the helpful actions, its
+ * search restarts from the node where it started with all the applicable actions. The states reached during the
+ * search of a plateau are recorded so that they are not expanded twice.</p>
+ *
  * @author Samuel Aaron Boyd
  * @author E. Hermellin
  * @version 2.0 - 24.01.2018
@@ -59,6 +66,11 @@ public final class EnforcedHillClimbing extends AbstractStateSpaceSearch {
     /**
      * The enforced hill climbing algorithm. Solves the planning problem and returns the solution's node.
      *
+     * <p>The states reached since the search of the current plateau started are stored in a registry cleared at the
+     * start of each plateau. The identifier of a node in the store of the search information is the identifier of its
+     * state in the registry plus the identifier of the node of the plateau: when a plateau starts, only the node of
+     * the plateau and its ancestors are kept in the store.</p>
+     *
      * @param codedProblem the problem to be solved. The problem cannot be null.
      * @return the solution node or null.
      */
@@ -67,84 +79,142 @@ public final class EnforcedHillClimbing extends AbstractStateSpaceSearch {
         final long begin = System.currentTimeMillis();
 
         final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), codedProblem);
-        final LinkedList<Node> openList = new LinkedList<>();
+        // The states reached since the search of the current plateau started. The states are registered in the order
+        // of their creation, so the pending list is the range of identifiers between the next state to explore and the
+        // last registered state. The pending dead ends are skipped.
+        final StateRegistry registry = new StateRegistry(codedProblem);
+        final NodeStore nodes = new NodeStore();
+        // The helpful actions of the pending states indexed by their identifier in the registry
+        BitVector[] helpfulActions = new BitVector[16];
         final long timeout = this.getTimeout() * 1000;
 
-        State init = new State(codedProblem.getInitialState());
-        Node root = new Node(init, null, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
-        openList.add(root);
+        final State plateauState = new State(codedProblem.getInitialState());
+        plateauState.setZobristKeys(registry.getZobristKeys());
+        registry.add(plateauState);
+        nodes.set(0, -1, 0, 0, 0, heuristic.estimate(plateauState, codedProblem.getGoal()));
+        if (heuristic instanceof RelaxedGraphHeuristic) {
+            helpfulActions[0] = new BitVector(((RelaxedGraphHeuristic) heuristic).getHelpfulActions());
+        }
 
-        double bestHeuristic = root.getHeuristic();
+        double bestHeuristic = nodes.getHeuristic(0);
+        // The node from which the search of the current plateau started
+        int plateau = 0;
+        // The flag used to indicate if the successors are restricted to the helpful actions
+        boolean pruning = true;
 
-        Node solution = null;
-        boolean deadEndFree = true;
+        int solution = -1;
+        int next = 0;
+        int expanded = 0;
 
         this.resetNodesStatistics();
         long searchingTime = 0;
-        while (!openList.isEmpty() && solution == null && deadEndFree && searchingTime < timeout) {
-            final Node currentState = openList.pop();
-            final LinkedList<Node> successors = getSuccessors(currentState, codedProblem, heuristic);
-            deadEndFree = !successors.isEmpty();
-
-            while (!successors.isEmpty() && solution == null) {
-                final Node successor = successors.pop();
-                this.setExploredNodes(this.getExploredNodes() + 1);
-                final double heuristicSuccessor = successor.getHeuristic();
-                if (heuristicSuccessor == 0.0) {
-                    solution = successor;
+        final State current = new State();
+        final State nextState = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
+        final HeuristicPool pool = new HeuristicPool(heuristic, this.getHeuristicThreads(), true);
+        pool.setDeadEnds(this.getDeadEnds(codedProblem));
+        try {
+            while ((next < registry.size() || pruning) && solution == -1 && searchingTime < timeout
+                && !this.isStopped() && !this.isMemoryLimitReached()) {
+                if (next == registry.size()) {
+                    // The plateau cannot be escaped with the helpful actions: its search restarts with all the actions
+                    pruning = false;
+                    Arrays.fill(helpfulActions, null);
+                    registry.getState(0, plateauState);
+                    registry.clear();
+                    registry.add(plateauState);
+                    plateau = nodes.retainPath(plateau);
+                    next = 0;
                 }
-                if (heuristicSuccessor < bestHeuristic) {
-                    successors.clear();
-                    openList.clear();
-                    bestHeuristic = heuristicSuccessor;
+                final int id = next++;
+                // The dead ends are not expanded
+                if (nodes.getHeuristic(plateau + id) != Integer.MAX_VALUE) {
+                    expanded++;
+                    if ((expanded & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                        this.checkMemoryLimit(registry.getMemoryUsed() + nodes.getMemoryUsed()
+                            + MemoryEstimator.sizeOf(helpfulActions));
+                    }
+                    registry.getState(id, current);
+                    // The node is fully expanded if it has no helpful action
+                    final BitVector helpful = helpfulActions[id];
+                    helpfulActions[id] = null;
+                    final BitVector actions = pruning && helpful != null && !helpful.isEmpty() ? helpful : null;
+
+                    // The successors already reached since the search of the current plateau started are ignored
+                    final int first = registry.size();
+                    final double cost = nodes.getCost(plateau + id);
+                    final int depth = nodes.getDepth(plateau + id) + 1;
+                    pool.clear();
+                    final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                    for (int a = 0; a < nbApplicable; a++) {
+                        final int index = applicable[a];
+                        if (actions == null || actions.get(index)) {
+                            final Action op = codedProblem.getActions().get(index);
+                            nextState.copy(current);
+                            // Apply the effect to the successor node
+                            nextState.apply(op.getConditionalEffects(), current);
+                            final int size = registry.size();
+                            if (registry.add(nextState) == size) {
+                                this.setCreatedNodes(this.getCreatedNodes() + 1);
+                                nodes.set(plateau + size, plateau + id, index, cost + op.getCost().getValue(), depth,
+                                    0);
+                                pool.add(nextState);
+                            }
+                        }
+                    }
+                    if (registry.size() > helpfulActions.length) {
+                        helpfulActions = Arrays.copyOf(helpfulActions, Math.max(registry.size(),
+                            2 * helpfulActions.length));
+                    }
+                    // The successors are evaluated together once they are all created
+                    pool.estimate(codedProblem.getGoal());
+                    boolean improved = false;
+                    for (int slot = 0; slot < pool.size() && solution == -1 && !improved; slot++) {
+                        final int successor = first + slot;
+                        this.setExploredNodes(this.getExploredNodes() + 1);
+                        final double heuristicSuccessor = pool.getValue(slot);
+                        nodes.setHeuristic(plateau + successor, heuristicSuccessor);
+                        this.progress(this.getExploredNodes(), heuristicSuccessor, nodes.getCost(plateau + successor)
+                            + heuristicSuccessor);
+                        // The dead ends are not kept
+                        if (heuristicSuccessor != Integer.MAX_VALUE) {
+                            helpfulActions[successor] = pool.getHelpfulActions(slot);
+                            int node = plateau + successor;
+                            if (heuristicSuccessor < bestHeuristic) {
+                                // A new plateau starts from the successor: the other successors are discarded
+                                final BitVector successorHelpful = helpfulActions[successor];
+                                Arrays.fill(helpfulActions, null);
+                                helpfulActions[0] = successorHelpful;
+                                registry.getState(successor, plateauState);
+                                registry.clear();
+                                registry.add(plateauState);
+                                plateau = nodes.retainPath(node);
+                                node = plateau;
+                                next = 0;
+                                bestHeuristic = heuristicSuccessor;
+                                pruning = true;
+                                improved = true;
+                            }
+                            if (heuristicSuccessor == 0.0) {
+                                solution = node;
+                            }
+                        }
+                    }
                 }
-                openList.addLast(successor);
-            }
 
-            // Take time to compute the searching time
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
+                // Take time to compute the searching time
+                long end = System.currentTimeMillis();
+                searchingTime = end - begin;
+            }
+        } finally {
+            pool.close();
         }
 
-        this.setMemoryUsed(GraphLayout.parseInstance(openList).totalSize());
+        this.setMemoryUsed(this.measureMemoryUsed(registry.getMemoryUsed() + nodes.getMemoryUsed()
+            + MemoryEstimator.sizeOf(helpfulActions), registry, nodes, helpfulActions));
         this.setSearchingTime(searchingTime);
 
-        return solution;
-    }
-
-    /**
-     * Get the successors from a node.
-     *
-     * @param parent    the parent node.
-     * @param problem   the coded problem to solve.
-     * @param heuristic the heuristic used.
-     * @return the list of successors from the parent node.
-     */
-    private LinkedList<Node> getSuccessors(Node parent, Problem problem, StateHeuristic heuristic) {
-        final LinkedList<Node> successors = new LinkedList<>();
-
-        int index = 0;
-        for (Action op : problem.getActions()) {
-            // Test if a specified operator is applicable in the current state
-            if (op.isApplicable(parent)) {
-                final State nextState = new State(parent);
-                op.getConditionalEffects().stream().filter(ce -> parent.satisfy(ce.getCondition())).forEach(ce ->
-                        // Apply the effect to the successor node
-                        nextState.apply(ce.getEffect())
-                );
-                // Apply the effect of the applicable operator
-                final Node successor = new Node(nextState);
-                this.setCreatedNodes(this.getCreatedNodes() + 1);
-                successor.setCost(parent.getCost() + op.getCost().getValue());
-                successor.setHeuristic(heuristic.estimate(nextState, problem.getGoal()));
-                successor.setParent(parent);
-                successor.setAction(index);
-                successor.setDepth(parent.getDepth() + 1);
-                successors.add(successor);
-            }
-            index++;
-        }
-
-        return successors;
+        return solution == -1 ? null : nodes.getNode(solution, codedProblem);
     }
 }
@@ -0,0 +1,694 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements an external-memory Breadth First Search strategy. For more about this strategy see R. Korf,
+ * Best-First Frontier Search with Delayed Duplicate Detection, in: Proceedings of the 19th National Conference on
+ * Artificial Intelligence, 2004.
+ *
+ * <p>The states of each layer of the search are packed in a file of the external directory (see
+ * {@link #setExternalDirectory(String)}) read and written through memory-mapped windows. The successors of a layer are
+ * collected in a buffer of a fixed number of states (see {@link #setRunSize(int)}). Each time the buffer is full, it
+ * is sorted and written in a temporary file without duplicates. When the layer is explored, the temporary files are
+ * merged and the states already reached in a previous layer are removed by a merge with the files of the previous
+ * layers, which are sorted too. So the search can explore more states than the heap can hold, e.g., to prove that a
+ * problem has no solution. Each state of a layer records the position of its parent in the previous layer and the
+ * action that reached it to extract the plan.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class ExternalBreadthFirstSearch extends AbstractStateSpaceSearch {
+
+    /**
+     * The default number of states of the buffer of the successors.
+     */
+    public static final int DEFAULT_RUN_SIZE = 1 << 18;
+
+    /**
+     * The maximum number of states sorted by insertion.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * The number of states of the buffer of the successors.
+     */
+    private int runSize;
+
+    /**
+     * Creates a new external Breadth First Search search strategy with default parameters.
+     */
+    public ExternalBreadthFirstSearch() {
+        super();
+        this.runSize = ExternalBreadthFirstSearch.DEFAULT_RUN_SIZE;
+    }
+
+    /**
+     * Creates a new external Breadth First Search search strategy.
+     *
+     * @param timeout the time out of the planner.
+     */
+    public ExternalBreadthFirstSearch(int timeout) {
+        super(timeout);
+        this.runSize = ExternalBreadthFirstSearch.DEFAULT_RUN_SIZE;
+    }
+
+    /**
+     * Returns the number of states of the buffer of the successors, i.e., the number of successors sorted in memory
+     * before they are written in a temporary file.
+     *
+     * @return the number of states of the buffer of the successors.
+     */
+    public int getRunSize() {
+        return this.runSize;
+    }
+
+    /**
+     * Sets the number of states of the buffer of the successors.
+     *
+     * @param size the number of states of the buffer of the successors. The size must be greater than 0.
+     * @throws IllegalArgumentException if the size is less than 1.
+     */
+    public void setRunSize(final int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size < 1");
+        }
+        this.runSize = size;
+    }
+
+    /**
+     * Solves the planning problem and returns the first solution found. The solution has the minimum number of
+     * actions.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @return the solution node or null if no solution was found.
+     * @throws UncheckedIOException if an error occurs when the files of the search are read or written.
+     */
+    public Node search(final Problem codedProblem) {
+        Objects.requireNonNull(codedProblem);
+        final long begin = System.currentTimeMillis();
+        final Path directory = Paths.get(this.getExternalDirectory());
+        // A record is made of the words of the state, the position of its parent and the action that reached it
+        final int width = Math.max(1, (codedProblem.getFluents().size() + Long.SIZE - 1) / Long.SIZE);
+        final int length = width + 2;
+        final long[] record = new long[length];
+        final long[] run = new long[this.runSize * length];
+        final int[] order = new int[this.runSize];
+        final List<RecordFile> layers = new ArrayList<>();
+        final List<RecordFile> runs = new ArrayList<>();
+
+        this.resetNodesStatistics();
+        int depth = -1;
+        long solution = -1;
+        long explored = 0;
+        long pending = 0;
+        final State current = new State();
+        final State nextState = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
+        final long timeout = this.getTimeout() * 1000;
+        long searchingTime = 0;
+        try {
+            final State init = new State(codedProblem.getInitialState());
+            init.copyWordsTo(record, 0, width);
+            record[width] = -1;
+            record[width + 1] = -1;
+            RecordFile layer = new RecordFile(directory, length);
+            layers.add(layer);
+            layer.append(record, 0);
+            while (layer.size() > 0 && solution == -1 && searchingTime < timeout && !this.isStopped()) {
+                depth++;
+                // Expand the states of the current layer and write their successors in sorted runs
+                int count = 0;
+                long position = 0;
+                while (position < layer.size() && solution == -1 && searchingTime < timeout && !this.isStopped()) {
+                    layer.read(position, record, 0);
+                    current.copyWordsFrom(record, 0, width);
+                    if (current.satisfy(codedProblem.getGoal())) {
+                        solution = position;
+                    } else {
+                        explored++;
+                        // The blind searches do not compute the heuristic value of the nodes
+                        this.progress(explored, Double.POSITIVE_INFINITY, depth);
+                        final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                        for (int a = 0; a < nbApplicable; a++) {
+                            final int index = applicable[a];
+                            final Action op = codedProblem.getActions().get(index);
+                            nextState.copy(current);
+                            nextState.apply(op.getConditionalEffects(), current);
+                            this.setCreatedNodes(this.getCreatedNodes() + 1);
+                            if (count == this.runSize) {
+                                runs.add(ExternalBreadthFirstSearch.writeRun(directory, run, order, count, length));
+                                count = 0;
+                            }
+                            final int offset = count * length;
+                            nextState.copyWordsTo(run, offset, width);
+                            run[offset + width] = position;
+                            run[offset + width + 1] = index;
+                            count++;
+                        }
+                        position++;
+                    }
+                    // Take time to compute the searching time
+                    searchingTime = System.currentTimeMillis() - begin;
+                }
+                pending = layer.size() - position;
+                if (solution == -1 && position == layer.size()) {
+                    if (count > 0) {
+                        runs.add(ExternalBreadthFirstSearch.writeRun(directory, run, order, count, length));
+                    }
+                    // Merge the runs and remove the states of the previous layers
+                    layer = ExternalBreadthFirstSearch.merge(directory, runs, layers, length);
+                    layers.add(layer);
+                    for (RecordFile file : runs) {
+                        file.closeQuietly();
+                    }
+                    runs.clear();
+                    pending = layer.size();
+                    searchingTime = System.currentTimeMillis() - begin;
+                }
+            }
+
+            this.setExploredNodes((int) Math.min(Integer.MAX_VALUE, explored));
+            this.setPendingNodes((int) Math.min(Integer.MAX_VALUE, pending));
+            this.setMemoryUsed(this.measureMemoryUsed(MemoryEstimator.sizeOf(record) + MemoryEstimator.sizeOf(run)
+                + MemoryEstimator.sizeOf(order) + current.getMemoryUsed() + nextState.getMemoryUsed(), record, run,
+                order, current, nextState));
+            this.setSearchingTime(searchingTime);
+
+            return solution == -1 ? null : ExternalBreadthFirstSearch.extractPlan(codedProblem, layers, depth,
+                solution, width);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            for (RecordFile file : runs) {
+                file.closeQuietly();
+            }
+            for (RecordFile file : layers) {
+                file.closeQuietly();
+            }
+        }
+    }
+
+    /**
+     * Extracts the solution plan from the parents recorded in the layers of the search.
+     *
+     * @param problem  the problem to be solved.
+     * @param layers   the files of the layers of the search.
+     * @param depth    the depth of the layer of the goal state.
+     * @param position the position of the goal state in its layer.
+     * @param width    the number of words of the states.
+     * @return the solution node.
+     * @throws IOException if an error occurs when the files of the layers are read.
+     */
+    private static Node extractPlan(final Problem problem, final List<RecordFile> layers, final int depth,
+                                    final long position, final int width) throws IOException {
+        final int[] path = new int[depth + 1];
+        final long[] record = new long[width + 2];
+        long parent = position;
+        for (int d = depth; d > 0; d--) {
+            layers.get(d).read(parent, record, 0);
+            parent = record[width];
+            path[d] = (int) record[width + 1];
+        }
+        // Build the nodes of the solution path from the initial state
+        Node node = new Node(new State(problem.getInitialState()), null, -1, 0, 0, 0);
+        for (int d = 1; d <= depth; d++) {
+            final Action op = problem.getActions().get(path[d]);
+            final State successor = new State(node);
+            successor.apply(op.getConditionalEffects(), node);
+            node = new Node(successor, node, path[d], node.getCost() + op.getCost().getValue(), d, 0);
+        }
+        return node;
+    }
+
+    /**
+     * Sorts the states of the buffer of the successors and writes them without duplicates in a new temporary file.
+     *
+     * @param directory the directory of the temporary files.
+     * @param run       the buffer of the successors.
+     * @param order     the array used to sort the successors.
+     * @param count     the number of successors of the buffer.
+     * @param length    the number of words of a record.
+     * @return the file of the sorted successors.
+     * @throws IOException if an error occurs when the file is written.
+     */
+    private static RecordFile writeRun(final Path directory, final long[] run, final int[] order, final int count,
+                                       final int length) throws IOException {
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        ExternalBreadthFirstSearch.sort(run, order, 0, count - 1, length - 2);
+        final RecordFile file = new RecordFile(directory, length);
+        try {
+            int last = -1;
+            for (int i = 0; i < count; i++) {
+                final int offset = order[i] * length;
+                if (last == -1 || ExternalBreadthFirstSearch.compare(run, offset, run, last, length - 2) != 0) {
+                    file.append(run, offset);
+                    last = offset;
+                }
+            }
+        } catch (IOException e) {
+            file.closeQuietly();
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Merges sorted runs of successors in a new layer without duplicates and without the states of the previous
+     * layers.
+     *
+     * @param directory the directory of the temporary files.
+     * @param runs      the sorted runs of successors.
+     * @param layers    the files of the previous layers.
+     * @param length    the number of words of a record.
+     * @return the file of the new layer.
+     * @throws IOException if an error occurs when the files are read or written.
+     */
+    private static RecordFile merge(final Path directory, final List<RecordFile> runs, final List<RecordFile> layers,
+                                    final int length) throws IOException {
+        final int width = length - 2;
+        final Cursor[] inputs = new Cursor[runs.size()];
+        for (int i = 0; i < inputs.length; i++) {
+            inputs[i] = new Cursor(runs.get(i), length);
+        }
+        final Cursor[] previous = new Cursor[layers.size()];
+        for (int i = 0; i < previous.length; i++) {
+            previous[i] = new Cursor(layers.get(i), length);
+        }
+        final RecordFile file = new RecordFile(directory, length);
+        try {
+            final long[] last = new long[length];
+            boolean empty = true;
+            while (true) {
+                // Select the smallest state of the runs
+                Cursor min = null;
+                for (Cursor input : inputs) {
+                    if (input.isValid() && (min == null
+                        || ExternalBreadthFirstSearch.compare(input.record, 0, min.record, 0, width) < 0)) {
+                        min = input;
+                    }
+                }
+                if (min == null) {
+                    break;
+                }
+                if (empty || ExternalBreadthFirstSearch.compare(min.record, 0, last, 0, width) != 0) {
+                    boolean duplicate = false;
+                    for (Cursor layer : previous) {
+                        while (layer.isValid()
+                            && ExternalBreadthFirstSearch.compare(layer.record, 0, min.record, 0, width) < 0) {
+                            layer.next();
+                        }
+                        duplicate |= layer.isValid()
+                            && ExternalBreadthFirstSearch.compare(layer.record, 0, min.record, 0, width) == 0;
+                    }
+                    if (!duplicate) {
+                        file.append(min.record, 0);
+                    }
+                    System.arraycopy(min.record, 0, last, 0, length);
+                    empty = false;
+                }
+                min.next();
+            }
+        } catch (IOException e) {
+            file.closeQuietly();
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Compares the states of two records.
+     *
+     * @param a       the array of the first record.
+     * @param aOffset the position of the first record.
+     * @param b       the array of the second record.
+     * @param bOffset the position of the second record.
+     * @param width   the number of words of the states.
+     * @return a negative integer, zero, or a positive integer as the first state is less than, equal to, or greater
+     *      than the second state.
+     */
+    private static int compare(final long[] a, final int aOffset, final long[] b, final int bOffset, final int width) {
+        for (int i = 0; i < width; i++) {
+            final int cmp = Long.compare(a[aOffset + i], b[bOffset + i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Sorts a range of indexes of records by state with the quicksort algorithm.
+     *
+     * @param run   the array of the records.
+     * @param order the indexes of the records to sort.
+     * @param left  the first position of the range to sort.
+     * @param right the last position of the range to sort.
+     * @param width the number of words of the states.
+     */
+    private static void sort(final long[] run, final int[] order, int left, int right, final int width) {
+        final int length = width + 2;
+        while (right - left >= ExternalBreadthFirstSearch.INSERTION_SORT_THRESHOLD) {
+            final int pivot = order[(left + right) >>> 1] * length;
+            int i = left;
+            int j = right;
+            while (i <= j) {
+                while (ExternalBreadthFirstSearch.compare(run, order[i] * length, run, pivot, width) < 0) {
+                    i++;
+                }
+                while (ExternalBreadthFirstSearch.compare(run, order[j] * length, run, pivot, width) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    final int tmp = order[i];
+                    order[i] = order[j];
+                    order[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            // Sort the smallest part recursively to bound the depth of the recursion
+            if (j - left < right - i) {
+                ExternalBreadthFirstSearch.sort(run, order, left, j, width);
+                left = i;
+            } else {
+                ExternalBreadthFirstSearch.sort(run, order, i, right, width);
+                right = j;
+            }
+        }
+        for (int i = left + 1; i <= right; i++) {
+            final int index = order[i];
+            int j = i - 1;
+            while (j >= left && ExternalBreadthFirstSearch.compare(run, order[j] * length, run, index * length,
+                width) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+
+    /**
+     * This class implements a temporary file of records of the same number of words. The file is read and written
+     * through memory-mapped windows and is deleted when it is closed. The windows are unmapped as soon as they are
+     * replaced or the file is closed, because a file still mapped cannot be deleted on some systems. If the file
+     * cannot be deleted when it is closed, it is deleted when the virtual machine exits.
+     */
+    private static final class RecordFile implements Closeable {
+
+        /**
+         * The maximum size of a memory-mapped window in bytes.
+         */
+        private static final long WINDOW_SIZE = 1L << 24;
+
+        /**
+         * The path of the file.
+         */
+        private final Path path;
+
+        /**
+         * The channel of the file.
+         */
+        private final FileChannel channel;
+
+        /**
+         * The size of a record in bytes.
+         */
+        private final int recordSize;
+
+        /**
+         * The number of records of a window.
+         */
+        private final long windowRecords;
+
+        /**
+         * The current window or <code>null</code> if no window is mapped.
+         */
+        private MappedByteBuffer window;
+
+        /**
+         * The index of the first record of the current window.
+         */
+        private long windowStart;
+
+        /**
+         * The flag used to indicate if the current window can be written.
+         */
+        private boolean writable;
+
+        /**
+         * The number of records of the file.
+         */
+        private long size;
+
+        /**
+         * Creates a new empty temporary file in a specified directory.
+         *
+         * @param directory the directory of the file.
+         * @param length    the number of words of the records.
+         * @throws IOException if the file cannot be created.
+         */
+        RecordFile(final Path directory, final int length) throws IOException {
+            this.path = Files.createTempFile(directory, "pddl4j-", ".layer");
+            this.channel = FileChannel.open(this.path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.recordSize = length * Long.BYTES;
+            this.windowRecords = Math.max(1, RecordFile.WINDOW_SIZE / this.recordSize);
+            this.window = null;
+            this.size = 0;
+        }
+
+        /**
+         * Returns the number of records of the file.
+         *
+         * @return the number of records of the file.
+         */
+        long size() {
+            return this.size;
+        }
+
+        /**
+         * Appends a record at the end of the file.
+         *
+         * @param src    the array that contains the record.
+         * @param offset the position of the record in the array.
+         * @throws IOException if the record cannot be written.
+         */
+        void append(final long[] src, final int offset) throws IOException {
+            final int position = this.map(this.size, true);
+            for (int i = 0; i < this.recordSize / Long.BYTES; i++) {
+                this.window.putLong(position + i * Long.BYTES, src[offset + i]);
+            }
+            this.size++;
+        }
+
+        /**
+         * Reads a record of the file.
+         *
+         * @param index  the index of the record.
+         * @param dst    the array where the record is copied.
+         * @param offset the position of the record in the array.
+         * @throws IOException if the record cannot be read.
+         */
+        void read(final long index, final long[] dst, final int offset) throws IOException {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            final int position = this.map(index, false);
+            for (int i = 0; i < this.recordSize / Long.BYTES; i++) {
+                dst[offset + i] = this.window.getLong(position + i * Long.BYTES);
+            }
+        }
+
+        /**
+         * Maps the window that contains a specified record and returns the position of the record in the window.
+         *
+         * @param index the index of the record.
+         * @param write <code>true</code> if the record is written.
+         * @return the position of the record in the window in bytes.
+         * @throws IOException if the window cannot be mapped.
+         */
+        private int map(final long index, final boolean write) throws IOException {
+            if (this.window == null || index < this.windowStart || index >= this.windowStart + this.windowRecords
+                || (write && !this.writable)) {
+                this.windowStart = index - index % this.windowRecords;
+                final long start = this.windowStart * this.recordSize;
+                final long bytes = this.windowRecords * this.recordSize;
+                RecordFile.unmap(this.window);
+                if (write) {
+                    // Mapping a window beyond the end of the file extends the file
+                    this.window = this.channel.map(FileChannel.MapMode.READ_WRITE, start, bytes);
+                } else {
+                    this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, start,
+                        Math.min(bytes, this.channel.size() - start));
+                }
+                this.writable = write;
+            }
+            return (int) ((index - this.windowStart) * this.recordSize);
+        }
+
+        /**
+         * Closes and deletes the file.
+         *
+         * @throws IOException if the file cannot be closed or deleted.
+         */
+        @Override
+        public void close() throws IOException {
+            RecordFile.unmap(this.window);
+            this.window = null;
+            this.channel.close();
+            try {
+                Files.deleteIfExists(this.path);
+            } catch (IOException e) {
+                this.path.toFile().deleteOnExit();
+                throw e;
+            }
+        }
+
+        /**
+         * Releases the mapping of a window without waiting for the garbage collector. The window must not be used
+         * after. The mapping is released with the internal API of the virtual machine if it is available; otherwise it
+         * is released when the window is garbage collected.
+         *
+         * @param window the window to unmap or <code>null</code>.
+         */
+        private static void unmap(final MappedByteBuffer window) {
+            if (window == null) {
+                return;
+            }
+            try {
+                // Java 9 and later
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                invokeCleaner.invoke(field.get(null), window);
+            } catch (NoSuchMethodException e) {
+                try {
+                    // Java 8
+                    final Method cleaner = window.getClass().getMethod("cleaner");
+                    cleaner.setAccessible(true);
+                    final Object clean = cleaner.invoke(window);
+                    if (clean != null) {
+                        clean.getClass().getMethod("clean").invoke(clean);
+                    }
+                } catch (ReflectiveOperationException | RuntimeException ex) {
+                    // The mapping is released when the window is garbage collected
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // The mapping is released when the window is garbage collected
+            }
+        }
+
+        /**
+         * Closes and deletes the file and ignores the errors.
+         */
+        void closeQuietly() {
+            try {
+                this.close();
+            } catch (IOException e) {
+                // The file is temporary: the error does not change the result of the search
+            }
+        }
+    }
+
+    /**
+     * This class implements a cursor used to read the records of a file in order.
+     */
+    private static final class Cursor {
+
+        /**
+         * The file read.
+         */
+        private final RecordFile file;
+
+        /**
+         * The current record of the cursor.
+         */
+        private final long[] record;
+
+        /**
+         * The index of the next record to read.
+         */
+        private long next;
+
+        /**
+         * The flag used to indicate if the current record is valid.
+         */
+        private boolean valid;
+
+        /**
+         * Creates a new cursor on the first record of a file.
+         *
+         * @param file   the file to read.
+         * @param length the number of words of the records.
+         * @throws IOException if the first record cannot be read.
+         */
+        Cursor(final RecordFile file, final int length) throws IOException {
+            this.file = file;
+            this.record = new long[length];
+            this.next = 0;
+            this.next();
+        }
+
+        /**
+         * Returns <code>true</code> if the cursor is on a record, i.e., if the end of the file is not reached.
+         *
+         * @return <code>true</code> if the cursor is on a record.
+         */
+        boolean isValid() {
+            return this.valid;
+        }
+
+        /**
+         * Moves the cursor to the next record of the file.
+         *
+         * @throws IOException if the record cannot be read.
+         */
+        void next() throws IOException {
+            this.valid = this.next < this.file.size();
+            if (this.valid) {
+                this.file.read(this.next, this.record, 0);
+                this.next++;
+            }
+        }
+    }
+}
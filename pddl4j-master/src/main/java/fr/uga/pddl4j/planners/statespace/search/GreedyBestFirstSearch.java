@@ -19,13 +19,10 @@ import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
-import org.openjdk.jol.info.GraphLayout;
+import fr.uga.pddl4j.util.IntPriorityQueue;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * This class implements Greedy Best First Search strategy.
@@ -66,80 +63,94 @@ public final class GreedyBestFirstSearch extends AbstractStateSpaceSearch {
         final long begin = System.currentTimeMillis();
 
         final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), codedProblem);
-        final Set<Node> closeSet = new HashSet<>();
-        final Set<Node> openSet = new HashSet<>();
+        final StateRegistry registry = new StateRegistry(codedProblem);
+        final NodeStore nodes = new NodeStore();
+        // The list stores the identifiers of the states ordered by heuristic value and then by cost
+        final IntPriorityQueue open = this.createOpenList(AbstractStateSpaceSearch.hasIntegralCosts(codedProblem));
         final long timeout = this.getTimeout() * 1000;
 
         State init = new State(codedProblem.getInitialState());
-        Node root = new Node(init, null, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
-        root.setDepth(0);
-        openSet.add(root);
+        init.setZobristKeys(registry.getZobristKeys());
+        this.canonicalize(codedProblem, init);
+        final int root = registry.add(init);
+        final double rootHeuristic = heuristic.estimate(init, codedProblem.getGoal());
+        nodes.set(root, -1, 0, 0, 0, rootHeuristic);
+        open.add(root, rootHeuristic, 0);
 
         this.resetNodesStatistics();
-        Node solution = null;
+        int solution = -1;
+        int explored = 0;
+        final State current = new State();
+        final State nextState = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
         long searchingTime = 0;
-        while (!openSet.isEmpty() && solution == null && searchingTime < timeout) {
-            // Pop the first node in the pending list open
-            final Node current = popPriorityNode(openSet);
+        // The successors never reached before are evaluated together once the node is expanded
+        final HeuristicPool pool = new HeuristicPool(heuristic, this.getHeuristicThreads());
+        pool.setDeadEnds(this.getDeadEnds(codedProblem));
+        int[] batch = new int[16];
+        try {
+            while (!open.isEmpty() && solution == -1 && searchingTime < timeout && !this.isStopped()
+                && !this.isMemoryLimitReached()) {
+                // Pop the first node in the pending list open
+                final int id = open.poll();
+                registry.getState(id, current);
+                this.progress(explored, nodes.getHeuristic(id), nodes.getCost(id) + nodes.getHeuristic(id));
 
-            if (current.satisfy(codedProblem.getGoal())) {
-                solution = current;
-            } else {
-                closeSet.add(current);
-                int index = 0;
-                for (Action op : codedProblem.getActions()) {
-
-                    // Test if a specified operator is applicable in the current state
-                    if (op.isApplicable(current)) {
-                        final State nextState = new State(current);
-                        op.getConditionalEffects().stream().filter(ce -> current.satisfy(ce.getCondition()))
-                            .forEach(ce -> nextState.apply(ce.getEffect()));
-                        // Apply the effect of the applicable operator
-                        final Node successor = new Node(nextState);
+                if (current.satisfy(codedProblem.getGoal())) {
+                    solution = id;
+                } else {
+                    explored++;
+                    // The memory used is estimated periodically and checked against the memory limit
+                    if ((explored & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                        this.checkMemoryLimit(registry.getMemoryUsed() + nodes.getMemoryUsed() + open.getMemoryUsed());
+                    }
+                    final double cost = nodes.getCost(id);
+                    final int depth = nodes.getDepth(id) + 1;
+                    pool.clear();
+                    final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                    for (int a = 0; a < nbApplicable; a++) {
+                        final int index = applicable[a];
+                        final Action op = codedProblem.getActions().get(index);
+                        nextState.copy(current);
+                        nextState.apply(op.getConditionalEffects(), current);
+                        // The symmetric states are merged in the registry
+                        this.canonicalize(codedProblem, nextState);
                         this.setCreatedNodes(this.getCreatedNodes() + 1);
-                        successor.setCost(current.getCost() + op.getCost().getValue());
-                        successor.setHeuristic(heuristic.estimate(nextState, codedProblem.getGoal()));
-                        successor.setParent(current);
-                        successor.setAction(index);
-                        successor.setDepth(current.getDepth() + 1);
-                        openSet.add(successor);
+                        // Only the states never reached before are added to the pending list
+                        final int size = registry.size();
+                        final int next = registry.add(nextState);
+                        if (next == size) {
+                            final int slot = pool.add(nextState);
+                            if (slot == batch.length) {
+                                batch = Arrays.copyOf(batch, 2 * batch.length);
+                            }
+                            batch[slot] = next;
+                            nodes.set(next, id, index, cost + op.getCost().getValue(), depth, Double.NaN);
+                        }
+                    }
+                    pool.estimate(codedProblem.getGoal());
+                    for (int slot = 0; slot < pool.size(); slot++) {
+                        final int next = batch[slot];
+                        final double h = pool.getValue(slot);
+                        nodes.setHeuristic(next, h);
+                        open.add(next, h, nodes.getCost(next));
                     }
-                    index++;
                 }
+                // Take time to compute the searching time
+                long end = System.currentTimeMillis();
+                searchingTime = end - begin;
             }
-            // Take time to compute the searching time
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
+        } finally {
+            pool.close();
         }
 
-        this.setExploredNodes(closeSet.size());
-        this.setPendingNodes(openSet.size());
-        this.setMemoryUsed(GraphLayout.parseInstance(closeSet).totalSize()
-            + GraphLayout.parseInstance(openSet).totalSize());
+        this.setExploredNodes(explored);
+        this.setPendingNodes(open.size());
+        this.setMemoryUsed(this.measureMemoryUsed(registry.getMemoryUsed() + nodes.getMemoryUsed()
+            + open.getMemoryUsed(), registry, nodes, open));
         this.setSearchingTime(searchingTime);
 
-        return solution;
-    }
-
-    /**
-     * Get a node from a list of nodes.
-     *
-     * @param states the list of nodes (successors).
-     * @return the node from the list.
-     */
-    private Node popPriorityNode(Collection<Node> states) {
-        Node state = null;
-        if (!states.isEmpty()) {
-            final Iterator<Node> i = states.iterator();
-            state = i.next();
-            while (i.hasNext()) {
-                final Node next = i.next();
-                if (next.getHeuristic() < state.getHeuristic()) {
-                    state = next;
-                }
-            }
-            states.remove(state);
-        }
-        return state;
+        return solution == -1 ? null : this.unfoldSymmetries(codedProblem, nodes.getNode(solution, registry));
     }
 }
@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.RelaxedGraphHeuristic;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * This class implements a pool of threads used to evaluate the heuristic value of a batch of states in parallel, e.g.,
+ * the successors of a node. Each thread uses its own copy of the heuristic (see {@link StateHeuristic#copy()}). The
+ * states of the batch are copied in states reused from one batch to the next. The thread that calls
+ * {@link #estimate(Condition)} takes part in the evaluation, and the small batches are evaluated by this thread only.
+ *
+ * <p>The pool can also record the helpful actions of the states of the batch when the heuristic extracts a relaxed
+ * plan (see {@link RelaxedGraphHeuristic#getHelpfulActions()}).</p>
+ *
+ * <p>If a store of dead ends is set (see {@link #setDeadEnds(DeadEnds)}), the states known as dead ends are not
+ * evaluated and the new dead ends found by the heuristic are recorded in the store.</p>
+ *
+ * <p>The pool must be closed at the end of the search to stop its threads.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class HeuristicPool implements AutoCloseable {
+
+    /**
+     * The minimum number of states of a batch evaluated in parallel.
+     */
+    private static final int MIN_PARALLEL_BATCH = 8;
+
+    /**
+     * The copies of the heuristic. The copy at index 0 is used by the calling thread.
+     */
+    private final StateHeuristic[] heuristics;
+
+    /**
+     * The executor of the threads of the pool or <code>null</code> if the pool has a single thread.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The index of the next state of the batch to evaluate.
+     */
+    private final AtomicInteger next;
+
+    /**
+     * The states of the batch.
+     */
+    private State[] states;
+
+    /**
+     * The heuristic values of the states of the batch.
+     */
+    private int[] values;
+
+    /**
+     * The helpful actions of the states of the batch or <code>null</code> if the helpful actions are not recorded.
+     */
+    private BitVector[] helpfulActions;
+
+    /**
+     * The flag of each state of the batch that indicates if the state is a known dead end.
+     */
+    private boolean[] deadEnd;
+
+    /**
+     * The store of the dead ends or <code>null</code> if the dead ends are not recorded.
+     */
+    private DeadEnds deadEnds;
+
+    /**
+     * The number of states of the batch.
+     */
+    private int size;
+
+    /**
+     * Creates a new pool. If the heuristic cannot be copied (see {@link StateHeuristic#copy()}), the pool has a
+     * single thread.
+     *
+     * @param heuristic the heuristic used by the calling thread. The other threads use copies of this heuristic.
+     * @param threads   the number of threads of the pool, including the calling thread.
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    public HeuristicPool(final StateHeuristic heuristic, final int threads) {
+        this(heuristic, threads, false);
+    }
+
+    /**
+     * Creates a new pool that can record the helpful actions of the states of the batch. The helpful actions are
+     * recorded only if the heuristic extracts a relaxed plan. If the heuristic cannot be copied, the pool has a single
+     * thread.
+     *
+     * @param heuristic the heuristic used by the calling thread. The other threads use copies of this heuristic.
+     * @param threads   the number of threads of the pool, including the calling thread.
+     * @param helpful   <code>true</code> to record the helpful actions of the states of the batch.
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    public HeuristicPool(final StateHeuristic heuristic, final int threads, final boolean helpful) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads < 1");
+        }
+        this.heuristics = HeuristicPool.copies(heuristic, threads);
+        if (this.heuristics.length > 1) {
+            this.executor = Executors.newFixedThreadPool(this.heuristics.length - 1, r -> {
+                final Thread thread = new Thread(r, "heuristic-pool");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+        this.next = new AtomicInteger();
+        this.states = new State[16];
+        this.values = new int[16];
+        this.deadEnd = new boolean[16];
+        this.helpfulActions = helpful && heuristic instanceof RelaxedGraphHeuristic ? new BitVector[16] : null;
+        this.size = 0;
+    }
+
+    /**
+     * Returns the copies of the heuristic used by the threads of the pool. If the heuristic cannot be copied, the pool
+     * has a single thread.
+     *
+     * @param heuristic the heuristic used by the calling thread.
+     * @param threads   the number of threads requested, including the calling thread.
+     * @return the copies of the heuristic. The heuristic itself is at index 0.
+     */
+    private static StateHeuristic[] copies(final StateHeuristic heuristic, final int threads) {
+        final StateHeuristic[] heuristics = new StateHeuristic[threads];
+        heuristics[0] = heuristic;
+        for (int i = 1; i < threads; i++) {
+            heuristics[i] = heuristic.copy();
+            if (heuristics[i] == null) {
+                return new StateHeuristic[] {heuristic};
+            }
+        }
+        return heuristics;
+    }
+
+    /**
+     * Returns the number of threads of the pool, including the calling thread.
+     *
+     * @return the number of threads of the pool.
+     */
+    public int getNumberOfThreads() {
+        return this.heuristics.length;
+    }
+
+    /**
+     * Returns the store of the dead ends used by the pool.
+     *
+     * @return the store of the dead ends or <code>null</code> if the dead ends are not recorded.
+     */
+    public DeadEnds getDeadEnds() {
+        return this.deadEnds;
+    }
+
+    /**
+     * Sets the store of the dead ends used by the pool.
+     *
+     * @param deadEnds the store of the dead ends or <code>null</code> to not record the dead ends.
+     */
+    public void setDeadEnds(final DeadEnds deadEnds) {
+        this.deadEnds = deadEnds;
+    }
+
+    /**
+     * Returns the number of states of the batch.
+     *
+     * @return the number of states of the batch.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all the states of the batch.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Adds a copy of a state to the batch and returns its index in the batch.
+     *
+     * @param state the state.
+     * @return the index of the state in the batch.
+     */
+    public int add(final State state) {
+        if (this.size == this.states.length) {
+            this.states = Arrays.copyOf(this.states, 2 * this.states.length);
+            this.values = Arrays.copyOf(this.values, 2 * this.values.length);
+            this.deadEnd = Arrays.copyOf(this.deadEnd, 2 * this.deadEnd.length);
+            if (this.helpfulActions != null) {
+                this.helpfulActions = Arrays.copyOf(this.helpfulActions, 2 * this.helpfulActions.length);
+            }
+        }
+        if (this.states[this.size] == null) {
+            this.states[this.size] = new State(state);
+        } else {
+            this.states[this.size].copy(state);
+        }
+        return this.size++;
+    }
+
+    /**
+     * Returns the heuristic value of a state of the batch computed by the last call to {@link #estimate(Condition)}.
+     *
+     * @param index the index of the state in the batch.
+     * @return the heuristic value of the state.
+     */
+    public int getValue(final int index) {
+        return this.values[index];
+    }
+
+    /**
+     * Returns the helpful actions of a state of the batch computed by the last call to {@link #estimate(Condition)}.
+     * The bit vector returned is not modified by the next calls to {@link #estimate(Condition)}.
+     *
+     * @param index the index of the state in the batch.
+     * @return the helpful actions of the state or <code>null</code> if the helpful actions are not recorded.
+     */
+    public BitVector getHelpfulActions(final int index) {
+        return this.helpfulActions == null ? null : this.helpfulActions[index];
+    }
+
+    /**
+     * Computes the heuristic values of the states of the batch. If the calling thread is interrupted while the batch
+     * is evaluated in parallel, the values of the batch may be incomplete: no dead end of the batch is recorded and the
+     * search is expected to stop on its next check of the interrupt flag.
+     *
+     * @param goal the goal.
+     */
+    public void estimate(final Condition goal) {
+        // The known dead ends are not evaluated
+        for (int i = 0; i < this.size; i++) {
+            this.deadEnd[i] = this.deadEnds != null && this.deadEnds.isDeadEnd(this.states[i]);
+            if (this.deadEnd[i]) {
+                this.values[i] = Integer.MAX_VALUE;
+                if (this.helpfulActions != null) {
+                    this.helpfulActions[i] = new BitVector();
+                }
+            }
+        }
+        boolean complete = true;
+        if (this.executor == null || this.size < HeuristicPool.MIN_PARALLEL_BATCH) {
+            for (int i = 0; i < this.size; i++) {
+                if (!this.deadEnd[i]) {
+                    this.values[i] = this.heuristics[0].estimate(this.states[i], goal);
+                    this.recordHelpfulActions(this.heuristics[0], i);
+                }
+            }
+        } else {
+            complete = this.estimateInParallel(goal);
+        }
+        // The new dead ends are recorded
+        if (this.deadEnds != null && complete) {
+            for (int i = 0; i < this.size; i++) {
+                if (!this.deadEnd[i] && this.values[i] == Integer.MAX_VALUE) {
+                    this.deadEnds.add(this.states[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the heuristic values of the states of the batch with all the threads of the pool. If the calling thread
+     * is interrupted, the threads of the pool stop taking new states and the method waits until they have finished the
+     * states they are evaluating, so that the batch is no longer modified once the method returns. The interrupt flag
+     * is then restored and the method returns <code>false</code>: the values of the batch may be incomplete.
+     *
+     * @param goal the goal.
+     * @return <code>true</code> if all the states of the batch were evaluated; <code>false</code> if the calling
+     *     thread was interrupted.
+     */
+    private boolean estimateInParallel(final Condition goal) {
+        this.next.set(0);
+        final int tasks = Math.min(this.heuristics.length, this.size);
+        final CountDownLatch done = new CountDownLatch(tasks - 1);
+        final Future<?>[] futures = new Future<?>[tasks - 1];
+        for (int t = 1; t < tasks; t++) {
+            final StateHeuristic heuristic = this.heuristics[t];
+            futures[t - 1] = this.executor.submit(() -> {
+                try {
+                    this.evaluate(heuristic, goal);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        this.evaluate(this.heuristics[0], goal);
+        boolean interrupted = false;
+        while (done.getCount() > 0) {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                // The states not yet taken are left unevaluated
+                this.next.set(this.size);
+                interrupted = true;
+            }
+        }
+        if (interrupted || Thread.currentThread().isInterrupted()) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stops the threads of the pool.
+     */
+    @Override
+    public void close() {
+        if (this.executor != null) {
+            this.executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Evaluates the states of the batch not yet taken by an other thread.
+     *
+     * @param heuristic the heuristic of the thread.
+     * @param goal      the goal.
+     */
+    private void evaluate(final StateHeuristic heuristic, final Condition goal) {
+        for (int i = this.next.getAndIncrement(); i < this.size; i = this.next.getAndIncrement()) {
+            if (!this.deadEnd[i]) {
+                this.values[i] = heuristic.estimate(this.states[i], goal);
+                this.recordHelpfulActions(heuristic, i);
+            }
+        }
+    }
+
+    /**
+     * Records the helpful actions of a state of the batch just evaluated if the helpful actions are recorded.
+     *
+     * @param heuristic the heuristic used to evaluate the state.
+     * @param index     the index of the state in the batch.
+     */
+    private void recordHelpfulActions(final StateHeuristic heuristic, final int index) {
+        if (this.helpfulActions != null) {
+            this.helpfulActions[index] = new BitVector(((RelaxedGraphHeuristic) heuristic).getHelpfulActions());
+        }
+    }
+}
@@ -19,11 +19,9 @@ import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.problem.Problem;
 import fr.uga.pddl4j.problem.State;
 import fr.uga.pddl4j.problem.operator.Action;
-import org.openjdk.jol.info.GraphLayout;
+import fr.uga.pddl4j.util.MemoryEstimator;
 
-import java.util.Collection;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.Objects;
 
 /**
@@ -54,109 +52,106 @@ public final class HillClimbing extends AbstractStateSpaceSearch {
     }
 
     /**
-     * The hill climbing algorithm. Solves the planning problem and returns the solution's node.
+     * The hill climbing algorithm. Solves the planning problem and returns the solution's node. Only the state of the
+     * current node is kept: the nodes of the path are stored in a <code>NodeStore</code> and the solution node is
+     * rebuilt from the initial state.
      *
      * @param codedProblem the problem to be solved. The problem cannot be null.
      * @return the solution node.
      */
     public Node search(final Problem codedProblem) {
         Objects.requireNonNull(codedProblem);
-        final LinkedList<Node> openList = new LinkedList<>();
         final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), codedProblem);
+        final NodeStore nodes = new NodeStore();
 
-        State init = new State(codedProblem.getInitialState());
-        Node root = new Node(init, null, 0, 0, heuristic.estimate(init, codedProblem.getGoal()));
-        openList.add(root);
+        final State current = new State(codedProblem.getInitialState());
+        int id = 0;
+        nodes.set(id, -1, 0, 0, 0, heuristic.estimate(current, codedProblem.getGoal()));
+        // The actions of the successors of the current node in the order of their evaluation
+        int[] actions = new int[16];
 
-        Node solution = null;
+        int solution = -1;
         boolean deadEndFree = true;
 
         this.resetNodesStatistics();
         final long timeout = this.getTimeout() * 1000;
         final long begin = System.currentTimeMillis();
         long searchingTime = 0;
-        while (!openList.isEmpty() && solution == null
-            && deadEndFree && searchingTime < timeout) {
-
-            final Node currentState = openList.pop();
-            final LinkedList<Node> successors = getSuccessors(currentState, codedProblem, heuristic);
-            deadEndFree = !successors.isEmpty();
-
-            if (deadEndFree) {
-                final Node successor = popBestNode(successors);
-                this.setExploredNodes(this.getExploredNodes() + 1);
-                if (successor.satisfy(codedProblem.getGoal())) {
-                    solution = successor;
-                } else {
-                    successors.clear();
-                    openList.clear();
-                    openList.addLast(successor);
+        final State nextState = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
+        final HeuristicPool pool = new HeuristicPool(heuristic, this.getHeuristicThreads());
+        pool.setDeadEnds(this.getDeadEnds(codedProblem));
+        try {
+            while (solution == -1 && deadEndFree && searchingTime < timeout && !this.isStopped()
+                && !this.isMemoryLimitReached()) {
+                // The successors are evaluated together once they are all created
+                pool.clear();
+                final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                for (int a = 0; a < nbApplicable; a++) {
+                    final int index = applicable[a];
+                    final Action op = codedProblem.getActions().get(index);
+                    nextState.copy(current);
+                    nextState.apply(op.getConditionalEffects(), current);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    if (pool.size() == actions.length) {
+                        actions = Arrays.copyOf(actions, 2 * actions.length);
+                    }
+                    actions[pool.add(nextState)] = index;
+                }
+                deadEndFree = pool.size() > 0;
+
+                if (deadEndFree) {
+                    pool.estimate(codedProblem.getGoal());
+                    final int best = HillClimbing.getBestSuccessor(pool);
+                    final Action op = codedProblem.getActions().get(actions[best]);
+                    nextState.copy(current);
+                    nextState.apply(op.getConditionalEffects(), current);
+                    final int successor = nodes.size();
+                    nodes.set(successor, id, actions[best], nodes.getCost(id) + op.getCost().getValue(),
+                        nodes.getDepth(id) + 1, pool.getValue(best));
+                    this.setExploredNodes(this.getExploredNodes() + 1);
+                    if ((this.getExploredNodes() & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                        this.checkMemoryLimit(nodes.getMemoryUsed() + MemoryEstimator.sizeOf(actions)
+                            + current.getMemoryUsed() + nextState.getMemoryUsed());
+                    }
+                    this.progress(this.getExploredNodes(), pool.getValue(best), nodes.getCost(successor)
+                        + pool.getValue(best));
+                    if (nextState.satisfy(codedProblem.getGoal())) {
+                        solution = successor;
+                    } else {
+                        current.copy(nextState);
+                        id = successor;
+                    }
                 }
-            }
 
-            long end = System.currentTimeMillis();
-            searchingTime = end - begin;
+                long end = System.currentTimeMillis();
+                searchingTime = end - begin;
+            }
+        } finally {
+            pool.close();
         }
 
-        this.setMemoryUsed(GraphLayout.parseInstance(openList).totalSize());
+        this.setMemoryUsed(this.measureMemoryUsed(nodes.getMemoryUsed() + MemoryEstimator.sizeOf(actions)
+            + current.getMemoryUsed() + nextState.getMemoryUsed(), nodes, actions, current, nextState));
         this.setSearchingTime(searchingTime);
 
-        return solution;
+        return solution == -1 ? null : nodes.getNode(solution, codedProblem);
     }
 
     /**
-     * Get the successors from a node.
+     * Returns the index of the first state of the batch of a pool with the lowest heuristic value.
      *
-     * @param parent    the parent node.
-     * @param problem   the coded problem to solve.
-     * @param heuristic the heuristic used.
-     * @return the list of successors from the parent node.
+     * @param pool the pool that contains the states evaluated.
+     * @return the index of the best state of the batch.
      */
-    private LinkedList<Node> getSuccessors(final Node parent, final Problem problem,
-                                           final StateHeuristic heuristic) {
-        final LinkedList<Node> successors = new LinkedList<>();
-
-        int index = 0;
-        for (Action op : problem.getActions()) {
-            if (op.isApplicable(parent)) {
-                final State nextState = new State(parent);
-                op.getConditionalEffects().stream().filter(ce -> parent.satisfy(ce.getCondition()))
-                    .forEach(ce -> nextState.apply(ce.getEffect()));
-                // Apply the effect of the applicable operator
-                final Node successor = new Node(nextState);
-                this.setCreatedNodes(this.getCreatedNodes() + 1);
-                successor.setCost(parent.getCost() + op.getCost().getValue());
-                successor.setHeuristic(heuristic.estimate(nextState, problem.getGoal()));
-                successor.setParent(parent);
-                successor.setAction(index);
-                successor.setDepth(parent.getDepth() + 1);
-                successors.add(successor);
-            }
-            index++;
-        }
-
-        return successors;
-    }
-
-    /**
-     * Return the best node from a list according to the heuristic value.
-     *
-     * @param nodes the list containing nodes.
-     * @return the best node from the nodes' list.
-     */
-    private Node popBestNode(Collection<Node> nodes) {
-        Node node = null;
-        if (!nodes.isEmpty()) {
-            final Iterator<Node> i = nodes.iterator();
-            node = i.next();
-            while (i.hasNext()) {
-                final Node next = i.next();
-                if (next.getHeuristic() < node.getHeuristic()) {
-                    node = next;
-                }
+    private static int getBestSuccessor(final HeuristicPool pool) {
+        int best = 0;
+        for (int i = 1; i < pool.size(); i++) {
+            if (pool.getValue(i) < pool.getValue(best)) {
+                best = i;
             }
-            nodes.remove(node);
         }
-        return node;
+        return best;
     }
 }
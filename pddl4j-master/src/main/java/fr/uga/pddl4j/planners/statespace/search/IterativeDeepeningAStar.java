@@ -0,0 +1,486 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.ZobristKeys;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements the Iterative Deepening A* search strategy. For more about this strategy see R. Korf,
+ * Depth-First Iterative-Deepening: An Optimal Admissible Tree Search, Artificial Intelligence, 27(1):97-109, 1985.
+ *
+ * <p>The search explores the nodes depth first with a bound on their value <code>f = g + w * h</code> that is
+ * increased at each iteration to the smallest value that exceeded the bound. The search uses a single state modified
+ * in place: the effects of the actions are applied from lists of added and deleted fluents computed once and the
+ * fluents modified are recorded in a trail to undo the actions when the search backtracks. So the memory used by the
+ * search is linear in the depth of the search. The states of the current path are never explored twice: a state whose
+ * hash code matches the hash code of a state of the path is compared exactly with this state from the fluents
+ * modified since, so a collision of the hash codes never prunes a state.</p>
+ *
+ * <p>The search can also use a transposition table bounded to a specified number of states (see
+ * {@link #setTranspositionTableSize(int)}). The table stores the states in a {@link StateRegistry}, so the states are
+ * compared exactly, and records the smallest cost with which each state was reached during the current iteration. A
+ * state reached again with a greater or equal cost is not explored. The table is disabled by default.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class IterativeDeepeningAStar extends AbstractStateSpaceSearch {
+
+    /**
+     * The default number of states of the transposition table (0, i.e., the table is disabled).
+     */
+    public static final int DEFAULT_TRANSPOSITION_TABLE_SIZE = 0;
+
+    /**
+     * The maximum number of states of the transposition table.
+     */
+    private int transpositionTableSize;
+
+    /**
+     * Creates a new Iterative Deepening A* search strategy with default parameters.
+     */
+    public IterativeDeepeningAStar() {
+        super();
+        this.transpositionTableSize = IterativeDeepeningAStar.DEFAULT_TRANSPOSITION_TABLE_SIZE;
+    }
+
+    /**
+     * Creates a new Iterative Deepening A* search strategy.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristic to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic.
+     */
+    public IterativeDeepeningAStar(int timeout, StateHeuristic.Name heuristic, double weight) {
+        super(timeout, heuristic, weight);
+        this.transpositionTableSize = IterativeDeepeningAStar.DEFAULT_TRANSPOSITION_TABLE_SIZE;
+    }
+
+    /**
+     * Returns the maximum number of states of the transposition table.
+     *
+     * @return the maximum number of states of the transposition table. 0 means that the table is disabled.
+     */
+    public int getTranspositionTableSize() {
+        return this.transpositionTableSize;
+    }
+
+    /**
+     * Sets the maximum number of states of the transposition table.
+     *
+     * @param size the maximum number of states of the transposition table. 0 disables the table.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    public void setTranspositionTableSize(final int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size < 0");
+        }
+        this.transpositionTableSize = size;
+    }
+
+    /**
+     * Returns <code>true</code>: the search looks for an optimal plan.
+     *
+     * @return <code>true</code>.
+     */
+    @Override
+    protected boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Solves the planning problem and returns the first solution found.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @return the solution node or null if no solution was found.
+     */
+    public Node search(final Problem codedProblem) {
+        Objects.requireNonNull(codedProblem);
+        final long begin = System.currentTimeMillis();
+        final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), codedProblem);
+        final Condition goal = codedProblem.getGoal();
+        final double weight = this.getWeight();
+        final List<Action> actions = codedProblem.getActions();
+        final CompiledAction[] compiled = new CompiledAction[actions.size()];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = new CompiledAction(actions.get(i));
+        }
+        // The transposition table: the states reached and the smallest cost with which they were reached
+        final StateRegistry table = this.transpositionTableSize > 0 ? new StateRegistry(codedProblem) : null;
+        double[] reached = table != null ? new double[16] : null;
+
+        // The single state of the search modified in place
+        final State state = new State(codedProblem.getInitialState());
+        state.setZobristKeys(table != null ? table.getZobristKeys() : new ZobristKeys(codedProblem));
+        // The trail of the fluents modified by the actions of the current path
+        final Trail trail = new Trail();
+        // The stack of the current path: the buffer of the applicable actions of each node and their number, the next
+        // action to try, the cost of the node, its hash code, the action used to reach it and the beginning of its
+        // modifications in the trail. The buffers are kept from one iteration to the next.
+        int[][] applicable = new int[16][];
+        int[] sizes = new int[16];
+        int[] next = new int[16];
+        double[] costs = new double[16];
+        long[] hashes = new long[16];
+        int[] path = new int[16];
+        int[] marks = new int[16];
+
+        this.resetNodesStatistics();
+        int explored = 0;
+        int solution = -1;
+        final long timeout = this.getTimeout() * 1000;
+        long time = 0;
+        final int rootHeuristic = heuristic.estimate(state, goal);
+        double bound = rootHeuristic == Integer.MAX_VALUE ? Double.POSITIVE_INFINITY : weight * rootHeuristic;
+        while (solution == -1 && bound != Double.POSITIVE_INFINITY && time < timeout && !this.isStopped()) {
+            // The smallest value of the nodes that exceeded the bound during the iteration
+            double nextBound = Double.POSITIVE_INFINITY;
+            if (table != null) {
+                table.clear();
+            }
+            // Push the root of the search
+            int depth = 0;
+            costs[0] = 0;
+            hashes[0] = state.longHashCode();
+            if (state.satisfy(goal)) {
+                solution = 0;
+            } else {
+                if (applicable[0] == null) {
+                    applicable[0] = this.newSuccessorBuffer(codedProblem);
+                }
+                sizes[0] = this.getSuccessorActions(codedProblem, state, applicable[0]);
+                next[0] = 0;
+                explored++;
+            }
+            while (depth >= 0 && solution == -1 && time < timeout && !this.isStopped()) {
+                if (next[depth] < sizes[depth]) {
+                    final int index = applicable[depth][next[depth]++];
+                    final double g = costs[depth] + actions.get(index).getCost().getValue();
+                    final int mark = trail.size();
+                    compiled[index].apply(state, trail);
+                    this.setCreatedNodes(this.getCreatedNodes() + 1);
+                    final long hash = state.longHashCode();
+                    boolean pruned = IterativeDeepeningAStar.isOnPath(hash, hashes, marks, depth, mark, trail);
+                    if (!pruned && table != null) {
+                        // The state is pruned if it was already reached with a smaller or equal cost
+                        int id = table.lookup(state);
+                        if (id != -1 && reached[id] <= g) {
+                            pruned = true;
+                        } else if (id != -1) {
+                            reached[id] = g;
+                        } else if (table.size() < this.transpositionTableSize) {
+                            id = table.add(state);
+                            if (id == reached.length) {
+                                reached = Arrays.copyOf(reached, 2 * reached.length);
+                            }
+                            reached[id] = g;
+                        }
+                    }
+                    if (!pruned) {
+                        final int h = heuristic.estimate(state, goal);
+                        final double f = g + weight * h;
+                        if (h == Integer.MAX_VALUE || this.isPruned(heuristic, g, h)) {
+                            // The dead ends and the nodes that cannot lead to a plan cheaper than the plan of the warm
+                            // start are never expanded
+                            pruned = true;
+                        } else if (f > bound) {
+                            nextBound = Math.min(nextBound, f);
+                            pruned = true;
+                        } else {
+                            this.progress(explored, h, f);
+                        }
+                    }
+                    if (pruned) {
+                        trail.undo(state, mark);
+                    } else {
+                        // Push the successor on the current path
+                        depth++;
+                        if (depth == applicable.length) {
+                            final int capacity = 2 * applicable.length;
+                            applicable = Arrays.copyOf(applicable, capacity);
+                            sizes = Arrays.copyOf(sizes, capacity);
+                            next = Arrays.copyOf(next, capacity);
+                            costs = Arrays.copyOf(costs, capacity);
+                            hashes = Arrays.copyOf(hashes, capacity);
+                            path = Arrays.copyOf(path, capacity);
+                            marks = Arrays.copyOf(marks, capacity);
+                        }
+                        costs[depth] = g;
+                        hashes[depth] = hash;
+                        path[depth] = index;
+                        marks[depth] = mark;
+                        if (state.satisfy(goal)) {
+                            solution = depth;
+                        } else {
+                            if (applicable[depth] == null) {
+                                applicable[depth] = this.newSuccessorBuffer(codedProblem);
+                            }
+                            sizes[depth] = this.getSuccessorActions(codedProblem, state, applicable[depth]);
+                            next[depth] = 0;
+                            explored++;
+                        }
+                    }
+                } else {
+                    // Backtrack: the action used to reach the node is undone
+                    if (depth > 0) {
+                        trail.undo(state, marks[depth]);
+                    }
+                    depth--;
+                }
+                time = System.currentTimeMillis() - begin;
+            }
+            bound = nextBound;
+            time = System.currentTimeMillis() - begin;
+        }
+
+        this.setExploredNodes(explored);
+        this.setPendingNodes(0);
+        long buffers = MemoryEstimator.sizeOf(applicable);
+        for (int[] buffer : applicable) {
+            buffers += MemoryEstimator.sizeOf(buffer);
+        }
+        this.setMemoryUsed(this.measureMemoryUsed(trail.getMemoryUsed() + buffers + MemoryEstimator.sizeOf(sizes)
+            + MemoryEstimator.sizeOf(next) + MemoryEstimator.sizeOf(costs) + MemoryEstimator.sizeOf(hashes)
+            + MemoryEstimator.sizeOf(path) + MemoryEstimator.sizeOf(marks) + state.getMemoryUsed()
+            + (table == null ? 0 : table.getMemoryUsed() + MemoryEstimator.sizeOf(reached)), trail, applicable, sizes,
+            next, costs, hashes, path, marks, state, table, reached));
+        this.setSearchingTime(time);
+
+        if (solution == -1) {
+            return null;
+        }
+        // Build the nodes of the solution path from the initial state
+        Node node = new Node(new State(codedProblem.getInitialState()), null, -1, 0, 0, 0);
+        for (int d = 1; d <= solution; d++) {
+            final State successor = new State(node);
+            successor.apply(actions.get(path[d]).getConditionalEffects(), node);
+            node = new Node(successor, node, path[d], costs[d], d, 0);
+        }
+        return node;
+    }
+
+    /**
+     * Returns <code>true</code> if the current state, reached from the last state of the current path, is on the
+     * current path. The hash codes are compared first and, on a match, the state of the path is compared exactly with
+     * the current state from the fluents modified since.
+     *
+     * @param hash   the hash code of the current state.
+     * @param hashes the hash codes of the states of the current path.
+     * @param marks  the beginning of the modifications of each state of the current path in the trail.
+     * @param depth  the depth of the last state of the current path.
+     * @param mark   the beginning of the modifications of the current state in the trail.
+     * @param trail  the trail of the fluents modified.
+     * @return <code>true</code> if the state is on the current path.
+     */
+    private static boolean isOnPath(final long hash, final long[] hashes, final int[] marks, final int depth,
+                                    final int mark, final Trail trail) {
+        for (int d = depth; d >= 0; d--) {
+            // The state at depth d is left by the modifications of the state at depth d + 1
+            if (hashes[d] == hash && trail.isUnchangedSince(d == depth ? mark : marks[d + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This class contains the effects of an action as lists of fluents added and deleted, computed once before the
+     * search.
+     */
+    private static final class CompiledAction {
+
+        /**
+         * The conditions of the conditional effects of the action.
+         */
+        private final Condition[] conditions;
+
+        /**
+         * The fluents added by each conditional effect of the action.
+         */
+        private final int[][] adds;
+
+        /**
+         * The fluents deleted by each conditional effect of the action.
+         */
+        private final int[][] deletes;
+
+        /**
+         * The flags used to record the conditional effects that hold when the action is applied.
+         */
+        private final boolean[] active;
+
+        /**
+         * Creates the lists of fluents added and deleted by an action.
+         *
+         * @param action the action.
+         */
+        CompiledAction(final Action action) {
+            final List<ConditionalEffect> effects = action.getConditionalEffects();
+            this.conditions = new Condition[effects.size()];
+            this.adds = new int[effects.size()][];
+            this.deletes = new int[effects.size()][];
+            this.active = new boolean[effects.size()];
+            for (int i = 0; i < effects.size(); i++) {
+                final ConditionalEffect ce = effects.get(i);
+                this.conditions[i] = ce.getCondition().isEmpty() ? null : ce.getCondition();
+                this.adds[i] = CompiledAction.toArray(ce.getEffect().getPositiveFluents());
+                this.deletes[i] = CompiledAction.toArray(ce.getEffect().getNegativeFluents());
+            }
+        }
+
+        /**
+         * Applies the action to a state in place and records the fluents modified in a trail. The conditions of the
+         * conditional effects are evaluated before any effect is applied, and the fluents added by an effect win over
+         * the fluents it deletes.
+         *
+         * @param state the state.
+         * @param trail the trail.
+         */
+        void apply(final State state, final Trail trail) {
+            for (int i = 0; i < this.conditions.length; i++) {
+                this.active[i] = this.conditions[i] == null || state.satisfy(this.conditions[i]);
+            }
+            for (int i = 0; i < this.conditions.length; i++) {
+                if (this.active[i]) {
+                    for (int p : this.deletes[i]) {
+                        trail.set(state, p, false);
+                    }
+                    for (int p : this.adds[i]) {
+                        trail.set(state, p, true);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Returns the indexes of the bits set of a bit vector.
+         *
+         * @param vector the bit vector.
+         * @return the indexes of the bits set of the bit vector.
+         */
+        private static int[] toArray(final BitVector vector) {
+            final int[] array = new int[vector.cardinality()];
+            int i = 0;
+            for (int p = vector.nextSetBit(0); p >= 0; p = vector.nextSetBit(p + 1)) {
+                array[i++] = p;
+            }
+            return array;
+        }
+    }
+
+    /**
+     * This class implements the trail of the fluents modified in place by the actions of the current path.
+     */
+    private static final class Trail {
+
+        /**
+         * The fluents modified and their previous value: a fluent <code>p</code> is recorded as <code>2 * p + 1</code>
+         * if it was true and as <code>2 * p</code> otherwise.
+         */
+        private int[] entries;
+
+        /**
+         * The number of entries of the trail.
+         */
+        private int size;
+
+        /**
+         * Creates a new empty trail.
+         */
+        Trail() {
+            this.entries = new int[64];
+            this.size = 0;
+        }
+
+        /**
+         * Returns the number of entries of the trail.
+         *
+         * @return the number of entries of the trail.
+         */
+        int size() {
+            return this.size;
+        }
+
+        /**
+         * Sets a fluent of a state to a specified value and records its previous value if it is modified.
+         *
+         * @param state  the state.
+         * @param fluent the fluent.
+         * @param value  the value of the fluent.
+         */
+        void set(final State state, final int fluent, final boolean value) {
+            final boolean previous = state.get(fluent);
+            if (previous != value) {
+                if (this.size == this.entries.length) {
+                    this.entries = Arrays.copyOf(this.entries, 2 * this.entries.length);
+                }
+                this.entries[this.size++] = 2 * fluent + (previous ? 1 : 0);
+                state.setFluent(fluent, value);
+            }
+        }
+
+        /**
+         * Returns <code>true</code> if the fluents modified since the trail had a specified size have all recovered
+         * their value at that time. The value of a fluent is recorded only when it changes, so a fluent recovered its
+         * value if and only if it was modified an even number of times.
+         *
+         * @param mark the size of the trail.
+         * @return <code>true</code> if the state is equal to the state at the time the trail had the specified size.
+         */
+        boolean isUnchangedSince(final int mark) {
+            final BitVector toggled = new BitVector();
+            for (int i = mark; i < this.size; i++) {
+                toggled.flip(this.entries[i] >>> 1);
+            }
+            return toggled.isEmpty();
+        }
+
+        /**
+         * Restores the values of the fluents of a state modified since the trail had a specified size.
+         *
+         * @param state the state.
+         * @param mark  the size of the trail to restore.
+         */
+        void undo(final State state, final int mark) {
+            while (this.size > mark) {
+                final int entry = this.entries[--this.size];
+                state.setFluent(entry >>> 1, (entry & 1) == 1);
+            }
+        }
+
+        /**
+         * Returns an estimation of the memory used by the trail in bytes.
+         *
+         * @return an estimation of the memory used by the trail in bytes.
+         */
+        long getMemoryUsed() {
+            return MemoryEstimator.sizeOfObject(1, 4) + MemoryEstimator.sizeOf(this.entries);
+        }
+    }
+}
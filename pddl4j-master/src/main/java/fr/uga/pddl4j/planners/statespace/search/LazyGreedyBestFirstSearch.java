@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.RelaxedGraphHeuristic;
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.IntPriorityQueue;
+
+import java.util.Objects;
+
+/**
+ * This class implements Greedy Best First Search strategy with lazy evaluation of the heuristic. The successors of a
+ * node are pending with the heuristic value of their parent and their heuristic value is computed only when they are
+ * explored. The search uses two pending lists: the first one contains all the pending nodes and the second one only
+ * the nodes reached with a helpful action of their parent, i.e., an action of the relaxed plan extracted by the
+ * heuristic applicable in the parent. The two lists are explored alternately and the list of the helpful actions is
+ * preferred during a while each time the heuristic value improves.
+ *
+ * <p>The helpful actions are provided only by the heuristics based on the extraction of a relaxed plan such as
+ * {@link fr.uga.pddl4j.heuristics.state.FastForward}. With the other heuristics, the search is a lazy Greedy Best First
+ * Search with a single pending list. The heuristic is evaluated by a single thread. As in the other best first
+ * searches, the known dead ends (see {@link DeadEnds}) are not evaluated and the new dead ends are recorded when the
+ * dead ends are detected.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class LazyGreedyBestFirstSearch extends AbstractStateSpaceSearch {
+
+    /**
+     * The number of explorations for which the list of the nodes reached with a helpful action is preferred when the
+     * heuristic value improves.
+     */
+    private static final int BOOST = 1000;
+
+    /**
+     * Creates a new lazy Greedy Best First Search search strategy with default parameters.
+     */
+    public LazyGreedyBestFirstSearch() {
+        super();
+    }
+
+    /**
+     * Creates a new lazy Greedy Best First Search search strategy.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristic to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic.
+     */
+    public LazyGreedyBestFirstSearch(int timeout, StateHeuristic.Name heuristic, double weight) {
+        super(timeout, heuristic, weight);
+    }
+
+    /**
+     * The lazy greedy best first search algorithm. Solves the planning problem and returns the first solution plan
+     * found.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @return a solution plan or null if it does not exist.
+     */
+    public Node search(final Problem codedProblem) {
+        Objects.requireNonNull(codedProblem);
+        final long begin = System.currentTimeMillis();
+
+        final StateHeuristic heuristic = StateHeuristic.getInstance(this.getHeuristic(), codedProblem);
+        final BitVector helpfulActions = heuristic instanceof RelaxedGraphHeuristic
+            ? ((RelaxedGraphHeuristic) heuristic).getHelpfulActions() : null;
+        final StateRegistry registry = new StateRegistry(codedProblem);
+        final NodeStore nodes = new NodeStore();
+        // The lists store the identifiers of the states ordered by heuristic value of their parent and then by cost
+        final boolean integral = AbstractStateSpaceSearch.hasIntegralCosts(codedProblem);
+        final IntPriorityQueue open = this.createOpenList(integral);
+        final IntPriorityQueue preferred = this.createOpenList(integral);
+        // The store of the dead ends is null if the dead ends are not detected
+        final DeadEnds deadEnds = this.getDeadEnds(codedProblem);
+        final long timeout = this.getTimeout() * 1000;
+
+        State init = new State(codedProblem.getInitialState());
+        init.setZobristKeys(registry.getZobristKeys());
+        final int root = registry.add(init);
+        nodes.set(root, -1, -1, 0, 0, 0);
+        open.add(root, 0, 0);
+
+        this.resetNodesStatistics();
+        int solution = -1;
+        int explored = 0;
+        // The priority of the two lists: the list with the lowest priority is explored first
+        int openPriority = 0;
+        int preferredPriority = 0;
+        double bestHeuristic = Double.MAX_VALUE;
+        final State current = new State();
+        final State nextState = new State();
+        // The buffer of the actions applicable in the expanded states
+        final int[] applicable = this.newSuccessorBuffer(codedProblem);
+        long searchingTime = 0;
+        while ((!open.isEmpty() || !preferred.isEmpty()) && solution == -1 && searchingTime < timeout
+            && !this.isStopped() && !this.isMemoryLimitReached()) {
+            // Pop the first node of the list with the lowest priority
+            final int id;
+            if (!preferred.isEmpty() && (open.isEmpty() || preferredPriority <= openPriority)) {
+                id = preferred.poll();
+                preferredPriority++;
+            } else {
+                id = open.poll();
+                openPriority++;
+            }
+            // A node reached with a helpful action is pending in the two lists
+            if (!nodes.isClosed(id)) {
+                nodes.setClosed(id, true);
+                registry.getState(id, current);
+                if (current.satisfy(codedProblem.getGoal())) {
+                    solution = id;
+                } else {
+                    // The known dead ends are not evaluated and the new dead ends are recorded
+                    final double h;
+                    if (deadEnds != null && deadEnds.isDeadEnd(current)) {
+                        h = Integer.MAX_VALUE;
+                    } else {
+                        h = heuristic.estimate(current, codedProblem.getGoal());
+                        if (h == Integer.MAX_VALUE && deadEnds != null) {
+                            deadEnds.add(current);
+                        }
+                    }
+                    nodes.setHeuristic(id, h);
+                    // The dead ends are not expanded
+                    if (h != Integer.MAX_VALUE) {
+                        explored++;
+                        this.progress(explored, h, nodes.getCost(id) + h);
+                        // The memory used is estimated periodically and checked against the memory limit
+                        if ((explored & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                            this.checkMemoryLimit(registry.getMemoryUsed() + nodes.getMemoryUsed()
+                                + open.getMemoryUsed() + preferred.getMemoryUsed());
+                        }
+                        if (h < bestHeuristic) {
+                            bestHeuristic = h;
+                            preferredPriority -= LazyGreedyBestFirstSearch.BOOST;
+                        }
+                        final double cost = nodes.getCost(id);
+                        final int depth = nodes.getDepth(id) + 1;
+                        final int nbApplicable = this.getSuccessorActions(codedProblem, current, applicable);
+                        for (int a = 0; a < nbApplicable; a++) {
+                            final int index = applicable[a];
+                            final Action op = codedProblem.getActions().get(index);
+                            nextState.copy(current);
+                            nextState.apply(op.getConditionalEffects(), current);
+                            this.setCreatedNodes(this.getCreatedNodes() + 1);
+                            // Only the states never reached before are added to the pending lists
+                            final int size = registry.size();
+                            final int next = registry.add(nextState);
+                            if (next == size) {
+                                final double nextCost = cost + op.getCost().getValue();
+                                nodes.set(next, id, index, nextCost, depth, h);
+                                open.add(next, h, nextCost);
+                                if (helpfulActions != null && helpfulActions.get(index)) {
+                                    preferred.add(next, h, nextCost);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            // Take time to compute the searching time
+            long end = System.currentTimeMillis();
+            searchingTime = end - begin;
+        }
+
+        this.setExploredNodes(explored);
+        this.setPendingNodes(open.size());
+        this.setMemoryUsed(this.measureMemoryUsed(registry.getMemoryUsed() + nodes.getMemoryUsed()
+            + open.getMemoryUsed() + preferred.getMemoryUsed(), registry, nodes, open, preferred));
+        this.setSearchingTime(searchingTime);
+
+        return solution == -1 ? null : nodes.getNode(solution, registry);
+    }
+}
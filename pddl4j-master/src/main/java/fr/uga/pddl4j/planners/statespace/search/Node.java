@@ -20,6 +20,7 @@
 package fr.uga.pddl4j.planners.statespace.search;
 
 import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.util.MemoryEstimator;
 
 /**
  * This class implements a node of the tree search.
@@ -203,6 +204,16 @@ public final class Node extends State {
         return weight * this.heuristic + this.cost;
     }
 
+    /**
+     * Returns an estimation of the memory used by this node in bytes. The parent of the node is not counted.
+     *
+     * @return an estimation of the memory used by this node in bytes.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOf(this, 2, 32);
+    }
+
     /**
      * Returns if a node is equal to an other object. The equals method has the same behaviour as the equals method of
      * the class BitState.
@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a store for the search information of the nodes of a search, e.g., the states of a
+ * <code>StateRegistry</code>. For each node identifier, the store keeps the identifier of the parent node, the index
+ * of the action applied to reach the node, the cost to reach the node from the root, the heuristic value of the node,
+ * its depth and whether the node is closed. The information are stored in parallel arrays of primitive types indexed
+ * by the node identifiers, so that no object is created per node.
+ *
+ * <p>The states of the nodes are not necessarily stored: the node of a solution can be rebuilt by applying the
+ * actions of the chain of its parents from the initial state of the problem (see {@link #getNode(int, Problem)}).</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ * @see StateRegistry
+ */
+public final class NodeStore {
+
+    /**
+     * The default capacity of the store.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The identifiers of the parent states.
+     */
+    private int[] parents;
+
+    /**
+     * The indexes of the actions applied to reach the states.
+     */
+    private int[] actions;
+
+    /**
+     * The costs to reach the states from the root.
+     */
+    private double[] costs;
+
+    /**
+     * The heuristic values of the states.
+     */
+    private double[] heuristics;
+
+    /**
+     * The depths of the states.
+     */
+    private int[] depths;
+
+    /**
+     * The flags of the closed states.
+     */
+    private boolean[] closed;
+
+    /**
+     * The number of states in the store.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty store.
+     */
+    public NodeStore() {
+        this.parents = new int[NodeStore.DEFAULT_CAPACITY];
+        this.actions = new int[NodeStore.DEFAULT_CAPACITY];
+        this.costs = new double[NodeStore.DEFAULT_CAPACITY];
+        this.heuristics = new double[NodeStore.DEFAULT_CAPACITY];
+        this.depths = new int[NodeStore.DEFAULT_CAPACITY];
+        this.closed = new boolean[NodeStore.DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Returns an estimation of the memory used by the store in bytes.
+     *
+     * @return an estimation of the memory used by the store in bytes.
+     */
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOfObject(6, 4) + MemoryEstimator.sizeOf(this.parents)
+            + MemoryEstimator.sizeOf(this.actions) + MemoryEstimator.sizeOf(this.costs)
+            + MemoryEstimator.sizeOf(this.heuristics) + MemoryEstimator.sizeOf(this.depths)
+            + MemoryEstimator.sizeOf(this.closed);
+    }
+
+    /**
+     * Returns the number of states in the store, i.e., the greatest identifier set plus one.
+     *
+     * @return the number of states in the store.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Sets the search information of a state. The state is not closed.
+     *
+     * @param id        the identifier of the state.
+     * @param parent    the identifier of the parent state or -1 if the state is the root.
+     * @param action    the index of the action applied to reach the state.
+     * @param cost      the cost to reach the state from the root.
+     * @param depth     the depth of the state.
+     * @param heuristic the heuristic value of the state.
+     */
+    public void set(final int id, final int parent, final int action, final double cost, final int depth,
+                    final double heuristic) {
+        if (id >= this.parents.length) {
+            this.grow(id + 1);
+        }
+        this.parents[id] = parent;
+        this.actions[id] = action;
+        this.costs[id] = cost;
+        this.depths[id] = depth;
+        this.heuristics[id] = heuristic;
+        this.closed[id] = false;
+        this.size = Math.max(this.size, id + 1);
+    }
+
+    /**
+     * Returns the identifier of the parent of a state or -1 if the state is the root.
+     *
+     * @param id the identifier of the state.
+     * @return the identifier of the parent of the state.
+     */
+    public int getParent(final int id) {
+        return this.parents[id];
+    }
+
+    /**
+     * Returns the index of the action applied to reach a state.
+     *
+     * @param id the identifier of the state.
+     * @return the index of the action applied to reach the state.
+     */
+    public int getAction(final int id) {
+        return this.actions[id];
+    }
+
+    /**
+     * Returns the cost to reach a state from the root.
+     *
+     * @param id the identifier of the state.
+     * @return the cost to reach the state from the root.
+     */
+    public double getCost(final int id) {
+        return this.costs[id];
+    }
+
+    /**
+     * Returns the heuristic value of a state.
+     *
+     * @param id the identifier of the state.
+     * @return the heuristic value of the state.
+     */
+    public double getHeuristic(final int id) {
+        return this.heuristics[id];
+    }
+
+    /**
+     * Sets the heuristic value of a state.
+     *
+     * @param id        the identifier of the state.
+     * @param heuristic the heuristic value of the state.
+     */
+    public void setHeuristic(final int id, final double heuristic) {
+        this.heuristics[id] = heuristic;
+    }
+
+    /**
+     * Returns the depth of a state.
+     *
+     * @param id the identifier of the state.
+     * @return the depth of the state.
+     */
+    public int getDepth(final int id) {
+        return this.depths[id];
+    }
+
+    /**
+     * Returns <code>true</code> if a state is closed.
+     *
+     * @param id the identifier of the state.
+     * @return <code>true</code> if the state is closed; <code>false</code> otherwise.
+     */
+    public boolean isClosed(final int id) {
+        return this.closed[id];
+    }
+
+    /**
+     * Sets the closed flag of a state.
+     *
+     * @param id     the identifier of the state.
+     * @param closed the closed flag of the state.
+     */
+    public void setClosed(final int id, final boolean closed) {
+        this.closed[id] = closed;
+    }
+
+    /**
+     * Returns the node of a state with the chain of its parent nodes up to the root. The states of the nodes are read
+     * from a specified registry.
+     *
+     * @param id       the identifier of the state.
+     * @param registry the registry that contains the states.
+     * @return the node of the state.
+     */
+    public Node getNode(final int id, final StateRegistry registry) {
+        Node node = null;
+        for (int i : this.getPath(id)) {
+            node = new Node(registry.getState(i), node, this.actions[i], this.costs[i], this.depths[i],
+                this.heuristics[i]);
+        }
+        return node;
+    }
+
+    /**
+     * Returns the node of a state with the chain of its parent nodes up to the root. The states of the nodes are
+     * computed by applying the actions of the chain from the initial state of a specified problem, so the store can be
+     * used by the searches that do not keep the states of the nodes. The root must be the initial state of the
+     * problem.
+     *
+     * @param id      the identifier of the node.
+     * @param problem the problem.
+     * @return the node of the state.
+     */
+    public Node getNode(final int id, final Problem problem) {
+        final int[] path = this.getPath(id);
+        Node node = null;
+        for (int i : path) {
+            final State state;
+            if (node == null) {
+                state = new State(problem.getInitialState());
+            } else {
+                final Action op = problem.getActions().get(this.actions[i]);
+                state = new State(node);
+                state.apply(op.getConditionalEffects(), node);
+            }
+            node = new Node(state, node, this.actions[i], this.costs[i], this.depths[i], this.heuristics[i]);
+        }
+        return node;
+    }
+
+    /**
+     * Removes from the store all the nodes except a specified node and its ancestors. The nodes kept are renumbered
+     * from the root, with identifier 0, to the specified node, whose new identifier is returned. The nodes added
+     * afterwards receive the next identifiers. This method is used by the local searches to forget the nodes of the
+     * neighborhoods left behind.
+     *
+     * @param id the identifier of the node.
+     * @return the new identifier of the node.
+     */
+    public int retainPath(final int id) {
+        final int[] path = this.getPath(id);
+        for (int i = 0; i < path.length; i++) {
+            final int n = path[i];
+            this.parents[i] = i - 1;
+            this.actions[i] = this.actions[n];
+            this.costs[i] = this.costs[n];
+            this.heuristics[i] = this.heuristics[n];
+            this.depths[i] = this.depths[n];
+            this.closed[i] = false;
+        }
+        this.size = path.length;
+        return path.length - 1;
+    }
+
+    /**
+     * Returns the identifiers of the chain of the parents of a node from the root to the node.
+     *
+     * @param id the identifier of the node.
+     * @return the identifiers of the chain of the parents of the node.
+     */
+    private int[] getPath(final int id) {
+        int length = 0;
+        for (int i = id; i != -1; i = this.parents[i]) {
+            length++;
+        }
+        final int[] path = new int[length];
+        for (int i = id; i != -1; i = this.parents[i]) {
+            path[--length] = i;
+        }
+        return path;
+    }
+
+    /**
+     * Increases the capacity of the store.
+     *
+     * @param capacity the minimum capacity required.
+     */
+    private void grow(final int capacity) {
+        final int length = Math.max(capacity, 2 * this.parents.length);
+        this.parents = Arrays.copyOf(this.parents, length);
+        this.actions = Arrays.copyOf(this.actions, length);
+        this.costs = Arrays.copyOf(this.costs, length);
+        this.heuristics = Arrays.copyOf(this.heuristics, length);
+        this.depths = Arrays.copyOf(this.depths, length);
+        this.closed = Arrays.copyOf(this.closed, length);
+    }
+}
@@ -0,0 +1,764 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.SuccessorGenerator;
+import fr.uga.pddl4j.problem.ZobristKeys;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.IntPriorityQueue;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * This class implements the hash distributed A* search strategy (HDA*). The states are partitioned between several
+ * threads according to their Zobrist hash code. Each thread owns its registry of states and its open list and expands
+ * only the states it owns. The successors of a state that belong to an other thread are sent to their owner through a
+ * lock-free queue.
+ *
+ * <p>A solution is not returned as soon as it is found: the threads continue to expand the nodes that can lead to a
+ * cheaper solution, i.e., the nodes with a cost plus heuristic value strictly less than the cost of the best solution
+ * found. Hence, the solution returned is optimal when the heuristic is admissible and the weight is equal to 1. The
+ * search ends when all the threads are idle and no message is in transit. This is detected with a single counter of
+ * the active threads plus the messages sent and not yet processed.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class ParallelAStar extends AbstractStateSpaceSearch {
+
+    /**
+     * The number of expansions between two tests of the timeout.
+     */
+    private static final int TIMEOUT_CHECK_INTERVAL = 256;
+
+    /**
+     * The time in milliseconds between two tests of the cancellation of the search.
+     */
+    private static final long CANCEL_CHECK_INTERVAL = 10;
+
+    /**
+     * The maximum time in nanoseconds during which an idle thread is parked before it checks again whether the search
+     * is over.
+     */
+    private static final long IDLE_PARK_TIME = 1_000_000L;
+
+    /**
+     * The number of threads of the search.
+     */
+    private int threads;
+
+    /**
+     * Creates a new parallel A* search strategy with default parameters and one thread per available processor.
+     */
+    public ParallelAStar() {
+        super();
+        this.threads = Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Creates a new parallel A* search strategy with one thread per available processor.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristic to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic.
+     */
+    public ParallelAStar(int timeout, StateHeuristic.Name heuristic, double weight) {
+        this(timeout, heuristic, weight, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a new parallel A* search strategy.
+     *
+     * @param timeout   the time out of the planner.
+     * @param heuristic the heuristic to use to solve the planning problem.
+     * @param weight    the weight set to the heuristic.
+     * @param threads   the number of threads of the search.
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    public ParallelAStar(int timeout, StateHeuristic.Name heuristic, double weight, int threads) {
+        super(timeout, heuristic, weight);
+        this.setNumberOfThreads(threads);
+    }
+
+    /**
+     * Returns the number of threads of the search.
+     *
+     * @return the number of threads of the search.
+     */
+    public int getNumberOfThreads() {
+        return this.threads;
+    }
+
+    /**
+     * Sets the number of threads of the search.
+     *
+     * @param threads the number of threads of the search.
+     * @throws IllegalArgumentException if the number of threads is less than 1.
+     */
+    public void setNumberOfThreads(final int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads < 1");
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Returns <code>true</code>: the search looks for an optimal plan.
+     *
+     * @return <code>true</code>.
+     */
+    @Override
+    protected boolean isOptimal() {
+        return true;
+    }
+
+    /**
+     * Solves the planning problem and returns the first solution search found.
+     *
+     * @param codedProblem the problem to be solved. The problem cannot be null.
+     * @return a solution search or null if it does not exist.
+     */
+    public Node search(final Problem codedProblem) {
+        Objects.requireNonNull(codedProblem);
+        final long begin = System.currentTimeMillis();
+        this.resetNodesStatistics();
+        // The successor generator is built before the start of the threads that share it
+        this.getSuccessorGenerator(codedProblem);
+        final Context context = new Context(codedProblem, this, begin + this.getTimeout() * 1000L);
+        final boolean integral = AbstractStateSpaceSearch.hasIntegralCosts(codedProblem)
+            && this.getWeight() == Math.rint(this.getWeight());
+        for (int i = 0; i < context.workers.length; i++) {
+            context.workers[i] = new Worker(i, context, this.createOpenList(integral));
+        }
+        // The root node is sent to its owner: the counter of activity is the number of threads plus the message
+        final State init = new State(codedProblem.getInitialState());
+        init.setZobristKeys(context.keys);
+        context.busy.set(context.workers.length + 1);
+        context.send(context.getOwner(init), new Message(init, -1, -1, -1, 0, 0));
+
+        final Thread[] pool = new Thread[context.workers.length];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = new Thread(context.workers[i], "parallel-astar-" + i);
+            pool[i].start();
+        }
+        boolean interrupted = false;
+        for (Thread thread : pool) {
+            while (thread.isAlive()) {
+                try {
+                    // The threads are stopped as soon as the search is cancelled
+                    thread.join(ParallelAStar.CANCEL_CHECK_INTERVAL);
+                    if (this.isCancelled()) {
+                        context.stop = true;
+                    }
+                    // The threads are stopped as soon as the sum of their estimations exceeds the memory limit
+                    long memory = 0;
+                    for (Worker worker : context.workers) {
+                        memory += worker.memory;
+                    }
+                    if (this.checkMemoryLimit(memory)) {
+                        context.stop = true;
+                    }
+                    if (this.getSearchListener() != null) {
+                        // The counters of the threads are read without synchronization: the progress is approximate
+                        long explored = 0;
+                        long created = 0;
+                        for (Worker worker : context.workers) {
+                            explored += worker.explored;
+                            created += worker.created;
+                        }
+                        this.progress(explored, created);
+                    }
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    context.stop = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (context.error != null) {
+            throw context.error;
+        }
+        if (context.outOfMemory != null) {
+            throw context.outOfMemory;
+        }
+
+        final int[] explored = new int[context.workers.length];
+        final int[] created = new int[context.workers.length];
+        int pending = 0;
+        long estimation = 0;
+        final Object[] memory = new Object[3 * context.workers.length];
+        for (int i = 0; i < context.workers.length; i++) {
+            final Worker worker = context.workers[i];
+            explored[i] = worker.explored;
+            created[i] = worker.created;
+            pending += worker.open.size();
+            estimation += worker.registry.getMemoryUsed() + worker.nodes.getMemoryUsed() + worker.open.getMemoryUsed();
+            memory[3 * i] = worker.registry;
+            memory[3 * i + 1] = worker.nodes;
+            memory[3 * i + 2] = worker.open;
+            if (worker.pruning != null) {
+                context.pruning.addStatistics(worker.pruning);
+            }
+        }
+        this.setExploredNodesPerThread(explored);
+        this.setCreatedNodesPerThread(created);
+        this.setExploredNodes(Arrays.stream(explored).sum());
+        this.setCreatedNodes(Arrays.stream(created).sum());
+        this.setPendingNodes(pending);
+        this.setMemoryUsed(this.measureMemoryUsed(estimation, memory));
+        this.setSearchingTime(System.currentTimeMillis() - begin);
+
+        // return the search computed or null if no search was found
+        return context.solution == -1 ? null : context.getNode(context.owner, context.solution);
+    }
+
+    /**
+     * This class contains the data shared by the threads of a search.
+     */
+    private static final class Context {
+
+        /**
+         * The problem to solve.
+         */
+        private final Problem problem;
+
+        /**
+         * The successor generator of the problem.
+         */
+        private final SuccessorGenerator generator;
+
+        /**
+         * The stubborn sets copied by the threads or <code>null</code> if the applicable actions are not pruned.
+         */
+        private final StubbornSets pruning;
+
+        /**
+         * The Zobrist keys shared by the registries of the threads.
+         */
+        private final ZobristKeys keys;
+
+        /**
+         * The heuristic of the search.
+         */
+        private final StateHeuristic.Name heuristic;
+
+        /**
+         * The weight of the heuristic.
+         */
+        private final double weight;
+
+        /**
+         * The time in milliseconds at which the search must stop.
+         */
+        private final long deadline;
+
+        /**
+         * The threads of the search.
+         */
+        private final Worker[] workers;
+
+        /**
+         * The number of active threads plus the number of messages sent and not yet processed. The search is over when
+         * the counter is equal to 0.
+         */
+        private final AtomicInteger busy;
+
+        /**
+         * The flag used to stop all the threads, e.g., when the timeout is reached.
+         */
+        private volatile boolean stop;
+
+        /**
+         * The first error thrown by a thread.
+         */
+        private volatile RuntimeException error;
+
+        /**
+         * The error thrown by the first thread that exhausted the memory.
+         */
+        private volatile OutOfMemoryError outOfMemory;
+
+        /**
+         * The cost of the best solution found or of the plan of the warm start.
+         */
+        private volatile double bound;
+
+        /**
+         * The thread that owns the best solution found.
+         */
+        private int owner;
+
+        /**
+         * The identifier of the best solution found in the registry of its owner or -1.
+         */
+        private int solution;
+
+        /**
+         * Creates a new context for a search.
+         *
+         * @param problem  the problem to solve.
+         * @param search   the search.
+         * @param deadline the time in milliseconds at which the search must stop.
+         */
+        private Context(final Problem problem, final ParallelAStar search, final long deadline) {
+            this.problem = problem;
+            this.generator = search.getSuccessorGenerator(problem);
+            this.pruning = search.isStubbornSets() ? search.getStubbornSets(problem) : null;
+            this.keys = new ZobristKeys(problem);
+            this.heuristic = search.getHeuristic();
+            this.weight = search.getWeight();
+            this.deadline = deadline;
+            this.workers = new Worker[search.getNumberOfThreads()];
+            this.busy = new AtomicInteger();
+            this.stop = false;
+            this.error = null;
+            // The plan of the warm start, if any, is the best solution known before the search
+            this.bound = search.getUpperBound();
+            this.owner = -1;
+            this.solution = -1;
+        }
+
+        /**
+         * Sends a successor to the thread that owns its state and wakes up the thread if it is idle.
+         *
+         * @param owner   the thread that owns the state of the successor.
+         * @param message the successor.
+         */
+        private void send(final int owner, final Message message) {
+            final Worker worker = this.workers[owner];
+            worker.inbox.add(message);
+            if (worker.idle) {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+
+        /**
+         * Wakes up all the idle threads, e.g., when the search is over.
+         */
+        private void wakeUp() {
+            for (Worker worker : this.workers) {
+                if (worker.idle) {
+                    LockSupport.unpark(worker.thread);
+                }
+            }
+        }
+
+        /**
+         * Returns the thread that owns a specified state.
+         *
+         * @param state the state.
+         * @return the thread that owns the state.
+         */
+        private int getOwner(final State state) {
+            // The high bits of the hash code are used because the low bits index the registries
+            return (int) ((state.longHashCode() >>> 33) % this.workers.length);
+        }
+
+        /**
+         * Records a solution if it is cheaper than the best solution found.
+         *
+         * @param owner the thread that owns the solution.
+         * @param id    the identifier of the solution in the registry of its owner.
+         * @param cost  the cost of the solution.
+         */
+        private synchronized void offer(final int owner, final int id, final double cost) {
+            if (cost < this.bound) {
+                this.bound = cost;
+                this.owner = owner;
+                this.solution = id;
+            }
+        }
+
+        /**
+         * Returns the node of a state with the chain of its parent nodes up to the root. This method must be called
+         * after the end of all the threads.
+         *
+         * @param owner the thread that owns the state.
+         * @param id    the identifier of the state in the registry of its owner.
+         * @return the node of the state.
+         */
+        private Node getNode(final int owner, final int id) {
+            int length = 0;
+            for (int w = owner, i = id; i != -1; length++) {
+                final Worker worker = this.workers[w];
+                w = worker.owners[i];
+                i = worker.nodes.getParent(i);
+            }
+            final int[] threads = new int[length];
+            final int[] ids = new int[length];
+            for (int w = owner, i = id; i != -1; ) {
+                length--;
+                threads[length] = w;
+                ids[length] = i;
+                final Worker worker = this.workers[w];
+                w = worker.owners[i];
+                i = worker.nodes.getParent(i);
+            }
+            Node node = null;
+            for (int k = 0; k < ids.length; k++) {
+                final Worker worker = this.workers[threads[k]];
+                final int i = ids[k];
+                node = new Node(worker.registry.getState(i), node, worker.nodes.getAction(i),
+                    worker.nodes.getCost(i), worker.nodes.getDepth(i), worker.nodes.getHeuristic(i));
+            }
+            return node;
+        }
+    }
+
+    /**
+     * This class implements a successor sent by a thread to the owner of its state.
+     */
+    private static final class Message {
+
+        /**
+         * The state of the successor.
+         */
+        private final State state;
+
+        /**
+         * The thread that owns the parent of the successor.
+         */
+        private final int owner;
+
+        /**
+         * The identifier of the parent of the successor in the registry of its owner.
+         */
+        private final int parent;
+
+        /**
+         * The action applied to the parent.
+         */
+        private final int action;
+
+        /**
+         * The cost of the successor.
+         */
+        private final double cost;
+
+        /**
+         * The depth of the successor.
+         */
+        private final int depth;
+
+        /**
+         * Creates a new message.
+         *
+         * @param state  the state of the successor.
+         * @param owner  the thread that owns the parent of the successor.
+         * @param parent the identifier of the parent of the successor.
+         * @param action the action applied to the parent.
+         * @param cost   the cost of the successor.
+         * @param depth  the depth of the successor.
+         */
+        private Message(final State state, final int owner, final int parent, final int action, final double cost,
+                        final int depth) {
+            this.state = state;
+            this.owner = owner;
+            this.parent = parent;
+            this.action = action;
+            this.cost = cost;
+            this.depth = depth;
+        }
+    }
+
+    /**
+     * This class implements a thread of the search.
+     */
+    private static final class Worker implements Runnable {
+
+        /**
+         * The index of the thread.
+         */
+        private final int index;
+
+        /**
+         * The data shared by the threads.
+         */
+        private final Context context;
+
+        /**
+         * The registry of the states owned by the thread.
+         */
+        private final StateRegistry registry;
+
+        /**
+         * The search information of the states owned by the thread.
+         */
+        private final NodeStore nodes;
+
+        /**
+         * The thread that owns the parent of each state owned by the thread.
+         */
+        private int[] owners;
+
+        /**
+         * The open list of the thread.
+         */
+        private final IntPriorityQueue open;
+
+        /**
+         * The stubborn sets used by the thread or <code>null</code> if the applicable actions are not pruned.
+         */
+        private final StubbornSets pruning;
+
+        /**
+         * The buffer of the actions applicable in the states expanded by the thread.
+         */
+        private final int[] applicable;
+
+        /**
+         * The messages received by the thread.
+         */
+        private final ConcurrentLinkedQueue<Message> inbox;
+
+        /**
+         * The thread that runs the worker.
+         */
+        private volatile Thread thread;
+
+        /**
+         * The flag set while the thread is idle, i.e., parked or about to be parked until a message is sent to it.
+         */
+        private volatile boolean idle;
+
+        /**
+         * The heuristic used by the thread. The heuristics are not thread safe, so each thread has its own instance.
+         */
+        private StateHeuristic heuristic;
+
+        /**
+         * The number of nodes explored by the thread.
+         */
+        private int explored;
+
+        /**
+         * The number of nodes created by the thread.
+         */
+        private int created;
+
+        /**
+         * The estimation of the memory used by the data structures of the thread in bytes, updated once every
+         * {@link AbstractStateSpaceSearch#MEMORY_CHECK_PERIOD} nodes expanded and summed by the thread of the search
+         * to check the memory limit.
+         */
+        private volatile long memory;
+
+        /**
+         * Creates a new thread of the search.
+         *
+         * @param index   the index of the thread.
+         * @param context the data shared by the threads.
+         * @param open    the open list of the thread.
+         */
+        private Worker(final int index, final Context context, final IntPriorityQueue open) {
+            this.index = index;
+            this.context = context;
+            this.registry = new StateRegistry(context.problem, context.keys);
+            this.nodes = new NodeStore();
+            this.owners = new int[1024];
+            this.open = open;
+            this.pruning = context.pruning == null ? null : new StubbornSets(context.pruning);
+            this.applicable = new int[context.generator.getBufferLength()];
+            this.inbox = new ConcurrentLinkedQueue<>();
+            this.explored = 0;
+            this.created = 0;
+            this.memory = 0;
+        }
+
+        /**
+         * Runs the thread until the search is over or stopped.
+         */
+        @Override
+        public void run() {
+            this.thread = Thread.currentThread();
+            try {
+                this.heuristic = StateHeuristic.getInstance(this.context.heuristic, this.context.problem);
+                this.search();
+            } catch (RuntimeException e) {
+                synchronized (this.context) {
+                    if (this.context.error == null) {
+                        this.context.error = e;
+                    }
+                }
+                this.context.stop = true;
+            } catch (OutOfMemoryError e) {
+                // The error is thrown again by the thread of the search once all the threads are stopped
+                if (this.context.outOfMemory == null) {
+                    this.context.outOfMemory = e;
+                }
+                this.context.stop = true;
+            }
+        }
+
+        /**
+         * Processes the messages and expands the nodes of the thread.
+         */
+        private void search() {
+            final Context context = this.context;
+            final AtomicInteger busy = context.busy;
+            final State current = new State();
+            final State next = new State();
+            boolean active = true;
+            int expansions = 0;
+            while (!context.stop) {
+                Message message = this.inbox.poll();
+                while (message != null) {
+                    if (!active) {
+                        // The thread becomes active before the message is consumed so that the counter stays positive
+                        busy.incrementAndGet();
+                        active = true;
+                    }
+                    this.insert(message.state, message.owner, message.parent, message.action, message.cost,
+                        message.depth);
+                    busy.decrementAndGet();
+                    message = this.inbox.poll();
+                }
+                if (!this.open.isEmpty()) {
+                    this.expand(current, next);
+                    expansions++;
+                    if (expansions % ParallelAStar.TIMEOUT_CHECK_INTERVAL == 0
+                            && System.currentTimeMillis() >= context.deadline) {
+                        context.stop = true;
+                    }
+                    if ((expansions & (AbstractStateSpaceSearch.MEMORY_CHECK_PERIOD - 1)) == 0) {
+                        this.memory = this.registry.getMemoryUsed() + this.nodes.getMemoryUsed()
+                            + this.open.getMemoryUsed();
+                    }
+                } else {
+                    if (active) {
+                        active = false;
+                        busy.decrementAndGet();
+                    }
+                    if (busy.get() == 0) {
+                        context.wakeUp();
+                        return;
+                    }
+                    if (System.currentTimeMillis() >= context.deadline) {
+                        context.stop = true;
+                    }
+                    // The thread is parked until a message is sent to it. The inbox is checked again after the flag
+                    // is set, so a message sent before the flag was visible is not missed. The time parked is bounded
+                    // to detect the end of the search and the stop of the threads.
+                    this.idle = true;
+                    if (this.inbox.isEmpty() && !context.stop) {
+                        LockSupport.parkNanos(this, ParallelAStar.IDLE_PARK_TIME);
+                    }
+                    this.idle = false;
+                }
+            }
+        }
+
+        /**
+         * Expands the best node of the open list of the thread.
+         *
+         * @param current the state used to store the state of the node.
+         * @param next    the state used to compute the successors of the node.
+         */
+        private void expand(final State current, final State next) {
+            final Context context = this.context;
+            final int id = this.open.poll();
+            // A closed node is an outdated entry of the open list
+            if (this.nodes.isClosed(id)) {
+                return;
+            }
+            this.nodes.setClosed(id, true);
+            final double cost = this.nodes.getCost(id);
+            // The node cannot lead to a cheaper solution than the best one
+            if (cost + this.nodes.getHeuristic(id) >= context.bound) {
+                return;
+            }
+            this.explored++;
+            this.registry.getState(id, current);
+            if (current.satisfy(context.problem.getGoal())) {
+                context.offer(this.index, id, cost);
+                return;
+            }
+            final int depth = this.nodes.getDepth(id) + 1;
+            final int[] applicable = this.applicable;
+            int nbApplicable = context.generator.getApplicableActions(current, applicable);
+            if (this.pruning != null) {
+                nbApplicable = this.pruning.prune(current, applicable, nbApplicable);
+            }
+            for (int a = 0; a < nbApplicable; a++) {
+                final int index = applicable[a];
+                final Action op = context.problem.getActions().get(index);
+                next.copy(current);
+                next.apply(op.getConditionalEffects(), current);
+                this.created++;
+                final double g = cost + op.getCost().getValue();
+                if (g >= context.bound) {
+                    continue;
+                }
+                final int owner = context.getOwner(next);
+                if (owner == this.index) {
+                    this.insert(next, this.index, id, index, g, depth);
+                } else {
+                    // The counter is incremented before the message is sent so that it stays positive until the
+                    // message is consumed
+                    context.busy.incrementAndGet();
+                    context.send(owner, new Message(new State(next), this.index, id, index, g, depth));
+                }
+            }
+        }
+
+        /**
+         * Inserts a state owned by the thread in its open list if the state is new or if it is reached with a lower
+         * cost.
+         *
+         * @param state  the state.
+         * @param owner  the thread that owns the parent of the state.
+         * @param parent the identifier of the parent of the state in the registry of its owner.
+         * @param action the action applied to the parent.
+         * @param cost   the cost of the state.
+         * @param depth  the depth of the state.
+         */
+        private void insert(final State state, final int owner, final int parent, final int action,
+                            final double cost, final int depth) {
+            final Context context = this.context;
+            final int size = this.registry.size();
+            final int id = this.registry.add(state);
+            final double h;
+            if (id == size) {
+                h = this.heuristic.estimate(state, context.problem.getGoal());
+            } else if (cost < this.nodes.getCost(id)) {
+                // The node is reopened if it was already closed
+                h = this.nodes.getHeuristic(id);
+            } else {
+                return;
+            }
+            this.nodes.set(id, parent, action, cost, depth, h);
+            if (id >= this.owners.length) {
+                this.owners = Arrays.copyOf(this.owners, 2 * this.owners.length);
+            }
+            this.owners[id] = owner;
+            this.open.add(id, cost + context.weight * h, h);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.plan.Plan;
+
+/**
+ * This interface defines the listener notified each time a search finds a plan better than the plans found before,
+ * e.g., by an anytime search strategy.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public interface PlanListener {
+
+    /**
+     * Called when a search finds a plan better than the plans found before. The listener is called by the thread of
+     * the search: it must return quickly and must be thread safe if it is shared by several searches.
+     *
+     * @param plan the plan found.
+     */
+    void planFound(final Plan plan);
+
+}
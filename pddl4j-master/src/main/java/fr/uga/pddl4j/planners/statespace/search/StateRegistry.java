@@ -0,0 +1,337 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.ZobristKeys;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a registry of states. The registry stores the states reached during a search in a packed
+ * form: all the states of a problem have the same number of words, i.e., the number of fluents of the problem
+ * divided by 64, and are copied in large arrays of longs allocated by chunks. Each state receives a unique integer
+ * identifier. The identifiers are given in the insertion order starting from 0, so a state added to the registry is
+ * new if and only if its identifier is equal to the size of the registry before the insertion. The registry is not
+ * thread safe.
+ *
+ * <p>The states are indexed by their Zobrist hash code (see {@link ZobristKeys}). The states given to the registry
+ * should be hashed with the keys of the registry (see {@link #getZobristKeys()}): their hash code is then updated
+ * incrementally when effects are applied and the registry does not have to hash them from scratch.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class StateRegistry {
+
+    /**
+     * The logarithm in base 2 of the number of states stored in a chunk.
+     */
+    private static final int CHUNK_SHIFT = 12;
+
+    /**
+     * The number of states stored in a chunk.
+     */
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+
+    /**
+     * The mask used to compute the position of a state in its chunk.
+     */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * The default capacity of the index of the registry.
+     */
+    private static final int DEFAULT_INDEX_CAPACITY = 1024;
+
+    /**
+     * The number of words of the states.
+     */
+    private final int width;
+
+    /**
+     * The Zobrist keys used to hash the states.
+     */
+    private final ZobristKeys keys;
+
+    /**
+     * The chunks that contain the packed states.
+     */
+    private long[][] chunks;
+
+    /**
+     * The chunks that contain the Zobrist hash codes of the states. The hash codes are restored with the states, so the
+     * states taken out of the registry do not have to be hashed again.
+     */
+    private long[][] hashes;
+
+    /**
+     * The number of states stored in the registry.
+     */
+    private int size;
+
+    /**
+     * The open addressing index of the states. Each slot contains the identifier of a state plus one or 0 if the slot
+     * is empty.
+     */
+    private int[] index;
+
+    /**
+     * Creates a new registry for the states of a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public StateRegistry(final Problem problem) {
+        this(problem.getFluents().size());
+    }
+
+    /**
+     * Creates a new registry for states with a specified number of fluents.
+     *
+     * @param fluents the number of fluents of the states.
+     */
+    public StateRegistry(final int fluents) {
+        this(fluents, new ZobristKeys(fluents));
+    }
+
+    /**
+     * Creates a new registry for the states of a specified problem hashed with specified Zobrist keys. The keys can be
+     * shared by several registries, e.g., the registries of the threads of a parallel search.
+     *
+     * @param problem the problem.
+     * @param keys    the Zobrist keys used to hash the states.
+     */
+    public StateRegistry(final Problem problem, final ZobristKeys keys) {
+        this(problem.getFluents().size(), keys);
+    }
+
+    /**
+     * Creates a new registry for states with a specified number of fluents hashed with specified Zobrist keys.
+     *
+     * @param fluents the number of fluents of the states.
+     * @param keys    the Zobrist keys used to hash the states.
+     */
+    private StateRegistry(final int fluents, final ZobristKeys keys) {
+        this.width = Math.max(1, (fluents + Long.SIZE - 1) / Long.SIZE);
+        this.keys = keys;
+        this.chunks = new long[1][];
+        this.chunks[0] = new long[CHUNK_SIZE * this.width];
+        this.hashes = new long[1][];
+        this.hashes[0] = new long[CHUNK_SIZE];
+        this.size = 0;
+        this.index = new int[StateRegistry.DEFAULT_INDEX_CAPACITY];
+    }
+
+    /**
+     * Returns an estimation of the memory used by the registry in bytes. The Zobrist keys are not counted because
+     * they can be shared by several registries.
+     *
+     * @return an estimation of the memory used by the registry in bytes.
+     */
+    public long getMemoryUsed() {
+        // The chunks allocated are kept when the registry is cleared
+        long allocated = 0;
+        for (long[] chunk : this.chunks) {
+            if (chunk != null) {
+                allocated++;
+            }
+        }
+        return MemoryEstimator.sizeOfObject(4, 8) + MemoryEstimator.sizeOf(this.chunks)
+            + MemoryEstimator.sizeOf(this.hashes) + MemoryEstimator.sizeOf(this.index)
+            + allocated * (MemoryEstimator.sizeOfArray(CHUNK_SIZE * this.width, Long.BYTES)
+            + MemoryEstimator.sizeOfArray(CHUNK_SIZE, Long.BYTES));
+    }
+
+    /**
+     * Returns the number of states stored in the registry.
+     *
+     * @return the number of states stored in the registry.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of words used to store a state.
+     *
+     * @return the number of words used to store a state.
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * Returns the Zobrist keys used by the registry to hash the states.
+     *
+     * @return the Zobrist keys used by the registry to hash the states.
+     */
+    public ZobristKeys getZobristKeys() {
+        return this.keys;
+    }
+
+    /**
+     * Adds a state to the registry if it is not already stored and returns its identifier.
+     *
+     * @param state the state to add.
+     * @return the identifier of the state.
+     */
+    public int add(final State state) {
+        final int slot = this.find(state);
+        final int id = this.index[slot] - 1;
+        if (id != -1) {
+            return id;
+        }
+        this.index[slot] = this.size + 1;
+        this.size++;
+        if (2 * this.size > this.index.length) {
+            this.resize();
+        }
+        return this.size - 1;
+    }
+
+    /**
+     * Removes all the states of the registry. The chunks already allocated are kept and reused by the next states.
+     */
+    public void clear() {
+        Arrays.fill(this.index, 0);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the identifier of a state or -1 if the state is not stored in the registry.
+     *
+     * @param state the state.
+     * @return the identifier of the state or -1 if the state is not stored in the registry.
+     */
+    public int lookup(final State state) {
+        return this.index[this.find(state)] - 1;
+    }
+
+    /**
+     * Returns a new state equal to the state with a specified identifier. The state is hashed with the keys of the
+     * registry.
+     *
+     * @param id the identifier of the state.
+     * @return the state with the specified identifier.
+     */
+    public State getState(final int id) {
+        final State state = new State();
+        this.getState(id, state);
+        return state;
+    }
+
+    /**
+     * Copies the state with a specified identifier in a specified state. The state is hashed with the keys of the
+     * registry: its hash code is restored and not computed again.
+     *
+     * @param id    the identifier of the state.
+     * @param state the state where the state is copied.
+     */
+    public void getState(final int id, final State state) {
+        if (id < 0 || id >= this.size) {
+            throw new IndexOutOfBoundsException("id: " + id);
+        }
+        state.copyWordsFrom(this.chunks[id >>> CHUNK_SHIFT], (id & CHUNK_MASK) * this.width, this.width);
+        state.setZobristKeys(this.keys, this.hashes[id >>> CHUNK_SHIFT][id & CHUNK_MASK]);
+    }
+
+    /**
+     * Copies a state in the first free position of the chunks and returns the slot of the index where the state is
+     * stored or where it must be stored if it is not already in the registry.
+     *
+     * @param state the state.
+     * @return the slot of the index of the state.
+     */
+    private int find(final State state) {
+        final int chunk = this.size >>> CHUNK_SHIFT;
+        if (chunk == this.chunks.length) {
+            this.chunks = Arrays.copyOf(this.chunks, 2 * this.chunks.length);
+            this.hashes = Arrays.copyOf(this.hashes, 2 * this.hashes.length);
+        }
+        if (this.chunks[chunk] == null) {
+            this.chunks[chunk] = new long[CHUNK_SIZE * this.width];
+            this.hashes[chunk] = new long[CHUNK_SIZE];
+        }
+        final long[] words = this.chunks[chunk];
+        final int offset = (this.size & CHUNK_MASK) * this.width;
+        state.copyWordsTo(words, offset, this.width);
+        final long hash = state.getZobristKeys() == this.keys ? state.longHashCode() : this.keys.hash(state);
+        this.hashes[chunk][this.size & CHUNK_MASK] = hash;
+        final int mask = this.index.length - 1;
+        int slot = StateRegistry.mix(hash) & mask;
+        int id = this.index[slot] - 1;
+        while (id != -1 && (this.hashes[id >>> CHUNK_SHIFT][id & CHUNK_MASK] != hash
+                || !this.equals(id, words, offset))) {
+            slot = (slot + 1) & mask;
+            id = this.index[slot] - 1;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the capacity of the index of the registry.
+     */
+    private void resize() {
+        final int[] table = new int[2 * this.index.length];
+        final int mask = table.length - 1;
+        for (int id = 0; id < this.size; id++) {
+            int slot = StateRegistry.mix(this.hashes[id >>> CHUNK_SHIFT][id & CHUNK_MASK]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id + 1;
+        }
+        this.index = table;
+    }
+
+    /**
+     * Returns <code>true</code> if the state with a specified identifier is equal to the packed state stored in a
+     * specified array.
+     *
+     * @param id     the identifier of the state.
+     * @param words  the array that contains the packed state.
+     * @param offset the position of the packed state in the array.
+     * @return <code>true</code> if the states are equal; <code>false</code> otherwise.
+     */
+    private boolean equals(final int id, final long[] words, final int offset) {
+        final long[] other = this.chunks[id >>> CHUNK_SHIFT];
+        final int start = (id & CHUNK_MASK) * this.width;
+        for (int i = 0; i < this.width; i++) {
+            if (other[start + i] != words[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Folds a hash code on 32 bits and spreads its bits to compute the slot of a state in the index.
+     *
+     * @param hash the hash code.
+     * @return the mixed hash code.
+     */
+    private static int mix(final long hash) {
+        final int h = (int) (hash ^ (hash >>> 32)) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
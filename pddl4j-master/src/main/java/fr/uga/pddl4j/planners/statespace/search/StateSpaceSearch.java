@@ -17,8 +17,10 @@ package fr.uga.pddl4j.planners.statespace.search;
 
 import fr.uga.pddl4j.heuristics.state.StateHeuristic;
 import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.planners.SearchListener;
 import fr.uga.pddl4j.planners.SearchStrategy;
 import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.util.IntBucketQueue;
 
 /**
  * This interface defines the main methods for search strategies.
@@ -44,6 +46,84 @@ public interface StateSpaceSearch extends SearchStrategy {
      */
     static final int DEFAULT_TIMEOUT = 600;
 
+    /**
+     * The default open list (BUCKET).
+     */
+    static final OpenList DEFAULT_OPEN_LIST = OpenList.BUCKET;
+
+    /**
+     * The default tie-breaking policy of the bucket open list (FIFO).
+     */
+    static final IntBucketQueue.TieBreaking DEFAULT_TIE_BREAKING = IntBucketQueue.TieBreaking.FIFO;
+
+    /**
+     * The default number of threads used to evaluate the heuristic (a single thread, the parallel evaluation must be
+     * requested explicitly).
+     */
+    static final int DEFAULT_HEURISTIC_THREADS = 1;
+
+    /**
+     * The default value of the flag used to measure exactly the memory used by the search (false).
+     */
+    static final boolean DEFAULT_EXACT_MEMORY = false;
+
+    /**
+     * The default width of the beam of the beam search strategy (100).
+     */
+    static final int DEFAULT_BEAM_WIDTH = 100;
+
+    /**
+     * The default directory of the files of the external search strategies (the temporary directory of the system).
+     */
+    static final String DEFAULT_EXTERNAL_DIRECTORY = System.getProperty("java.io.tmpdir");
+
+    /**
+     * The default value of the flag used to prune the applicable actions with strong stubborn sets (false).
+     */
+    static final boolean DEFAULT_STUBBORN_SETS = false;
+
+    /**
+     * The default value of the flag used to detect the dead ends (true).
+     */
+    static final boolean DEFAULT_DEAD_END_DETECTION = true;
+
+    /**
+     * The default value of the flag used to merge the symmetric states (false).
+     */
+    static final boolean DEFAULT_SYMMETRIES = false;
+
+    /**
+     * The default size in megabytes of the table of the states reached in bitstate hashing mode (0, i.e., the bitstate
+     * hashing is disabled).
+     */
+    static final int DEFAULT_BITSTATE_MEMORY = 0;
+
+    /**
+     * The default number of hash functions of the table of the states reached in bitstate hashing mode (3).
+     */
+    static final int DEFAULT_BITSTATE_HASHES = 3;
+
+    /**
+     * The default memory limit of the search in megabytes (0, i.e., the memory used by the search is not limited).
+     */
+    static final int DEFAULT_MEMORY_LIMIT = 0;
+
+    /**
+     * The implementations of the open list of the best first search strategies.
+     */
+    enum OpenList {
+        /**
+         * The open list is a binary heap. The insertion and the removal of a node is in O(log n).
+         */
+        HEAP,
+        /**
+         * The open list is a two-level bucket queue indexed by f and then by h. The insertion and the removal of a
+         * node is in O(1) when the costs of the actions and the weight of the heuristic are integral. Otherwise, the
+         * search falls back to a binary heap.
+         */
+        BUCKET,
+    }
+
     /**
      * Returns the heuristic to use to solve the planning problem.
      *
@@ -72,6 +152,317 @@ public interface StateSpaceSearch extends SearchStrategy {
      */
     void setWeight(final double weight);
 
+    /**
+     * Returns the implementation of the open list used by the best first search strategies.
+     *
+     * @return the implementation of the open list.
+     */
+    OpenList getOpenList();
+
+    /**
+     * Sets the implementation of the open list used by the best first search strategies.
+     *
+     * @param openList the implementation of the open list. The open list cannot be null.
+     */
+    void setOpenList(final OpenList openList);
+
+    /**
+     * Returns the tie-breaking policy of the nodes with the same f and h values in a bucket open list.
+     *
+     * @return the tie-breaking policy of the bucket open list.
+     */
+    IntBucketQueue.TieBreaking getTieBreaking();
+
+    /**
+     * Sets the tie-breaking policy of the nodes with the same f and h values in a bucket open list.
+     *
+     * @param tieBreaking the tie-breaking policy of the bucket open list. The policy cannot be null.
+     */
+    void setTieBreaking(final IntBucketQueue.TieBreaking tieBreaking);
+
+    /**
+     * Returns the number of threads used to evaluate the heuristic values of the successors of a node.
+     *
+     * @return the number of threads used to evaluate the heuristic.
+     */
+    int getHeuristicThreads();
+
+    /**
+     * Sets the number of threads used to evaluate the heuristic values of the successors of a node.
+     *
+     * @param threads the number of threads used to evaluate the heuristic. The number of threads must be greater
+     *                than 0.
+     */
+    void setHeuristicThreads(final int threads);
+
+    /**
+     * Returns if the memory used by the search is measured exactly. By default, the memory used is estimated from the
+     * size of the data structures of the search.
+     *
+     * @return <code>true</code> if the memory used is measured exactly; <code>false</code> if it is estimated.
+     */
+    boolean isExactMemory();
+
+    /**
+     * Sets if the memory used by the search is measured exactly. An exact measure walks the graph of objects of the
+     * search in the heap and is much more expensive than an estimation.
+     *
+     * @param exact <code>true</code> to measure exactly the memory used; <code>false</code> to estimate it.
+     */
+    void setExactMemory(final boolean exact);
+
+    /**
+     * Returns the width of the beam, i.e., the maximum number of nodes kept in each layer of the beam search strategy.
+     *
+     * @return the width of the beam.
+     */
+    int getBeamWidth();
+
+    /**
+     * Sets the width of the beam, i.e., the maximum number of nodes kept in each layer of the beam search strategy.
+     *
+     * @param width the width of the beam. The width must be greater than 0.
+     */
+    void setBeamWidth(final int width);
+
+    /**
+     * Returns the directory where the external search strategies write their files.
+     *
+     * @return the directory of the files of the external search strategies.
+     */
+    String getExternalDirectory();
+
+    /**
+     * Sets the directory where the external search strategies write their files. The directory should be on a local
+     * disk because the files are memory-mapped.
+     *
+     * @param directory the directory of the files of the external search strategies. The directory cannot be null.
+     */
+    void setExternalDirectory(final String directory);
+
+    /**
+     * Returns if the applicable actions of the states expanded by the search are pruned with strong stubborn sets.
+     *
+     * @return <code>true</code> if the applicable actions are pruned with strong stubborn sets.
+     */
+    boolean isStubbornSets();
+
+    /**
+     * Sets if the applicable actions of the states expanded by the search are pruned with strong stubborn sets.
+     *
+     * @param stubbornSets <code>true</code> to prune the applicable actions with strong stubborn sets.
+     * @see StubbornSets
+     */
+    void setStubbornSets(final boolean stubbornSets);
+
+    /**
+     * Sets the stubborn sets of the problem computed once for several searches, e.g., the members of a portfolio. The
+     * search uses a copy that shares the relations of the actions but has its own statistics. If the stubborn sets
+     * are for an other problem, the search computes its own stubborn sets.
+     *
+     * @param stubbornSets the stubborn sets to share.
+     */
+    void setSharedStubbornSets(final StubbornSets stubbornSets);
+
+    /**
+     * Returns the number of applicable actions of the states pruned with strong stubborn sets.
+     *
+     * @return the number of applicable actions of the states pruned.
+     */
+    long getApplicableActions();
+
+    /**
+     * Returns the number of applicable actions pruned with strong stubborn sets.
+     *
+     * @return the number of applicable actions pruned.
+     */
+    long getPrunedActions();
+
+    /**
+     * Returns if the states reached by the search are replaced by a canonical symmetric state.
+     *
+     * @return <code>true</code> if the symmetric states are merged.
+     */
+    boolean isSymmetries();
+
+    /**
+     * Sets if the states reached by the search are replaced by a canonical symmetric state. Only the best first search
+     * strategies A* and greedy best first search merge the symmetric states.
+     *
+     * @param symmetries <code>true</code> to merge the symmetric states.
+     * @see Symmetries
+     */
+    void setSymmetries(final boolean symmetries);
+
+    /**
+     * Sets the symmetries of the problem computed once for several searches, e.g., the members of a portfolio. The
+     * symmetries are not modified by the searches and can be shared by several threads. If the symmetries are for an
+     * other problem, the search detects its own symmetries.
+     *
+     * @param symmetries the symmetries to share.
+     */
+    void setSharedSymmetries(final Symmetries symmetries);
+
+    /**
+     * Returns if the search detects the dead ends: the actions not reachable from the initial state are not tested in
+     * the states expanded, the states known as dead ends are not evaluated and the new dead ends are recorded in the
+     * store of the dead ends.
+     *
+     * @return <code>true</code> if the search detects the dead ends.
+     */
+    boolean isDeadEndDetection();
+
+    /**
+     * Sets if the search detects the dead ends. If the detection is disabled, the store of the dead ends is not used
+     * and the applicable actions are computed with the successor generator of the problem.
+     *
+     * @param detection <code>true</code> to detect the dead ends.
+     * @see DeadEnds
+     */
+    void setDeadEndDetection(final boolean detection);
+
+    /**
+     * Returns the store of the dead ends used by the search.
+     *
+     * @return the store of the dead ends or <code>null</code> if the search did not start and no store was set.
+     */
+    DeadEnds getDeadEnds();
+
+    /**
+     * Sets the store of the dead ends used by the search. The store can be shared by several searches of the same
+     * problem. If no store is set or if the store is for an other problem, the search creates its own store.
+     *
+     * @param deadEnds the store of the dead ends.
+     */
+    void setDeadEnds(final DeadEnds deadEnds);
+
+    /**
+     * Returns the size in megabytes of the table of the states reached by the blind search strategies in bitstate
+     * hashing mode.
+     *
+     * @return the size of the table in megabytes or 0 if the bitstate hashing is disabled.
+     */
+    int getBitStateMemory();
+
+    /**
+     * Sets the size in megabytes of the table of the states reached by the breadth first and depth first search
+     * strategies in bitstate hashing mode. In this mode, the memory used to detect the duplicate states is bounded but
+     * some states can be omitted.
+     *
+     * @param memory the size of the table in megabytes or 0 to disable the bitstate hashing.
+     * @see BitStateTable
+     */
+    void setBitStateMemory(final int memory);
+
+    /**
+     * Returns the number of hash functions of the table of the states reached in bitstate hashing mode.
+     *
+     * @return the number of hash functions.
+     */
+    int getBitStateHashes();
+
+    /**
+     * Sets the number of hash functions of the table of the states reached in bitstate hashing mode.
+     *
+     * @param hashes the number of hash functions. The number must be greater than 0.
+     */
+    void setBitStateHashes(final int hashes);
+
+    /**
+     * Returns the estimated probability that a state was omitted by the last search in bitstate hashing mode.
+     *
+     * @return the estimated probability of omission or 0 if the bitstate hashing is disabled.
+     */
+    double getOmissionProbability();
+
+    /**
+     * Returns the memory limit of the search in megabytes.
+     *
+     * @return the memory limit of the search in megabytes or 0 if the memory used by the search is not limited.
+     */
+    int getMemoryLimit();
+
+    /**
+     * Sets the memory limit of the search in megabytes. The search estimates periodically the memory used by its data
+     * structures and stops when the limit is exceeded. The search also stops if the memory of the Java virtual
+     * machine is exhausted before. In both cases, the search returns <code>null</code> and the memory limit is
+     * reported as reached (see {@link #isMemoryLimitReached()}).
+     *
+     * @param limit the memory limit of the search in megabytes or 0 to not limit the memory used by the search.
+     */
+    void setMemoryLimit(final int limit);
+
+    /**
+     * Returns <code>true</code> if the last search was stopped because its memory limit was reached.
+     *
+     * @return <code>true</code> if the memory limit was reached; <code>false</code> otherwise.
+     */
+    boolean isMemoryLimitReached();
+
+    /**
+     * Returns the plan used to warm start the search.
+     *
+     * @return the plan used to warm start the search or <code>null</code> if the search is not warm started.
+     */
+    Plan getWarmStart();
+
+    /**
+     * Sets the plan used to warm start the search, typically the plan of a problem before a change of its initial
+     * state or of its goal (see {@link fr.uga.pddl4j.problem.DerivedProblem}). Before searching, the search replays
+     * the suffixes of the plan from the initial state of the problem, from the shortest to the longest, and returns
+     * the first suffix that reaches the goal. If no suffix reaches the goal, the problem is searched as usual. The
+     * optimal search strategies, i.e., A*, IDA*, anytime A* and parallel A*, still search the problem: the suffix is
+     * only used as an upper bound of the cost of the plans searched and is returned if no cheaper plan is found.
+     *
+     * @param plan the plan used to warm start the search or <code>null</code> to not warm start the search.
+     */
+    void setWarmStart(final Plan plan);
+
+    /**
+     * Requests the search to stop as soon as possible. The search checks the request between two expansions and
+     * returns <code>null</code> if no solution was found before. A request made before the search starts stops the
+     * search as soon as it starts, and the request is cleared at the end of the search, so that the search can be run
+     * again. The interruption of the thread of the search also stops the search but is not recorded as a request.
+     */
+    void cancel();
+
+    /**
+     * Returns <code>true</code> if a request to stop the search is pending, i.e., if the search was cancelled and has
+     * not ended since.
+     *
+     * @return <code>true</code> if a request to stop the search is pending; <code>false</code> otherwise.
+     */
+    boolean isCancelled();
+
+    /**
+     * Returns the listener notified each time the search finds a plan better than the plans found before.
+     *
+     * @return the listener of the plans found or <code>null</code> if no listener is set.
+     */
+    PlanListener getPlanListener();
+
+    /**
+     * Sets the listener notified each time the search finds a plan better than the plans found before.
+     *
+     * @param listener the listener of the plans found or <code>null</code> to remove the listener.
+     */
+    void setPlanListener(final PlanListener listener);
+
+    /**
+     * Returns the listener notified periodically of the progress of the search.
+     *
+     * @return the listener of the progress or <code>null</code> if no listener is set.
+     */
+    SearchListener getSearchListener();
+
+    /**
+     * Sets the listener notified periodically of the progress of the search. When no listener is set, the progress of
+     * the search is not computed.
+     *
+     * @param listener the listener of the progress or <code>null</code> to remove the listener.
+     */
+    void setSearchListener(final SearchListener listener);
+
     /**
      * Sets the time out of the planner.
      *
@@ -156,6 +547,34 @@ public interface StateSpaceSearch extends SearchStrategy {
      */
     void setCreatedNodes(final int createdNodes);
 
+    /**
+     * Returns the number of nodes explored by each thread of the search. A sequential search has a single thread.
+     *
+     * @return the number of nodes explored by each thread of the search.
+     */
+    int[] getExploredNodesPerThread();
+
+    /**
+     * Sets the number of nodes explored by each thread of the search.
+     *
+     * @param exploredNodes the number of nodes explored by each thread of the search.
+     */
+    void setExploredNodesPerThread(final int[] exploredNodes);
+
+    /**
+     * Returns the number of nodes created by each thread of the search. A sequential search has a single thread.
+     *
+     * @return the number of nodes created by each thread of the search.
+     */
+    int[] getCreatedNodesPerThread();
+
+    /**
+     * Sets the number of nodes created by each thread of the search.
+     *
+     * @param createdNodes the number of nodes created by each thread of the search.
+     */
+    void setCreatedNodesPerThread(final int[] createdNodes);
+
     /**
      * Solves the planning problem and returns the first solution node found.
      *
@@ -247,6 +666,18 @@ public interface StateSpaceSearch extends SearchStrategy {
                 return new GreedyBestFirstSearch(timeout, heuristic, weight);
             case HILL_CLIMBING:
                 return new HillClimbing(timeout, heuristic, weight);
+            case PARALLEL_ASTAR:
+                return new ParallelAStar(timeout, heuristic, weight);
+            case LAZY_GREEDY_BEST_FIRST:
+                return new LazyGreedyBestFirstSearch(timeout, heuristic, weight);
+            case ANYTIME_ASTAR:
+                return new AnytimeAStar(timeout, heuristic, weight);
+            case ITERATIVE_DEEPENING_ASTAR:
+                return new IterativeDeepeningAStar(timeout, heuristic, weight);
+            case BEAM:
+                return new BeamSearch(timeout, heuristic, weight);
+            case EXTERNAL_BREADTH_FIRST:
+                return new ExternalBreadthFirstSearch(timeout);
             default:
                 return null;
         }
@@ -0,0 +1,485 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class implements the pruning of the applicable actions of a state with strong stubborn sets. For more about
+ * this technique see Y. Alkhazraji, M. Wehrle, R. Mattmüller and M. Helmert, A Stubborn Set Algorithm for Optimal
+ * Planning, in: Proceedings of the 20th European Conference on Artificial Intelligence, 2012.
+ *
+ * <p>A strong stubborn set of a state contains the achievers of an unsatisfied goal, the achievers of an unsatisfied
+ * precondition of each action of the set that is not applicable and the actions that interfere with each action of
+ * the set that is applicable. Only the applicable actions of the set are expanded: the other interleavings of the
+ * independent actions are pruned and at least one optimal plan is kept from each state. The interference relations are
+ * precomputed from the preconditions and the effects of the actions. All the conditional effects of an action are
+ * taken into account and the fluents of their conditions are read with both values, so the relations are
+ * over-approximated when the actions have conditional effects.</p>
+ *
+ * <p>The pruning is disabled when the problem has numeric constraints or numeric effects because the relations do not
+ * take them into account. It is also disabled when the ratio of the actions pruned in the first states is too small
+ * to pay for the computation of the stubborn sets. An instance is not thread safe: the threads of a search use copies
+ * that share the relations of the actions (see {@link #StubbornSets(StubbornSets)}).</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class StubbornSets {
+
+    /**
+     * The number of states pruned before the pruning ratio is checked.
+     */
+    public static final int MIN_CHECKED_STATES = 1000;
+
+    /**
+     * The minimum ratio of the applicable actions pruned in the first states to keep the pruning enabled.
+     */
+    public static final double MIN_PRUNING_RATIO = 0.2;
+
+    /**
+     * The problem of the relations.
+     */
+    private final Problem problem;
+
+    /**
+     * The literals of the precondition of each action. The literal <code>2f</code> is the fluent <code>f</code> and
+     * the literal <code>2f + 1</code> is its negation.
+     */
+    private final int[][] preconditions;
+
+    /**
+     * The literals of the precondition and of the conditions of the conditional effects of each action.
+     */
+    private final int[][] reads;
+
+    /**
+     * The literals made true by the conditional effects of each action.
+     */
+    private final int[][] effects;
+
+    /**
+     * The actions that make true each literal.
+     */
+    private final int[][] achievers;
+
+    /**
+     * The actions that read each literal.
+     */
+    private final int[][] readers;
+
+    /**
+     * The literals of the goal.
+     */
+    private final int[] goal;
+
+    /**
+     * The flag used to indicate if the pruning is supported by the problem, i.e., if the problem has no numeric
+     * constraints.
+     */
+    private final boolean supported;
+
+    /**
+     * The flag used to indicate if the pruning is enabled.
+     */
+    private boolean enabled;
+
+    /**
+     * The mark of the actions of the current stubborn set.
+     */
+    private final int[] marks;
+
+    /**
+     * The mark of the actions applicable in the current state.
+     */
+    private final int[] applicable;
+
+    /**
+     * The actions of the current stubborn set not yet processed.
+     */
+    private final int[] queue;
+
+    /**
+     * The mark of the current state.
+     */
+    private int stamp;
+
+    /**
+     * The number of states pruned.
+     */
+    private long states;
+
+    /**
+     * The number of applicable actions of the states pruned.
+     */
+    private long applicableActions;
+
+    /**
+     * The number of actions pruned.
+     */
+    private long prunedActions;
+
+    /**
+     * Creates the stubborn sets of a specified problem.
+     *
+     * @param problem the problem. The problem cannot be null.
+     */
+    public StubbornSets(final Problem problem) {
+        Objects.requireNonNull(problem);
+        this.problem = problem;
+        final List<Action> actions = problem.getActions();
+        final int literals = 2 * problem.getFluents().size();
+        boolean numeric = StubbornSets.isNumeric(problem.getGoal());
+        this.preconditions = new int[actions.size()][];
+        this.reads = new int[actions.size()][];
+        this.effects = new int[actions.size()][];
+        final List<List<Integer>> achievers = new ArrayList<>(literals);
+        final List<List<Integer>> readers = new ArrayList<>(literals);
+        for (int l = 0; l < literals; l++) {
+            achievers.add(new ArrayList<>());
+            readers.add(new ArrayList<>());
+        }
+        for (int a = 0; a < actions.size(); a++) {
+            final Action action = actions.get(a);
+            numeric |= StubbornSets.isNumeric(action.getPrecondition());
+            final BitVector readPositive = new BitVector(action.getPrecondition().getPositiveFluents());
+            final BitVector readNegative = new BitVector(action.getPrecondition().getNegativeFluents());
+            final BitVector effectPositive = new BitVector();
+            final BitVector effectNegative = new BitVector();
+            for (ConditionalEffect effect : action.getConditionalEffects()) {
+                numeric |= StubbornSets.isNumeric(effect.getCondition())
+                    || !effect.getEffect().getNumericAssignments().isEmpty();
+                // The outcome of a conditional effect changes with both values of the fluents of its condition
+                final BitVector condition = new BitVector(effect.getCondition().getPositiveFluents());
+                condition.or(effect.getCondition().getNegativeFluents());
+                readPositive.or(condition);
+                readNegative.or(condition);
+                effectPositive.or(effect.getEffect().getPositiveFluents());
+                effectNegative.or(effect.getEffect().getNegativeFluents());
+            }
+            this.preconditions[a] = StubbornSets.toLiterals(action.getPrecondition().getPositiveFluents(),
+                action.getPrecondition().getNegativeFluents());
+            this.reads[a] = StubbornSets.toLiterals(readPositive, readNegative);
+            this.effects[a] = StubbornSets.toLiterals(effectPositive, effectNegative);
+            for (int l : this.effects[a]) {
+                achievers.get(l).add(a);
+            }
+            for (int l : this.reads[a]) {
+                readers.get(l).add(a);
+            }
+        }
+        this.achievers = StubbornSets.toArrays(achievers);
+        this.readers = StubbornSets.toArrays(readers);
+        this.goal = StubbornSets.toLiterals(problem.getGoal().getPositiveFluents(),
+            problem.getGoal().getNegativeFluents());
+        this.supported = !numeric;
+        this.enabled = this.supported;
+        this.marks = new int[actions.size()];
+        this.applicable = new int[actions.size()];
+        this.queue = new int[actions.size()];
+        this.stamp = 0;
+    }
+
+    /**
+     * Creates a copy of stubborn sets. The copy shares the relations of the actions but has its own statistics, so it
+     * can be used by an other thread.
+     *
+     * @param other the stubborn sets to copy.
+     */
+    public StubbornSets(final StubbornSets other) {
+        this.problem = other.problem;
+        this.preconditions = other.preconditions;
+        this.reads = other.reads;
+        this.effects = other.effects;
+        this.achievers = other.achievers;
+        this.readers = other.readers;
+        this.goal = other.goal;
+        this.supported = other.supported;
+        this.enabled = other.enabled;
+        this.marks = new int[other.marks.length];
+        this.applicable = new int[other.applicable.length];
+        this.queue = new int[other.queue.length];
+        this.stamp = 0;
+    }
+
+    /**
+     * Returns the problem of the stubborn sets.
+     *
+     * @return the problem of the stubborn sets.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns <code>true</code> if the pruning is enabled.
+     *
+     * @return <code>true</code> if the pruning is enabled.
+     */
+    public boolean isEnabled() {
+        return this.enabled;
+    }
+
+    /**
+     * Returns the number of applicable actions of the states pruned.
+     *
+     * @return the number of applicable actions of the states pruned.
+     */
+    public long getApplicableActions() {
+        return this.applicableActions;
+    }
+
+    /**
+     * Returns the number of actions pruned.
+     *
+     * @return the number of actions pruned.
+     */
+    public long getPrunedActions() {
+        return this.prunedActions;
+    }
+
+    /**
+     * Adds the statistics of other stubborn sets to the statistics of these stubborn sets, e.g., the statistics of the
+     * copies used by the threads of a search.
+     *
+     * @param other the other stubborn sets.
+     */
+    public void addStatistics(final StubbornSets other) {
+        this.states += other.states;
+        this.applicableActions += other.applicableActions;
+        this.prunedActions += other.prunedActions;
+    }
+
+    /**
+     * Resets the statistics of the stubborn sets and enables again the pruning if the problem supports it. The
+     * relations of the actions are kept, so the stubborn sets can be reused by an other search of the same problem.
+     */
+    public void resetStatistics() {
+        this.states = 0;
+        this.applicableActions = 0;
+        this.prunedActions = 0;
+        this.enabled = this.supported;
+    }
+
+    /**
+     * Returns an estimation of the memory used by the stubborn sets in bytes.
+     *
+     * @return an estimation of the memory used by the stubborn sets in bytes.
+     */
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOfObject(11, 2 + 4 + 3 * 8) + StubbornSets.sizeOf(this.preconditions)
+            + StubbornSets.sizeOf(this.reads) + StubbornSets.sizeOf(this.effects)
+            + StubbornSets.sizeOf(this.achievers) + StubbornSets.sizeOf(this.readers)
+            + MemoryEstimator.sizeOf(this.goal) + MemoryEstimator.sizeOf(this.marks)
+            + MemoryEstimator.sizeOf(this.applicable) + MemoryEstimator.sizeOf(this.queue);
+    }
+
+    /**
+     * Returns the applicable actions of a state that belong to a strong stubborn set of the state. The actions are
+     * returned in the order of the specified applicable actions. If the pruning is disabled or the state satisfies the
+     * goal, all the applicable actions are returned.
+     *
+     * @param state   the state.
+     * @param actions the actions applicable in the state.
+     * @return the applicable actions of the stubborn set.
+     */
+    public int[] prune(final State state, final int[] actions) {
+        final int[] pruned = actions.clone();
+        final int count = this.prune(state, pruned, actions.length);
+        return count == actions.length ? actions : Arrays.copyOf(pruned, count);
+    }
+
+    /**
+     * Removes from the first actions of a buffer the applicable actions of a state that do not belong to a strong
+     * stubborn set of the state. The actions kept are moved, in the same order, to the beginning of the buffer and
+     * their number is returned. If the pruning is disabled or the state satisfies the goal, all the applicable
+     * actions are kept.
+     *
+     * @param state   the state.
+     * @param actions the buffer that contains the actions applicable in the state.
+     * @param length  the number of actions applicable in the state stored at the beginning of the buffer.
+     * @return the number of applicable actions of the stubborn set.
+     */
+    public int prune(final State state, final int[] actions, final int length) {
+        this.applicableActions += length;
+        if (!this.enabled || length == 0) {
+            return length;
+        }
+        final int literal = this.selectUnsatisfied(state, this.goal);
+        if (literal == -1) {
+            return length;
+        }
+        this.nextStamp();
+        final int stamp = this.stamp;
+        for (int i = 0; i < length; i++) {
+            this.applicable[actions[i]] = stamp;
+        }
+        // Compute the closure of the stubborn set from the achievers of the unsatisfied goal
+        int tail = this.addAll(this.achievers[literal], 0);
+        int head = 0;
+        while (head < tail) {
+            final int a = this.queue[head++];
+            if (this.applicable[a] == stamp) {
+                // The actions that interfere with an applicable action are added
+                for (int l : this.effects[a]) {
+                    tail = this.addAll(this.achievers[l ^ 1], tail);
+                    tail = this.addAll(this.readers[l ^ 1], tail);
+                }
+                for (int l : this.reads[a]) {
+                    tail = this.addAll(this.achievers[l ^ 1], tail);
+                }
+            } else {
+                // The achievers of an unsatisfied precondition of an action not applicable are added
+                final int precondition = this.selectUnsatisfied(state, this.preconditions[a]);
+                if (precondition != -1) {
+                    tail = this.addAll(this.achievers[precondition], tail);
+                }
+            }
+        }
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (this.marks[actions[i]] == stamp) {
+                actions[count++] = actions[i];
+            }
+        }
+        this.states++;
+        this.prunedActions += length - count;
+        // The pruning is disabled if it does not pay for the computation of the stubborn sets
+        if (this.states == StubbornSets.MIN_CHECKED_STATES
+            && this.prunedActions < StubbornSets.MIN_PRUNING_RATIO * this.applicableActions) {
+            this.enabled = false;
+        }
+        return count;
+    }
+
+    /**
+     * Adds actions to the current stubborn set.
+     *
+     * @param actions the actions to add.
+     * @param tail    the position of the end of the queue of the actions not yet processed.
+     * @return the new position of the end of the queue.
+     */
+    private int addAll(final int[] actions, final int tail) {
+        int t = tail;
+        final int stamp = this.stamp;
+        for (int a : actions) {
+            if (this.marks[a] != stamp) {
+                this.marks[a] = stamp;
+                this.queue[t++] = a;
+            }
+        }
+        return t;
+    }
+
+    /**
+     * Returns the literal unsatisfied in a state with the fewest achievers or -1 if all the literals are satisfied.
+     *
+     * @param state    the state.
+     * @param literals the literals.
+     * @return the literal unsatisfied with the fewest achievers or -1 if all the literals are satisfied.
+     */
+    private int selectUnsatisfied(final State state, final int[] literals) {
+        int selected = -1;
+        for (int l : literals) {
+            if (state.get(l >> 1) == ((l & 1) == 1)
+                && (selected == -1 || this.achievers[l].length < this.achievers[selected].length)) {
+                selected = l;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Changes the mark of the current state. The marks are cleared when the counter overflows.
+     */
+    private void nextStamp() {
+        if (this.stamp == Integer.MAX_VALUE) {
+            Arrays.fill(this.marks, 0);
+            Arrays.fill(this.applicable, 0);
+            this.stamp = 0;
+        }
+        this.stamp++;
+    }
+
+    /**
+     * Returns <code>true</code> if a condition has numeric constraints.
+     *
+     * @param condition the condition.
+     * @return <code>true</code> if the condition has numeric constraints.
+     */
+    private static boolean isNumeric(final Condition condition) {
+        return condition != null && !condition.getNumericConstraints().isEmpty();
+    }
+
+    /**
+     * Returns the literals of positive and negative fluents.
+     *
+     * @param positive the positive fluents.
+     * @param negative the negative fluents.
+     * @return the literals of the fluents.
+     */
+    private static int[] toLiterals(final BitVector positive, final BitVector negative) {
+        final int[] literals = new int[positive.cardinality() + negative.cardinality()];
+        int i = 0;
+        for (int f = positive.nextSetBit(0); f >= 0; f = positive.nextSetBit(f + 1)) {
+            literals[i++] = 2 * f;
+        }
+        for (int f = negative.nextSetBit(0); f >= 0; f = negative.nextSetBit(f + 1)) {
+            literals[i++] = 2 * f + 1;
+        }
+        return literals;
+    }
+
+    /**
+     * Converts lists of actions in arrays.
+     *
+     * @param lists the lists of actions.
+     * @return the arrays of actions.
+     */
+    private static int[][] toArrays(final List<List<Integer>> lists) {
+        final int[][] arrays = new int[lists.size()][];
+        for (int i = 0; i < arrays.length; i++) {
+            arrays[i] = lists.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        return arrays;
+    }
+
+    /**
+     * Returns the size in bytes of an array of arrays of integers.
+     *
+     * @param arrays the array of arrays.
+     * @return the size of the arrays in bytes.
+     */
+    private static long sizeOf(final int[][] arrays) {
+        long size = MemoryEstimator.sizeOf(arrays);
+        for (int[] array : arrays) {
+            size += MemoryEstimator.sizeOf(array);
+        }
+        return size;
+    }
+}
@@ -0,0 +1,868 @@
+/*
+ * Copyright (c) 2016 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.planners.statespace.search;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * This class implements the detection of the symmetries of a problem and the mapping of the states to a canonical
+ * state of their orbit. For more about this technique see N. Pochter, A. Zohar and J. S. Rosenschein, Exploiting
+ * Problem Symmetries in State-Based Planners, in: Proceedings of the 25th AAAI Conference on Artificial Intelligence,
+ * 2011 and A. Shleyfman, M. Katz, M. Helmert, S. Sievers and M. Wehrle, Heuristics and Symmetries in Classical
+ * Planning, in: Proceedings of the 29th AAAI Conference on Artificial Intelligence, 2015.
+ *
+ * <p>The symmetries are the automorphisms of the problem description graph of the problem. The vertices of the graph
+ * are the fluents, colored by their value in the goal, the actions, colored by their cost, and the parts of the
+ * actions, i.e., their precondition, their conditional effects, the conditions and the effects of their conditional
+ * effects. The initial state is not part of the graph. The generators of the automorphism group are searched by
+ * individualization and refinement of the colors of the vertices and each generator is checked before it is kept. An
+ * automorphism of the graph maps the fluents and the actions of the problem so that the transitions and the goal are
+ * preserved: two symmetric states have the same distance to the goal.</p>
+ *
+ * <p>A state is mapped to a canonical state by applying greedily the generators that make it lexicographically
+ * smaller. The canonical state is not unique for all the states of an orbit, so some symmetric states are not
+ * detected, but the mapping is fast and the states mapped to the same canonical state are always symmetric. No
+ * symmetry is detected when the problem has numeric constraints or numeric effects. The search of the generators is
+ * bounded (see {@link #MAX_WORK}): the symmetries not found in time are ignored. An instance is thread safe once
+ * created.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class Symmetries {
+
+    /**
+     * The maximum number of vertices visited by the refinements of the colors during the search of the generators.
+     */
+    public static final long MAX_WORK = 500_000_000L;
+
+    /**
+     * The maximum number of leaves of the search tree tried to find a generator mapping a vertex to an other.
+     */
+    private static final int MAX_LEAVES = 64;
+
+    /**
+     * The problem of the symmetries.
+     */
+    private final Problem problem;
+
+    /**
+     * The permutation of the fluents of each generator.
+     */
+    private final int[][] fluents;
+
+    /**
+     * The permutation of the actions of each generator.
+     */
+    private final int[][] actions;
+
+    /**
+     * The inverse of the permutation of the actions of each generator.
+     */
+    private final int[][] inverses;
+
+    /**
+     * Creates the symmetries of a specified problem. The generators of the symmetries are searched when the symmetries
+     * are created.
+     *
+     * @param problem the problem. The problem cannot be null.
+     */
+    public Symmetries(final Problem problem) {
+        Objects.requireNonNull(problem);
+        this.problem = problem;
+        final List<int[]> generators = Symmetries.isNumeric(problem) ? new ArrayList<>()
+            : new Graph(problem).searchGenerators();
+        final int nbFluents = problem.getFluents().size();
+        final int nbActions = problem.getActions().size();
+        this.fluents = new int[generators.size()][];
+        this.actions = new int[generators.size()][];
+        this.inverses = new int[generators.size()][];
+        for (int g = 0; g < generators.size(); g++) {
+            final int[] generator = generators.get(g);
+            this.fluents[g] = Arrays.copyOf(generator, nbFluents);
+            this.actions[g] = new int[nbActions];
+            this.inverses[g] = new int[nbActions];
+            for (int a = 0; a < nbActions; a++) {
+                final int image = generator[nbFluents + a] - nbFluents;
+                this.actions[g][a] = image;
+                this.inverses[g][image] = a;
+            }
+        }
+    }
+
+    /**
+     * Returns the problem of the symmetries.
+     *
+     * @return the problem of the symmetries.
+     */
+    public Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the number of generators of the symmetries.
+     *
+     * @return the number of generators of the symmetries.
+     */
+    public int size() {
+        return this.fluents.length;
+    }
+
+    /**
+     * Returns the permutation of the fluents of a generator. The fluent <code>f</code> is mapped to the fluent
+     * <code>getFluentPermutation(g)[f]</code>. The returned array must not be modified.
+     *
+     * @param generator the index of the generator.
+     * @return the permutation of the fluents of the generator.
+     */
+    public int[] getFluentPermutation(final int generator) {
+        return this.fluents[generator];
+    }
+
+    /**
+     * Returns the permutation of the actions of a generator. The action <code>a</code> is mapped to the action
+     * <code>getActionPermutation(g)[a]</code>. The returned array must not be modified.
+     *
+     * @param generator the index of the generator.
+     * @return the permutation of the actions of the generator.
+     */
+    public int[] getActionPermutation(final int generator) {
+        return this.actions[generator];
+    }
+
+    /**
+     * Returns an estimation of the memory used by the symmetries in bytes.
+     *
+     * @return an estimation of the memory used by the symmetries in bytes.
+     */
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOfObject(4, 0) + Symmetries.sizeOf(this.fluents) + Symmetries.sizeOf(this.actions)
+            + Symmetries.sizeOf(this.inverses);
+    }
+
+    /**
+     * Replaces a state by its canonical state. The Zobrist hash code of the state is updated.
+     *
+     * @param state the state.
+     */
+    public void canonicalize(final State state) {
+        this.canonicalize(state, null);
+    }
+
+    /**
+     * Replaces a state by its canonical state and records the generators applied. The generators are applied greedily
+     * as long as one of them makes the state lexicographically smaller. The Zobrist hash code of the state is updated.
+     *
+     * @param state   the state.
+     * @param applied the list where the indexes of the generators applied are added in the order of their application
+     *                or <code>null</code>.
+     */
+    public void canonicalize(final State state, final List<Integer> applied) {
+        if (this.fluents.length == 0) {
+            return;
+        }
+        final int length = (this.problem.getFluents().size() + 63) >>> 6;
+        long[] current = new long[length];
+        long[] image = new long[length];
+        state.copyWordsTo(current, 0, length);
+        boolean modified = false;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int g = 0; g < this.fluents.length; g++) {
+                Symmetries.permute(current, this.fluents[g], image);
+                if (Symmetries.isSmaller(image, current)) {
+                    final long[] tmp = current;
+                    current = image;
+                    image = tmp;
+                    if (applied != null) {
+                        applied.add(g);
+                    }
+                    modified = true;
+                    improved = true;
+                }
+            }
+        }
+        if (modified) {
+            state.copyWordsFrom(current, 0, length);
+            state.setZobristKeys(state.getZobristKeys());
+        }
+    }
+
+    /**
+     * Returns the solution node of the problem equivalent to a solution node found by a search that replaced the
+     * states by their canonical state. The actions of the solution are replaced by their symmetric actions so that
+     * the plan starts from the initial state of the problem. The states of the nodes returned are the states reached
+     * by the plan.
+     *
+     * @param solution the solution node found on the canonical states.
+     * @return the solution node of the problem.
+     */
+    public Node unfold(final Node solution) {
+        final List<Node> path = new ArrayList<>();
+        for (Node n = solution; n != null; n = n.getParent()) {
+            path.add(0, n);
+        }
+        final List<Action> operators = this.problem.getActions();
+        final List<Integer> applied = new ArrayList<>();
+        // The permutation of the actions that maps the canonical states of the path to the states reached by the plan
+        int[] permutation = new int[operators.size()];
+        for (int a = 0; a < permutation.length; a++) {
+            permutation[a] = a;
+        }
+        final State init = new State(this.problem.getInitialState());
+        this.canonicalize(new State(init), applied);
+        permutation = this.composeInverse(permutation, applied);
+        final Node root = path.get(0);
+        Node node = new Node(init, null, -1, root.getCost(), root.getDepth(), root.getHeuristic());
+        final State successor = new State();
+        for (int i = 1; i < path.size(); i++) {
+            final Node canonical = path.get(i);
+            final int action = permutation[canonical.getAction()];
+            // The canonical successor is computed again to know the generators applied to reach the next node
+            final State parent = path.get(i - 1);
+            successor.copy(parent);
+            successor.apply(operators.get(canonical.getAction()).getConditionalEffects(), parent);
+            applied.clear();
+            this.canonicalize(successor, applied);
+            permutation = this.composeInverse(permutation, applied);
+            final State next = new State(node);
+            next.apply(operators.get(action).getConditionalEffects(), node);
+            node = new Node(next, node, action, canonical.getCost(), canonical.getDepth(), canonical.getHeuristic());
+        }
+        return node;
+    }
+
+    /**
+     * Returns the composition of a permutation of the actions with the inverse of a sequence of generators.
+     *
+     * @param permutation the permutation of the actions.
+     * @param applied     the indexes of the generators in the order of their application.
+     * @return the permutation <code>permutation o (g_k o ... o g_1)^-1</code>.
+     */
+    private int[] composeInverse(final int[] permutation, final List<Integer> applied) {
+        if (applied.isEmpty()) {
+            return permutation;
+        }
+        final int[] composition = new int[permutation.length];
+        for (int a = 0; a < permutation.length; a++) {
+            int image = a;
+            for (int i = applied.size() - 1; i >= 0; i--) {
+                image = this.inverses[applied.get(i)][image];
+            }
+            composition[a] = permutation[image];
+        }
+        return composition;
+    }
+
+    /**
+     * Applies a permutation of the fluents to the words of a state.
+     *
+     * @param words       the words of the state.
+     * @param permutation the permutation of the fluents.
+     * @param image       the array where the words of the image of the state are written.
+     */
+    private static void permute(final long[] words, final int[] permutation, final long[] image) {
+        Arrays.fill(image, 0L);
+        for (int w = 0; w < words.length; w++) {
+            long bits = words[w];
+            while (bits != 0) {
+                final int f = permutation[(w << 6) + Long.numberOfTrailingZeros(bits)];
+                image[f >>> 6] |= 1L << f;
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the words of a state are lexicographically smaller than the words of an other state.
+     * The words are compared from the last one as unsigned numbers.
+     *
+     * @param words the words of the state.
+     * @param other the words of the other state.
+     * @return <code>true</code> if the state is smaller than the other state.
+     */
+    private static boolean isSmaller(final long[] words, final long[] other) {
+        for (int w = words.length - 1; w >= 0; w--) {
+            if (words[w] != other[w]) {
+                return Long.compareUnsigned(words[w], other[w]) < 0;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns <code>true</code> if a problem has numeric constraints or numeric effects.
+     *
+     * @param problem the problem.
+     * @return <code>true</code> if the problem has numeric constraints or numeric effects.
+     */
+    private static boolean isNumeric(final Problem problem) {
+        boolean numeric = Symmetries.isNumeric(problem.getGoal());
+        for (Action action : problem.getActions()) {
+            numeric |= Symmetries.isNumeric(action.getPrecondition());
+            for (ConditionalEffect effect : action.getConditionalEffects()) {
+                numeric |= Symmetries.isNumeric(effect.getCondition())
+                    || !effect.getEffect().getNumericAssignments().isEmpty();
+            }
+        }
+        return numeric;
+    }
+
+    /**
+     * Returns <code>true</code> if a condition has numeric constraints.
+     *
+     * @param condition the condition.
+     * @return <code>true</code> if the condition has numeric constraints.
+     */
+    private static boolean isNumeric(final Condition condition) {
+        return condition != null && !condition.getNumericConstraints().isEmpty();
+    }
+
+    /**
+     * Returns the size in bytes of an array of arrays of integers.
+     *
+     * @param arrays the array of arrays.
+     * @return the size of the arrays in bytes.
+     */
+    private static long sizeOf(final int[][] arrays) {
+        long size = MemoryEstimator.sizeOf(arrays);
+        for (int[] array : arrays) {
+            size += MemoryEstimator.sizeOf(array);
+        }
+        return size;
+    }
+
+    /**
+     * This class implements the problem description graph of a problem and the search of the generators of its
+     * automorphism group. The vertices of the graph are numbered as follows: the fluents, then the actions and then
+     * the parts of the actions.
+     */
+    private static final class Graph {
+
+        /**
+         * The number of colors of the parts of the actions: precondition, negative precondition, conditional effect,
+         * condition, negative condition, positive effect and negative effect.
+         */
+        private static final int PARTS = 7;
+
+        /**
+         * The sorted neighbors of each vertex.
+         */
+        private final int[][] neighbors;
+
+        /**
+         * The initial color of each vertex.
+         */
+        private final int[] colors;
+
+        /**
+         * The number of fluents and actions of the problem. The other vertices are not mapped by the generators.
+         */
+        private final int mapped;
+
+        /**
+         * The hash code of the colors of the neighbors of each vertex used by the refinement.
+         */
+        private final long[] hashes;
+
+        /**
+         * The vertices sorted by the refinement.
+         */
+        private final int[] order;
+
+        /**
+         * The buffer used to sort the vertices.
+         */
+        private final int[] buffer;
+
+        /**
+         * The remaining work allowed to the refinements.
+         */
+        private long work;
+
+        /**
+         * Creates the problem description graph of a problem.
+         *
+         * @param problem the problem.
+         */
+        Graph(final Problem problem) {
+            final int nbFluents = problem.getFluents().size();
+            final List<Action> operators = problem.getActions();
+            // The colors of the actions are the ranks of their cost
+            final TreeMap<Double, Integer> costs = new TreeMap<>();
+            for (Action a : operators) {
+                costs.put(a.getCost().getValue(), 0);
+            }
+            int rank = 0;
+            for (Double cost : costs.keySet()) {
+                costs.put(cost, rank++);
+            }
+            final int parts = 3 + costs.size();
+            final List<Integer> colors = new ArrayList<>();
+            final List<List<Integer>> edges = new ArrayList<>();
+            final BitVector positiveGoal = problem.getGoal().getPositiveFluents();
+            final BitVector negativeGoal = problem.getGoal().getNegativeFluents();
+            for (int f = 0; f < nbFluents; f++) {
+                Graph.addVertex(colors, edges, positiveGoal.get(f) ? 1 : negativeGoal.get(f) ? 2 : 0);
+            }
+            for (Action a : operators) {
+                Graph.addVertex(colors, edges, 3 + costs.get(a.getCost().getValue()));
+            }
+            for (int a = 0; a < operators.size(); a++) {
+                final Action action = operators.get(a);
+                final int vertex = nbFluents + a;
+                Graph.addPart(colors, edges, vertex, parts, action.getPrecondition().getPositiveFluents());
+                Graph.addPart(colors, edges, vertex, parts + 1, action.getPrecondition().getNegativeFluents());
+                for (ConditionalEffect effect : action.getConditionalEffects()) {
+                    final int e = Graph.addVertex(colors, edges, parts + 2);
+                    Graph.addEdge(edges, vertex, e);
+                    Graph.addPart(colors, edges, e, parts + 3, effect.getCondition().getPositiveFluents());
+                    Graph.addPart(colors, edges, e, parts + 4, effect.getCondition().getNegativeFluents());
+                    Graph.addPart(colors, edges, e, parts + 5, effect.getEffect().getPositiveFluents());
+                    Graph.addPart(colors, edges, e, parts + 6, effect.getEffect().getNegativeFluents());
+                }
+            }
+            final int size = colors.size();
+            this.neighbors = new int[size][];
+            this.colors = new int[size];
+            for (int v = 0; v < size; v++) {
+                this.neighbors[v] = edges.get(v).stream().mapToInt(Integer::intValue).sorted().toArray();
+                this.colors[v] = colors.get(v);
+            }
+            this.mapped = nbFluents + operators.size();
+            this.hashes = new long[size];
+            this.order = new int[size];
+            this.buffer = new int[size];
+            this.work = Symmetries.MAX_WORK;
+        }
+
+        /**
+         * Adds a vertex to the graph.
+         *
+         * @param colors the colors of the vertices.
+         * @param edges  the neighbors of the vertices.
+         * @param color  the color of the vertex.
+         * @return the vertex added.
+         */
+        private static int addVertex(final List<Integer> colors, final List<List<Integer>> edges, final int color) {
+            colors.add(color);
+            edges.add(new ArrayList<>());
+            return colors.size() - 1;
+        }
+
+        /**
+         * Adds an undirected edge to the graph.
+         *
+         * @param edges the neighbors of the vertices.
+         * @param v     the first vertex.
+         * @param w     the second vertex.
+         */
+        private static void addEdge(final List<List<Integer>> edges, final int v, final int w) {
+            edges.get(v).add(w);
+            edges.get(w).add(v);
+        }
+
+        /**
+         * Adds a part of an action to the graph. The part is linked to its owner and to its fluents. No vertex is
+         * added if the part has no fluent.
+         *
+         * @param colors  the colors of the vertices.
+         * @param edges   the neighbors of the vertices.
+         * @param owner   the action or the conditional effect that owns the part.
+         * @param color   the color of the part.
+         * @param fluents the fluents of the part.
+         */
+        private static void addPart(final List<Integer> colors, final List<List<Integer>> edges, final int owner,
+                                    final int color, final BitVector fluents) {
+            if (!fluents.isEmpty()) {
+                final int part = Graph.addVertex(colors, edges, color);
+                Graph.addEdge(edges, owner, part);
+                for (int f = fluents.nextSetBit(0); f >= 0; f = fluents.nextSetBit(f + 1)) {
+                    Graph.addEdge(edges, part, f);
+                }
+            }
+        }
+
+        /**
+         * Searches the generators of the automorphism group of the graph. The first path of the search tree is
+         * computed by individualizing at each level the first vertex of the first cell that is not a singleton. Then,
+         * from the deepest level to the root, the search tries to map the vertex individualized at the level to each
+         * vertex of its cell that is not already in its orbit.
+         *
+         * @return the generators found as permutations of the fluents and the actions followed by the other vertices.
+         */
+        List<int[]> searchGenerators() {
+            final List<int[]> generators = new ArrayList<>();
+            final int size = this.colors.length;
+            // The partitions, the cells and the vertices of the first path of the search tree
+            final List<int[]> partitions = new ArrayList<>();
+            final List<Integer> cells = new ArrayList<>();
+            final List<Integer> vertices = new ArrayList<>();
+            int[] partition = this.colors.clone();
+            int count = this.refine(partition);
+            partitions.add(partition);
+            while (count < size && this.work > 0) {
+                final int cell = this.selectCell(partition, count);
+                int vertex = 0;
+                while (partition[vertex] != cell) {
+                    vertex++;
+                }
+                cells.add(cell);
+                vertices.add(vertex);
+                partition = this.individualize(partition, count, vertex);
+                count = this.refine(partition);
+                partitions.add(partition);
+            }
+            if (count < size) {
+                return generators;
+            }
+            // The orbits of the vertices under the generators found
+            final int[] orbits = new int[size];
+            for (int v = 0; v < size; v++) {
+                orbits[v] = v;
+            }
+            for (int level = vertices.size() - 1; level >= 0 && this.work > 0; level--) {
+                final int[] parent = partitions.get(level);
+                final int cell = cells.get(level);
+                final int vertex = vertices.get(level);
+                for (int w = 0; w < size && this.work > 0; w++) {
+                    if (parent[w] == cell && Graph.find(orbits, w) != Graph.find(orbits, vertex)) {
+                        final int[] child = this.individualize(parent, Graph.countColors(parent), w);
+                        this.refine(child);
+                        final int[] leaves = {Symmetries.MAX_LEAVES};
+                        final int[] generator = Graph.isCompatible(child, partitions.get(level + 1))
+                            ? this.descend(child, level + 1, partitions, cells, leaves) : null;
+                        if (generator != null) {
+                            for (int v = 0; v < size; v++) {
+                                Graph.union(orbits, v, generator[v]);
+                            }
+                            if (!Graph.isIdentity(generator, this.mapped)) {
+                                generators.add(generator);
+                            }
+                        }
+                    }
+                }
+            }
+            return generators;
+        }
+
+        /**
+         * Descends in the search tree from a partition compatible with the partition of the first path at the same
+         * level until a leaf mapped by an automorphism to the leaf of the first path is found.
+         *
+         * @param partition  the partition.
+         * @param level      the level of the partition.
+         * @param partitions the partitions of the first path.
+         * @param cells      the cells individualized on the first path.
+         * @param leaves     the number of leaves that can still be tried.
+         * @return the automorphism found or <code>null</code>.
+         */
+        private int[] descend(final int[] partition, final int level, final List<int[]> partitions,
+                              final List<Integer> cells, final int[] leaves) {
+            if (level == partitions.size() - 1) {
+                leaves[0]--;
+                return this.toAutomorphism(partitions.get(level), partition);
+            }
+            final int cell = cells.get(level);
+            final int count = Graph.countColors(partition);
+            for (int u = 0; u < partition.length && leaves[0] > 0 && this.work > 0; u++) {
+                if (partition[u] == cell) {
+                    final int[] child = this.individualize(partition, count, u);
+                    this.refine(child);
+                    if (Graph.isCompatible(child, partitions.get(level + 1))) {
+                        final int[] generator = this.descend(child, level + 1, partitions, cells, leaves);
+                        if (generator != null) {
+                            return generator;
+                        }
+                    }
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Returns the permutation that maps two discrete partitions if it is an automorphism of the graph.
+         *
+         * @param first  the leaf of the first path.
+         * @param second the other leaf.
+         * @return the automorphism or <code>null</code>.
+         */
+        private int[] toAutomorphism(final int[] first, final int[] second) {
+            final int size = first.length;
+            final int[] vertices = new int[size];
+            for (int v = 0; v < size; v++) {
+                vertices[second[v]] = v;
+            }
+            final int[] permutation = new int[size];
+            for (int v = 0; v < size; v++) {
+                permutation[v] = vertices[first[v]];
+            }
+            for (int v = 0; v < size; v++) {
+                final int image = permutation[v];
+                if (this.colors[v] != this.colors[image]
+                    || this.neighbors[v].length != this.neighbors[image].length) {
+                    return null;
+                }
+                for (int w : this.neighbors[v]) {
+                    if (Arrays.binarySearch(this.neighbors[image], permutation[w]) < 0) {
+                        return null;
+                    }
+                }
+            }
+            return permutation;
+        }
+
+        /**
+         * Returns the color of the first cell of a partition that is not a singleton.
+         *
+         * @param partition the partition.
+         * @param count     the number of colors of the partition.
+         * @return the color of the first cell that is not a singleton.
+         */
+        private int selectCell(final int[] partition, final int count) {
+            final int[] sizes = new int[count];
+            for (int color : partition) {
+                sizes[color]++;
+            }
+            int cell = 0;
+            while (sizes[cell] == 1) {
+                cell++;
+            }
+            return cell;
+        }
+
+        /**
+         * Returns a copy of a partition where a vertex has a new color.
+         *
+         * @param partition the partition.
+         * @param count     the number of colors of the partition.
+         * @param vertex    the vertex individualized.
+         * @return the new partition.
+         */
+        private int[] individualize(final int[] partition, final int count, final int vertex) {
+            final int[] child = partition.clone();
+            child[vertex] = count;
+            return child;
+        }
+
+        /**
+         * Refines a partition until it is stable: two vertices keep the same color only if they have the same number
+         * of neighbors of each color. The new colors only depend on the old colors, so two partitions mapped by an
+         * automorphism are still mapped once refined. The colors are numbered from 0.
+         *
+         * @param partition the partition to refine.
+         * @return the number of colors of the refined partition.
+         */
+        private int refine(final int[] partition) {
+            final int size = partition.length;
+            if (size == 0) {
+                return 0;
+            }
+            int previous = -1;
+            while (true) {
+                for (int v = 0; v < size; v++) {
+                    long hash = 0;
+                    for (int w : this.neighbors[v]) {
+                        hash += Graph.mix(partition[w]);
+                    }
+                    this.hashes[v] = hash;
+                    this.order[v] = v;
+                    this.work -= 1 + this.neighbors[v].length;
+                }
+                this.sort(partition, size);
+                int count = 0;
+                int lastColor = partition[this.order[0]];
+                long lastHash = this.hashes[this.order[0]];
+                this.buffer[this.order[0]] = 0;
+                for (int i = 1; i < size; i++) {
+                    final int v = this.order[i];
+                    if (partition[v] != lastColor || this.hashes[v] != lastHash) {
+                        count++;
+                        lastColor = partition[v];
+                        lastHash = this.hashes[v];
+                    }
+                    this.buffer[v] = count;
+                }
+                System.arraycopy(this.buffer, 0, partition, 0, size);
+                count++;
+                if (count == previous || count == size) {
+                    return count;
+                }
+                previous = count;
+            }
+        }
+
+        /**
+         * Sorts the vertices of the order by color and then by hash code with a bottom-up merge sort.
+         *
+         * @param partition the colors of the vertices.
+         * @param size      the number of vertices.
+         */
+        private void sort(final int[] partition, final int size) {
+            int[] src = this.order;
+            int[] dst = this.buffer;
+            for (int width = 1; width < size; width <<= 1) {
+                for (int lo = 0; lo < size; lo += width << 1) {
+                    final int mid = Math.min(lo + width, size);
+                    final int hi = Math.min(lo + (width << 1), size);
+                    int i = lo;
+                    int j = mid;
+                    for (int k = lo; k < hi; k++) {
+                        if (j >= hi || (i < mid && this.compare(partition, src[i], src[j]) <= 0)) {
+                            dst[k] = src[i++];
+                        } else {
+                            dst[k] = src[j++];
+                        }
+                    }
+                }
+                final int[] tmp = src;
+                src = dst;
+                dst = tmp;
+            }
+            if (src != this.order) {
+                System.arraycopy(src, 0, this.order, 0, size);
+            }
+        }
+
+        /**
+         * Compares two vertices by color and then by hash code.
+         *
+         * @param partition the colors of the vertices.
+         * @param v         the first vertex.
+         * @param w         the second vertex.
+         * @return a negative integer, zero, or a positive integer as the first vertex is less than, equal to, or
+         *     greater than the second vertex.
+         */
+        private int compare(final int[] partition, final int v, final int w) {
+            final int cmp = Integer.compare(partition[v], partition[w]);
+            return cmp != 0 ? cmp : Long.compare(this.hashes[v], this.hashes[w]);
+        }
+
+        /**
+         * Returns <code>true</code> if two partitions have the same number of vertices of each color.
+         *
+         * @param partition the first partition.
+         * @param other     the second partition.
+         * @return <code>true</code> if two partitions have the same number of vertices of each color.
+         */
+        private static boolean isCompatible(final int[] partition, final int[] other) {
+            final int[] sizes = new int[partition.length];
+            for (int v = 0; v < partition.length; v++) {
+                sizes[partition[v]]++;
+                sizes[other[v]]--;
+            }
+            for (int s : sizes) {
+                if (s != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the number of colors of a partition. The colors are numbered from 0.
+         *
+         * @param partition the partition.
+         * @return the number of colors of the partition.
+         */
+        private static int countColors(final int[] partition) {
+            int max = -1;
+            for (int color : partition) {
+                max = Math.max(max, color);
+            }
+            return max + 1;
+        }
+
+        /**
+         * Returns <code>true</code> if a permutation maps each of its first vertices to itself.
+         *
+         * @param permutation the permutation.
+         * @param length      the number of vertices checked.
+         * @return <code>true</code> if the permutation is the identity on its first vertices.
+         */
+        private static boolean isIdentity(final int[] permutation, final int length) {
+            for (int v = 0; v < length; v++) {
+                if (permutation[v] != v) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Returns the representative of the orbit of a vertex.
+         *
+         * @param orbits the parent of each vertex in the union-find structure of the orbits.
+         * @param v      the vertex.
+         * @return the representative of the orbit of the vertex.
+         */
+        private static int find(final int[] orbits, final int v) {
+            int root = v;
+            while (orbits[root] != root) {
+                root = orbits[root];
+            }
+            int w = v;
+            while (orbits[w] != root) {
+                final int next = orbits[w];
+                orbits[w] = root;
+                w = next;
+            }
+            return root;
+        }
+
+        /**
+         * Merges the orbits of two vertices.
+         *
+         * @param orbits the parent of each vertex in the union-find structure of the orbits.
+         * @param v      the first vertex.
+         * @param w      the second vertex.
+         */
+        private static void union(final int[] orbits, final int v, final int w) {
+            final int rv = Graph.find(orbits, v);
+            final int rw = Graph.find(orbits, w);
+            if (rv != rw) {
+                orbits[Math.max(rv, rw)] = Math.min(rv, rw);
+            }
+        }
+
+        /**
+         * Mixes the bits of a color to compute the hash code of a multiset of colors.
+         *
+         * @param color the color.
+         * @return the mixed bits of the color.
+         */
+        private static long mix(final int color) {
+            long z = (color + 1) * 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+    }
+}
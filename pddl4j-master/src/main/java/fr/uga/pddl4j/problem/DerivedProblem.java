@@ -0,0 +1,590 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.
+ * If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.problem;
+
+import fr.uga.pddl4j.parser.DefaultParsedProblem;
+import fr.uga.pddl4j.parser.Expression;
+import fr.uga.pddl4j.parser.RequireKey;
+import fr.uga.pddl4j.parser.Symbol;
+import fr.uga.pddl4j.plan.Hierarchy;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.problem.operator.AbstractInstantiatedOperator;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.problem.operator.ConditionalEffect;
+import fr.uga.pddl4j.problem.operator.DurativeAction;
+import fr.uga.pddl4j.problem.operator.DurativeMethod;
+import fr.uga.pddl4j.problem.operator.Effect;
+import fr.uga.pddl4j.problem.operator.FluentDescription;
+import fr.uga.pddl4j.problem.operator.Method;
+import fr.uga.pddl4j.problem.operator.TaskNetwork;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * This class implements a problem derived from an instantiated problem by modifying its initial state and/or its goal.
+ * The derived problem shares the fluents, the actions, the successor generator and the other structures of the
+ * instantiated problem. Thus, replanning after a change of the initial state or of the goal does not need to parse and
+ * to instantiate the problem again.
+ *
+ * <p>
+ * Warning, the new initial state and the new goal can only use the relevant fluents of the instantiated problem. The
+ * fluents simplified during the instantiation, i.e., the inertia, keep the values of the initial state of the
+ * instantiated problem.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public class DerivedProblem implements Problem {
+
+    /**
+     * The instantiated problem from which the problem is derived.
+     */
+    private final Problem problem;
+
+    /**
+     * The initial state of the derived problem.
+     */
+    private final InitialState initialState;
+
+    /**
+     * The goal of the derived problem.
+     */
+    private final Condition goal;
+
+    /**
+     * Creates a new problem derived from an instantiated problem. The initial state and the goal are copied.
+     *
+     * @param problem      the instantiated problem. The problem cannot be null.
+     * @param initialState the new initial state or null to keep the initial state of the instantiated problem.
+     * @param goal         the new goal or null to keep the goal of the instantiated problem.
+     * @throws NullPointerException     if the problem is null.
+     * @throws IllegalArgumentException if the initial state or the goal uses a fluent that is not a relevant fluent of
+     *                                  the instantiated problem.
+     */
+    public DerivedProblem(final Problem problem, final InitialState initialState, final Condition goal) {
+        Objects.requireNonNull(problem);
+        this.problem = problem instanceof DerivedProblem ? ((DerivedProblem) problem).problem : problem;
+        final int fluents = this.problem.getFluents().size();
+        if (initialState != null) {
+            DerivedProblem.checkFluents(initialState.getPositiveFluents(), fluents);
+            DerivedProblem.checkFluents(initialState.getNegativeFluents(), fluents);
+            this.initialState = new InitialState(initialState);
+        } else {
+            this.initialState = problem.getInitialState();
+        }
+        if (goal != null) {
+            DerivedProblem.checkFluents(goal.getPositiveFluents(), fluents);
+            DerivedProblem.checkFluents(goal.getNegativeFluents(), fluents);
+            this.goal = new Goal(goal);
+        } else {
+            this.goal = problem.getGoal();
+        }
+    }
+
+    /**
+     * Creates a new problem derived from an instantiated problem with a new initial state. The goal of the
+     * instantiated problem is kept.
+     *
+     * @param problem the instantiated problem. The problem cannot be null.
+     * @param state   the new initial state. The state cannot be null.
+     * @throws NullPointerException     if the problem or the state is null.
+     * @throws IllegalArgumentException if the state uses a fluent that is not a relevant fluent of the instantiated
+     *                                  problem.
+     */
+    public DerivedProblem(final Problem problem, final State state) {
+        this(problem, DerivedProblem.toInitialState(problem, state), null);
+    }
+
+    /**
+     * Converts a state into an initial state. The numeric variables of the initial state of the problem are kept.
+     *
+     * @param problem the problem.
+     * @param state   the state.
+     * @return the initial state.
+     */
+    private static InitialState toInitialState(final Problem problem, final State state) {
+        Objects.requireNonNull(problem);
+        Objects.requireNonNull(state);
+        final InitialState init = new InitialState(problem.getInitialState());
+        init.getPositiveFluents().clear();
+        init.getPositiveFluents().or(state);
+        init.getNegativeFluents().clear();
+        return init;
+    }
+
+    /**
+     * Checks that the fluents of a bit vector are relevant fluents.
+     *
+     * @param vector  the bit vector of fluents.
+     * @param fluents the number of relevant fluents.
+     * @throws IllegalArgumentException if the bit vector contains a fluent that is not relevant.
+     */
+    private static void checkFluents(final BitVector vector, final int fluents) {
+        if (vector.length() > fluents) {
+            throw new IllegalArgumentException("fluent " + (vector.length() - 1) + " is not a relevant fluent");
+        }
+    }
+
+    /**
+     * Returns the instantiated problem from which the problem is derived.
+     *
+     * @return the instantiated problem from which the problem is derived.
+     */
+    public final Problem getProblem() {
+        return this.problem;
+    }
+
+    /**
+     * Returns the PDDL problem of the instantiated problem.
+     *
+     * @return the PDDL problem of the instantiated problem.
+     */
+    @Override
+    public DefaultParsedProblem getParsedProblem() {
+        return this.problem.getParsedProblem();
+    }
+
+    /**
+     * Returns the requirements of the problem.
+     *
+     * @return the requirements of the problem.
+     */
+    @Override
+    public Set<RequireKey> getRequirements() {
+        return this.problem.getRequirements();
+    }
+
+    /**
+     * Returns the accepted requirements of the problem.
+     *
+     * @return the accepted requirements of the problem.
+     */
+    @Override
+    public Set<RequireKey> getAcceptedRequirements() {
+        return this.problem.getAcceptedRequirements();
+    }
+
+    /**
+     * Returns the list of the type symbols of the problem.
+     *
+     * @return the list of the type symbols of the problem.
+     */
+    @Override
+    public List<String> getTypes() {
+        return this.problem.getTypes();
+    }
+
+    /**
+     * Returns the domains for each type of the problem.
+     *
+     * @return the domains for each type of the problem.
+     */
+    @Override
+    public Map<Integer, Set<Symbol<Integer>>> getDomains() {
+        return this.problem.getDomains();
+    }
+
+    /**
+     * Returns the list of constant symbols of the problem.
+     *
+     * @return the list of constant symbols of the problem.
+     */
+    @Override
+    public List<String> getConstantSymbols() {
+        return this.problem.getConstantSymbols();
+    }
+
+    /**
+     * Returns the list of predicate symbols of the problem.
+     *
+     * @return the list predicate symbols of the problem.
+     */
+    @Override
+    public List<String> getPredicateSymbols() {
+        return this.problem.getPredicateSymbols();
+    }
+
+    /**
+     * Returns the signatures of the predicates defined in the problem.
+     *
+     * @return the signatures of the predicates defined in the problem.
+     */
+    @Override
+    public List<List<Symbol<Integer>>> getPredicateSignatures() {
+        return this.problem.getPredicateSignatures();
+    }
+
+    /**
+     * Returns the list of relevant fluents of the instantiated problem.
+     *
+     * @return the list of relevant fluents of the instantiated problem.
+     */
+    @Override
+    public List<Fluent> getFluents() {
+        return this.problem.getFluents();
+    }
+
+    /**
+     * Returns the list of instantiated actions of the instantiated problem.
+     *
+     * @return the list of instantiated actions of the instantiated problem.
+     */
+    @Override
+    public List<Action> getActions() {
+        return this.problem.getActions();
+    }
+
+    /**
+     * Returns the successor generator of the instantiated problem. The generator does not depend on the initial state
+     * and on the goal and is shared by all the problems derived from the instantiated problem.
+     *
+     * @return the successor generator of the instantiated problem.
+     */
+    @Override
+    public SuccessorGenerator getSuccessorGenerator() {
+        return this.problem.getSuccessorGenerator();
+    }
+
+    /**
+     * Returns an estimation of the memory used by the compact representation of the instantiated problem in bytes.
+     * The structures are shared and only the initial state and the goal of the derived problem are added.
+     *
+     * @return an estimation of the memory used by the compact representation of the problem in bytes.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return this.problem.getMemoryUsed() + MemoryEstimator.sizeOfObject(3, 0)
+            + DerivedProblem.sizeOf(this.initialState) + DerivedProblem.sizeOf(this.goal);
+    }
+
+    /**
+     * Returns an estimation of the memory used by the fluents of a condition or an initial state in bytes.
+     *
+     * @param description the condition or the initial state.
+     * @return an estimation of the memory used by the description in bytes.
+     */
+    private static long sizeOf(final FluentDescription description) {
+        if (description == null) {
+            return 0;
+        }
+        return MemoryEstimator.sizeOfObject(3, 0) + MemoryEstimator.sizeOf(description.getPositiveFluents())
+            + MemoryEstimator.sizeOf(description.getNegativeFluents());
+    }
+
+    /**
+     * Returns the list of instantiated durative actions of the problem.
+     *
+     * @return the list of instantiated durative actions of the problem.
+     */
+    @Override
+    public List<DurativeAction> getDurativeActions() {
+        return this.problem.getDurativeActions();
+    }
+
+    /**
+     * Returns the list of instantiated methods of the problem.
+     *
+     * @return the list of instantiated methods of the problem.
+     */
+    @Override
+    public List<Method> getMethods() {
+        return this.problem.getMethods();
+    }
+
+    /**
+     * Returns the list of instantiated durative methods of the problem.
+     *
+     * @return the list of instantiated durative methods of the problem.
+     */
+    @Override
+    public List<DurativeMethod> getDurativeMethods() {
+        return this.problem.getDurativeMethods();
+    }
+
+    /**
+     * The list of relevant tasks of the problem.
+     *
+     * @return the list of relevant tasks of the problem.
+     */
+    @Override
+    public List<Task> getTasks() {
+        return this.problem.getTasks();
+    }
+
+    /**
+     * Returns the relevant operators for the tasks of the problem.
+     *
+     * @return the relevant operators for a task.
+     * @see Problem#getTaskResolvers()
+     */
+    @Override
+    public List<List<Integer>> getTaskResolvers() {
+        return this.problem.getTaskResolvers();
+    }
+
+    /**
+     * Returns the goal of the derived problem.
+     *
+     * @return the goal of the derived problem.
+     */
+    @Override
+    public Condition getGoal() {
+        return this.goal;
+    }
+
+    /**
+     * Returns the initial state of the derived problem.
+     *
+     * @return the initial state of the derived problem.
+     */
+    @Override
+    public InitialState getInitialState() {
+        return this.initialState;
+    }
+
+    /**
+     * Returns the initial task network of the problem.
+     *
+     * @return the initial task network of the problem.
+     */
+    @Override
+    public TaskNetwork getInitialTaskNetwork() {
+        return this.problem.getInitialTaskNetwork();
+    }
+
+    /**
+     * Returns <code>true</code> if this problem is solvable. The method returns <code>false</code> if the goal is null.
+     * If the problem is hierarchic, the method checks also that every task in the initial task network has at least a
+     * one resolver.
+     *
+     * @return <code>true</code> if this problem is solvable; <code>false</code>.
+     */
+    @Override
+    public boolean isSolvable() {
+        boolean isSolvable = this.getGoal() != null;
+        if (this.getInitialTaskNetwork() != null) {
+            Iterator<Integer> i = this.getInitialTaskNetwork().getTasks().iterator();
+            while (i.hasNext() && isSolvable) {
+                isSolvable = i.next() != null;
+            }
+        }
+        return isSolvable;
+    }
+
+    /**
+     * Does nothing: the problem is derived from an instantiated problem.
+     */
+    @Override
+    public void instantiate() {
+    }
+
+    /**
+     * Returns a string representation of a specified action.
+     *
+     * @param action the action.
+     * @return a string representation of the specified action.
+     */
+    @Override
+    public String toString(final Action action) {
+        return this.problem.toString(action);
+    }
+
+    /**
+     * Returns a string representation of a specified durative action.
+     *
+     * @param action the action.
+     * @return a string representation of the specified durative action.
+     */
+    @Override
+    public String toString(final DurativeAction action) {
+        return this.problem.toString(action);
+    }
+
+    /**
+     * Returns a string representation of a specified method.
+     *
+     * @param method the method.
+     * @return a string representation of the specified method.
+     */
+    @Override
+    public String toString(final Method method) {
+        return this.problem.toString(method);
+    }
+
+    /**
+     * Returns a string representation of a specified durative method.
+     *
+     * @param method the method.
+     * @return a string representation of the specified durative method.
+     */
+    @Override
+    public String toString(final DurativeMethod method) {
+        return this.problem.toString(method);
+    }
+
+    /**
+     * Returns a string representation of a specified task.
+     *
+     * @param task the task.
+     * @return a string representation of the specified task.
+     */
+    @Override
+    public String toString(final Task task) {
+        return this.problem.toString(task);
+    }
+
+    /**
+     * Returns a string representation of a specified task network.
+     *
+     * @param network the task network.
+     * @return a string representation of the specified task network.
+     */
+    @Override
+    public String toString(final TaskNetwork network) {
+        return this.problem.toString(network);
+    }
+
+    /**
+     * Returns a string representation of a hierarchical decomposition of plan.
+     *
+     * @param hierarchy the hierarchical decomposition to convert into string represention.
+     * @return the string representation of the he hierarchical decomposition in parameter.
+     */
+    @Override
+    public String toString(final Hierarchy hierarchy) {
+        return this.problem.toString(hierarchy);
+    }
+
+    /**
+     * Returns a string representation of a condition.
+     *
+     * @param condition the condition.
+     * @return a string representation of the condition.
+     */
+    @Override
+    public String toString(final Condition condition) {
+        return this.problem.toString(condition);
+    }
+
+    /**
+     * Returns a string representation of an effect.
+     *
+     * @param effect the effect.
+     * @return a string representation of the effect.
+     */
+    @Override
+    public String toString(final Effect effect) {
+        return this.problem.toString(effect);
+    }
+
+    /**
+     * Returns a string representation of a closed world state.
+     *
+     * @param state the state.
+     * @return a string representation of the specified state.
+     */
+    @Override
+    public String toString(final State state) {
+        return this.problem.toString(state);
+    }
+
+    /**
+     * Returns a string representation of a initial state.
+     *
+     * @param state the state.
+     * @return a string representation of the specified state.
+     */
+    @Override
+    public String toString(final InitialState state) {
+        return this.problem.toString(state);
+    }
+
+    /**
+     * Returns a string representation of a fluent.
+     *
+     * @param fluent the fluent.
+     * @return a string representation of the specified fluent.
+     */
+    @Override
+    public String toString(final Fluent fluent) {
+        return this.problem.toString(fluent);
+    }
+
+    /**
+     * Return a string representation of a plan.
+     *
+     * @param plan the plan.
+     * @return a string representation of the specified plan.
+     */
+    @Override
+    public String toString(final Plan plan) {
+        return this.problem.toString(plan);
+    }
+
+    /**
+     * Returns a string representation of a conditional effect.
+     *
+     * @param effect the conditional effect.
+     * @return a string representation of the specified conditional effect.
+     */
+    @Override
+    public String toString(final ConditionalEffect effect) {
+        return this.problem.toString(effect);
+    }
+
+    /**
+     * Returns a short string representation of the specified operator, i.e., its name and its instantiated
+     * parameters.
+     *
+     * @param operator the operator.
+     * @return a string representation of the specified operator.
+     */
+    @Override
+    public String toShortString(final AbstractInstantiatedOperator operator) {
+        return this.problem.toShortString(operator);
+    }
+
+    /**
+     * Simply an atomic formula based on the inertia and the initial state of the instantiated problem.
+     *
+     * @param atom the atomic formula.
+     * @return if the atom can be simplify to TRUE or FALSE.
+     */
+    @Override
+    public boolean simplify(final Expression<Integer> atom) {
+        return this.problem.simplify(atom);
+    }
+
+    /**
+     * Returns true if the problem is totally ordered.
+     *
+     * @return true if the problem is totally ordered, false otherwise.
+     */
+    @Override
+    public boolean isTotallyOrdered() {
+        return this.problem.isTotallyOrdered();
+    }
+
+}
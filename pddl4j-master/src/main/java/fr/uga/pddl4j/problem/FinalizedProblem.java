@@ -32,7 +32,9 @@ import fr.uga.pddl4j.problem.numeric.NumericComparator;
 import fr.uga.pddl4j.problem.numeric.NumericConstraint;
 import fr.uga.pddl4j.problem.numeric.NumericFluent;
 import fr.uga.pddl4j.problem.numeric.NumericVariable;
+import fr.uga.pddl4j.problem.operator.AbstractFluentDescription;
 import fr.uga.pddl4j.problem.operator.AbstractInstantiatedOperator;
+import fr.uga.pddl4j.problem.operator.AbstractOperator;
 import fr.uga.pddl4j.problem.operator.Action;
 import fr.uga.pddl4j.problem.operator.Condition;
 import fr.uga.pddl4j.problem.operator.ConditionalEffect;
@@ -54,6 +56,7 @@ import fr.uga.pddl4j.problem.time.TemporalOrderingConstraintNetwork;
 import fr.uga.pddl4j.problem.time.TemporalRelation;
 import fr.uga.pddl4j.util.BitSet;
 import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryEstimator;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -79,6 +82,11 @@ public abstract class FinalizedProblem extends PostInstantiatedProblem {
      */
     private List<Action> actions;
 
+    /**
+     * The successor generator of the actions. The generator is built lazily and is not serialized.
+     */
+    private transient volatile SuccessorGenerator successorGenerator;
+
     /**
      * The list of instantiated durative actions encoded into bit sets.
      */
@@ -172,6 +180,112 @@ public abstract class FinalizedProblem extends PostInstantiatedProblem {
         return this.actions;
     }
 
+    /**
+     * Returns the successor generator of the actions of the problem. The generator is built the first time this
+     * method is called, i.e., after the instantiation of the problem.
+     *
+     * @return the successor generator of the actions of the problem.
+     */
+    public final SuccessorGenerator getSuccessorGenerator() {
+        SuccessorGenerator generator = this.successorGenerator;
+        if (generator == null) {
+            synchronized (this) {
+                generator = this.successorGenerator;
+                if (generator == null) {
+                    generator = new SuccessorGenerator(this);
+                    this.successorGenerator = generator;
+                }
+            }
+        }
+        return generator;
+    }
+
+    /**
+     * Returns an estimation of the memory used by the compact representation of the problem in bytes, i.e., its
+     * fluents, tasks, actions, methods, initial state, goal and successor generator. The structures used only during
+     * the instantiation of the problem and the numeric constraints are not counted.
+     *
+     * @return an estimation of the memory used by the compact representation of the problem in bytes.
+     */
+    public long getMemoryUsed() {
+        long memory = MemoryEstimator.sizeOfObject(18, 0);
+        memory += FinalizedProblem.sizeOfList(this.fluents);
+        for (Fluent fluent : this.fluents) {
+            memory += MemoryEstimator.sizeOfObject(1, 4) + MemoryEstimator.sizeOf(fluent.getArguments());
+        }
+        memory += FinalizedProblem.sizeOfList(this.tasks);
+        for (Task task : this.tasks) {
+            memory += MemoryEstimator.sizeOfObject(1, 5) + MemoryEstimator.sizeOf(task.getArguments());
+        }
+        memory += FinalizedProblem.sizeOfList(this.actions);
+        for (Action action : this.actions) {
+            memory += FinalizedProblem.sizeOfOperator(action) + MemoryEstimator.sizeOfObject(4, 0);
+            memory += FinalizedProblem.sizeOfList(action.getConditionalEffects());
+            for (ConditionalEffect effect : action.getConditionalEffects()) {
+                memory += MemoryEstimator.sizeOfObject(2, 0) + FinalizedProblem.sizeOf(effect.getCondition())
+                    + FinalizedProblem.sizeOf(effect.getEffect());
+            }
+        }
+        memory += FinalizedProblem.sizeOfList(this.methods);
+        for (Method method : this.methods) {
+            memory += FinalizedProblem.sizeOfOperator(method) + MemoryEstimator.sizeOfObject(1, 4);
+            // The task network: the list of boxed tasks and the square matrix of the ordering constraints
+            final int size = method.getSubTasks().size();
+            memory += MemoryEstimator.sizeOfObject(6, 1) + FinalizedProblem.sizeOfList(method.getSubTasks())
+                + size * MemoryEstimator.sizeOfObject(0, 4);
+            memory += size * MemoryEstimator.sizeOfArray((size + 63) / 64, Long.BYTES);
+        }
+        memory += FinalizedProblem.sizeOf(this.initialState) + FinalizedProblem.sizeOf(this.goal);
+        final SuccessorGenerator generator = this.successorGenerator;
+        if (generator != null) {
+            memory += generator.getMemoryUsed();
+        }
+        return memory;
+    }
+
+    /**
+     * Returns an estimation of the memory used by the name, the parameters and the precondition of an operator in
+     * bytes. The fields of the subclasses of the operator are not counted.
+     *
+     * @param operator the operator.
+     * @return an estimation of the memory used by the operator in bytes.
+     */
+    static long sizeOfOperator(final AbstractOperator operator) {
+        // The name is counted as a string of one byte characters
+        final long name = operator.getName() == null ? 0 : MemoryEstimator.sizeOfObject(1, 8)
+            + MemoryEstimator.sizeOfArray(operator.getName().length(), 1);
+        return MemoryEstimator.sizeOfObject(4, 1) + name
+            + MemoryEstimator.sizeOfArray(operator.arity(), 2 * Integer.BYTES)
+            + FinalizedProblem.sizeOf(operator.getPrecondition());
+    }
+
+    /**
+     * Returns an estimation of the memory used by the fluents of a condition or an effect in bytes. The numeric
+     * constraints and assignments are not counted.
+     *
+     * @param description the condition or the effect.
+     * @return an estimation of the memory used by the description in bytes.
+     */
+    static long sizeOf(final AbstractFluentDescription description) {
+        if (description == null) {
+            return 0;
+        }
+        return MemoryEstimator.sizeOfObject(3, 0) + MemoryEstimator.sizeOf(description.getPositiveFluents())
+            + MemoryEstimator.sizeOf(description.getNegativeFluents());
+    }
+
+    /**
+     * Returns an estimation of the memory used by an array list of a specified list in bytes. The elements of the list
+     * are not counted.
+     *
+     * @param list the list.
+     * @return an estimation of the memory used by the list in bytes.
+     */
+    static long sizeOfList(final List<?> list) {
+        return list == null ? 0 : MemoryEstimator.sizeOfObject(1, 8)
+            + MemoryEstimator.sizeOfArray(list.size(), MemoryEstimator.REFERENCE_SIZE);
+    }
+
     /**
      * Returns the list of instantiated durative actions of the problem.
      *
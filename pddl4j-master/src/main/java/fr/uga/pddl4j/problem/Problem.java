@@ -30,6 +30,7 @@ import fr.uga.pddl4j.problem.operator.DurativeMethod;
 import fr.uga.pddl4j.problem.operator.Effect;
 import fr.uga.pddl4j.problem.operator.Method;
 import fr.uga.pddl4j.problem.operator.TaskNetwork;
+import fr.uga.pddl4j.util.MemoryEstimator;
 
 import java.io.Serializable;
 import java.util.List;
@@ -114,6 +115,42 @@ public interface Problem extends Serializable, AtomicFormulaSimplifier<Integer>
      */
     List<Action> getActions();
 
+    /**
+     * Returns the successor generator of the actions of the problem. The generator is built the first time this
+     * method is called. By default, the generator is kept in a cache shared by all the problems that weakly
+     * references the problems.
+     *
+     * @return the successor generator of the actions of the problem.
+     * @see SuccessorGenerator
+     */
+    default SuccessorGenerator getSuccessorGenerator() {
+        return SuccessorGenerator.getInstance(this);
+    }
+
+    /**
+     * Returns an estimation of the memory used by the compact representation of the problem in bytes. The estimation
+     * is computed from the sizes of the structures of the problem without walking the objects in the heap. By
+     * default, only the fluents, the actions, the initial state and the goal of the problem are counted.
+     *
+     * @return an estimation of the memory used by the compact representation of the problem in bytes.
+     */
+    default long getMemoryUsed() {
+        long memory = FinalizedProblem.sizeOfList(this.getFluents());
+        for (Fluent fluent : this.getFluents()) {
+            memory += MemoryEstimator.sizeOfObject(1, 4) + MemoryEstimator.sizeOf(fluent.getArguments());
+        }
+        memory += FinalizedProblem.sizeOfList(this.getActions());
+        for (Action action : this.getActions()) {
+            memory += FinalizedProblem.sizeOfOperator(action) + MemoryEstimator.sizeOfObject(4, 0);
+            memory += FinalizedProblem.sizeOfList(action.getConditionalEffects());
+            for (ConditionalEffect effect : action.getConditionalEffects()) {
+                memory += MemoryEstimator.sizeOfObject(2, 0) + FinalizedProblem.sizeOf(effect.getCondition())
+                    + FinalizedProblem.sizeOf(effect.getEffect());
+            }
+        }
+        return memory + FinalizedProblem.sizeOf(this.getInitialState()) + FinalizedProblem.sizeOf(this.getGoal());
+    }
+
     /**
      * Returns the list of instantiated durative actions of the problem.
      *
@@ -23,17 +23,35 @@ import fr.uga.pddl4j.problem.operator.Condition;
 import fr.uga.pddl4j.problem.operator.ConditionalEffect;
 import fr.uga.pddl4j.problem.operator.Effect;
 import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryEstimator;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * This class implements a logical state.
  *
+ * <p>A state can optionally maintain a 64 bits Zobrist hash code (see {@link ZobristKeys}). When the keys are set,
+ * the hash code is updated incrementally by the <code>apply</code> methods and by {@link #copy(State)}, so the cost of
+ * hashing a successor depends on the size of the effects and not on the number of fluents of the problem. The other
+ * methods that modify the bits of the state do not update the hash code: {@link #setZobristKeys(ZobristKeys)} must
+ * be called again after using them.</p>
+ *
  * @author D. Pellier
- * @version 1.1 - 13.04.2010
+ * @version 1.2 - 16.10.2026
  */
 public class State extends BitVector {
 
+    /**
+     * The Zobrist keys used to hash the state or <code>null</code> if the state is not hashed incrementally.
+     */
+    private ZobristKeys keys;
+
+    /**
+     * The Zobrist hash code of the state.
+     */
+    private long hash;
+
     /**
      * Creates a new state.
      */
@@ -69,8 +87,92 @@ public class State extends BitVector {
      * @param state the other state to copy.
      */
     public State(final State state) {
-        this();
-        this.or(state);
+        super(state);
+        this.keys = state.keys;
+        this.hash = state.hash;
+    }
+
+    /**
+     * Sets the Zobrist keys used to hash this state and computes its hash code from scratch. If the keys are
+     * <code>null</code>, the state is no more hashed incrementally.
+     *
+     * @param keys the Zobrist keys of the problem or <code>null</code>.
+     */
+    public final void setZobristKeys(final ZobristKeys keys) {
+        this.keys = keys;
+        this.hash = keys == null ? 0L : keys.hash(this);
+    }
+
+    /**
+     * Sets the Zobrist keys used to hash this state and its hash code without computing it. The hash code must be the
+     * hash code of this state computed with the keys, e.g., the hash code of a state stored with its hash code.
+     *
+     * @param keys the Zobrist keys of the problem. The keys cannot be null.
+     * @param hash the Zobrist hash code of this state computed with the keys.
+     */
+    public final void setZobristKeys(final ZobristKeys keys, final long hash) {
+        this.keys = Objects.requireNonNull(keys);
+        this.hash = hash;
+    }
+
+    /**
+     * Returns the Zobrist keys used to hash this state or <code>null</code> if the state is not hashed incrementally.
+     *
+     * @return the Zobrist keys used to hash this state.
+     */
+    public final ZobristKeys getZobristKeys() {
+        return this.keys;
+    }
+
+    /**
+     * Replaces the content of this state by the content of an other state. The Zobrist keys and the hash code of the
+     * other state are copied too. Contrary to the copy constructor, this method does not allocate memory when this
+     * state has enough words.
+     *
+     * @param state the other state.
+     */
+    public final void copy(final State state) {
+        this.copyWordsFrom(state.words, 0, state.wordsInUse);
+        this.keys = state.keys;
+        this.hash = state.hash;
+    }
+
+    /**
+     * Returns a 64 bits hash code of this state. If the Zobrist keys of the state are set, the cached Zobrist hash
+     * code is returned; otherwise the hash code is computed from the words of the state.
+     *
+     * @return a 64 bits hash code of this state.
+     */
+    @Override
+    public long longHashCode() {
+        return this.keys == null ? super.longHashCode() : this.hash;
+    }
+
+    /**
+     * Returns an estimation of the memory used by this state in bytes. The Zobrist keys of the state are not counted
+     * because they are shared by all the states of a search.
+     *
+     * @return an estimation of the memory used by this state in bytes.
+     */
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOf(this, 1, 8);
+    }
+
+    /**
+     * Sets a fluent of this state to a specified value. Contrary to the methods inherited from {@link BitVector}, this
+     * method updates the Zobrist hash code of the state. It is used to modify a state in place and to undo the
+     * modifications.
+     *
+     * @param fluent the index of the fluent.
+     * @param value  the value of the fluent.
+     */
+    public final void setFluent(final int fluent, final boolean value) {
+        if (this.get(fluent) != value) {
+            if (this.keys != null) {
+                this.hash ^= this.keys.get(fluent);
+            }
+            this.set(fluent, value);
+        }
     }
 
     /**
@@ -80,8 +182,22 @@ public class State extends BitVector {
      * @param state the state to apply.
      */
     public final void apply(final Effect state) {
-        this.andNot(state.getNegativeFluents());
-        this.or(state.getPositiveFluents());
+        final BitVector positive = state.getPositiveFluents();
+        final BitVector negative = state.getNegativeFluents();
+        if (this.keys != null) {
+            // Update the hash code with the fluents that are actually deleted or added
+            for (int p = negative.nextSetBit(0); p >= 0; p = negative.nextSetBit(p + 1)) {
+                if (this.get(p) && !positive.get(p)) {
+                    this.hash ^= this.keys.get(p);
+                }
+            }
+            for (int p = positive.nextSetBit(0); p >= 0; p = positive.nextSetBit(p + 1)) {
+                if (!this.get(p)) {
+                    this.hash ^= this.keys.get(p);
+                }
+            }
+        }
+        this.apply(positive, negative);
     }
 
     /**
@@ -90,7 +206,26 @@ public class State extends BitVector {
      * @param effects the list of conditional effects to apply.
      */
     public final void apply(final List<ConditionalEffect> effects) {
-        effects.stream().forEach(ce -> this.apply(ce.getEffect()));
+        for (int i = 0; i < effects.size(); i++) {
+            this.apply(effects.get(i).getEffect());
+        }
+    }
+
+    /**
+     * Applies the conditional effects of a list to this state if their condition hold in a specified state. This
+     * method is used to compute the successor of a state: this state is a copy of the parent state and the conditions
+     * of the effects are evaluated in the parent state, before any effect is applied.
+     *
+     * @param effects the list of conditional effects to apply.
+     * @param state   the state in which the conditions of the effects are evaluated.
+     */
+    public final void apply(final List<ConditionalEffect> effects, final State state) {
+        for (int i = 0; i < effects.size(); i++) {
+            final ConditionalEffect ce = effects.get(i);
+            if (state.satisfy(ce.getCondition())) {
+                this.apply(ce.getEffect());
+            }
+        }
     }
 
     /**
@@ -113,8 +248,7 @@ public class State extends BitVector {
      * @return <code>true</code> if this state satisfy a specified state; <code>false</code> otherwise.
      */
     public final boolean satisfy(final Condition state) {
-        return this.include(state.getPositiveFluents()) && this.exclude(state.getNegativeFluents());
-
+        return state.isSatisfiedIn(this);
     }
 
 }
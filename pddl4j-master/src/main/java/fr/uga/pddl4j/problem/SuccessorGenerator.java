@@ -0,0 +1,447 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.problem;
+
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.problem.operator.Condition;
+import fr.uga.pddl4j.util.BitVector;
+import fr.uga.pddl4j.util.MemoryEstimator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * This class implements a successor generator, i.e., a decision tree over the fluents of the preconditions of the
+ * actions of a problem that returns the actions applicable in a state without testing the precondition of every
+ * action. Each internal node of the tree tests a fluent and has three children: the actions that need the fluent to be
+ * true, the actions that need the fluent to be false and the actions that do not care about the fluent. The actions
+ * stored in a node have all their preconditions tested on the path from the root to the node. The fluents are tested
+ * in increasing order along each path of the tree.
+ *
+ * <p>The tree is stored in arrays of integers and is not modified after its construction, so a generator can be
+ * shared by several searches, possibly running in parallel. The numeric constraints of the preconditions are not
+ * taken into account, as in {@link Action#isApplicable(State)}.</p>
+ *
+ * <p>A generator can also be restricted to a subset of the actions and to the fluents that can be true in the states
+ * given to the generator, e.g., the fluents reachable from the initial state: the other fluents are not tested.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class SuccessorGenerator {
+
+    /**
+     * The value used to mark the absence of a child.
+     */
+    private static final int NONE = -1;
+
+    /**
+     * The generators built for the problems that do not store their own generator. The problems are weakly referenced
+     * so that the generator of a problem no longer used can be garbage collected.
+     */
+    private static final Map<Problem, SuccessorGenerator> CACHE = new WeakHashMap<>();
+
+    /**
+     * The fluent tested by each node or {@link #NONE} if the node is a leaf.
+     */
+    private int[] fluents;
+
+    /**
+     * The child of each node that contains the actions that need the tested fluent to be true.
+     */
+    private int[] positive;
+
+    /**
+     * The child of each node that contains the actions that need the tested fluent to be false.
+     */
+    private int[] negative;
+
+    /**
+     * The child of each node that contains the actions that do not care about the tested fluent.
+     */
+    private int[] dontCare;
+
+    /**
+     * The position in {@link #actions} of the first action stored in each node.
+     */
+    private int[] first;
+
+    /**
+     * The position in {@link #actions} after the last action stored in each node.
+     */
+    private int[] last;
+
+    /**
+     * The number of nodes of the tree.
+     */
+    private int size;
+
+    /**
+     * The actions stored in the nodes of the tree.
+     */
+    private final int[] actions;
+
+    /**
+     * The height of the tree.
+     */
+    private int height;
+
+    /**
+     * Creates a new successor generator for all the actions of a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public SuccessorGenerator(final Problem problem) {
+        this(problem.getActions(), null, null);
+    }
+
+    /**
+     * Creates a new successor generator for a subset of the actions of a specified problem.
+     *
+     * @param problem the problem.
+     * @param subset  the indexes of the actions of the subset.
+     */
+    public SuccessorGenerator(final Problem problem, final int[] subset) {
+        this(problem.getActions(), subset, null);
+    }
+
+    /**
+     * Creates a new successor generator for a subset of the actions of a specified problem and for the states in
+     * which some fluents are always false. The negative preconditions on these fluents are not tested and the actions
+     * with a positive precondition on these fluents are never returned.
+     *
+     * @param problem the problem.
+     * @param subset  the indexes of the actions of the subset.
+     * @param falses  the fluents false in all the states given to the generator.
+     */
+    public SuccessorGenerator(final Problem problem, final int[] subset, final BitVector falses) {
+        this(problem.getActions(), subset, falses);
+    }
+
+    /**
+     * Creates a new successor generator for a subset of a list of actions.
+     *
+     * @param list   the actions.
+     * @param subset the indexes of the actions of the subset or <code>null</code> to use all the actions.
+     * @param falses the fluents always false or <code>null</code> if no fluent is always false.
+     */
+    private SuccessorGenerator(final List<Action> list, final int[] subset, final BitVector falses) {
+        final int[] indexes;
+        if (subset == null) {
+            indexes = new int[list.size()];
+            for (int i = 0; i < indexes.length; i++) {
+                indexes[i] = i;
+            }
+        } else {
+            indexes = subset;
+        }
+        // Encode the preconditions as sorted arrays of literals: the literal 2f is the fluent f and the literal 2f + 1
+        // is the negation of the fluent f. The actions with a contradictory precondition are never applicable.
+        final int[][] literals = new int[list.size()][];
+        final List<Integer> candidates = new ArrayList<>(indexes.length);
+        for (int a : indexes) {
+            final Condition precondition = list.get(a).getPrecondition();
+            final BitVector pos = precondition.getPositiveFluents();
+            BitVector neg = precondition.getNegativeFluents();
+            if (falses != null && neg.intersects(falses)) {
+                // The negation of a fluent always false is always satisfied
+                neg = new BitVector(neg);
+                neg.andNot(falses);
+            }
+            if (!pos.intersects(neg) && (falses == null || !pos.intersects(falses))) {
+                final int[] l = new int[pos.cardinality() + neg.cardinality()];
+                int i = 0;
+                for (int f = pos.nextSetBit(0); f >= 0; f = pos.nextSetBit(f + 1)) {
+                    l[i++] = 2 * f;
+                }
+                for (int f = neg.nextSetBit(0); f >= 0; f = neg.nextSetBit(f + 1)) {
+                    l[i++] = 2 * f + 1;
+                }
+                Arrays.sort(l);
+                literals[a] = l;
+                candidates.add(a);
+            }
+        }
+        this.actions = new int[candidates.size()];
+        this.allocate(16);
+        this.size = 0;
+        this.height = 0;
+        this.build(candidates.stream().mapToInt(Integer::intValue).toArray(), literals);
+    }
+
+    /**
+     * Returns the generator of all the actions of a specified problem. The generator is built the first time it is
+     * requested for the problem and is then shared by all the callers.
+     *
+     * @param problem the problem.
+     * @return the generator of all the actions of the problem.
+     */
+    static SuccessorGenerator getInstance(final Problem problem) {
+        synchronized (SuccessorGenerator.CACHE) {
+            SuccessorGenerator generator = SuccessorGenerator.CACHE.get(problem);
+            if (generator == null) {
+                generator = new SuccessorGenerator(problem);
+                SuccessorGenerator.CACHE.put(problem, generator);
+            }
+            return generator;
+        }
+    }
+
+    /**
+     * Returns the number of nodes of the tree.
+     *
+     * @return the number of nodes of the tree.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the height of the tree.
+     *
+     * @return the height of the tree.
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * Returns an estimation of the memory used by the tree in bytes.
+     *
+     * @return an estimation of the memory used by the tree in bytes.
+     */
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOfObject(7, 8) + MemoryEstimator.sizeOf(this.fluents)
+            + MemoryEstimator.sizeOf(this.positive) + MemoryEstimator.sizeOf(this.negative)
+            + MemoryEstimator.sizeOf(this.dontCare) + MemoryEstimator.sizeOf(this.first)
+            + MemoryEstimator.sizeOf(this.last) + MemoryEstimator.sizeOf(this.actions);
+    }
+
+    /**
+     * Returns the minimal length of the buffers given to {@link #getApplicableActions(BitVector, int[])}.
+     *
+     * @return the minimal length of the buffers given to {@link #getApplicableActions(BitVector, int[])}.
+     */
+    public int getBufferLength() {
+        return this.actions.length + this.height + 2;
+    }
+
+    /**
+     * Returns the indexes of the actions applicable in a specified state sorted in increasing order. This method
+     * allocates a new array at each call: the searches that expand many states should use
+     * {@link #getApplicableActions(BitVector, int[])} with a buffer that they own.
+     *
+     * @param state the state.
+     * @return the indexes of the actions applicable in the state.
+     */
+    public int[] getApplicableActions(final BitVector state) {
+        final int[] buffer = new int[this.getBufferLength()];
+        return Arrays.copyOf(buffer, this.getApplicableActions(state, buffer));
+    }
+
+    /**
+     * Writes the indexes of the actions applicable in a specified state sorted in increasing order at the beginning
+     * of a buffer owned by the caller and returns their number. The length of the buffer must be at least
+     * {@link #getBufferLength()}: the end of the buffer is used to walk the tree, so that no memory is allocated.
+     *
+     * @param state  the state.
+     * @param buffer the buffer.
+     * @return the number of actions applicable in the state.
+     * @throws IllegalArgumentException if the buffer is shorter than {@link #getBufferLength()}.
+     */
+    public int getApplicableActions(final BitVector state, final int[] buffer) {
+        if (buffer.length < this.getBufferLength()) {
+            throw new IllegalArgumentException("buffer too short");
+        }
+        // The stack of the nodes to visit is stored after the actions: each action is stored once in the tree
+        final int bottom = this.actions.length;
+        int count = 0;
+        int top = bottom;
+        buffer[top++] = 0;
+        while (top > bottom) {
+            final int node = buffer[--top];
+            final int from = this.first[node];
+            final int to = this.last[node];
+            System.arraycopy(this.actions, from, buffer, count, to - from);
+            count += to - from;
+            final int fluent = this.fluents[node];
+            if (fluent != SuccessorGenerator.NONE) {
+                if (this.dontCare[node] != SuccessorGenerator.NONE) {
+                    buffer[top++] = this.dontCare[node];
+                }
+                final int child = state.get(fluent) ? this.positive[node] : this.negative[node];
+                if (child != SuccessorGenerator.NONE) {
+                    buffer[top++] = child;
+                }
+            }
+        }
+        Arrays.sort(buffer, 0, count);
+        return count;
+    }
+
+    /**
+     * Builds the tree. The nodes are built with an explicit stack because the height of the tree can be as large as
+     * the number of fluents of the problem.
+     *
+     * @param indexes  the indexes of the actions stored in the tree.
+     * @param literals the sorted literals of the preconditions of the actions.
+     */
+    private void build(final int[] indexes, final int[][] literals) {
+        // The work list contains the nodes to build, the actions of each node and the first literal not yet tested
+        final List<int[]> work = new ArrayList<>();
+        final List<int[]> info = new ArrayList<>();
+        this.newNode();
+        work.add(indexes);
+        info.add(new int[] {0, 0, 0});
+        int stored = 0;
+        while (!work.isEmpty()) {
+            final int[] subset = work.remove(work.size() - 1);
+            final int[] i = info.remove(info.size() - 1);
+            final int node = i[0];
+            final int threshold = i[1];
+            final int depth = i[2];
+            this.height = Math.max(this.height, depth);
+            // Store the actions with all their literals tested and look for the smallest fluent not yet tested
+            this.first[node] = stored;
+            int fluent = Integer.MAX_VALUE;
+            for (int a : subset) {
+                final int literal = SuccessorGenerator.next(literals[a], threshold);
+                if (literal == SuccessorGenerator.NONE) {
+                    this.actions[stored++] = a;
+                } else {
+                    fluent = Math.min(fluent, literal >> 1);
+                }
+            }
+            this.last[node] = stored;
+            if (fluent == Integer.MAX_VALUE) {
+                continue;
+            }
+            // Split the other actions according to the fluent
+            final int[] pos = new int[subset.length];
+            final int[] neg = new int[subset.length];
+            final int[] any = new int[subset.length];
+            int npos = 0;
+            int nneg = 0;
+            int nany = 0;
+            for (int a : subset) {
+                final int literal = SuccessorGenerator.next(literals[a], threshold);
+                if (literal == 2 * fluent) {
+                    pos[npos++] = a;
+                } else if (literal == 2 * fluent + 1) {
+                    neg[nneg++] = a;
+                } else if (literal != SuccessorGenerator.NONE) {
+                    any[nany++] = a;
+                }
+            }
+            // The children are created before the arrays of the nodes are accessed because they can be reallocated
+            final int next = 2 * fluent + 2;
+            final int p = this.push(work, info, pos, npos, next, depth + 1);
+            final int n = this.push(work, info, neg, nneg, next, depth + 1);
+            final int d = this.push(work, info, any, nany, next, depth + 1);
+            this.fluents[node] = fluent;
+            this.positive[node] = p;
+            this.negative[node] = n;
+            this.dontCare[node] = d;
+        }
+    }
+
+    /**
+     * Creates a new node for a set of actions and adds it to the work list of the construction of the tree.
+     *
+     * @param work      the work list of the actions of the nodes to build.
+     * @param info      the work list of the node, threshold and depth of the nodes to build.
+     * @param subset    the actions of the new node.
+     * @param length    the number of actions of the new node.
+     * @param threshold the smallest literal not yet tested for the actions of the new node.
+     * @param depth     the depth of the new node.
+     * @return the new node or {@link #NONE} if the set of actions is empty.
+     */
+    private int push(final List<int[]> work, final List<int[]> info, final int[] subset, final int length,
+                     final int threshold, final int depth) {
+        if (length == 0) {
+            return SuccessorGenerator.NONE;
+        }
+        final int node = this.newNode();
+        work.add(Arrays.copyOf(subset, length));
+        info.add(new int[] {node, threshold, depth});
+        return node;
+    }
+
+    /**
+     * Creates a new node without children and returns its index.
+     *
+     * @return the index of the new node.
+     */
+    private int newNode() {
+        if (this.size == this.fluents.length) {
+            this.allocate(2 * this.fluents.length);
+        }
+        final int node = this.size++;
+        this.fluents[node] = SuccessorGenerator.NONE;
+        this.positive[node] = SuccessorGenerator.NONE;
+        this.negative[node] = SuccessorGenerator.NONE;
+        this.dontCare[node] = SuccessorGenerator.NONE;
+        return node;
+    }
+
+    /**
+     * Allocates the arrays of the nodes with a specified capacity. The nodes already created are kept.
+     *
+     * @param capacity the new capacity.
+     */
+    private void allocate(final int capacity) {
+        if (this.fluents == null) {
+            this.fluents = new int[capacity];
+            this.positive = new int[capacity];
+            this.negative = new int[capacity];
+            this.dontCare = new int[capacity];
+            this.first = new int[capacity];
+            this.last = new int[capacity];
+        } else {
+            this.fluents = Arrays.copyOf(this.fluents, capacity);
+            this.positive = Arrays.copyOf(this.positive, capacity);
+            this.negative = Arrays.copyOf(this.negative, capacity);
+            this.dontCare = Arrays.copyOf(this.dontCare, capacity);
+            this.first = Arrays.copyOf(this.first, capacity);
+            this.last = Arrays.copyOf(this.last, capacity);
+        }
+    }
+
+    /**
+     * Returns the first literal of a sorted array of literals greater or equal to a specified threshold or
+     * {@link #NONE} if there is no such literal.
+     *
+     * @param literals  the sorted literals.
+     * @param threshold the threshold.
+     * @return the first literal greater or equal to the threshold.
+     */
+    private static int next(final int[] literals, final int threshold) {
+        for (int literal : literals) {
+            if (literal >= threshold) {
+                return literal;
+            }
+        }
+        return SuccessorGenerator.NONE;
+    }
+}
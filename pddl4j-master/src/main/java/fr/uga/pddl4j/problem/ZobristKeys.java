@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.problem;
+
+import fr.uga.pddl4j.util.BitVector;
+
+import java.util.SplittableRandom;
+
+/**
+ * This class implements the random keys of the Zobrist hashing of the states of a problem. A random 64 bits key is
+ * associated to each fluent of the problem and the hash code of a state is the exclusive or of the keys of its true
+ * fluents. Hence, the hash code of a state can be updated incrementally when a fluent is added or deleted by xoring
+ * the key of the fluent. The keys are generated from a fixed seed, so the hash code of a state is the same from one
+ * run to another.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ * @see State
+ */
+public final class ZobristKeys {
+
+    /**
+     * The seed used to generate the keys.
+     */
+    private static final long SEED = 0x5DEECE66DL;
+
+    /**
+     * The keys of the fluents.
+     */
+    private final long[] keys;
+
+    /**
+     * Creates the keys of the fluents of a specified problem.
+     *
+     * @param problem the problem.
+     */
+    public ZobristKeys(final Problem problem) {
+        this(problem.getFluents().size());
+    }
+
+    /**
+     * Creates the keys for a specified number of fluents.
+     *
+     * @param fluents the number of fluents.
+     */
+    public ZobristKeys(final int fluents) {
+        final SplittableRandom random = new SplittableRandom(ZobristKeys.SEED);
+        this.keys = new long[fluents];
+        for (int i = 0; i < fluents; i++) {
+            this.keys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns the number of keys, i.e., the number of fluents.
+     *
+     * @return the number of keys.
+     */
+    public int size() {
+        return this.keys.length;
+    }
+
+    /**
+     * Returns the key of a specified fluent.
+     *
+     * @param fluent the index of the fluent.
+     * @return the key of the fluent.
+     */
+    public long get(final int fluent) {
+        return this.keys[fluent];
+    }
+
+    /**
+     * Returns the hash code of a specified bit vector, i.e., the exclusive or of the keys of the bits set to 1.
+     *
+     * @param vector the bit vector.
+     * @return the hash code of the bit vector.
+     */
+    public long hash(final BitVector vector) {
+        long hash = 0L;
+        for (int p = vector.nextSetBit(0); p >= 0; p = vector.nextSetBit(p + 1)) {
+            hash ^= this.keys[p];
+        }
+        return hash;
+    }
+}
@@ -101,6 +101,18 @@ public class Condition extends AbstractFluentDescription {
         this.constraints.add(constraint);
     }
 
+    /**
+     * Returns <code>true</code> if the positive and negative fluents of this condition hold in a specified bit vector.
+     * The test is made word by word and does not allocate any intermediate bit vector. The numeric constraints of the
+     * condition are not evaluated.
+     *
+     * @param fluents the fluents that are true.
+     * @return <code>true</code> if the fluents of this condition hold in the specified bit vector; <code>false</code>
+     * otherwise.
+     */
+    public final boolean isSatisfiedIn(final BitVector fluents) {
+        return fluents.satisfy(this.getPositiveFluents(), this.getNegativeFluents());
+    }
 
     /**
      * Returns the hash code value of the precondition.
@@ -93,9 +93,10 @@ public class BitSet implements Cloneable, java.io.Serializable {
     protected long[] words;
 
     /**
-     * The number of words in the logical size of this BitSet.
+     * The number of words in the logical size of this BitSet. The field is protected instead of private as in the
+     * original code so that the subclasses can access it.
      */
-    private transient int wordsInUse = 0;
+    protected transient int wordsInUse = 0;
 
     /**
      * Whether the size of "words" is user-specified.  If so, we assume the user knows what he's doing and try harder to
@@ -166,6 +167,19 @@ public class BitSet implements Cloneable, java.io.Serializable {
         sizeIsSticky = true;
     }
 
+    /**
+     * Creates a bit set that contains the same bits as a specified bit set. Only the words in use of the specified bit
+     * set are copied. This constructor is not part of the original code. It avoids the intermediate allocation and the
+     * doubling of the words array made by {@code new BitSet()} followed by {@code or(set)}.
+     *
+     * @param set the bit set to copy.
+     */
+    protected BitSet(final BitSet set) {
+        this.words = Arrays.copyOf(set.words, Math.max(set.wordsInUse, 1));
+        this.wordsInUse = set.wordsInUse;
+        this.sizeIsSticky = false;
+    }
+
     private void initWords(int nbits) {
         words = new long[wordIndex(nbits - 1) + 1];
     }
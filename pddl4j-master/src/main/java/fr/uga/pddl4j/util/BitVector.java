@@ -29,6 +29,10 @@ import java.util.Arrays;
  * Revisions:
  * <ul>
  * <li>26.06.2020: Add shift methods.</li>
+ * <li>16.10.2026: Add word-level methods to test inclusion, exclusion and satisfaction, and to apply positive and
+ * negative fluents without allocating intermediate bit vectors.</li>
+ * <li>16.10.2026: Add methods to copy the words of a bit vector from and to an array of longs.</li>
+ * <li>16.10.2026: Add a 64 bits hash code.</li>
  * </ul>
  *
  * @author D. Pellier
@@ -70,8 +74,7 @@ public class BitVector extends BitSet {
      * @param vector the other <code>BitVector</code> to copy
      */
     public BitVector(final BitVector vector) {
-        this();
-        this.or(vector);
+        super(vector);
     }
 
     /**
@@ -84,9 +87,18 @@ public class BitVector extends BitSet {
      * <code>BitVector</code>; <code>false</code> otherwise.
      */
     public final boolean include(final BitVector vector) {
-        final BitVector copy = new BitVector(this);
-        copy.or(vector);
-        return copy.equals(this);
+        final int common = Math.min(this.wordsInUse, vector.wordsInUse);
+        for (int i = 0; i < common; i++) {
+            if ((vector.words[i] & ~this.words[i]) != 0) {
+                return false;
+            }
+        }
+        for (int i = common; i < vector.wordsInUse; i++) {
+            if (vector.words[i] != 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -102,6 +114,82 @@ public class BitVector extends BitSet {
         return !this.intersects(vector);
     }
 
+    /**
+     * Returns <code>true</code> if this bit vector includes a specified positive bit vector and excludes a specified
+     * negative bit vector. This method is the word-level counterpart of the satisfaction test of a condition and does
+     * not allocate any intermediate bit vector.
+     *
+     * @param positive the bits that must be set to 1 in this bit vector.
+     * @param negative the bits that must be set to 0 in this bit vector.
+     * @return <code>true</code> if this bit vector includes <code>positive</code> and excludes <code>negative</code>;
+     * <code>false</code> otherwise.
+     */
+    public final boolean satisfy(final BitVector positive, final BitVector negative) {
+        return this.include(positive) && this.exclude(negative);
+    }
+
+    /**
+     * Applies a specified positive and negative bit vectors to this bit vector. In other word, the bits of the
+     * negative bit vector are first cleared in this bit vector and then the bits of the positive bit vector are set.
+     * This method does not allocate any intermediate bit vector.
+     *
+     * @param positive the bits to set to 1.
+     * @param negative the bits to set to 0.
+     */
+    public final void apply(final BitVector positive, final BitVector negative) {
+        this.andNot(negative);
+        this.or(positive);
+    }
+
+    /**
+     * Returns a 64 bits hash code of this bit vector. Two equal bit vectors have the same 64 bits hash code. The hash
+     * code is used as a key of the hash tables of states, where the 32 bits of <code>hashCode()</code> collide too
+     * often.
+     *
+     * @return a 64 bits hash code of this bit vector.
+     */
+    public long longHashCode() {
+        long h = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < this.wordsInUse; i++) {
+            h = (h ^ this.words[i]) * 0xBF58476D1CE4E5B9L;
+            h ^= h >>> 31;
+        }
+        return h;
+    }
+
+    /**
+     * Copies the words of this bit vector in a specified array. Exactly <code>length</code> words are written from
+     * the position <code>offset</code> of the array: the words not in use in this bit vector are written as 0. The
+     * bits of this bit vector beyond <code>64 * length</code> are not copied.
+     *
+     * @param dst    the destination array.
+     * @param offset the position of the first word written in the array.
+     * @param length the number of words to write.
+     */
+    public final void copyWordsTo(final long[] dst, final int offset, final int length) {
+        final int n = Math.min(this.wordsInUse, length);
+        System.arraycopy(this.words, 0, dst, offset, n);
+        Arrays.fill(dst, offset + n, offset + length, 0L);
+    }
+
+    /**
+     * Replaces the content of this bit vector by <code>length</code> words read in a specified array from the position
+     * <code>offset</code>.
+     *
+     * @param src    the source array.
+     * @param offset the position of the first word read in the array.
+     * @param length the number of words to read.
+     */
+    public final void copyWordsFrom(final long[] src, final int offset, final int length) {
+        this.ensureCapacity(length);
+        System.arraycopy(src, offset, this.words, 0, length);
+        if (this.wordsInUse > length) {
+            Arrays.fill(this.words, length, this.wordsInUse, 0L);
+        }
+        this.wordsInUse = length;
+        this.recalculateWordsInUse();
+    }
+
     /**
      * Return a bit vector that represents the intersection of this bit vector with an other.
      *
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a bucket priority queue of objects with integer priorities. The objects are stored in a pool
+ * of slots and the indexes of the slots are ordered by an {@link IntBucketQueue}. The slots of the removed objects are
+ * reused. This queue is used when the priority of the objects is a small integer, e.g., the number of tasks left to
+ * decompose in a node of a forward decomposition search.
+ *
+ * @param <E> the type of the objects of the queue.
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class BucketQueue<E> {
+
+    /**
+     * The default capacity of the queue.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The queue of the slots.
+     */
+    private final IntBucketQueue queue;
+
+    /**
+     * The objects of the queue indexed by slot.
+     */
+    private Object[] elements;
+
+    /**
+     * The free slots.
+     */
+    private int[] free;
+
+    /**
+     * The number of free slots.
+     */
+    private int freeSize;
+
+    /**
+     * The number of slots already used at least once.
+     */
+    private int used;
+
+    /**
+     * Creates a new empty queue with a specified tie-breaking policy.
+     *
+     * @param tieBreaking the tie-breaking policy of the objects with the same priority.
+     */
+    public BucketQueue(final IntBucketQueue.TieBreaking tieBreaking) {
+        this.queue = new IntBucketQueue(tieBreaking);
+        this.elements = new Object[BucketQueue.DEFAULT_CAPACITY];
+        this.free = new int[BucketQueue.DEFAULT_CAPACITY];
+        this.freeSize = 0;
+        this.used = 0;
+    }
+
+    /**
+     * Returns the number of objects in the queue.
+     *
+     * @return the number of objects in the queue.
+     */
+    public int size() {
+        return this.queue.size();
+    }
+
+    /**
+     * Returns <code>true</code> if the queue is empty.
+     *
+     * @return <code>true</code> if the queue is empty; <code>false</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return this.queue.isEmpty();
+    }
+
+    /**
+     * Inserts an object in the queue.
+     *
+     * @param element  the object to insert.
+     * @param priority the priority of the object. The objects with the smallest priority are removed first.
+     */
+    public void add(final E element, final int priority) {
+        final int slot;
+        if (this.freeSize > 0) {
+            slot = this.free[--this.freeSize];
+        } else {
+            if (this.used == this.elements.length) {
+                this.elements = Arrays.copyOf(this.elements, 2 * this.elements.length);
+                this.free = Arrays.copyOf(this.free, 2 * this.free.length);
+            }
+            slot = this.used++;
+        }
+        this.elements[slot] = element;
+        this.queue.add(slot, priority, 0);
+    }
+
+    /**
+     * Removes and returns the object with the smallest priority.
+     *
+     * @return the object with the smallest priority.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        final int slot = this.queue.poll();
+        final E element = (E) this.elements[slot];
+        this.elements[slot] = null;
+        this.free[this.freeSize++] = slot;
+        return element;
+    }
+}
@@ -0,0 +1,333 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a two-level bucket priority queue of integers. The integers are stored in buckets indexed
+ * first by their primary key and then by their secondary key, so that insertion and removal are done in constant
+ * amortized time when the keys are small positive integers, e.g., the f and h values of the nodes of a search with
+ * unit action costs. The integers with the same keys are removed in FIFO or LIFO order.
+ *
+ * <p>The keys that are not integral or greater than {@link #MAX_KEY}, e.g., the heuristic value of a dead end, are
+ * stored in an overflow binary heap. The queue stays correct whatever the keys are, but it is only efficient when most
+ * of the keys are small integers.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ * @see IntHeap
+ */
+public final class IntBucketQueue implements IntPriorityQueue {
+
+    /**
+     * The tie-breaking policies of the integers with the same keys.
+     */
+    public enum TieBreaking {
+        /**
+         * The first integer inserted is removed first.
+         */
+        FIFO,
+        /**
+         * The last integer inserted is removed first.
+         */
+        LIFO,
+    }
+
+    /**
+     * The greatest key stored in a bucket.
+     */
+    public static final int MAX_KEY = 1 << 16;
+
+    /**
+     * The initial capacity of a bucket.
+     */
+    private static final int BUCKET_CAPACITY = 16;
+
+    /**
+     * The tie-breaking policy of the queue.
+     */
+    private final TieBreaking tieBreaking;
+
+    /**
+     * The levels of the queue indexed by primary key.
+     */
+    private Level[] levels;
+
+    /**
+     * A lower bound of the smallest primary key of the integers stored in the buckets.
+     */
+    private int min;
+
+    /**
+     * The number of integers stored in the buckets.
+     */
+    private int size;
+
+    /**
+     * The heap used to store the integers with keys that cannot be stored in the buckets.
+     */
+    private final IntHeap overflow;
+
+    /**
+     * The estimation of the memory used by the levels and the buckets of the queue in bytes. The estimation is updated
+     * each time an array of the queue is allocated.
+     */
+    private long memory;
+
+    /**
+     * This class implements the buckets of a level of the queue, i.e., the integers with the same primary key indexed
+     * by secondary key.
+     */
+    private static final class Level {
+
+        /**
+         * The buckets of the level indexed by secondary key.
+         */
+        private int[][] buckets = new int[0][];
+
+        /**
+         * The position of the first integer of each bucket.
+         */
+        private int[] heads = new int[0];
+
+        /**
+         * The position after the last integer of each bucket.
+         */
+        private int[] tails = new int[0];
+
+        /**
+         * A lower bound of the smallest secondary key of the integers of the level.
+         */
+        private int min = Integer.MAX_VALUE;
+
+        /**
+         * The number of integers of the level.
+         */
+        private int size = 0;
+    }
+
+    /**
+     * Creates a new empty queue with the FIFO tie-breaking policy.
+     */
+    public IntBucketQueue() {
+        this(TieBreaking.FIFO);
+    }
+
+    /**
+     * Creates a new empty queue with a specified tie-breaking policy.
+     *
+     * @param tieBreaking the tie-breaking policy.
+     */
+    public IntBucketQueue(final TieBreaking tieBreaking) {
+        this.tieBreaking = tieBreaking;
+        this.levels = new Level[0];
+        this.min = Integer.MAX_VALUE;
+        this.size = 0;
+        this.overflow = new IntHeap();
+        this.memory = MemoryEstimator.sizeOf(this.levels);
+    }
+
+    /**
+     * Returns the tie-breaking policy of the queue.
+     *
+     * @return the tie-breaking policy of the queue.
+     */
+    public TieBreaking getTieBreaking() {
+        return this.tieBreaking;
+    }
+
+    /**
+     * Returns the number of integers in the queue.
+     *
+     * @return the number of integers in the queue.
+     */
+    @Override
+    public int size() {
+        return this.size + this.overflow.size();
+    }
+
+    /**
+     * Returns <code>true</code> if the queue is empty.
+     *
+     * @return <code>true</code> if the queue is empty; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    /**
+     * Returns an estimation of the memory used by the queue in bytes.
+     *
+     * @return an estimation of the memory used by the queue in bytes.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOfObject(3, 16) + this.memory + this.overflow.getMemoryUsed();
+    }
+
+    /**
+     * Removes all the integers of the queue. The buckets are kept to be reused.
+     */
+    @Override
+    public void clear() {
+        for (Level level : this.levels) {
+            if (level != null) {
+                Arrays.fill(level.heads, 0);
+                Arrays.fill(level.tails, 0);
+                level.min = Integer.MAX_VALUE;
+                level.size = 0;
+            }
+        }
+        this.min = Integer.MAX_VALUE;
+        this.size = 0;
+        this.overflow.clear();
+    }
+
+    /**
+     * Inserts an integer in the queue.
+     *
+     * @param element   the integer to insert.
+     * @param primary   the primary key of the integer.
+     * @param secondary the secondary key of the integer.
+     */
+    @Override
+    public void add(final int element, final double primary, final double secondary) {
+        if (!IntBucketQueue.isBucketKey(primary) || !IntBucketQueue.isBucketKey(secondary)) {
+            this.overflow.add(element, primary, secondary);
+            return;
+        }
+        final int p = (int) primary;
+        final int s = (int) secondary;
+        if (p >= this.levels.length) {
+            this.memory -= MemoryEstimator.sizeOf(this.levels);
+            this.levels = Arrays.copyOf(this.levels, Math.max(p + 1, 2 * this.levels.length));
+            this.memory += MemoryEstimator.sizeOf(this.levels);
+        }
+        Level level = this.levels[p];
+        if (level == null) {
+            level = new Level();
+            this.levels[p] = level;
+            this.memory += MemoryEstimator.sizeOfObject(3, 8) + MemoryEstimator.sizeOf(level.buckets)
+                + MemoryEstimator.sizeOf(level.heads) + MemoryEstimator.sizeOf(level.tails);
+        }
+        if (s >= level.buckets.length) {
+            final int length = Math.max(s + 1, 2 * level.buckets.length);
+            this.memory -= MemoryEstimator.sizeOf(level.buckets) + MemoryEstimator.sizeOf(level.heads)
+                + MemoryEstimator.sizeOf(level.tails);
+            level.buckets = Arrays.copyOf(level.buckets, length);
+            level.heads = Arrays.copyOf(level.heads, length);
+            level.tails = Arrays.copyOf(level.tails, length);
+            this.memory += MemoryEstimator.sizeOf(level.buckets) + MemoryEstimator.sizeOf(level.heads)
+                + MemoryEstimator.sizeOf(level.tails);
+        }
+        int[] bucket = level.buckets[s];
+        if (bucket == null) {
+            bucket = new int[IntBucketQueue.BUCKET_CAPACITY];
+            level.buckets[s] = bucket;
+            this.memory += MemoryEstimator.sizeOf(bucket);
+        } else if (level.tails[s] == bucket.length) {
+            final int head = level.heads[s];
+            final int length = level.tails[s] - head;
+            if (2 * head >= bucket.length) {
+                // More than half of the bucket was already removed in FIFO order: compact it
+                System.arraycopy(bucket, head, bucket, 0, length);
+            } else {
+                final int[] larger = new int[2 * bucket.length];
+                System.arraycopy(bucket, head, larger, 0, length);
+                this.memory += MemoryEstimator.sizeOf(larger) - MemoryEstimator.sizeOf(bucket);
+                bucket = larger;
+                level.buckets[s] = bucket;
+            }
+            level.heads[s] = 0;
+            level.tails[s] = length;
+        }
+        bucket[level.tails[s]++] = element;
+        level.size++;
+        if (s < level.min) {
+            level.min = s;
+        }
+        if (p < this.min) {
+            this.min = p;
+        }
+        this.size++;
+    }
+
+    /**
+     * Removes and returns the integer with the smallest keys.
+     *
+     * @return the integer with the smallest keys.
+     * @throws NoSuchElementException if the queue is empty.
+     */
+    @Override
+    public int poll() {
+        if (this.size == 0) {
+            return this.overflow.poll();
+        }
+        while (this.levels[this.min] == null || this.levels[this.min].size == 0) {
+            this.min++;
+        }
+        final Level level = this.levels[this.min];
+        while (level.heads[level.min] == level.tails[level.min]) {
+            level.min++;
+        }
+        final int s = level.min;
+        if (!this.overflow.isEmpty()) {
+            final double p = this.overflow.peekPrimaryKey();
+            if (p < this.min || (p == this.min && this.overflow.peekSecondaryKey() < s)) {
+                return this.overflow.poll();
+            }
+        }
+        final int[] bucket = level.buckets[s];
+        final int element;
+        if (this.tieBreaking == TieBreaking.FIFO) {
+            element = bucket[level.heads[s]++];
+            if (level.heads[s] == level.tails[s]) {
+                level.heads[s] = 0;
+                level.tails[s] = 0;
+            }
+        } else {
+            element = bucket[--level.tails[s]];
+        }
+        level.size--;
+        if (level.size == 0) {
+            level.min = Integer.MAX_VALUE;
+        }
+        this.size--;
+        if (this.size == 0) {
+            this.min = Integer.MAX_VALUE;
+        }
+        return element;
+    }
+
+    /**
+     * Returns <code>true</code> if a key can be used to index a bucket, i.e., if the key is an integer between 0 and
+     * {@link #MAX_KEY}.
+     *
+     * @param key the key.
+     * @return <code>true</code> if the key can be used to index a bucket; <code>false</code> otherwise.
+     */
+    private static boolean isBucketKey(final double key) {
+        return key >= 0 && key <= IntBucketQueue.MAX_KEY && key == (int) key;
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a binary min-heap of integers. Each integer is inserted with a primary and a secondary key.
+ * The integers are ordered by increasing primary key and, in case of equality, by increasing secondary key. The keys
+ * and the integers are stored in arrays of primitive types, so no object is created when an integer is inserted.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class IntHeap implements IntPriorityQueue {
+
+    /**
+     * The default capacity of the heap.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The integers of the heap.
+     */
+    private int[] elements;
+
+    /**
+     * The primary keys of the integers.
+     */
+    private double[] primary;
+
+    /**
+     * The secondary keys of the integers.
+     */
+    private double[] secondary;
+
+    /**
+     * The number of integers in the heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new empty heap.
+     */
+    public IntHeap() {
+        this.elements = new int[IntHeap.DEFAULT_CAPACITY];
+        this.primary = new double[IntHeap.DEFAULT_CAPACITY];
+        this.secondary = new double[IntHeap.DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Returns the number of integers in the heap.
+     *
+     * @return the number of integers in the heap.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns <code>true</code> if the heap is empty.
+     *
+     * @return <code>true</code> if the heap is empty; <code>false</code> otherwise.
+     */
+    @Override
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns an estimation of the memory used by the heap in bytes.
+     *
+     * @return an estimation of the memory used by the heap in bytes.
+     */
+    @Override
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOfObject(3, 4) + MemoryEstimator.sizeOf(this.elements)
+            + MemoryEstimator.sizeOf(this.primary) + MemoryEstimator.sizeOf(this.secondary);
+    }
+
+    /**
+     * Removes all the integers of the heap.
+     */
+    @Override
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Inserts an integer in the heap.
+     *
+     * @param element   the integer to insert.
+     * @param primary   the primary key of the integer.
+     * @param secondary the secondary key of the integer.
+     */
+    @Override
+    public void add(final int element, final double primary, final double secondary) {
+        if (this.size == this.elements.length) {
+            final int capacity = 2 * this.elements.length;
+            this.elements = Arrays.copyOf(this.elements, capacity);
+            this.primary = Arrays.copyOf(this.primary, capacity);
+            this.secondary = Arrays.copyOf(this.secondary, capacity);
+        }
+        int i = this.size++;
+        while (i > 0) {
+            final int parent = (i - 1) >>> 1;
+            if (!this.less(primary, secondary, parent)) {
+                break;
+            }
+            this.move(parent, i);
+            i = parent;
+        }
+        this.elements[i] = element;
+        this.primary[i] = primary;
+        this.secondary[i] = secondary;
+    }
+
+    /**
+     * Returns the integer with the smallest keys without removing it.
+     *
+     * @return the integer with the smallest keys.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public int peek() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        return this.elements[0];
+    }
+
+    /**
+     * Returns the primary key of the integer with the smallest keys.
+     *
+     * @return the primary key of the integer with the smallest keys.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public double peekPrimaryKey() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        return this.primary[0];
+    }
+
+    /**
+     * Returns the secondary key of the integer with the smallest keys.
+     *
+     * @return the secondary key of the integer with the smallest keys.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    public double peekSecondaryKey() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        return this.secondary[0];
+    }
+
+    /**
+     * Removes and returns the integer with the smallest keys.
+     *
+     * @return the integer with the smallest keys.
+     * @throws NoSuchElementException if the heap is empty.
+     */
+    @Override
+    public int poll() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        final int result = this.elements[0];
+        this.size--;
+        if (this.size > 0) {
+            final int element = this.elements[this.size];
+            final double p = this.primary[this.size];
+            final double s = this.secondary[this.size];
+            int i = 0;
+            int child = 1;
+            while (child < this.size) {
+                if (child + 1 < this.size
+                        && this.less(this.primary[child + 1], this.secondary[child + 1], child)) {
+                    child++;
+                }
+                if (!IntHeap.less(this.primary[child], this.secondary[child], p, s)) {
+                    break;
+                }
+                this.move(child, i);
+                i = child;
+                child = 2 * i + 1;
+            }
+            this.elements[i] = element;
+            this.primary[i] = p;
+            this.secondary[i] = s;
+        }
+        return result;
+    }
+
+    /**
+     * Returns <code>true</code> if specified keys are strictly less than the keys at a specified position.
+     *
+     * @param p     the primary key.
+     * @param s     the secondary key.
+     * @param index the position in the heap.
+     * @return <code>true</code> if the keys are strictly less than the keys at the position; <code>false</code>
+     * otherwise.
+     */
+    private boolean less(final double p, final double s, final int index) {
+        return IntHeap.less(p, s, this.primary[index], this.secondary[index]);
+    }
+
+    /**
+     * Returns <code>true</code> if specified keys are strictly less than other specified keys.
+     *
+     * @param p      the primary key.
+     * @param s      the secondary key.
+     * @param otherP the other primary key.
+     * @param otherS the other secondary key.
+     * @return <code>true</code> if the keys are strictly less than the other keys; <code>false</code> otherwise.
+     */
+    private static boolean less(final double p, final double s, final double otherP, final double otherS) {
+        return p < otherP || (p == otherP && s < otherS);
+    }
+
+    /**
+     * Moves the integer and the keys of a position to an other position.
+     *
+     * @param from the position to move.
+     * @param to   the destination position.
+     */
+    private void move(final int from, final int to) {
+        this.elements[to] = this.elements[from];
+        this.primary[to] = this.primary[from];
+        this.secondary[to] = this.secondary[from];
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+/**
+ * This interface defines the methods of a priority queue of integers. Each integer is inserted with a primary and a
+ * secondary key. The integers are removed by increasing primary key and, in case of equality, by increasing secondary
+ * key.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ * @see IntHeap
+ * @see IntBucketQueue
+ */
+public interface IntPriorityQueue {
+
+    /**
+     * Returns the number of integers in the queue.
+     *
+     * @return the number of integers in the queue.
+     */
+    int size();
+
+    /**
+     * Returns <code>true</code> if the queue is empty.
+     *
+     * @return <code>true</code> if the queue is empty; <code>false</code> otherwise.
+     */
+    boolean isEmpty();
+
+    /**
+     * Removes all the integers of the queue.
+     */
+    void clear();
+
+    /**
+     * Returns an estimation of the memory used by the queue in bytes.
+     *
+     * @return an estimation of the memory used by the queue in bytes.
+     */
+    long getMemoryUsed();
+
+    /**
+     * Inserts an integer in the queue.
+     *
+     * @param element   the integer to insert.
+     * @param primary   the primary key of the integer.
+     * @param secondary the secondary key of the integer.
+     */
+    void add(final int element, final double primary, final double secondary);
+
+    /**
+     * Removes and returns the integer with the smallest keys.
+     *
+     * @return the integer with the smallest keys.
+     * @throws java.util.NoSuchElementException if the queue is empty.
+     */
+    int poll();
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import java.util.Arrays;
+
+/**
+ * This class implements an open addressing hash table with linear probing. The keys of the table are longs, e.g., the
+ * 64 bits hash codes or the identifiers of states, and each key is associated with an integer value, e.g., the index
+ * of a node, and a double value, e.g., the cost of a node. The keys and the values are stored inline in arrays of
+ * primitive types, so no object is created per entry. The integer values must be positive or null: the value -1 is
+ * used to mark the empty slots.
+ *
+ * <p>The table does not support the removal of a key. A table can only be cleared.</p>
+ *
+ * <p>The keys are compared exactly. When the keys are the hash codes of states, two distinct states with the same
+ * hash code share the same entry: the caller must compare the states on a hit or accept that a state can be omitted.
+ * </p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class LongHashTable {
+
+    /**
+     * The value returned when a key is not in the table.
+     */
+    public static final int NO_VALUE = -1;
+
+    /**
+     * The default capacity of the table.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    /**
+     * The maximum load factor of the table.
+     */
+    private static final double LOAD_FACTOR = 0.75;
+
+    /**
+     * The keys of the table.
+     */
+    private long[] keys;
+
+    /**
+     * The integer values of the table.
+     */
+    private int[] values;
+
+    /**
+     * The double values of the table.
+     */
+    private double[] doubles;
+
+    /**
+     * The number of keys stored in the table.
+     */
+    private int size;
+
+    /**
+     * The number of keys above which the table is resized.
+     */
+    private int threshold;
+
+    /**
+     * Creates a new empty table with a default capacity.
+     */
+    public LongHashTable() {
+        this(LongHashTable.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new empty table with a specified initial capacity.
+     *
+     * @param capacity the initial capacity of the table.
+     * @throws IllegalArgumentException if the capacity is negative.
+     */
+    public LongHashTable(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity < 0");
+        }
+        int length = 16;
+        while (length * LongHashTable.LOAD_FACTOR < capacity) {
+            length <<= 1;
+        }
+        this.allocate(length);
+    }
+
+    /**
+     * Returns an estimation of the memory used by the table in bytes.
+     *
+     * @return an estimation of the memory used by the table in bytes.
+     */
+    public long getMemoryUsed() {
+        return MemoryEstimator.sizeOfObject(3, 8) + MemoryEstimator.sizeOf(this.keys)
+            + MemoryEstimator.sizeOf(this.values) + MemoryEstimator.sizeOf(this.doubles);
+    }
+
+    /**
+     * Returns the number of keys stored in the table.
+     *
+     * @return the number of keys stored in the table.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns <code>true</code> if the table is empty.
+     *
+     * @return <code>true</code> if the table is empty; <code>false</code> otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns <code>true</code> if a specified key is stored in the table.
+     *
+     * @param key the key.
+     * @return <code>true</code> if the key is stored in the table; <code>false</code> otherwise.
+     */
+    public boolean contains(final long key) {
+        return this.values[this.slot(key)] != LongHashTable.NO_VALUE;
+    }
+
+    /**
+     * Returns the integer value associated with a specified key or {@link #NO_VALUE} if the key is not in the table.
+     *
+     * @param key the key.
+     * @return the integer value associated with the key.
+     */
+    public int get(final long key) {
+        return this.values[this.slot(key)];
+    }
+
+    /**
+     * Returns the double value associated with a specified key or {@link Double#NaN} if the key is not in the table.
+     *
+     * @param key the key.
+     * @return the double value associated with the key.
+     */
+    public double getDouble(final long key) {
+        final int slot = this.slot(key);
+        return this.values[slot] == LongHashTable.NO_VALUE ? Double.NaN : this.doubles[slot];
+    }
+
+    /**
+     * Associates a key with an integer value and a double value. The previous values associated with the key, if
+     * any, are replaced.
+     *
+     * @param key   the key.
+     * @param value the integer value. The value must be positive or null.
+     * @param d     the double value.
+     * @return <code>true</code> if the key was not already in the table; <code>false</code> otherwise.
+     * @throws IllegalArgumentException if the integer value is negative.
+     */
+    public boolean put(final long key, final int value, final double d) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value < 0");
+        }
+        final int slot = this.slot(key);
+        final boolean added = this.values[slot] == LongHashTable.NO_VALUE;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.doubles[slot] = d;
+        if (added && ++this.size > this.threshold) {
+            this.resize();
+        }
+        return added;
+    }
+
+    /**
+     * Associates a key with an integer value and a double value if the key is not already in the table.
+     *
+     * @param key   the key.
+     * @param value the integer value. The value must be positive or null.
+     * @param d     the double value.
+     * @return <code>true</code> if the key was not already in the table; <code>false</code> otherwise.
+     * @throws IllegalArgumentException if the integer value is negative.
+     */
+    public boolean putIfAbsent(final long key, final int value, final double d) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value < 0");
+        }
+        final int slot = this.slot(key);
+        if (this.values[slot] != LongHashTable.NO_VALUE) {
+            return false;
+        }
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        this.doubles[slot] = d;
+        if (++this.size > this.threshold) {
+            this.resize();
+        }
+        return true;
+    }
+
+    /**
+     * Associates a key with an integer value and a double value if the key is not in the table or if the double
+     * value is strictly less than the double value already associated with the key. This method is used to keep the
+     * smallest cost of a state in a single probe of the table.
+     *
+     * @param key   the key.
+     * @param value the integer value. The value must be positive or null.
+     * @param d     the double value.
+     * @return <code>true</code> if the values were stored; <code>false</code> otherwise.
+     * @throws IllegalArgumentException if the integer value is negative.
+     */
+    public boolean putIfLess(final long key, final int value, final double d) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value < 0");
+        }
+        final int slot = this.slot(key);
+        if (this.values[slot] == LongHashTable.NO_VALUE) {
+            this.keys[slot] = key;
+            this.values[slot] = value;
+            this.doubles[slot] = d;
+            if (++this.size > this.threshold) {
+                this.resize();
+            }
+            return true;
+        } else if (d < this.doubles[slot]) {
+            this.values[slot] = value;
+            this.doubles[slot] = d;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Removes all the keys of the table. The capacity of the table is unchanged.
+     */
+    public void clear() {
+        if (this.size > 0) {
+            Arrays.fill(this.values, LongHashTable.NO_VALUE);
+            this.size = 0;
+        }
+    }
+
+    /**
+     * Returns the slot of a key or the empty slot where the key must be inserted.
+     *
+     * @param key the key.
+     * @return the slot of the key.
+     */
+    private int slot(final long key) {
+        final int mask = this.keys.length - 1;
+        int slot = LongHashTable.mix(key) & mask;
+        while (this.values[slot] != LongHashTable.NO_VALUE && this.keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Doubles the capacity of the table.
+     */
+    private void resize() {
+        final long[] oldKeys = this.keys;
+        final int[] oldValues = this.values;
+        final double[] oldDoubles = this.doubles;
+        this.allocate(2 * oldKeys.length);
+        final int mask = this.keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != LongHashTable.NO_VALUE) {
+                int slot = LongHashTable.mix(oldKeys[i]) & mask;
+                while (this.values[slot] != LongHashTable.NO_VALUE) {
+                    slot = (slot + 1) & mask;
+                }
+                this.keys[slot] = oldKeys[i];
+                this.values[slot] = oldValues[i];
+                this.doubles[slot] = oldDoubles[i];
+            }
+        }
+    }
+
+    /**
+     * Allocates the arrays of the table with a specified length.
+     *
+     * @param length the length of the arrays. The length must be a power of 2.
+     */
+    private void allocate(final int length) {
+        this.keys = new long[length];
+        this.values = new int[length];
+        this.doubles = new double[length];
+        Arrays.fill(this.values, LongHashTable.NO_VALUE);
+        this.threshold = (int) (length * LongHashTable.LOAD_FACTOR);
+    }
+
+    /**
+     * Spreads the bits of a key. The keys can be state identifiers, so the low bits must be mixed with the high bits
+     * to avoid the clustering of the slots.
+     *
+     * @param key the key.
+     * @return the mixed key.
+     */
+    private static int mix(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        h ^= h >>> 32;
+        h ^= h >>> 16;
+        return (int) h;
+    }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.util;
+
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * This class contains the methods used to estimate the memory used by the data structures of the planners without
+ * walking the graph of the objects in the heap. The estimations follow the layout of the objects of a 64 bits
+ * HotSpot virtual machine: an object starts with a header, its fields are padded to a multiple of 8 bytes and the
+ * references are compressed when the maximum size of the heap is less than 32 GB.
+ *
+ * <p>The data structures of the planners keep their estimations up to date as they grow, so an estimation costs a
+ * few operations. The exact size of a graph of objects can still be measured with the JOL library with
+ * {@link #exactSizeOf(Object...)}, but the measure walks the whole graph and is much more expensive.</p>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class MemoryEstimator {
+
+    /**
+     * The size of a reference in bytes.
+     */
+    public static final int REFERENCE_SIZE = Runtime.getRuntime().maxMemory() < (32L << 30) ? 4 : 8;
+
+    /**
+     * The size of the header of an object in bytes.
+     */
+    public static final int OBJECT_HEADER_SIZE = 8 + MemoryEstimator.REFERENCE_SIZE;
+
+    /**
+     * The size of the header of an array in bytes, i.e., the header of an object and the length of the array.
+     */
+    public static final int ARRAY_HEADER_SIZE = MemoryEstimator.OBJECT_HEADER_SIZE + 4;
+
+    /**
+     * The size in bytes of an entry of a linked list, i.e., an object with three references.
+     */
+    public static final long LINKED_ENTRY_SIZE = MemoryEstimator.sizeOfObject(3, 0);
+
+    /**
+     * The size in bytes of an entry of a hash table of the standard library including its slot in the table, i.e., an
+     * object with three references and an integer hash code.
+     */
+    public static final long HASH_ENTRY_SIZE = MemoryEstimator.sizeOfObject(3, 4) + 2 * MemoryEstimator.REFERENCE_SIZE;
+
+    /**
+     * Creates a new estimator. This constructor is private because the class contains only static methods.
+     */
+    private MemoryEstimator() {
+    }
+
+    /**
+     * Returns a size in bytes rounded up to the next multiple of 8 bytes.
+     *
+     * @param size the size in bytes.
+     * @return the size rounded up to the next multiple of 8 bytes.
+     */
+    public static long align(final long size) {
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Returns the size in bytes of an object with a specified number of references and bytes of primitive fields. The
+     * objects referenced by the object are not counted.
+     *
+     * @param references the number of references of the object.
+     * @param primitives the number of bytes of the primitive fields of the object.
+     * @return the size of the object in bytes.
+     */
+    public static long sizeOfObject(final int references, final int primitives) {
+        return MemoryEstimator.align(MemoryEstimator.OBJECT_HEADER_SIZE + references * MemoryEstimator.REFERENCE_SIZE
+            + primitives);
+    }
+
+    /**
+     * Returns the size in bytes of an array with a specified length and size of elements.
+     *
+     * @param length  the length of the array.
+     * @param element the size of an element of the array in bytes.
+     * @return the size of the array in bytes.
+     */
+    public static long sizeOfArray(final int length, final int element) {
+        return MemoryEstimator.align(MemoryEstimator.ARRAY_HEADER_SIZE + (long) length * element);
+    }
+
+    /**
+     * Returns the size in bytes of an array of integers or 0 if the array is <code>null</code>.
+     *
+     * @param array the array.
+     * @return the size of the array in bytes.
+     */
+    public static long sizeOf(final int[] array) {
+        return array == null ? 0 : MemoryEstimator.sizeOfArray(array.length, Integer.BYTES);
+    }
+
+    /**
+     * Returns the size in bytes of an array of longs or 0 if the array is <code>null</code>.
+     *
+     * @param array the array.
+     * @return the size of the array in bytes.
+     */
+    public static long sizeOf(final long[] array) {
+        return array == null ? 0 : MemoryEstimator.sizeOfArray(array.length, Long.BYTES);
+    }
+
+    /**
+     * Returns the size in bytes of an array of doubles or 0 if the array is <code>null</code>.
+     *
+     * @param array the array.
+     * @return the size of the array in bytes.
+     */
+    public static long sizeOf(final double[] array) {
+        return array == null ? 0 : MemoryEstimator.sizeOfArray(array.length, Double.BYTES);
+    }
+
+    /**
+     * Returns the size in bytes of an array of booleans or 0 if the array is <code>null</code>.
+     *
+     * @param array the array.
+     * @return the size of the array in bytes.
+     */
+    public static long sizeOf(final boolean[] array) {
+        return array == null ? 0 : MemoryEstimator.sizeOfArray(array.length, 1);
+    }
+
+    /**
+     * Returns the size in bytes of an array of references or 0 if the array is <code>null</code>. The objects
+     * referenced by the array are not counted.
+     *
+     * @param array the array.
+     * @return the size of the array in bytes.
+     */
+    public static long sizeOf(final Object[] array) {
+        return array == null ? 0 : MemoryEstimator.sizeOfArray(array.length, MemoryEstimator.REFERENCE_SIZE);
+    }
+
+    /**
+     * Returns the size in bytes of a bit set and of its words or 0 if the bit set is <code>null</code>. The bit set
+     * can be an instance of a subclass with a specified number of additional fields.
+     *
+     * @param set        the bit set.
+     * @param references the number of references declared by the subclasses of <code>BitSet</code>.
+     * @param primitives the number of bytes of the primitive fields declared by the subclasses of <code>BitSet</code>.
+     * @return the size of the bit set in bytes.
+     */
+    public static long sizeOf(final BitSet set, final int references, final int primitives) {
+        if (set == null) {
+            return 0;
+        }
+        // The fields of BitSet: the words, the number of words in use and the sticky flag
+        return MemoryEstimator.sizeOfObject(1 + references, 4 + 1 + primitives) + MemoryEstimator.sizeOf(set.words);
+    }
+
+    /**
+     * Returns the size in bytes of a bit set and of its words or 0 if the bit set is <code>null</code>.
+     *
+     * @param set the bit set.
+     * @return the size of the bit set in bytes.
+     */
+    public static long sizeOf(final BitSet set) {
+        return MemoryEstimator.sizeOf(set, 0, 0);
+    }
+
+    /**
+     * Returns the exact size in bytes of the graphs of objects reachable from specified roots. The size is measured
+     * with the JOL library by walking the graphs in the heap. The method is expensive and must be used only when an
+     * exact measure is required.
+     *
+     * @param roots the roots of the graphs of objects.
+     * @return the size of the graphs of objects in bytes.
+     */
+    public static long exactSizeOf(final Object... roots) {
+        return GraphLayout.parseInstance(roots).totalSize();
+    }
+}
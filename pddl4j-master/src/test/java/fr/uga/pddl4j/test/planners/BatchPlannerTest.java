@@ -0,0 +1,259 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners;
+
+import fr.uga.pddl4j.planners.BatchPlanner;
+import fr.uga.pddl4j.planners.Planner;
+import fr.uga.pddl4j.test.Tools;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runners.MethodSorters;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implements the <tt>BatchPlannerTest</tt> of the PDD4L library. The class checks the parsing of the manifests, the
+ * timeout of the jobs and the lines of statistics written in CSV and JSON.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BatchPlannerTest {
+
+    /**
+     * The directory of the gripper benchmarks.
+     */
+    private static final String GRIPPER = new File(Tools.PDDL_BENCH_DIR + "ipc1998" + File.separator + "gripper"
+        + File.separator + "adl").getAbsolutePath() + File.separator;
+
+    /**
+     * The default timeout of the jobs in seconds.
+     */
+    private static final int TIMEOUT = 600;
+
+    /**
+     * The folder of the manifests and the output files of the tests.
+     */
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Writes a manifest in the temporary folder.
+     *
+     * @param lines the lines of the manifest.
+     * @return the path to the manifest.
+     * @throws IOException if the manifest cannot be written.
+     */
+    private String write(final String... lines) throws IOException {
+        final File manifest = this.folder.newFile();
+        Files.write(manifest.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+        return manifest.getPath();
+    }
+
+    /**
+     * Returns a line of a manifest that solves a gripper problem.
+     *
+     * @param problem the name of the problem file.
+     * @return the line of the manifest.
+     */
+    private static String gripper(final String problem) {
+        return BatchPlannerTest.GRIPPER + Tools.PDDL_DOMAIN + " " + BatchPlannerTest.GRIPPER + problem;
+    }
+
+    /**
+     * Tests that the comments and the blank lines of a manifest are skipped, that the relative paths are resolved
+     * against the directory of the manifest and that the timeout of a job overrides the default timeout.
+     *
+     * @throws IOException if the manifest cannot be read.
+     */
+    @Test
+    public void testReadManifest() throws IOException {
+        final String domain = new File(this.folder.getRoot(), "domain.pddl").getAbsolutePath();
+        final String problem = new File(this.folder.getRoot(), "p02.pddl").getAbsolutePath();
+        final String manifest = this.write("# The jobs of the test", "", "domain.pddl p01.pddl",
+            "  " + domain + "\t" + problem + "   30  ", "   # A comment after spaces");
+        final File directory = new File(manifest).getAbsoluteFile().getParentFile();
+        final List<BatchPlanner.Job> jobs = BatchPlanner.readManifest(manifest, BatchPlannerTest.TIMEOUT);
+        Assert.assertEquals(2, jobs.size());
+        Assert.assertEquals(0, jobs.get(0).getIndex());
+        Assert.assertEquals(new File(directory, "domain.pddl").getPath(), jobs.get(0).getDomain());
+        Assert.assertEquals(new File(directory, "p01.pddl").getPath(), jobs.get(0).getProblem());
+        Assert.assertEquals(BatchPlannerTest.TIMEOUT, jobs.get(0).getTimeout());
+        Assert.assertEquals(1, jobs.get(1).getIndex());
+        Assert.assertEquals(domain, jobs.get(1).getDomain());
+        Assert.assertEquals(problem, jobs.get(1).getProblem());
+        Assert.assertEquals(30, jobs.get(1).getTimeout());
+    }
+
+    /**
+     * Tests that a line of a manifest with one column is rejected.
+     *
+     * @throws IOException if the manifest is not valid.
+     */
+    @Test(expected = IOException.class)
+    public void testReadManifestMissingProblem() throws IOException {
+        BatchPlanner.readManifest(this.write("domain.pddl"), BatchPlannerTest.TIMEOUT);
+    }
+
+    /**
+     * Tests that a line of a manifest with more than three columns is rejected.
+     *
+     * @throws IOException if the manifest is not valid.
+     */
+    @Test(expected = IOException.class)
+    public void testReadManifestTooManyColumns() throws IOException {
+        BatchPlanner.readManifest(this.write("domain.pddl p01.pddl 10 20"), BatchPlannerTest.TIMEOUT);
+    }
+
+    /**
+     * Tests that a timeout of a job that is not a positive integer is rejected.
+     *
+     * @throws IOException if the manifest is not valid.
+     */
+    @Test(expected = IOException.class)
+    public void testReadManifestInvalidTimeout() throws IOException {
+        BatchPlanner.readManifest(this.write("domain.pddl p01.pddl 0"), BatchPlannerTest.TIMEOUT);
+    }
+
+    /**
+     * Tests that a job is stopped when its own timeout is reached even if the default timeout is larger.
+     *
+     * @throws Exception if the manifest cannot be read or the test is interrupted.
+     */
+    @Test
+    public void testTimeout() throws Exception {
+        final String manifest = this.write(BatchPlannerTest.gripper("p20.pddl") + " 1");
+        final BatchPlanner batch = new BatchPlanner();
+        batch.setPlanner(Planner.Name.HSP);
+        final List<BatchPlanner.Result> results = batch.solve(BatchPlanner.readManifest(manifest,
+            BatchPlannerTest.TIMEOUT), null);
+        Assert.assertEquals(1, results.size());
+        final BatchPlanner.Result result = results.get(0);
+        Assert.assertEquals(BatchPlanner.Status.TIMEOUT, result.getStatus());
+        Assert.assertNull(result.getPlan());
+        Assert.assertTrue(result.getTime() >= 1000);
+        Assert.assertTrue(result.getTime() < 30_000);
+    }
+
+    /**
+     * Tests that the jobs of a manifest are solved concurrently and that each result is reported once to the consumer.
+     *
+     * @throws Exception if the manifest cannot be read or the test is interrupted.
+     */
+    @Test
+    public void testSolve() throws Exception {
+        final String manifest = this.write(BatchPlannerTest.gripper("p01.pddl"),
+            BatchPlannerTest.gripper("p02.pddl"), BatchPlannerTest.GRIPPER + "domain.pddl "
+                + BatchPlannerTest.GRIPPER + "missing.pddl");
+        final BatchPlanner batch = new BatchPlanner();
+        batch.setJobs(2);
+        final boolean[] reported = new boolean[3];
+        final List<BatchPlanner.Result> results = batch.solve(BatchPlanner.readManifest(manifest,
+            BatchPlannerTest.TIMEOUT), result -> {
+                Assert.assertFalse(reported[result.getJob().getIndex()]);
+                reported[result.getJob().getIndex()] = true;
+            });
+        Assert.assertEquals(3, results.size());
+        for (BatchPlanner.Result result : results) {
+            Assert.assertTrue(reported[result.getJob().getIndex()]);
+            if (result.getJob().getIndex() < 2) {
+                Assert.assertEquals(BatchPlanner.Status.SOLVED, result.getStatus());
+                Assert.assertNotNull(result.getPlan());
+                Assert.assertNull(result.getMessage());
+            } else {
+                Assert.assertEquals(BatchPlanner.Status.ERROR, result.getStatus());
+                Assert.assertNull(result.getPlan());
+            }
+        }
+    }
+
+    /**
+     * Tests that the CSV output starts with the header and has a line with the columns of the header for each job.
+     *
+     * @throws Exception if the files cannot be read or written.
+     */
+    @Test
+    public void testCSV() throws Exception {
+        final File output = this.folder.newFile();
+        final BatchPlanner batch = new BatchPlanner();
+        batch.setManifest(this.write(BatchPlannerTest.gripper("p01.pddl"), BatchPlannerTest.gripper("p02.pddl")));
+        batch.setFormat(BatchPlanner.Format.CSV);
+        batch.setOutput(output.getPath());
+        Assert.assertEquals(0, batch.call().intValue());
+        final List<String> lines = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+        Assert.assertEquals(3, lines.size());
+        Assert.assertEquals(BatchPlanner.CSV_HEADER, lines.get(0));
+        final int columns = BatchPlanner.CSV_HEADER.split(",", -1).length;
+        for (String line : lines.subList(1, lines.size())) {
+            final String[] values = line.split(",", -1);
+            Assert.assertEquals(columns, values.length);
+            Assert.assertEquals(BatchPlanner.Status.SOLVED.toString(), values[3]);
+            Assert.assertTrue(Integer.parseInt(values[4]) > 0);
+        }
+    }
+
+    /**
+     * Tests that the JSON output has a JSON object for each job, without header, and that the message of an error is
+     * escaped.
+     *
+     * @throws Exception if the files cannot be read or written.
+     */
+    @Test
+    public void testJSON() throws Exception {
+        final File output = this.folder.newFile();
+        final BatchPlanner batch = new BatchPlanner();
+        batch.setManifest(this.write(BatchPlannerTest.gripper("p01.pddl"), BatchPlannerTest.GRIPPER
+            + "domain.pddl " + BatchPlannerTest.GRIPPER + "missing.pddl"));
+        batch.setFormat(BatchPlanner.Format.JSON);
+        batch.setOutput(output.getPath());
+        Assert.assertEquals(0, batch.call().intValue());
+        final List<String> lines = Files.readAllLines(output.toPath(), StandardCharsets.UTF_8);
+        Assert.assertEquals(2, lines.size());
+        for (String line : lines) {
+            Assert.assertTrue(line.startsWith("{\"job\":"));
+            Assert.assertTrue(line.endsWith("}"));
+            Assert.assertTrue(line.contains(",\"statistics\":{"));
+            if (line.startsWith("{\"job\":0,")) {
+                Assert.assertTrue(line.contains("\"status\":\"SOLVED\""));
+                Assert.assertTrue(line.contains("\"message\":null"));
+            } else {
+                Assert.assertTrue(line.contains("\"status\":\"ERROR\""));
+                Assert.assertTrue(line.contains("\"plan_length\":null"));
+                Assert.assertFalse(line.contains("\"message\":null"));
+            }
+        }
+    }
+
+    /**
+     * Tests that the batch planner exits with the code 1 if the manifest cannot be read.
+     */
+    @Test
+    public void testMissingManifest() {
+        final BatchPlanner batch = new BatchPlanner();
+        batch.setManifest(new File(this.folder.getRoot(), "missing.txt").getPath());
+        Assert.assertEquals(1, batch.call().intValue());
+    }
+}
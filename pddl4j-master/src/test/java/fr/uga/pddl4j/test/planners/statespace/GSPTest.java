@@ -84,6 +84,7 @@ public class GSPTest {
             switch (strategy) {
                 case BREADTH_FIRST:
                 case DEPTH_FIRST:
+                case EXTERNAL_BREADTH_FIRST:
                     this.config.setProperty(GSP.SEARCH_STRATEGIES_SETTING, strategies);
                     Tools.solve(path, Tools.PDDL_EXT, Planner.Name.GSP, this.config);
                     break;
@@ -91,6 +92,11 @@ public class GSPTest {
                 case ENFORCED_HILL_CLIMBING:
                 case ASTAR:
                 case HILL_CLIMBING:
+                case PARALLEL_ASTAR:
+                case LAZY_GREEDY_BEST_FIRST:
+                case ANYTIME_ASTAR:
+                case ITERATIVE_DEEPENING_ASTAR:
+                case BEAM:
                     this.config.setProperty(GSP.SEARCH_STRATEGIES_SETTING, strategies);
                     for (StateHeuristic.Name heuristic : StateHeuristic.Name.values()) {
                         this.config.setProperty(GSP.HEURISTIC_SETTING, heuristic);
@@ -142,6 +148,23 @@ public class GSPTest {
         Tools.solve(localTestPath, Tools.PDDL_EXT, Planner.Name.GSP, this.config);
     }
 
+    /**
+     * Method that executes tests using IPC 1998 gripper ADL benchmarks with a portfolio of search strategies run
+     * concurrently.
+     *
+     * @throws Exception if something went wrong.
+     */
+    @Test
+    public void test_HSP_IPC1998_Gripper_ADL_Portfolio() throws Exception {
+        final String localTestPath = Tools.PDDL_BENCH_DIR + "ipc1998/gripper/adl" + File.separator;
+        Assert.assertTrue("missing benchmark [directory: " + localTestPath + "] test skipped !",
+            Tools.isBenchmarkExist(localTestPath));
+        this.config.setProperty(GSP.PORTFOLIO_SETTING, true);
+        this.config.setProperty(GSP.SEARCH_STRATEGIES_SETTING, "[ENFORCED_HILL_CLIMBING, ASTAR, GREEDY_BEST_FIRST]");
+        this.config.setProperty(GSP.PORTFOLIO_HEURISTICS_SETTING, "[FAST_FORWARD, MAX]");
+        Tools.solve(localTestPath, Tools.PDDL_EXT, Planner.Name.GSP, this.config);
+    }
+
     /**
      * Method that executes tests using IPC 1998 Gripper STRIPS benchmarks.
      * FAILURE
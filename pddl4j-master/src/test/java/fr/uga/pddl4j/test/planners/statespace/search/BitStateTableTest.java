@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.planners.SearchStrategy;
+import fr.uga.pddl4j.planners.statespace.search.BitStateTable;
+import fr.uga.pddl4j.planners.statespace.search.StateSpaceSearch;
+import fr.uga.pddl4j.problem.Problem;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.Random;
+
+/**
+ * Implements the <tt>BitStateTableTest</tt> of the PDD4L library. The class tests the table of the states reached in
+ * bitstate hashing mode and the blind searches that use it.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class BitStateTableTest {
+
+    /**
+     * The number of random hash codes recorded in the table.
+     */
+    private static final int STATES = 100_000;
+
+    /**
+     * The timeout of the searches in seconds.
+     */
+    private static final int TIMEOUT = 60;
+
+    /**
+     * Tests that a hash code is new the first time it is recorded only.
+     */
+    @Test
+    public void testAdd() {
+        final BitStateTable table = new BitStateTable(1, 3);
+        Assert.assertEquals(3, table.getHashes());
+        Assert.assertEquals(0, table.getStates());
+        Assert.assertEquals(0.0, table.getOmissionProbability(), 0.0);
+        Assert.assertTrue(table.add(42L));
+        Assert.assertFalse(table.add(42L));
+        Assert.assertTrue(table.add(-42L));
+        Assert.assertTrue(table.add(Long.MIN_VALUE));
+        Assert.assertFalse(table.add(Long.MIN_VALUE));
+        Assert.assertEquals(3, table.getStates());
+        Assert.assertTrue(table.getMemoryUsed() >= 1L << 20);
+    }
+
+    /**
+     * Tests that few random hash codes are omitted in a table large enough and that the probability of omission
+     * grows with the number of states recorded.
+     */
+    @Test
+    public void testOmission() {
+        final BitStateTable table = new BitStateTable(1, 3);
+        final Random random = new Random(0);
+        double previous = 0.0;
+        for (int i = 0; i < BitStateTableTest.STATES; i++) {
+            table.add(random.nextLong());
+            if (i % 10_000 == 0) {
+                final double probability = table.getOmissionProbability();
+                Assert.assertTrue(probability >= previous && probability <= 1.0);
+                previous = probability;
+            }
+        }
+        // With 100000 states, 3 hash functions and 8 388 608 bits, the omission probability is close to 4e-5
+        Assert.assertTrue(table.getStates() > BitStateTableTest.STATES - 100);
+        Assert.assertTrue(table.getOmissionProbability() < 1e-3);
+    }
+
+    /**
+     * Tests that the size of the table must be in [1, MAX_MEMORY].
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMemoryTooSmall() {
+        new BitStateTable(0, 3);
+    }
+
+    /**
+     * Tests that the size of the table must be in [1, MAX_MEMORY].
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMemoryTooLarge() {
+        new BitStateTable(BitStateTable.MAX_MEMORY + 1, 3);
+    }
+
+    /**
+     * Tests that the number of hash functions must be positive.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNoHash() {
+        new BitStateTable(1, 0);
+    }
+
+    /**
+     * Tests that the blind searches in bitstate hashing mode find a plan of the same length as in exact mode on a
+     * small problem and report a small probability of omission.
+     */
+    @Test
+    public void testBlindSearches() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p02.pddl");
+        for (SearchStrategy.Name strategy : new SearchStrategy.Name[] {SearchStrategy.Name.BREADTH_FIRST,
+            SearchStrategy.Name.DEPTH_FIRST}) {
+            final StateSpaceSearch exact = StateSpaceSearch.getInstance(strategy, StateHeuristic.Name.FAST_FORWARD,
+                1.0, BitStateTableTest.TIMEOUT);
+            final Plan expected = exact.searchPlan(problem);
+            Assert.assertNotNull(expected);
+            final StateSpaceSearch search = StateSpaceSearch.getInstance(strategy, StateHeuristic.Name.FAST_FORWARD,
+                1.0, BitStateTableTest.TIMEOUT);
+            search.setBitStateMemory(1);
+            final Plan plan = search.searchPlan(problem);
+            Assert.assertNotNull(plan);
+            if (strategy == SearchStrategy.Name.BREADTH_FIRST) {
+                Assert.assertEquals(expected.size(), plan.size());
+            }
+            Assert.assertTrue(search.getOmissionProbability() > 0.0);
+            Assert.assertTrue(search.getOmissionProbability() < 1e-3);
+            Assert.assertEquals(0.0, exact.getOmissionProbability(), 0.0);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.planners.SearchStrategy;
+import fr.uga.pddl4j.planners.statespace.search.DeadEnds;
+import fr.uga.pddl4j.planners.statespace.search.StateSpaceSearch;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.Random;
+
+/**
+ * Implements the <tt>DeadEndsTest</tt> of the PDD4L library. The class checks the reachability analysis of the store
+ * of the dead ends, the successor generator restricted to the reachable actions and the recording of the dead ends.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DeadEndsTest {
+
+    /**
+     * The number of steps of the random walks.
+     */
+    private static final int STEPS = 200;
+
+    /**
+     * The timeout of the searches in seconds.
+     */
+    private static final int TIMEOUT = 60;
+
+    /**
+     * Tests that the fluents of the initial state are reachable and that the actions counted as unreachable have a
+     * precondition that is not reachable.
+     */
+    @Test
+    public void testReachability() {
+        for (String domain : new String[] {"gripper", "logistics"}) {
+            final Problem problem = StubbornSetsTest.instantiate(domain, "p01.pddl");
+            final DeadEnds deadEnds = new DeadEnds(problem);
+            Assert.assertSame(problem, deadEnds.getProblem());
+            Assert.assertFalse(deadEnds.isUnsolvable());
+            final State init = new State(problem.getInitialState());
+            for (int f = init.nextSetBit(0); f >= 0; f = init.nextSetBit(f + 1)) {
+                Assert.assertTrue(deadEnds.isReachable(f));
+            }
+            int unreachable = 0;
+            for (Action action : problem.getActions()) {
+                if (action.getPrecondition().getPositiveFluents().stream().anyMatch(f -> !deadEnds.isReachable(f))) {
+                    unreachable++;
+                }
+            }
+            Assert.assertEquals(unreachable, deadEnds.getUnreachableActions());
+        }
+    }
+
+    /**
+     * Tests that the successor generator of the reachable actions returns all the applicable actions in the states
+     * reached by a random walk from the initial state.
+     */
+    @Test
+    public void testSuccessorGenerator() {
+        for (String domain : new String[] {"gripper", "logistics"}) {
+            final Problem problem = StubbornSetsTest.instantiate(domain, "p01.pddl");
+            final DeadEnds deadEnds = new DeadEnds(problem);
+            Assert.assertSame(deadEnds.getSuccessorGenerator(), deadEnds.getSuccessorGenerator());
+            final Random random = new Random(0);
+            State state = new State(problem.getInitialState());
+            for (int step = 0; step < DeadEndsTest.STEPS; step++) {
+                final int[] expected = problem.getSuccessorGenerator().getApplicableActions(state);
+                final int[] actual = deadEnds.getSuccessorGenerator().getApplicableActions(state);
+                Assert.assertArrayEquals(expected, actual);
+                for (int a : actual) {
+                    Assert.assertTrue(problem.getActions().get(a).isApplicable(state));
+                }
+                if (expected.length == 0) {
+                    break;
+                }
+                final Action action = problem.getActions().get(expected[random.nextInt(expected.length)]);
+                final State next = new State(state);
+                next.apply(action.getConditionalEffects(), state);
+                state = next;
+            }
+        }
+    }
+
+    /**
+     * Tests that the dead ends recorded are recognized, that the other states are not and that the number of dead
+     * ends recorded is bounded by the capacity of the store.
+     */
+    @Test
+    public void testAdd() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p01.pddl");
+        final DeadEnds deadEnds = new DeadEnds(problem, 1);
+        final State init = new State(problem.getInitialState());
+        final int[] actions = problem.getSuccessorGenerator().getApplicableActions(init);
+        Assert.assertTrue(actions.length > 0);
+        final State next = new State(init);
+        next.apply(problem.getActions().get(actions[0]).getConditionalEffects(), init);
+        Assert.assertFalse(deadEnds.isDeadEnd(init));
+        deadEnds.add(init);
+        Assert.assertEquals(1, deadEnds.size());
+        Assert.assertTrue(deadEnds.isDeadEnd(new State(init)));
+        Assert.assertFalse(deadEnds.isDeadEnd(next));
+        Assert.assertEquals(1, deadEnds.getHits());
+        deadEnds.add(next);
+        Assert.assertEquals(1, deadEnds.size());
+        Assert.assertFalse(deadEnds.isDeadEnd(next));
+    }
+
+    /**
+     * Tests that the lazy greedy best first search uses the store of the dead ends set and finds a plan.
+     */
+    @Test
+    public void testLazyGreedyBestFirst() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p02.pddl");
+        final DeadEnds deadEnds = new DeadEnds(problem);
+        final StateSpaceSearch search = StateSpaceSearch.getInstance(SearchStrategy.Name.LAZY_GREEDY_BEST_FIRST,
+            StateHeuristic.Name.FAST_FORWARD, 1.0, DeadEndsTest.TIMEOUT);
+        search.setDeadEnds(deadEnds);
+        Assert.assertNotNull(search.searchPlan(problem));
+        Assert.assertSame(deadEnds, search.getDeadEnds());
+    }
+
+    /**
+     * Tests that the searches do not create a store of the dead ends when the dead ends are not detected and find the
+     * same plans.
+     */
+    @Test
+    public void testDetectionDisabled() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p02.pddl");
+        for (SearchStrategy.Name strategy : new SearchStrategy.Name[] {SearchStrategy.Name.ASTAR,
+            SearchStrategy.Name.LAZY_GREEDY_BEST_FIRST, SearchStrategy.Name.BREADTH_FIRST,
+            SearchStrategy.Name.PARALLEL_ASTAR}) {
+            final StateSpaceSearch enabled = StateSpaceSearch.getInstance(strategy, StateHeuristic.Name.FAST_FORWARD,
+                1.0, DeadEndsTest.TIMEOUT);
+            Assert.assertTrue(enabled.isDeadEndDetection());
+            final StateSpaceSearch disabled = StateSpaceSearch.getInstance(strategy, StateHeuristic.Name.FAST_FORWARD,
+                1.0, DeadEndsTest.TIMEOUT);
+            disabled.setDeadEndDetection(false);
+            final Plan expected = enabled.searchPlan(problem);
+            final Plan actual = disabled.searchPlan(problem);
+            Assert.assertNotNull(actual);
+            Assert.assertEquals(expected.size(), actual.size());
+            Assert.assertNotNull(enabled.getDeadEnds());
+            Assert.assertNull(disabled.getDeadEnds());
+        }
+    }
+}
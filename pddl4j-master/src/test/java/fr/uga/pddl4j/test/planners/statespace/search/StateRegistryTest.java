@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners.statespace.search;
+
+import fr.uga.pddl4j.planners.statespace.search.StateRegistry;
+import fr.uga.pddl4j.problem.State;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Implements the <tt>StateRegistryTest</tt> of the PDD4L library. The class tests the packed storage of the states
+ * used by the state space searches, in particular when the states are stored across several chunks.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class StateRegistryTest {
+
+    /**
+     * The number of fluents of the states. The states are stored on three words.
+     */
+    private static final int FLUENTS = 150;
+
+    /**
+     * The number of states used to fill several chunks of the registry. A chunk contains 4096 states.
+     */
+    private static final int STATES = 3 * 4096 + 17;
+
+    /**
+     * Creates a random state.
+     *
+     * @param random the random generator.
+     * @return the random state.
+     */
+    private static State randomState(final Random random) {
+        final State state = new State();
+        for (int i = 0; i < StateRegistryTest.FLUENTS; i++) {
+            if (random.nextBoolean()) {
+                state.set(i);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Tests that the identifiers of the states are consecutive and that a state already stored keeps its identifier.
+     */
+    @Test
+    public void testAdd() {
+        final StateRegistry registry = new StateRegistry(StateRegistryTest.FLUENTS);
+        Assert.assertEquals(3, registry.getWidth());
+        final State s0 = new State();
+        final State s1 = new State();
+        s1.set(0);
+        final State s2 = new State();
+        s2.set(StateRegistryTest.FLUENTS - 1);
+        Assert.assertEquals(0, registry.add(s0));
+        Assert.assertEquals(1, registry.add(s1));
+        Assert.assertEquals(2, registry.add(s2));
+        Assert.assertEquals(1, registry.add(new State(s1)));
+        Assert.assertEquals(3, registry.size());
+        Assert.assertEquals(2, registry.lookup(s2));
+        final State s3 = new State(s2);
+        s3.set(64);
+        Assert.assertEquals(-1, registry.lookup(s3));
+        Assert.assertEquals(3, registry.size());
+    }
+
+    /**
+     * Tests the storage of states across the boundaries of the chunks of the registry and the resizing of its index.
+     */
+    @Test
+    public void testChunkBoundaries() {
+        final StateRegistry registry = new StateRegistry(StateRegistryTest.FLUENTS);
+        final Random random = new Random(0);
+        final List<State> states = new ArrayList<>();
+        while (states.size() < StateRegistryTest.STATES) {
+            final State state = StateRegistryTest.randomState(random);
+            final int id = registry.add(state);
+            if (id == states.size()) {
+                states.add(state);
+            } else {
+                Assert.assertEquals(state, states.get(id));
+            }
+        }
+        Assert.assertEquals(StateRegistryTest.STATES, registry.size());
+        final State state = new State();
+        for (int id = 0; id < states.size(); id++) {
+            registry.getState(id, state);
+            Assert.assertEquals("state " + id, states.get(id), state);
+            // The hash code restored is the hash code computed from scratch
+            Assert.assertSame(registry.getZobristKeys(), state.getZobristKeys());
+            Assert.assertEquals("state " + id, registry.getZobristKeys().hash(state), state.longHashCode());
+            Assert.assertEquals("state " + id, id, registry.lookup(states.get(id)));
+            Assert.assertEquals("state " + id, id, registry.add(states.get(id)));
+        }
+        // The first and the last states of the chunks
+        for (int chunk = 1; chunk <= 3; chunk++) {
+            Assert.assertEquals(states.get(chunk * 4096 - 1), registry.getState(chunk * 4096 - 1));
+            Assert.assertEquals(states.get(chunk * 4096), registry.getState(chunk * 4096));
+        }
+        Assert.assertEquals(StateRegistryTest.STATES, registry.size());
+    }
+
+    /**
+     * Tests that a registry cleared can be filled again and that the states removed are no more found.
+     */
+    @Test
+    public void testClear() {
+        final StateRegistry registry = new StateRegistry(StateRegistryTest.FLUENTS);
+        final Random random = new Random(1);
+        final List<State> states = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            final State state = StateRegistryTest.randomState(random);
+            registry.add(state);
+            states.add(state);
+        }
+        registry.clear();
+        Assert.assertEquals(0, registry.size());
+        Assert.assertEquals(-1, registry.lookup(states.get(0)));
+        Assert.assertEquals(0, registry.add(states.get(4999)));
+        Assert.assertEquals(states.get(4999), registry.getState(0));
+    }
+
+    /**
+     * Tests that an identifier of a state not stored in the registry is rejected.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetStateOutOfBounds() {
+        final StateRegistry registry = new StateRegistry(StateRegistryTest.FLUENTS);
+        registry.add(new State());
+        registry.getState(1);
+    }
+}
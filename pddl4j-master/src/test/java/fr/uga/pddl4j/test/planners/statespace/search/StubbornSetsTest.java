@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.planners.SearchStrategy;
+import fr.uga.pddl4j.planners.statespace.search.StateSpaceSearch;
+import fr.uga.pddl4j.planners.statespace.search.StubbornSets;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.test.Tools;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Implements the <tt>StubbornSetsTest</tt> of the PDD4L library. The class checks that the strong stubborn sets only
+ * prune applicable actions, keep the optimal cost of the plans found by A* and are reused from one search of a problem
+ * to the next.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class StubbornSetsTest {
+
+    /**
+     * The number of steps of the random walks.
+     */
+    private static final int STEPS = 200;
+
+    /**
+     * The timeout of the searches in seconds.
+     */
+    private static final int TIMEOUT = 60;
+
+    /**
+     * Returns the instantiated problem of a benchmark of the IPC 1998.
+     *
+     * @param domain  the name of the domain.
+     * @param problem the name of the problem file.
+     * @return the instantiated problem.
+     */
+    static Problem instantiate(final String domain, final String problem) {
+        final String path = Tools.PDDL_BENCH_DIR + "ipc1998" + File.separator + domain + File.separator + "adl"
+            + File.separator;
+        final Problem pb = Tools.generateCodedProblem(path + Tools.PDDL_DOMAIN, path + problem);
+        Assert.assertNotNull(pb);
+        pb.instantiate();
+        return pb;
+    }
+
+    /**
+     * Tests that the actions kept in the states reached by a random walk are applicable actions, in the same order,
+     * and that at least one action is kept in the states that do not satisfy the goal.
+     */
+    @Test
+    public void testPrune() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p02.pddl");
+        final StubbornSets pruning = new StubbornSets(problem);
+        Assert.assertTrue(pruning.isEnabled());
+        final Random random = new Random(0);
+        State state = new State(problem.getInitialState());
+        for (int step = 0; step < StubbornSetsTest.STEPS; step++) {
+            final int[] actions = problem.getSuccessorGenerator().getApplicableActions(state);
+            final int[] kept = pruning.prune(state, actions);
+            int i = 0;
+            for (int a : kept) {
+                while (i < actions.length && actions[i] != a) {
+                    i++;
+                }
+                Assert.assertTrue(i < actions.length);
+            }
+            if (actions.length > 0 && !state.satisfy(problem.getGoal())) {
+                Assert.assertTrue(kept.length > 0);
+            }
+            if (actions.length == 0) {
+                break;
+            }
+            final Action action = problem.getActions().get(actions[random.nextInt(actions.length)]);
+            final State next = new State(state);
+            next.apply(action.getConditionalEffects(), state);
+            state = next;
+        }
+        Assert.assertTrue(pruning.getApplicableActions() > 0);
+        Assert.assertTrue(pruning.getPrunedActions() <= pruning.getApplicableActions());
+    }
+
+    /**
+     * Tests that A* finds a plan of the same cost with and without the stubborn sets.
+     */
+    @Test
+    public void testOptimalCost() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p02.pddl");
+        final StateSpaceSearch reference = StateSpaceSearch.getInstance(SearchStrategy.Name.ASTAR,
+            StateHeuristic.Name.MAX, 1.0, StubbornSetsTest.TIMEOUT);
+        final Plan expected = reference.searchPlan(problem);
+        Assert.assertNotNull(expected);
+        final StateSpaceSearch search = StateSpaceSearch.getInstance(SearchStrategy.Name.ASTAR,
+            StateHeuristic.Name.MAX, 1.0, StubbornSetsTest.TIMEOUT);
+        search.setStubbornSets(true);
+        final Plan plan = search.searchPlan(problem);
+        Assert.assertNotNull(plan);
+        Assert.assertEquals(expected.cost(), plan.cost(), 0.0);
+        Assert.assertTrue(search.getApplicableActions() > 0);
+    }
+
+    /**
+     * Tests that the statistics of the stubborn sets are reset, and not accumulated, when a search solves the same
+     * problem again.
+     */
+    @Test
+    public void testReuse() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p02.pddl");
+        final StateSpaceSearch search = StateSpaceSearch.getInstance(SearchStrategy.Name.ASTAR,
+            StateHeuristic.Name.MAX, 1.0, StubbornSetsTest.TIMEOUT);
+        search.setStubbornSets(true);
+        Assert.assertNotNull(search.searchPlan(problem));
+        final long applicable = search.getApplicableActions();
+        final long pruned = search.getPrunedActions();
+        Assert.assertNotNull(search.searchPlan(problem));
+        Assert.assertEquals(applicable, search.getApplicableActions());
+        Assert.assertEquals(pruned, search.getPrunedActions());
+    }
+
+    /**
+     * Tests that the statistics are reset and that a copy shares nothing but the relations of the actions.
+     */
+    @Test
+    public void testResetStatistics() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p01.pddl");
+        final StubbornSets pruning = new StubbornSets(problem);
+        final State state = new State(problem.getInitialState());
+        final int[] actions = problem.getSuccessorGenerator().getApplicableActions(state);
+        final int[] kept = pruning.prune(state, actions);
+        final StubbornSets copy = new StubbornSets(pruning);
+        Assert.assertSame(problem, copy.getProblem());
+        Assert.assertEquals(0, copy.getApplicableActions());
+        Assert.assertArrayEquals(kept, copy.prune(state, Arrays.copyOf(actions, actions.length)));
+        pruning.resetStatistics();
+        Assert.assertEquals(0, pruning.getApplicableActions());
+        Assert.assertEquals(0, pruning.getPrunedActions());
+        Assert.assertEquals(actions.length, copy.getApplicableActions());
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.planners.statespace.search;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.planners.SearchStrategy;
+import fr.uga.pddl4j.planners.statespace.search.StateSpaceSearch;
+import fr.uga.pddl4j.planners.statespace.search.Symmetries;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.util.BitVector;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Implements the <tt>SymmetriesTest</tt> of the PDD4L library. The class checks that the generators of the symmetries
+ * preserve the goal and the actions of the problem, that the canonical states are symmetric to the original states and
+ * that the plans found on the canonical states are valid plans of the problem.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SymmetriesTest {
+
+    /**
+     * The number of steps of the random walks.
+     */
+    private static final int STEPS = 200;
+
+    /**
+     * The timeout of the searches in seconds.
+     */
+    private static final int TIMEOUT = 60;
+
+    /**
+     * Returns the image of a set of fluents by a permutation of the fluents.
+     *
+     * @param fluents     the set of fluents.
+     * @param permutation the permutation of the fluents.
+     * @return the image of the set of fluents.
+     */
+    private static BitVector permute(final BitVector fluents, final int[] permutation) {
+        final BitVector image = new BitVector();
+        for (int f = fluents.nextSetBit(0); f >= 0; f = fluents.nextSetBit(f + 1)) {
+            image.set(permutation[f]);
+        }
+        return image;
+    }
+
+    /**
+     * Returns <code>true</code> if a plan is a valid plan of a problem.
+     *
+     * @param problem the problem.
+     * @param plan    the plan.
+     * @return <code>true</code> if the plan is valid.
+     */
+    private static boolean isValid(final Problem problem, final Plan plan) {
+        State state = new State(problem.getInitialState());
+        for (Action action : plan.actions()) {
+            if (!action.isApplicable(state)) {
+                return false;
+            }
+            final State next = new State(state);
+            next.apply(action.getConditionalEffects(), state);
+            state = next;
+        }
+        return state.satisfy(problem.getGoal());
+    }
+
+    /**
+     * Tests that the symmetries of gripper are found and that each generator maps the goal on the goal and the
+     * precondition and the effects of each action on the precondition and the effects of its image.
+     */
+    @Test
+    public void testGenerators() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p02.pddl");
+        final Symmetries symmetries = new Symmetries(problem);
+        Assert.assertSame(problem, symmetries.getProblem());
+        Assert.assertTrue(symmetries.size() > 0);
+        for (int g = 0; g < symmetries.size(); g++) {
+            final int[] fluents = symmetries.getFluentPermutation(g);
+            final int[] actions = symmetries.getActionPermutation(g);
+            Assert.assertEquals(problem.getGoal().getPositiveFluents(),
+                SymmetriesTest.permute(problem.getGoal().getPositiveFluents(), fluents));
+            for (int a = 0; a < actions.length; a++) {
+                final Action action = problem.getActions().get(a);
+                final Action image = problem.getActions().get(actions[a]);
+                Assert.assertEquals(image.getPrecondition().getPositiveFluents(),
+                    SymmetriesTest.permute(action.getPrecondition().getPositiveFluents(), fluents));
+                Assert.assertEquals(image.getUnconditionalEffect().getPositiveFluents(),
+                    SymmetriesTest.permute(action.getUnconditionalEffect().getPositiveFluents(), fluents));
+                Assert.assertEquals(image.getUnconditionalEffect().getNegativeFluents(),
+                    SymmetriesTest.permute(action.getUnconditionalEffect().getNegativeFluents(), fluents));
+                Assert.assertEquals(action.getCost().getValue(), image.getCost().getValue(), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Tests that the canonical state of a state is obtained by applying the generators recorded, that it is its own
+     * canonical state and that its hash code is updated.
+     */
+    @Test
+    public void testCanonicalize() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p02.pddl");
+        final Symmetries symmetries = new Symmetries(problem);
+        final Random random = new Random(0);
+        State state = new State(problem.getInitialState());
+        for (int step = 0; step < SymmetriesTest.STEPS; step++) {
+            final State canonical = new State(state);
+            final List<Integer> applied = new ArrayList<>();
+            symmetries.canonicalize(canonical, applied);
+            BitVector image = new BitVector(state);
+            for (int g : applied) {
+                image = SymmetriesTest.permute(image, symmetries.getFluentPermutation(g));
+            }
+            Assert.assertEquals(image, new BitVector(canonical));
+            Assert.assertEquals(new State(canonical).longHashCode(), canonical.longHashCode());
+            final State again = new State(canonical);
+            symmetries.canonicalize(again);
+            Assert.assertEquals(canonical, again);
+            final int[] actions = problem.getSuccessorGenerator().getApplicableActions(state);
+            if (actions.length == 0) {
+                break;
+            }
+            final Action action = problem.getActions().get(actions[random.nextInt(actions.length)]);
+            final State next = new State(state);
+            next.apply(action.getConditionalEffects(), state);
+            state = next;
+        }
+    }
+
+    /**
+     * Tests that A* finds a valid plan of the same cost with and without the symmetries and explores less nodes with
+     * the symmetries.
+     */
+    @Test
+    public void testOptimalCost() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p03.pddl");
+        final StateSpaceSearch reference = StateSpaceSearch.getInstance(SearchStrategy.Name.ASTAR,
+            StateHeuristic.Name.MAX, 1.0, SymmetriesTest.TIMEOUT);
+        final Plan expected = reference.searchPlan(problem);
+        Assert.assertNotNull(expected);
+        final StateSpaceSearch search = StateSpaceSearch.getInstance(SearchStrategy.Name.ASTAR,
+            StateHeuristic.Name.MAX, 1.0, SymmetriesTest.TIMEOUT);
+        search.setSymmetries(true);
+        final Plan plan = search.searchPlan(problem);
+        Assert.assertNotNull(plan);
+        Assert.assertTrue(SymmetriesTest.isValid(problem, plan));
+        Assert.assertEquals(expected.cost(), plan.cost(), 0.0);
+        Assert.assertTrue(search.getExploredNodes() < reference.getExploredNodes());
+    }
+
+    /**
+     * Tests that the symmetries shared by a search are used in place of the symmetries computed by the search.
+     */
+    @Test
+    public void testSharedSymmetries() {
+        final Problem problem = StubbornSetsTest.instantiate("gripper", "p02.pddl");
+        final StateSpaceSearch search = StateSpaceSearch.getInstance(SearchStrategy.Name.GREEDY_BEST_FIRST,
+            StateHeuristic.Name.FAST_FORWARD, 1.0, SymmetriesTest.TIMEOUT);
+        search.setSymmetries(true);
+        search.setSharedSymmetries(new Symmetries(problem));
+        final Plan plan = search.searchPlan(problem);
+        Assert.assertNotNull(plan);
+        Assert.assertTrue(SymmetriesTest.isValid(problem, plan));
+    }
+}
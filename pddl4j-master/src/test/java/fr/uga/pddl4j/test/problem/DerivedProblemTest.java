@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.problem;
+
+import fr.uga.pddl4j.heuristics.state.StateHeuristic;
+import fr.uga.pddl4j.plan.Plan;
+import fr.uga.pddl4j.planners.SearchStrategy;
+import fr.uga.pddl4j.planners.statespace.HSP;
+import fr.uga.pddl4j.planners.statespace.search.StateSpaceSearch;
+import fr.uga.pddl4j.problem.DerivedProblem;
+import fr.uga.pddl4j.problem.Goal;
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.operator.Action;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Implements the <tt>DerivedProblemTest</tt> of the PDD4L library. The class checks that the problems derived from an
+ * instantiated problem share its structures, that the heuristics of a derived problem are the heuristics of the
+ * instantiated problem and that the searches and the planners warm started with a plan replay it.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class DerivedProblemTest {
+
+    /**
+     * The timeout of the searches in seconds.
+     */
+    private static final int TIMEOUT = 60;
+
+    /**
+     * Returns the state reached by applying the first actions of a plan from the initial state of a problem.
+     *
+     * @param problem the problem.
+     * @param plan    the plan.
+     * @param steps   the number of actions of the plan to apply.
+     * @return the state reached.
+     */
+    private static State apply(final Problem problem, final Plan plan, final int steps) {
+        final State state = new State(problem.getInitialState());
+        final List<Action> actions = plan.actions();
+        for (int i = 0; i < steps; i++) {
+            final State next = new State(state);
+            next.apply(actions.get(i).getConditionalEffects(), state);
+            state.copy(next);
+        }
+        return state;
+    }
+
+    /**
+     * Returns <code>true</code> if a plan is a valid plan of a problem.
+     *
+     * @param problem the problem.
+     * @param plan    the plan.
+     * @return <code>true</code> if the plan is valid.
+     */
+    private static boolean isValid(final Problem problem, final Plan plan) {
+        State state = new State(problem.getInitialState());
+        for (Action action : plan.actions()) {
+            if (!action.isApplicable(state)) {
+                return false;
+            }
+            final State next = new State(state);
+            next.apply(action.getConditionalEffects(), state);
+            state = next;
+        }
+        return state.satisfy(problem.getGoal());
+    }
+
+    /**
+     * Returns a plan of a problem found by A*.
+     *
+     * @param problem the problem.
+     * @return the plan found.
+     */
+    private static Plan solve(final Problem problem) {
+        final StateSpaceSearch search = StateSpaceSearch.getInstance(SearchStrategy.Name.ASTAR,
+            StateHeuristic.Name.FAST_FORWARD, 1.0, DerivedProblemTest.TIMEOUT);
+        final Plan plan = search.searchPlan(problem);
+        Assert.assertNotNull(plan);
+        return plan;
+    }
+
+    /**
+     * Tests that a derived problem has the new initial state and the goal of the instantiated problem, shares the
+     * actions, the fluents and the successor generator of the instantiated problem and that a problem derived from a
+     * derived problem is derived from the instantiated problem.
+     */
+    @Test
+    public void testDerive() {
+        final Problem problem = SuccessorGeneratorTest.instantiate("gripper", "p01.pddl");
+        final Plan plan = DerivedProblemTest.solve(problem);
+        final State state = DerivedProblemTest.apply(problem, plan, 2);
+        final DerivedProblem derived = new DerivedProblem(problem, state);
+        Assert.assertSame(problem, derived.getProblem());
+        Assert.assertEquals(state, new State(derived.getInitialState()));
+        Assert.assertEquals(new State(problem.getInitialState()), DerivedProblemTest.apply(problem, plan, 0));
+        Assert.assertEquals(problem.getGoal(), derived.getGoal());
+        Assert.assertSame(problem.getActions(), derived.getActions());
+        Assert.assertSame(problem.getFluents(), derived.getFluents());
+        Assert.assertSame(problem.getSuccessorGenerator(), derived.getSuccessorGenerator());
+        Assert.assertTrue(derived.getMemoryUsed() > problem.getMemoryUsed());
+        final DerivedProblem again = new DerivedProblem(derived, null, new Goal(problem.getGoal()));
+        Assert.assertSame(problem, again.getProblem());
+        Assert.assertEquals(derived.getInitialState(), again.getInitialState());
+    }
+
+    /**
+     * Tests that a state that uses a fluent that is not a relevant fluent of the instantiated problem is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testIrrelevantFluent() {
+        final Problem problem = SuccessorGeneratorTest.instantiate("gripper", "p01.pddl");
+        final State state = new State(problem.getInitialState());
+        state.set(problem.getFluents().size());
+        new DerivedProblem(problem, state);
+    }
+
+    /**
+     * Tests that the heuristics of a derived problem return the same estimates as the heuristics of the instantiated
+     * problem.
+     */
+    @Test
+    public void testHeuristics() {
+        final Problem problem = SuccessorGeneratorTest.instantiate("gripper", "p02.pddl");
+        final Plan plan = DerivedProblemTest.solve(problem);
+        final DerivedProblem derived = new DerivedProblem(problem, DerivedProblemTest.apply(problem, plan, 3));
+        for (StateHeuristic.Name name : Arrays.asList(StateHeuristic.Name.FAST_FORWARD, StateHeuristic.Name.MAX,
+            StateHeuristic.Name.SUM)) {
+            final StateHeuristic expected = StateHeuristic.getInstance(name, problem);
+            final StateHeuristic actual = StateHeuristic.getInstance(name, derived);
+            for (int steps = 0; steps <= plan.size(); steps++) {
+                final State state = DerivedProblemTest.apply(problem, plan, steps);
+                Assert.assertEquals(expected.estimate(state, problem.getGoal()),
+                    actual.estimate(state, derived.getGoal()), 0.0);
+            }
+        }
+    }
+
+    /**
+     * Tests that a search warm started with the plan of the instantiated problem returns the suffix of the plan from
+     * the new initial state and that the search is run as usual when no suffix reaches the new goal.
+     */
+    @Test
+    public void testWarmStart() {
+        final Problem problem = SuccessorGeneratorTest.instantiate("gripper", "p02.pddl");
+        final Plan plan = DerivedProblemTest.solve(problem);
+        final int steps = plan.size() / 2;
+        final DerivedProblem derived = new DerivedProblem(problem, DerivedProblemTest.apply(problem, plan, steps));
+        final StateSpaceSearch search = StateSpaceSearch.getInstance(SearchStrategy.Name.ASTAR,
+            StateHeuristic.Name.FAST_FORWARD, 1.0, DerivedProblemTest.TIMEOUT);
+        search.setWarmStart(plan);
+        final Plan suffix = search.searchPlan(derived);
+        Assert.assertNotNull(suffix);
+        Assert.assertTrue(DerivedProblemTest.isValid(derived, suffix));
+        Assert.assertEquals(plan.actions().subList(steps, plan.size()), suffix.actions());
+
+        // The goal is the initial state of the derived problem: the search must go back
+        final Goal goal = new Goal();
+        goal.getPositiveFluents().or(new State(problem.getInitialState()));
+        final DerivedProblem back = new DerivedProblem(derived, null, goal);
+        final Plan replan = search.searchPlan(back);
+        Assert.assertNotNull(replan);
+        Assert.assertTrue(DerivedProblemTest.isValid(back, replan));
+    }
+
+    /**
+     * Tests that the optimal searches warm started with a plan that is not optimal still return an optimal plan and
+     * that they return the plan of the warm start if no cheaper plan exists.
+     */
+    @Test
+    public void testWarmStartOptimal() {
+        final Problem problem = SuccessorGeneratorTest.instantiate("gripper", "p01.pddl");
+        final StateSpaceSearch greedy = StateSpaceSearch.getInstance(SearchStrategy.Name.GREEDY_BEST_FIRST,
+            StateHeuristic.Name.FAST_FORWARD, 1.0, DerivedProblemTest.TIMEOUT);
+        final Plan plan = greedy.searchPlan(problem);
+        Assert.assertNotNull(plan);
+        final StateSpaceSearch astar = StateSpaceSearch.getInstance(SearchStrategy.Name.ASTAR,
+            StateHeuristic.Name.MAX, 1.0, DerivedProblemTest.TIMEOUT);
+        final Plan optimal = astar.searchPlan(problem);
+        Assert.assertNotNull(optimal);
+        for (SearchStrategy.Name name : Arrays.asList(SearchStrategy.Name.ASTAR, SearchStrategy.Name.ANYTIME_ASTAR,
+            SearchStrategy.Name.ITERATIVE_DEEPENING_ASTAR, SearchStrategy.Name.PARALLEL_ASTAR)) {
+            final StateSpaceSearch search = StateSpaceSearch.getInstance(name, StateHeuristic.Name.MAX, 1.0,
+                DerivedProblemTest.TIMEOUT);
+            search.setWarmStart(plan);
+            final Plan warm = search.searchPlan(problem);
+            Assert.assertNotNull(warm);
+            Assert.assertTrue(DerivedProblemTest.isValid(problem, warm));
+            Assert.assertEquals(optimal.cost(), warm.cost(), 0.0);
+            search.setWarmStart(optimal);
+            Assert.assertEquals(optimal.actions(), search.searchPlan(problem).actions());
+        }
+    }
+
+    /**
+     * Tests that a planner with the warm start enabled keeps the last plan found and replays it to solve a derived
+     * problem, and that the plan is not kept when the warm start is disabled.
+     *
+     * @throws Exception if the problem is not supported by the planner.
+     */
+    @Test
+    public void testPlannerWarmStart() throws Exception {
+        final Problem problem = SuccessorGeneratorTest.instantiate("gripper", "p02.pddl");
+        final HSP planner = new HSP();
+        Assert.assertFalse(planner.isWarmStart());
+        Assert.assertNotNull(planner.solve(problem));
+        Assert.assertNull(planner.getWarmStartPlan());
+
+        planner.setWarmStart(true);
+        Assert.assertEquals("true", planner.getConfiguration().getProperty("WARM_START"));
+        final Plan plan = planner.solve(problem);
+        Assert.assertNotNull(plan);
+        Assert.assertSame(plan, planner.getWarmStartPlan());
+        final int steps = plan.size() / 2;
+        final DerivedProblem derived = new DerivedProblem(problem, DerivedProblemTest.apply(problem, plan, steps));
+        final Plan suffix = planner.solve(derived);
+        Assert.assertNotNull(suffix);
+        Assert.assertEquals(plan.actions().subList(steps, plan.size()), suffix.actions());
+        Assert.assertSame(suffix, planner.getWarmStartPlan());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.problem;
+
+import fr.uga.pddl4j.problem.Problem;
+import fr.uga.pddl4j.problem.State;
+import fr.uga.pddl4j.problem.SuccessorGenerator;
+import fr.uga.pddl4j.problem.operator.Action;
+import fr.uga.pddl4j.test.Tools;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Implements the <tt>SuccessorGeneratorTest</tt> of the PDD4L library. The class checks that the actions returned by
+ * the successor generator are exactly the actions whose precondition holds, in the states reached by random walks
+ * and in random states.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class SuccessorGeneratorTest {
+
+    /**
+     * The number of steps of the random walks.
+     */
+    private static final int STEPS = 200;
+
+    /**
+     * Returns the instantiated problem of a benchmark of the IPC 1998.
+     *
+     * @param domain  the name of the domain.
+     * @param problem the name of the problem file.
+     * @return the instantiated problem.
+     */
+    static Problem instantiate(final String domain, final String problem) {
+        final String path = Tools.PDDL_BENCH_DIR + "ipc1998" + File.separator + domain + File.separator + "adl"
+            + File.separator;
+        final Problem pb = Tools.generateCodedProblem(path + Tools.PDDL_DOMAIN, path + problem);
+        Assert.assertNotNull(pb);
+        pb.instantiate();
+        return pb;
+    }
+
+    /**
+     * Returns the indexes of the actions of a subset whose precondition holds in a state, sorted in increasing order.
+     *
+     * @param problem the problem.
+     * @param subset  the indexes of the actions of the subset.
+     * @param state   the state.
+     * @return the indexes of the applicable actions.
+     */
+    private static int[] applicable(final Problem problem, final int[] subset, final State state) {
+        return Arrays.stream(subset).filter(a -> problem.getActions().get(a).isApplicable(state)).toArray();
+    }
+
+    /**
+     * Checks the successor generator of all the actions and of a subset of the actions of a problem in the states
+     * reached by a random walk from the initial state and in random states. The random states are checked with the
+     * same buffer to check that a buffer can be reused.
+     *
+     * @param problem the problem.
+     */
+    private static void check(final Problem problem) {
+        final int actions = problem.getActions().size();
+        final int[] all = new int[actions];
+        for (int i = 0; i < actions; i++) {
+            all[i] = i;
+        }
+        final int[] even = Arrays.stream(all).filter(a -> a % 2 == 0).toArray();
+        final SuccessorGenerator generator = new SuccessorGenerator(problem);
+        final SuccessorGenerator subset = new SuccessorGenerator(problem, even);
+        final Random random = new Random(0);
+        State state = new State(problem.getInitialState());
+        for (int step = 0; step < SuccessorGeneratorTest.STEPS; step++) {
+            final int[] expected = SuccessorGeneratorTest.applicable(problem, all, state);
+            Assert.assertArrayEquals(expected, generator.getApplicableActions(state));
+            Assert.assertArrayEquals(SuccessorGeneratorTest.applicable(problem, even, state),
+                subset.getApplicableActions(state));
+            if (expected.length == 0) {
+                break;
+            }
+            final Action action = problem.getActions().get(expected[random.nextInt(expected.length)]);
+            final State next = new State(state);
+            next.apply(action.getConditionalEffects(), state);
+            state = next;
+        }
+        final int fluents = problem.getFluents().size();
+        final int[] buffer = new int[generator.getBufferLength()];
+        Arrays.fill(buffer, -1);
+        for (int i = 0; i < SuccessorGeneratorTest.STEPS; i++) {
+            final State randomState = new State();
+            for (int f = 0; f < fluents; f++) {
+                if (random.nextInt(3) != 0) {
+                    randomState.set(f);
+                }
+            }
+            final int[] expected = SuccessorGeneratorTest.applicable(problem, all, randomState);
+            Assert.assertArrayEquals(expected, generator.getApplicableActions(randomState));
+            Assert.assertArrayEquals(expected, Arrays.copyOf(buffer,
+                generator.getApplicableActions(randomState, buffer)));
+        }
+    }
+
+    /**
+     * Tests the successor generator on the gripper domain.
+     */
+    @Test
+    public void testGripper() {
+        SuccessorGeneratorTest.check(SuccessorGeneratorTest.instantiate("gripper", "p01.pddl"));
+        SuccessorGeneratorTest.check(SuccessorGeneratorTest.instantiate("gripper", "p03.pddl"));
+    }
+
+    /**
+     * Tests the successor generator on the logistics domain.
+     */
+    @Test
+    public void testLogistics() {
+        SuccessorGeneratorTest.check(SuccessorGeneratorTest.instantiate("logistics", "p01.pddl"));
+    }
+
+    /**
+     * Tests that the generator of the empty subset of actions returns no action.
+     */
+    @Test
+    public void testEmptySubset() {
+        final Problem problem = SuccessorGeneratorTest.instantiate("gripper", "p01.pddl");
+        final SuccessorGenerator generator = new SuccessorGenerator(problem, new int[0]);
+        Assert.assertEquals(0, generator.getApplicableActions(new State(problem.getInitialState())).length);
+    }
+
+    /**
+     * Tests that a buffer shorter than the length required by the generator is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBufferTooShort() {
+        final Problem problem = SuccessorGeneratorTest.instantiate("gripper", "p01.pddl");
+        final SuccessorGenerator generator = new SuccessorGenerator(problem);
+        generator.getApplicableActions(new State(problem.getInitialState()), new int[generator.getBufferLength() - 1]);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2010 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with PDDL4J.  If not, see <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.util;
+
+import fr.uga.pddl4j.util.BitVector;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+/**
+ * This class implements a micro benchmark that compares the allocation rate and the time of the inclusion test, the
+ * satisfaction test and the application of the <code>BitVector</code> class before and after the introduction of the
+ * word-level methods. The former inclusion test copies the bit vector, adds the bits of the other one and compares the
+ * result to the original bit vector. The former application copies the bit vector by adding its bits to an empty one.
+ * The benchmark is not a unit test: it is launched from the command line.
+ *
+ * <pre>
+ * {@code
+ *  java -cp build/libs/pddl4j-4.0.0-all.jar:build/classes/java/test fr.uga.pddl4j.test.util.BitVectorBenchmark
+ *         [size] [iterations]
+ * }
+ * </pre>
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ * @since 4.0
+ */
+public final class BitVectorBenchmark {
+
+    /**
+     * The default number of bits of the bit vectors.
+     */
+    private static final int DEFAULT_SIZE = 1024;
+
+    /**
+     * The default number of operations of each kind.
+     */
+    private static final int DEFAULT_ITERATIONS = 10_000_000;
+
+    /**
+     * The number of bit vectors used in the benchmark.
+     */
+    private static final int VECTORS = 64;
+
+    /**
+     * Creates a new benchmark.
+     */
+    private BitVectorBenchmark() {
+    }
+
+    /**
+     * Returns <code>true</code> if a bit vector includes an other. This method is the implementation of the inclusion
+     * test before the introduction of the word-level methods.
+     *
+     * @param vector the bit vector.
+     * @param other  the other bit vector.
+     * @return <code>true</code> if <code>vector</code> includes <code>other</code>; <code>false</code> otherwise.
+     */
+    private static boolean include(final BitVector vector, final BitVector other) {
+        final BitVector copy = new BitVector();
+        copy.or(vector);
+        copy.or(other);
+        return copy.equals(vector);
+    }
+
+    /**
+     * Returns <code>true</code> if a bit vector includes a positive bit vector and excludes a negative bit vector. This
+     * method is the implementation of the satisfaction test before the introduction of the word-level methods.
+     *
+     * @param vector   the bit vector.
+     * @param positive the bits that must be set to 1.
+     * @param negative the bits that must be set to 0.
+     * @return <code>true</code> if <code>vector</code> satisfies the bit vectors; <code>false</code> otherwise.
+     */
+    private static boolean satisfy(final BitVector vector, final BitVector positive, final BitVector negative) {
+        return BitVectorBenchmark.include(vector, positive) && !vector.intersects(negative);
+    }
+
+    /**
+     * Returns the bit vector obtained by applying a positive and a negative bit vector to a copy of a bit vector. This
+     * method is the implementation of the application of an effect to a state before the introduction of the
+     * word-level methods.
+     *
+     * @param vector   the bit vector.
+     * @param positive the bits to set to 1.
+     * @param negative the bits to set to 0.
+     * @return the bit vector obtained.
+     */
+    private static BitVector apply(final BitVector vector, final BitVector positive, final BitVector negative) {
+        final BitVector next = new BitVector();
+        next.or(vector);
+        next.andNot(negative);
+        next.or(positive);
+        return next;
+    }
+
+    /**
+     * Returns the number of bytes allocated by the current thread or -1 if the JVM does not support the measure.
+     *
+     * @return the number of bytes allocated by the current thread.
+     */
+    private static long allocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean sun = (com.sun.management.ThreadMXBean) bean;
+            if (sun.isThreadAllocatedMemorySupported() && sun.isThreadAllocatedMemoryEnabled()) {
+                return sun.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Measures the time and the bytes allocated by the former and the word-level implementations of an operation and
+     * prints the results.
+     *
+     * @param name       the name of the operation.
+     * @param iterations the number of operations.
+     * @param legacy     the former implementation of the operation.
+     * @param kernel     the word-level implementation of the operation.
+     */
+    private static void measure(final String name, final int iterations, final IntPredicate legacy,
+                                final IntPredicate kernel) {
+        long bytes = BitVectorBenchmark.allocatedBytes();
+        long begin = System.nanoTime();
+        int count = 0;
+        for (int i = 0; i < iterations; i++) {
+            if (legacy.test(i)) {
+                count++;
+            }
+        }
+        final long legacyTime = System.nanoTime() - begin;
+        final long legacyBytes = BitVectorBenchmark.allocatedBytes() - bytes;
+        bytes = BitVectorBenchmark.allocatedBytes();
+        begin = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            if (kernel.test(i)) {
+                count--;
+            }
+        }
+        final long kernelTime = System.nanoTime() - begin;
+        final long kernelBytes = BitVectorBenchmark.allocatedBytes() - bytes;
+        System.out.printf("  %s (check %d)%n", name, count);
+        System.out.printf("    former:     %8.2f ms, %6.1f bytes/op%n", legacyTime / 1e6,
+            (double) legacyBytes / iterations);
+        System.out.printf("    word-level: %8.2f ms, %6.1f bytes/op%n", kernelTime / 1e6,
+            (double) kernelBytes / iterations);
+    }
+
+    /**
+     * The main method of the benchmark.
+     *
+     * @param args the size of the bit vectors and the number of operations of each kind.
+     */
+    public static void main(final String[] args) {
+        final int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+        final Random random = new Random(0);
+        final BitVector[] states = new BitVector[VECTORS];
+        final BitVector[] positives = new BitVector[VECTORS];
+        final BitVector[] negatives = new BitVector[VECTORS];
+        for (int i = 0; i < VECTORS; i++) {
+            states[i] = new BitVector();
+            positives[i] = new BitVector();
+            negatives[i] = new BitVector();
+            for (int j = 0; j < size; j++) {
+                if (random.nextInt(4) != 0) {
+                    states[i].set(j);
+                }
+            }
+            for (int j = 0; j < 4; j++) {
+                positives[i].set(random.nextInt(size));
+                negatives[i].set(random.nextInt(size));
+            }
+        }
+        // Check that the both implementations return the same results
+        for (int i = 0; i < VECTORS; i++) {
+            for (int j = 0; j < VECTORS; j++) {
+                if (include(states[i], positives[j]) != states[i].include(positives[j])
+                        || include(states[i], states[j]) != states[i].include(states[j])
+                        || satisfy(states[i], positives[j], negatives[j])
+                            != states[i].satisfy(positives[j], negatives[j])) {
+                    throw new IllegalStateException("tests differ for vectors " + i + " and " + j);
+                }
+                final BitVector next = new BitVector(states[i]);
+                next.apply(positives[j], negatives[j]);
+                if (!next.equals(apply(states[i], positives[j], negatives[j]))) {
+                    throw new IllegalStateException("applications differ for vectors " + i + " and " + j);
+                }
+            }
+        }
+        for (int run = 0; run < 2; run++) {
+            System.out.printf("%s (%d bits, %d operations)%n", run == 0 ? "warmup" : "measure", size, iterations);
+            BitVectorBenchmark.measure("include", iterations,
+                i -> include(states[i % VECTORS], positives[(i >>> 6) % VECTORS]),
+                i -> states[i % VECTORS].include(positives[(i >>> 6) % VECTORS]));
+            BitVectorBenchmark.measure("satisfy", iterations,
+                i -> satisfy(states[i % VECTORS], positives[(i >>> 6) % VECTORS], negatives[(i >>> 6) % VECTORS]),
+                i -> states[i % VECTORS].satisfy(positives[(i >>> 6) % VECTORS], negatives[(i >>> 6) % VECTORS]));
+            // The application is measured as in the successor generation: the state is copied and then modified
+            BitVectorBenchmark.measure("apply", iterations,
+                i -> apply(states[i % VECTORS], positives[(i >>> 6) % VECTORS], negatives[(i >>> 6) % VECTORS])
+                    .get(i % size),
+                i -> {
+                    final BitVector next = new BitVector(states[i % VECTORS]);
+                    next.apply(positives[(i >>> 6) % VECTORS], negatives[(i >>> 6) % VECTORS]);
+                    return next.get(i % size);
+                });
+        }
+    }
+}
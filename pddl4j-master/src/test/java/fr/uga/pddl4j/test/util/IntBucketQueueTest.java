@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.util;
+
+import fr.uga.pddl4j.util.IntBucketQueue;
+import fr.uga.pddl4j.util.IntHeap;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Implements the <tt>IntBucketQueueTest</tt> of the PDD4L library. The class tests the order of removal of the bucket
+ * priority queue used by the best first searches, including its tie-breaking policies and its overflow heap.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class IntBucketQueueTest {
+
+    /**
+     * Tests that the integers are removed by increasing primary key and then by increasing secondary key.
+     */
+    @Test
+    public void testKeyOrder() {
+        final IntBucketQueue queue = new IntBucketQueue();
+        queue.add(0, 5, 1);
+        queue.add(1, 3, 7);
+        queue.add(2, 3, 2);
+        queue.add(3, 0, 9);
+        queue.add(4, 5, 0);
+        Assert.assertEquals(5, queue.size());
+        Assert.assertEquals(3, queue.poll());
+        Assert.assertEquals(2, queue.poll());
+        Assert.assertEquals(1, queue.poll());
+        // An integer with a smaller key than the integers already removed is still removed first
+        queue.add(5, 1, 1);
+        Assert.assertEquals(5, queue.poll());
+        Assert.assertEquals(4, queue.poll());
+        Assert.assertEquals(0, queue.poll());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Tests that the integers with the same keys are removed in insertion order with the FIFO policy.
+     */
+    @Test
+    public void testFifo() {
+        final IntBucketQueue queue = new IntBucketQueue(IntBucketQueue.TieBreaking.FIFO);
+        Assert.assertEquals(IntBucketQueue.TieBreaking.FIFO, queue.getTieBreaking());
+        // The bucket is compacted or grown several times while integers are removed
+        int next = 0;
+        for (int i = 0; i < 1000; i++) {
+            queue.add(i, 2, 2);
+            if (i % 3 == 0) {
+                Assert.assertEquals(next++, queue.poll());
+            }
+        }
+        while (!queue.isEmpty()) {
+            Assert.assertEquals(next++, queue.poll());
+        }
+        Assert.assertEquals(1000, next);
+    }
+
+    /**
+     * Tests that the integers with the same keys are removed in reverse insertion order with the LIFO policy.
+     */
+    @Test
+    public void testLifo() {
+        final IntBucketQueue queue = new IntBucketQueue(IntBucketQueue.TieBreaking.LIFO);
+        Assert.assertEquals(IntBucketQueue.TieBreaking.LIFO, queue.getTieBreaking());
+        for (int i = 0; i < 100; i++) {
+            queue.add(i, 4, 1);
+        }
+        queue.add(100, 4, 2);
+        for (int i = 99; i >= 0; i--) {
+            Assert.assertEquals(i, queue.poll());
+        }
+        Assert.assertEquals(100, queue.poll());
+    }
+
+    /**
+     * Tests that the keys that cannot index a bucket are ordered with the other keys.
+     */
+    @Test
+    public void testOverflow() {
+        final IntBucketQueue queue = new IntBucketQueue();
+        queue.add(0, Double.POSITIVE_INFINITY, 0);
+        queue.add(1, 2.5, 0);
+        queue.add(2, 2, 3);
+        queue.add(3, IntBucketQueue.MAX_KEY + 1, 0);
+        queue.add(4, 2, 2.5);
+        queue.add(5, 3, 0);
+        Assert.assertEquals(6, queue.size());
+        Assert.assertEquals(4, queue.poll());
+        Assert.assertEquals(2, queue.poll());
+        Assert.assertEquals(1, queue.poll());
+        Assert.assertEquals(5, queue.poll());
+        Assert.assertEquals(3, queue.poll());
+        Assert.assertEquals(0, queue.poll());
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Tests that the queue removes the integers in the same order of keys as the binary heap on random keys.
+     */
+    @Test
+    public void testRandomKeys() {
+        final IntBucketQueue queue = new IntBucketQueue();
+        final IntHeap heap = new IntHeap();
+        final double[] primary = new double[10000];
+        final double[] secondary = new double[10000];
+        final Random random = new Random(0);
+        for (int i = 0; i < primary.length; i++) {
+            primary[i] = random.nextInt(50);
+            secondary[i] = random.nextInt(10) == 0 ? random.nextDouble() * 20 : random.nextInt(20);
+            queue.add(i, primary[i], secondary[i]);
+            heap.add(i, primary[i], secondary[i]);
+        }
+        while (!heap.isEmpty()) {
+            final int expected = heap.poll();
+            final int actual = queue.poll();
+            Assert.assertEquals(primary[expected], primary[actual], 0.0);
+            Assert.assertEquals(secondary[expected], secondary[actual], 0.0);
+        }
+        Assert.assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Tests that a queue cleared is empty and can be filled again.
+     */
+    @Test
+    public void testClear() {
+        final IntBucketQueue queue = new IntBucketQueue();
+        for (int i = 0; i < 100; i++) {
+            queue.add(i, i % 7, i % 3);
+        }
+        queue.add(100, 0.5, 0);
+        queue.clear();
+        Assert.assertTrue(queue.isEmpty());
+        queue.add(7, 9, 9);
+        Assert.assertEquals(1, queue.size());
+        Assert.assertEquals(7, queue.poll());
+    }
+
+    /**
+     * Tests that the removal from an empty queue fails.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testPollEmpty() {
+        new IntBucketQueue().poll();
+    }
+}
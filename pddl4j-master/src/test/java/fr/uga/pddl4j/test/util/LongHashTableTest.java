@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2026 by Damien Pellier <Damien.Pellier@imag.fr>.
+ *
+ * This file is part of PDDL4J library.
+ *
+ * PDDL4J is free software: you can redistribute it and/or modify it under the terms of the GNU General Public License
+ * as published by the Free Software Foundation, either version 3 of the License, or (at your option) any later version.
+ *
+ * PDDL4J is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty
+ * of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License along with PDDL4J.  If not, see
+ * <http://www.gnu.org/licenses/>
+ */
+
+package fr.uga.pddl4j.test.util;
+
+import fr.uga.pddl4j.util.LongHashTable;
+
+import org.junit.Assert;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+/**
+ * Implements the <tt>LongHashTableTest</tt> of the PDD4L library. The class tests the open addressing hash table used
+ * to detect the duplicate states.
+ *
+ * @author D. Pellier
+ * @version 1.0 - 16.10.2026
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class LongHashTableTest {
+
+    /**
+     * Tests the insertion and the retrieval of the values associated with the keys.
+     */
+    @Test
+    public void testPut() {
+        final LongHashTable table = new LongHashTable();
+        Assert.assertTrue(table.isEmpty());
+        Assert.assertTrue(table.put(0L, 1, 1.5));
+        Assert.assertTrue(table.put(Long.MIN_VALUE, 2, 2.5));
+        Assert.assertTrue(table.put(-1L, 0, 0.0));
+        Assert.assertFalse(table.put(0L, 3, 3.5));
+        Assert.assertEquals(3, table.size());
+        Assert.assertEquals(3, table.get(0L));
+        Assert.assertEquals(3.5, table.getDouble(0L), 0.0);
+        Assert.assertEquals(2, table.get(Long.MIN_VALUE));
+        Assert.assertEquals(0, table.get(-1L));
+        Assert.assertTrue(table.contains(-1L));
+        Assert.assertFalse(table.contains(1L));
+        Assert.assertEquals(LongHashTable.NO_VALUE, table.get(1L));
+        Assert.assertTrue(Double.isNaN(table.getDouble(1L)));
+    }
+
+    /**
+     * Tests that a key already stored keeps its values with <code>putIfAbsent</code>.
+     */
+    @Test
+    public void testPutIfAbsent() {
+        final LongHashTable table = new LongHashTable();
+        Assert.assertTrue(table.putIfAbsent(42L, 1, 1.0));
+        Assert.assertFalse(table.putIfAbsent(42L, 2, 0.0));
+        Assert.assertEquals(1, table.get(42L));
+        Assert.assertEquals(1.0, table.getDouble(42L), 0.0);
+        Assert.assertEquals(1, table.size());
+    }
+
+    /**
+     * Tests that <code>putIfLess</code> keeps the smallest double value of a key.
+     */
+    @Test
+    public void testPutIfLess() {
+        final LongHashTable table = new LongHashTable();
+        Assert.assertTrue(table.putIfLess(7L, 1, 10.0));
+        Assert.assertFalse(table.putIfLess(7L, 2, 10.0));
+        Assert.assertFalse(table.putIfLess(7L, 3, 12.0));
+        Assert.assertTrue(table.putIfLess(7L, 4, 8.0));
+        Assert.assertEquals(4, table.get(7L));
+        Assert.assertEquals(8.0, table.getDouble(7L), 0.0);
+        Assert.assertEquals(1, table.size());
+    }
+
+    /**
+     * Tests the resizing of the table with consecutive keys, e.g., state identifiers, and keys that differ only by
+     * their high bits.
+     */
+    @Test
+    public void testResize() {
+        final LongHashTable table = new LongHashTable(4);
+        final int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            Assert.assertTrue(table.put(i, i, i));
+            Assert.assertTrue(table.put(((long) i + 1) << 32, i, -i));
+        }
+        Assert.assertEquals(2 * n, table.size());
+        for (int i = 0; i < n; i++) {
+            Assert.assertEquals(i, table.get(i));
+            Assert.assertEquals(i, table.getDouble(i), 0.0);
+            Assert.assertEquals(i, table.get(((long) i + 1) << 32));
+            Assert.assertEquals(-i, table.getDouble(((long) i + 1) << 32), 0.0);
+        }
+        Assert.assertFalse(table.contains(n));
+    }
+
+    /**
+     * Tests that a table cleared is empty and can be filled again.
+     */
+    @Test
+    public void testClear() {
+        final LongHashTable table = new LongHashTable();
+        for (int i = 0; i < 2000; i++) {
+            table.put(i, i, 0.0);
+        }
+        table.clear();
+        Assert.assertTrue(table.isEmpty());
+        Assert.assertFalse(table.contains(10L));
+        Assert.assertTrue(table.put(10L, 5, 1.0));
+        Assert.assertEquals(5, table.get(10L));
+        Assert.assertEquals(1, table.size());
+    }
+
+    /**
+     * Tests that a negative integer value is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeValue() {
+        new LongHashTable().put(1L, -1, 0.0);
+    }
+}